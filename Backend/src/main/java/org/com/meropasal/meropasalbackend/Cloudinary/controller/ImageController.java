@@ -7,7 +7,11 @@ package org.com.meropasal.meropasalbackend.Cloudinary.controller;
  **/
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.com.meropasal.meropasalbackend.Cloudinary.dto.ImageUploadResult;
 import org.com.meropasal.meropasalbackend.Cloudinary.service.CloudinaryService;
+import org.com.meropasal.meropasalbackend.Cloudinary.service.ImageLifecycleService;
+import org.com.meropasal.meropasalbackend.Cloudinary.service.ImageUploadService;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageMetadataReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,10 +32,15 @@ public class ImageController {
 
 
     private final CloudinaryService cloudinaryService;
+    private final ImageUploadService imageUploadService;
+    private final ImageLifecycleService imageLifecycleService;
 
     @Autowired
-    public ImageController(CloudinaryService cloudinaryService) {
+    public ImageController(CloudinaryService cloudinaryService, ImageUploadService imageUploadService,
+                           ImageLifecycleService imageLifecycleService) {
         this.cloudinaryService = cloudinaryService;
+        this.imageUploadService = imageUploadService;
+        this.imageLifecycleService = imageLifecycleService;
     }
 
     @PostMapping("/upload")
@@ -67,13 +76,12 @@ public class ImageController {
         List<String> uploadedUrls = new ArrayList<>();
         List<String> errors = new ArrayList<>();
 
-        for (int i = 0; i < files.length; i++) {
-            MultipartFile file = files[i];
-            try {
-                String imageUrl = cloudinaryService.uploadImage(file, folder);
-                uploadedUrls.add(imageUrl);
-            } catch (IOException e) {
-                errors.add("File " + (i + 1) + " (" + file.getOriginalFilename() + "): " + e.getMessage());
+        List<ImageUploadResult> results = imageUploadService.uploadAll(files, folder);
+        for (ImageUploadResult result : results) {
+            if (result.success()) {
+                uploadedUrls.add(result.url());
+            } else {
+                errors.add("File " + (result.index() + 1) + " (" + result.originalFilename() + "): " + result.error());
             }
         }
 
@@ -82,6 +90,7 @@ public class ImageController {
         response.put("errors", errors);
         response.put("uploadedCount", uploadedUrls.size());
         response.put("failedCount", errors.size());
+        response.put("results", results);
 
         if (!errors.isEmpty()) {
             return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(response);
@@ -92,26 +101,18 @@ public class ImageController {
 
     @DeleteMapping("/delete")
     public ResponseEntity<Map<String, Object>> deleteImage(@RequestParam("url") String imageUrl) {
-        try {
-            boolean deleted = cloudinaryService.deleteImage(imageUrl);
-
-            Map<String, Object> response = new HashMap<>();
-            if (deleted) {
-                response.put("success", true);
-                response.put("message", "Image deleted successfully");
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("success", false);
-                response.put("error", "Image not found or unable to delete");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-        } catch (IOException e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+        Map<String, Object> response = new HashMap<>();
+        if (!cloudinaryService.isStoredImage(imageUrl)) {
+            response.put("success", false);
+            response.put("error", "Image not found or unable to delete");
+            return ResponseEntity.badRequest().body(response);
         }
+
+        // The asset is removed by the background lifecycle job, off the request path
+        imageLifecycleService.scheduleDeletion(imageUrl);
+        response.put("success", true);
+        response.put("message", "Image scheduled for deletion");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
     @PostMapping("/validate")
@@ -148,6 +149,11 @@ public class ImageController {
             valid = false;
         }
 
+        if (info.get("contentType") == null) {
+            errors.add("Invalid image type. Only JPEG, PNG, and WebP are allowed");
+            valid = false;
+        }
+
         // Dimension validation (optional warnings)
         Integer width = (Integer) info.get("width");
         Integer height = (Integer) info.get("height");
@@ -156,7 +162,10 @@ public class ImageController {
             if (width < 100 || height < 100) {
                 warnings.add("Image dimensions are very small (less than 100x100)");
             }
-            if (width > 4000 || height > 4000) {
+            if ((long) width * height > ImageMetadataReader.MAX_PIXELS) {
+                errors.add("Image dimensions exceed " + ImageMetadataReader.MAX_PIXELS / 1_000_000 + " megapixels");
+                valid = false;
+            } else if (width > 4000 || height > 4000) {
                 warnings.add("Image dimensions are very large (greater than 4000x4000)");
             }
         }
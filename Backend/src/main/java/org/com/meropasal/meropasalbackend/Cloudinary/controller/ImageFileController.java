@@ -0,0 +1,110 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.DerivativeFormat;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageDerivativeCache;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageType;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.LocalDiskImageStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Created On : 2026 14 Oct 1:05 PM
+ * Author : Monu Siddiki
+ * Description : Public file endpoint for the local image store.
+ * GET /images/files/{key}?w=320 serves a cached JPEG derivative at the nearest ladder width,
+ * without w the original is served, as it is for WebP originals the JDK cannot decode. Bodies go out
+ * through Tomcat's sendfile support where the connector offers it, else through FileChannel.transferTo.
+ **/
+@RestController
+@RequestMapping("/images/files")
+@ConditionalOnProperty(name = "app.images.store", havingValue = "local")
+public class ImageFileController {
+
+    private static final String PREFIX = "/images/files/";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalDiskImageStore imageStore;
+    private final ImageDerivativeCache derivativeCache;
+
+    public ImageFileController(LocalDiskImageStore imageStore, ImageDerivativeCache derivativeCache) {
+        this.imageStore = imageStore;
+        this.derivativeCache = derivativeCache;
+    }
+
+    @GetMapping("/**")
+    public void serve(HttpServletRequest request,
+                      HttpServletResponse response,
+                      @RequestParam(value = "w", required = false) Integer width) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = URLDecoder.decode(path.substring(PREFIX.length()), StandardCharsets.UTF_8);
+
+        Path original;
+        try {
+            original = imageStore.resolve(key);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!Files.isRegularFile(original)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Typed by the extension the store wrote; anything else (e.g. legacy uploads) is an opaque download
+        ImageType type = ImageType.fromKey(key);
+        Path file;
+        String contentType;
+        if (width != null && width > 0 && ImageDerivativeCache.canDecode(type)) {
+            file = derivativeCache.get(key, original, ImageDerivativeCache.snapWidth(width), DerivativeFormat.JPEG);
+            contentType = DerivativeFormat.JPEG.getContentType();
+        } else {
+            file = original;
+            contentType = type != null ? type.getContentType() : null;
+            if (type == null) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+            }
+        }
+
+        // User-supplied files: no type sniffing, and no script or same-origin access even if opened directly
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "sandbox");
+        // Keys are random UUIDs and never rewritten, so clients and CDNs may cache forever
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+
+        long size = Files.size(file);
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the body with sendfile(2) after the handler returns: kernel to socket, no user-space copy
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        // Connectors without sendfile (e.g. TLS terminated in Tomcat): transferTo lets the JDK move the bytes
+        // without an intermediate heap buffer where the target channel allows it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.dto;
+
+/**
+ * Created On : 2026 13 Oct 11:05 AM
+ * Author : Monu Siddiki
+ * Description : Outcome of a single file in a multi-image upload
+ **/
+public record ImageUploadResult(
+        int index,
+        String originalFilename,
+        String url,
+        String error
+) {
+
+    public boolean success() {
+        return error == null;
+    }
+}
@@ -0,0 +1,48 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 15 Oct 10:10 AM
+ * Author : Monu Siddiki
+ * Description : Queue row for an image whose stored asset should be removed by ImageLifecycleService
+ **/
+@Entity
+@Table(name = "pending_image_deletions",
+        indexes = {
+                @Index(name = "idx_pending_image_deletion_requested_at", columnList = "requested_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_pending_image_deletion_url", columnNames = {"image_url"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class PendingImageDeletion {
+
+    @Id
+    @UuidV7
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "image_url", nullable = false, length = 1000)
+    private String imageUrl;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
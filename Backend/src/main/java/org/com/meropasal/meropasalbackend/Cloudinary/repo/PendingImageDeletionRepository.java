@@ -0,0 +1,92 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.Cloudinary.entity.PendingImageDeletion;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 15 Oct 10:15 AM
+ * Author : Monu Siddiki
+ * Description : Deletion queue plus the native lookups of every column that can reference an image
+ **/
+@Repository
+public interface PendingImageDeletionRepository extends JpaRepository<PendingImageDeletion, UUID> {
+
+    // Every image URL the database still points at. Soft-deleted and archived rows count as references
+    // so a restored product or shop never comes back with broken images, and archived months' order_history
+    // documents do so customers' order history keeps its product images.
+    String REFERENCED_IMAGE_URLS = """
+        SELECT p.image_url AS url FROM products p WHERE p.image_url IS NOT NULL
+        UNION
+        SELECT jsonb_array_elements_text(p.images_json) FROM products p
+            WHERE p.images_json IS NOT NULL AND jsonb_typeof(p.images_json) = 'array'
+        UNION
+        SELECT s.logo_url FROM shop s WHERE s.logo_url IS NOT NULL
+        UNION
+        SELECT c.banner_image_url FROM category c WHERE c.banner_image_url IS NOT NULL
+        UNION
+        SELECT c.category_image_url FROM category c WHERE c.category_image_url IS NOT NULL
+        UNION
+        SELECT oi.product_image FROM order_items oi WHERE oi.product_image IS NOT NULL
+        UNION
+        SELECT p.image_url FROM products_archive p WHERE p.image_url IS NOT NULL
+        UNION
+        SELECT jsonb_array_elements_text(p.images_json) FROM products_archive p
+            WHERE p.images_json IS NOT NULL AND jsonb_typeof(p.images_json) = 'array'
+        UNION
+        SELECT oi.product_image FROM order_items_archive oi WHERE oi.product_image IS NOT NULL
+        UNION
+        SELECT i.url FROM order_history h,
+            jsonb_array_elements_text(jsonb_path_query_array(h.document, '$.items[*].productImage')) AS i(url)
+            WHERE i.url IS NOT NULL
+        """;
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pending_image_deletions"))
+    @Transactional
+    @Query(value = """
+        INSERT INTO pending_image_deletions (id, image_url, requested_at, attempts)
+        VALUES (uuid_generate_v7(), :imageUrl, now(), 0)
+        ON CONFLICT (image_url) DO NOTHING
+        """, nativeQuery = true)
+    int enqueue(@Param("imageUrl") String imageUrl);
+
+    List<PendingImageDeletion> findByOrderByRequestedAtAsc(Limit limit);
+
+    @Query(value = REFERENCED_IMAGE_URLS, nativeQuery = true)
+    List<String> findAllReferencedImageUrls();
+
+    // Which of the given URLs (a JSON array) are still referenced. Each source is probed per URL through its own
+    // index (btree on the URL columns, jsonb_path_ops GIN for images_json and order_history's item images);
+    // filtering the union above instead would read every source in full, as Postgres cannot push the filter
+    // into the jsonb_array_elements_text branches.
+    @Query(value = """
+        WITH wanted AS MATERIALIZED (
+            SELECT DISTINCT w.url FROM jsonb_array_elements_text(CAST(:urls AS jsonb)) AS w(url)
+        )
+        SELECT w.url FROM wanted w
+        WHERE EXISTS (SELECT 1 FROM products p WHERE p.image_url = w.url)
+           OR EXISTS (SELECT 1 FROM products p WHERE p.images_json @> jsonb_build_array(w.url))
+           OR EXISTS (SELECT 1 FROM shop s WHERE s.logo_url = w.url)
+           OR EXISTS (SELECT 1 FROM category c WHERE c.banner_image_url = w.url)
+           OR EXISTS (SELECT 1 FROM category c WHERE c.category_image_url = w.url)
+           OR EXISTS (SELECT 1 FROM order_items oi WHERE oi.product_image = w.url)
+           OR EXISTS (SELECT 1 FROM products_archive p WHERE p.image_url = w.url)
+           OR EXISTS (SELECT 1 FROM products_archive p WHERE p.images_json @> jsonb_build_array(w.url))
+           OR EXISTS (SELECT 1 FROM order_items_archive oi WHERE oi.product_image = w.url)
+           OR EXISTS (SELECT 1 FROM order_history h
+                      WHERE jsonb_path_query_array(h.document, '$.items[*].productImage') @> jsonb_build_array(w.url))
+        """, nativeQuery = true)
+    List<String> findReferencedAmong(@Param("urls") String urlsJson);
+}
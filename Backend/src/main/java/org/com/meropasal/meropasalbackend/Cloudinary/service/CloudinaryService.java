@@ -1,34 +1,32 @@
 package org.com.meropasal.meropasalbackend.Cloudinary.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.Transformation;
-import com.cloudinary.utils.ObjectUtils;
-import lombok.AllArgsConstructor;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageMetadataReader;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageStore;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created On : 2025 16 Feb 2:24 PM
  * Author : Monu Siddiki
- * Description :
+ * Description : Validates uploads and hands them to the configured ImageStore
  **/
 @Service
 public class CloudinaryService {
 
-    private final Cloudinary cloudinary;
+    private final ImageStore imageStore;
 
     @Autowired
-    public CloudinaryService(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
+    public CloudinaryService(ImageStore imageStore) {
+        this.imageStore = imageStore;
     }
 
     public String uploadImage(MultipartFile file) throws IOException {
@@ -36,42 +34,60 @@ public class CloudinaryService {
     }
 
     public String uploadImage(MultipartFile file, String folder) throws IOException {
+        Path tempFile = null;
         try {
-            // Validate file
-            if (file.isEmpty()) {
-                throw new IOException("File is empty");
-            }
+            validateImage(file);
 
-            // Validate file size
-            if (file.getSize() > 10 * 1024 * 1024) { // 10MB
-                throw new IOException("File size too large. Maximum size is 10MB");
-            }
+            // Use provided folder or default to "general"
+            String targetFolder = (folder != null && !folder.trim().isEmpty()) ? folder.trim() : "general";
 
-            // Validate file type
-            String contentType = file.getContentType();
-            if (!isValidImageType(contentType)) {
-                throw new IOException("Invalid image type. Only JPEG, PNG, and WebP are allowed");
-            }
+            // Hand the store a file instead of getBytes() so the upload streams from disk rather than the heap.
+            // transferTo moves the multipart temp file when it is already on disk.
+            tempFile = Files.createTempFile("image-upload-", ".tmp");
+            file.transferTo(tempFile.toFile());
 
-            Map<String, Object> uploadOptions = new HashMap<>();
-            uploadOptions.put("resource_type", "auto");
+            ImageType type = validateContent(tempFile);
+            return imageStore.store(tempFile, type, targetFolder);
 
-            // Use provided folder or default to "general"
-            if (folder != null && !folder.trim().isEmpty()) {
-                uploadOptions.put("folder", folder.trim());
-            } else {
-                uploadOptions.put("folder", "general");
+        } catch (Exception e) {
+            throw new IOException("Image upload failed: " + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
             }
+        }
+    }
 
-            // Upload to Cloudinary
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadOptions);
+    private void validateImage(MultipartFile file) throws IOException {
+        // Validate file
+        if (file.isEmpty()) {
+            throw new IOException("File is empty");
+        }
 
-            // Return the secure URL
-            return uploadResult.get("secure_url").toString();
+        // Validate file size
+        if (file.getSize() > 10 * 1024 * 1024) { // 10MB
+            throw new IOException("File size too large. Maximum size is 10MB");
+        }
 
-        } catch (Exception e) {
-            throw new IOException("Image upload failed: " + e.getMessage());
+    }
+
+    // The type comes from the file's leading bytes; the client's Content-Type and file name are not trusted
+    private ImageType validateContent(Path file) throws IOException {
+        ImageType type = ImageType.detect(file);
+        if (type == null) {
+            throw new IOException("Invalid image type. Only JPEG, PNG, and WebP are allowed");
+        }
+        int[] dimensions;
+        try (InputStream in = Files.newInputStream(file)) {
+            dimensions = ImageMetadataReader.readDimensions(in);
+        }
+        if (dimensions == null) {
+            throw new IOException("Unreadable image");
+        }
+        if ((long) dimensions[0] * dimensions[1] > ImageMetadataReader.MAX_PIXELS) {
+            throw new IOException("Image dimensions too large. Maximum is " + ImageMetadataReader.MAX_PIXELS / 1_000_000 + " megapixels");
         }
+        return type;
     }
 
     public String uploadImage(MultipartFile file, String folder, Map<String, Object> transformations) throws IOException {
@@ -79,9 +95,7 @@ public class CloudinaryService {
 
         // Apply transformations if provided
         if (transformations != null && !transformations.isEmpty()) {
-            // You can add transformation logic here if needed
-            // For now, we'll return the basic URL
-            // Cloudinary transformations can be applied when generating the URL
+            // Transformations are applied when generating the URL, see ImageStore.resizedUrl
         }
 
         return imageUrl;
@@ -89,63 +103,38 @@ public class CloudinaryService {
 
     public boolean deleteImage(String imageUrl) throws IOException {
         try {
-            // Extract public ID from Cloudinary URL
-            String publicId = extractPublicId(imageUrl);
-            if (publicId == null) {
-                return false;
-            }
-
-            Map<?, ?> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-            return "ok".equals(result.get("result"));
+            return imageStore.delete(imageUrl);
         } catch (Exception e) {
             throw new IOException("Image deletion failed: " + e.getMessage());
         }
     }
 
-    private String extractPublicId(String imageUrl) {
-        try {
-            // Cloudinary URL pattern: https://res.cloudinary.com/cloudname/image/upload/v1234567/folder/public_id.jpg
-            String pattern = "/([^/]+)\\.[a-zA-Z]+$";
-            Pattern r = Pattern.compile(pattern);
-            Matcher m = r.matcher(imageUrl);
-
-            if (m.find()) {
-                String withVersion = m.group(1);
-                // Remove version part if present
-                return withVersion.replaceFirst("^v\\d+/", "");
-            }
-        } catch (Exception e) {
-            // Log error but don't throw
-            System.err.println("Error extracting public ID: " + e.getMessage());
-        }
-        return null;
+    public boolean isStoredImage(String imageUrl) {
+        return imageStore.assetKey(imageUrl) != null;
     }
 
-    private boolean isValidImageType(String contentType) {
-        if (contentType == null) return false;
-
-        return contentType.equals("image/jpeg") ||
-                contentType.equals("image/jpg") ||
-                contentType.equals("image/png") ||
-                contentType.equals("image/webp") ||
-                contentType.equals("image/gif") ||
-                contentType.equals("image/svg+xml");
+    public String resizedUrl(String imageUrl, int width) {
+        return imageStore.resizedUrl(imageUrl, width);
     }
 
     // Helper method to get image info without uploading
     public Map<String, Object> getImageInfo(MultipartFile file) throws IOException {
         Map<String, Object> info = new HashMap<>();
 
-        try {
-            // Get dimensions
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            if (image != null) {
-                info.put("width", image.getWidth());
-                info.put("height", image.getHeight());
+        try (InputStream in = file.getInputStream()) {
+            // Dimensions come from the header only, the pixels are never decoded
+            int[] dimensions = ImageMetadataReader.readDimensions(in);
+            if (dimensions != null) {
+                info.put("width", dimensions[0]);
+                info.put("height", dimensions[1]);
             }
 
             info.put("size", file.getSize());
-            info.put("contentType", file.getContentType());
+            // Detected from the content; null when it is not an accepted format
+            try (InputStream head = file.getInputStream()) {
+                ImageType type = ImageType.detect(head.readNBytes(12));
+                info.put("contentType", type != null ? type.getContentType() : null);
+            }
             info.put("originalFilename", file.getOriginalFilename());
 
         } catch (Exception e) {
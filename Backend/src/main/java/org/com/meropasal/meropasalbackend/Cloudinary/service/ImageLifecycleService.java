@@ -0,0 +1,192 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.Cloudinary.entity.PendingImageDeletion;
+import org.com.meropasal.meropasalbackend.Cloudinary.repo.PendingImageDeletionRepository;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageStore;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 15 Oct 10:30 AM
+ * Author : Monu Siddiki
+ * Description : Background image lifecycle. Deletions are queued in the database and drained in
+ * rate-limited batches; an optional sweeper queues stored assets nothing references any more.
+ **/
+@Slf4j
+@Service
+public class ImageLifecycleService {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final PendingImageDeletionRepository deletionRepository;
+    private final ImageStore imageStore;
+    private final ShardScatter shardScatter;
+    private final int batchSize;
+    private final long delayBetweenDeletesMs;
+    private final int maxAttempts;
+    private final boolean sweeperEnabled;
+    private final Duration sweeperGrace;
+
+    public ImageLifecycleService(PendingImageDeletionRepository deletionRepository,
+                                 ImageStore imageStore,
+                                 ShardScatter shardScatter,
+                                 @Value("${app.images.deletion.batch-size:50}") int batchSize,
+                                 @Value("${app.images.deletion.delay-between-ms:200}") long delayBetweenDeletesMs,
+                                 @Value("${app.images.deletion.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.images.sweeper.enabled:false}") boolean sweeperEnabled,
+                                 @Value("${app.images.sweeper.grace-hours:24}") long sweeperGraceHours) {
+        this.deletionRepository = deletionRepository;
+        this.imageStore = imageStore;
+        this.shardScatter = shardScatter;
+        this.batchSize = batchSize;
+        this.delayBetweenDeletesMs = delayBetweenDeletesMs;
+        this.maxAttempts = maxAttempts;
+        this.sweeperEnabled = sweeperEnabled;
+        this.sweeperGrace = Duration.ofHours(sweeperGraceHours);
+    }
+
+    /**
+     * Queues an image for deletion. Joins the caller's transaction, so a rolled back
+     * update never loses an image it was still using.
+     */
+    @Transactional
+    public void scheduleDeletion(String imageUrl) {
+        if (imageUrl != null && !imageUrl.isBlank()) {
+            deletionRepository.enqueue(imageUrl.trim());
+        }
+    }
+
+    @Transactional
+    public void scheduleDeletion(Collection<String> imageUrls) {
+        imageUrls.forEach(this::scheduleDeletion);
+    }
+
+    /**
+     * Drains one batch of the queue. Each URL is re-checked against the database first,
+     * since an image can be re-attached between being queued and being processed. Every shard drains
+     * its own queue, checking references on all of them.
+     */
+    @Scheduled(fixedDelayString = "${app.images.deletion.interval-ms:60000}",
+            initialDelayString = "${app.images.deletion.initial-delay-ms:60000}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void processPendingDeletions() {
+        shardScatter.forEachShard(this::processShardDeletions);
+    }
+
+    private void processShardDeletions() {
+        List<PendingImageDeletion> batch = deletionRepository.findByOrderByRequestedAtAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        String urls = toJsonArray(batch.stream().map(PendingImageDeletion::getImageUrl).toList());
+        Set<String> stillReferenced = new HashSet<>(shardScatter.gather(() -> deletionRepository.findReferencedAmong(urls)));
+
+        int deleted = 0;
+        for (PendingImageDeletion pending : batch) {
+            if (stillReferenced.contains(pending.getImageUrl())) {
+                deletionRepository.delete(pending);
+                continue;
+            }
+            try {
+                imageStore.delete(pending.getImageUrl());
+                deletionRepository.delete(pending);
+                deleted++;
+            } catch (IOException | RuntimeException e) {
+                recordFailure(pending, e);
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        log.info("Image deletion batch: {} deleted, {} still referenced, {} queued in batch",
+                deleted, stillReferenced.size(), batch.size());
+    }
+
+    /**
+     * Lists the store and queues every asset older than the grace period that no row references.
+     * The grace period covers uploads whose product or shop has not been saved yet.
+     */
+    @Scheduled(cron = "${app.images.sweeper.cron:0 30 3 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void sweepOrphans() {
+        if (!sweeperEnabled) {
+            return;
+        }
+        Set<String> referencedKeys = shardScatter.gather(deletionRepository::findAllReferencedImageUrls).stream()
+                .map(imageStore::assetKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        Instant cutoff = Instant.now().minus(sweeperGrace);
+        AtomicInteger queued = new AtomicInteger();
+
+        try {
+            imageStore.forEachStoredImage(image -> {
+                if (image.createdAt().isBefore(cutoff) && !referencedKeys.contains(imageStore.assetKey(image.url()))) {
+                    scheduleDeletion(image.url());
+                    queued.incrementAndGet();
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Orphan sweep stopped early: {}", e.getMessage());
+        }
+        log.info("Orphan sweep queued {} images for deletion", queued.get());
+    }
+
+    private static String toJsonArray(List<String> urls) {
+        try {
+            return JSON.writeValueAsString(urls);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise image URLs", e);
+        }
+    }
+
+    private void recordFailure(PendingImageDeletion pending, Exception e) {
+        pending.setAttempts(pending.getAttempts() + 1);
+        if (pending.getAttempts() >= maxAttempts) {
+            log.error("Giving up deleting image {} after {} attempts: {}", pending.getImageUrl(), pending.getAttempts(), e.getMessage());
+            deletionRepository.delete(pending);
+            return;
+        }
+        String message = e.getMessage();
+        pending.setLastError(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        // Push it to the back of the queue so one bad URL cannot stall the batch
+        pending.setRequestedAt(LocalDateTime.now());
+        deletionRepository.save(pending);
+    }
+
+    // Spaces out remote deletes to stay under the storage provider's API rate limit
+    private boolean pause() {
+        if (delayBetweenDeletesMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delayBetweenDeletesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
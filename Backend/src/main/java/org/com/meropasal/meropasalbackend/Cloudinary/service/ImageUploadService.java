@@ -0,0 +1,73 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.service;
+
+import jakarta.annotation.PreDestroy;
+import org.com.meropasal.meropasalbackend.Cloudinary.dto.ImageUploadResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Created On : 2026 13 Oct 11:12 AM
+ * Author : Monu Siddiki
+ * Description : Uploads the files of one request in parallel.
+ * Each file runs on its own virtual thread; a shared semaphore caps how many uploads
+ * are on the wire at once across all requests.
+ **/
+@Service
+public class ImageUploadService {
+
+    private final CloudinaryService cloudinaryService;
+    private final Semaphore uploadPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImageUploadService(CloudinaryService cloudinaryService,
+                              @Value("${app.images.upload.max-concurrent:8}") int maxConcurrentUploads) {
+        this.cloudinaryService = cloudinaryService;
+        this.uploadPermits = new Semaphore(maxConcurrentUploads);
+    }
+
+    /**
+     * Uploads every file and waits for all of them. A failing file never fails the batch;
+     * its error is reported in the matching result, which keeps the input order.
+     */
+    public List<ImageUploadResult> uploadAll(MultipartFile[] files, String folder) {
+        List<CompletableFuture<ImageUploadResult>> futures = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
+            int index = i;
+            MultipartFile file = files[i];
+            futures.add(CompletableFuture.supplyAsync(() -> upload(index, file, folder), executor));
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private ImageUploadResult upload(int index, MultipartFile file, String folder) {
+        try {
+            uploadPermits.acquire();
+            try {
+                String url = cloudinaryService.uploadImage(file, folder);
+                return new ImageUploadResult(index, file.getOriginalFilename(), url, null);
+            } finally {
+                uploadPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ImageUploadResult(index, file.getOriginalFilename(), null, "Upload interrupted");
+        } catch (Exception e) {
+            return new ImageUploadResult(index, file.getOriginalFilename(), null, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Created On : 2026 14 Oct 10:34 AM
+ * Author : Monu Siddiki
+ * Description : ImageStore backed by the Cloudinary SDK (default)
+ **/
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+
+    private static final Pattern PUBLIC_ID = Pattern.compile("/([^/]+)\\.[a-zA-Z]+$");
+    private static final String UPLOAD_SEGMENT = "/image/upload/";
+    private static final int LIST_PAGE_SIZE = 500;
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String store(Path source, ImageType type, String folder) throws IOException {
+        Map<String, Object> uploadOptions = new HashMap<>();
+        uploadOptions.put("resource_type", "image");
+        uploadOptions.put("folder", folder);
+
+        // Passing a File lets the SDK stream the body from disk
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(source.toFile(), uploadOptions);
+        return uploadResult.get("secure_url").toString();
+    }
+
+    @Override
+    public boolean delete(String imageUrl) throws IOException {
+        // Extract public ID from Cloudinary URL
+        String publicId = extractPublicId(imageUrl);
+        if (publicId == null) {
+            return false;
+        }
+
+        Map<?, ?> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+        return "ok".equals(result.get("result"));
+    }
+
+    @Override
+    public String resizedUrl(String imageUrl, int width) {
+        if (imageUrl == null || !imageUrl.contains(UPLOAD_SEGMENT)) {
+            return imageUrl;
+        }
+        // Cloudinary renders the derivative at the edge: scale down only, best format and quality for the client
+        String transformation = "c_limit,w_" + width + ",f_auto,q_auto/";
+        return imageUrl.replaceFirst(UPLOAD_SEGMENT, UPLOAD_SEGMENT + transformation);
+    }
+
+    @Override
+    public String assetKey(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains(UPLOAD_SEGMENT)) {
+            return null;
+        }
+        // folder/public_id without the version segment, transformations or extension
+        String path = imageUrl.substring(imageUrl.indexOf(UPLOAD_SEGMENT) + UPLOAD_SEGMENT.length());
+        path = path.replaceFirst("^(?:[a-z]_[^/]*/)*", "").replaceFirst("^v\\d+/", "");
+        int dot = path.lastIndexOf('.');
+        return dot > 0 ? path.substring(0, dot) : path;
+    }
+
+    @Override
+    public void forEachStoredImage(Consumer<StoredImage> consumer) throws IOException {
+        String cursor = null;
+        try {
+            do {
+                Map<String, Object> options = new HashMap<>();
+                options.put("type", "upload");
+                options.put("resource_type", "image");
+                options.put("max_results", LIST_PAGE_SIZE);
+                if (cursor != null) {
+                    options.put("next_cursor", cursor);
+                }
+                Map<?, ?> page = cloudinary.api().resources(options);
+                for (Object item : (List<?>) page.get("resources")) {
+                    Map<?, ?> resource = (Map<?, ?>) item;
+                    consumer.accept(new StoredImage(
+                            resource.get("secure_url").toString(),
+                            Instant.parse(resource.get("created_at").toString())));
+                }
+                Object next = page.get("next_cursor");
+                cursor = next != null ? next.toString() : null;
+            } while (cursor != null);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Listing Cloudinary resources failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String extractPublicId(String imageUrl) {
+        try {
+            // Cloudinary URL pattern: https://res.cloudinary.com/cloudname/image/upload/v1234567/folder/public_id.jpg
+            Matcher m = PUBLIC_ID.matcher(imageUrl);
+
+            if (m.find()) {
+                String withVersion = m.group(1);
+                // Remove version part if present
+                return withVersion.replaceFirst("^v\\d+/", "");
+            }
+        } catch (Exception e) {
+            // Log error but don't throw
+            System.err.println("Error extracting public ID: " + e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+/**
+ * Created On : 2026 14 Oct 11:40 AM
+ * Author : Monu Siddiki
+ * Description : Output formats for resized image derivatives. Only JPEG, which every JRE can encode; the JDK
+ * has no WebP writer, so WebP derivatives are not offered.
+ **/
+public enum DerivativeFormat {
+
+    JPEG("jpg", "image/jpeg", "jpeg");
+
+    private final String extension;
+    private final String contentType;
+    private final String imageIoName;
+
+    DerivativeFormat(String extension, String contentType, String imageIoName) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.imageIoName = imageIoName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getImageIoName() {
+        return imageIoName;
+    }
+}
@@ -0,0 +1,319 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Created On : 2026 14 Oct 11:52 AM
+ * Author : Monu Siddiki
+ * Description : On-disk cache of resized images for the local image store.
+ * Widths are snapped to a fixed ladder so the cache holds a handful of variants per image,
+ * and the least recently served derivatives are dropped once the cache exceeds its byte budget.
+ * A dropped file stays on disk for a grace period before it is deleted, because a response may have
+ * handed its path to Tomcat's sendfile and not opened it yet.
+ **/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "local")
+public class ImageDerivativeCache {
+
+    private static final int[] WIDTHS = {160, 320, 480, 640, 960, 1280, 1920};
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final Path cacheRoot;
+    private final long maxBytes;
+    private final long evictionGraceNanos;
+
+    // derived key -> file size, in access order so the head is the eviction candidate
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalBytes;
+
+    // dropped derived key -> System.nanoTime() it was dropped at; its file is deleted once the grace has passed
+    private final Map<String, Long> pendingDeletion = new HashMap<>();
+
+    // Decoding an original can take tens of MB of heap, so only a few run at once
+    private final Semaphore decodePermits = new Semaphore(2);
+
+    public ImageDerivativeCache(@Value("${app.images.local.cache-dir:./data/image-cache}") String cacheDir,
+                                @Value("${app.images.local.cache-max-bytes:536870912}") long maxBytes,
+                                @Value("${app.images.local.cache-eviction-grace-ms:60000}") long evictionGraceMillis) {
+        this.cacheRoot = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.evictionGraceNanos = TimeUnit.MILLISECONDS.toNanos(evictionGraceMillis);
+    }
+
+    @PostConstruct
+    public void loadIndex() throws IOException {
+        Files.createDirectories(cacheRoot);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(cacheRoot)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        }
+        // Oldest first, so the rebuilt index starts in roughly LRU order
+        files.sort(Comparator.comparing(this::lastModified));
+        for (Path file : files) {
+            record(cacheRoot.relativize(file).toString().replace('\\', '/'), Files.size(file));
+        }
+        log.info("Image derivative cache: {} files, {} bytes", entries.size(), totalBytes);
+    }
+
+    public static int snapWidth(int requested) {
+        for (int width : WIDTHS) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    /**
+     * Whether originals of this type can be resized; false for WebP, which the JDK cannot decode. Keys of
+     * unknown type (legacy uploads) are left to the decoder to try.
+     */
+    public static boolean canDecode(ImageType type) {
+        return type == null || ImageIO.getImageReadersByMIMEType(type.getContentType()).hasNext();
+    }
+
+    /**
+     * Returns the cached derivative of the original, generating it on a miss.
+     */
+    public Path get(String key, Path original, int width, DerivativeFormat format) throws IOException {
+        String derivedKey = key + "@" + width + "." + format.getExtension();
+        Path target = resolve(derivedKey);
+
+        lock.lock();
+        try {
+            if (entries.get(derivedKey) != null && Files.exists(target)) {
+                return target;
+            }
+            // Regenerated below, so the file that replaces a dropped one must not be deleted with it
+            pendingDeletion.remove(derivedKey);
+        } finally {
+            lock.unlock();
+        }
+
+        generate(original, target, width, format);
+        record(derivedKey, Files.size(target));
+        evictOverBudget();
+        return target;
+    }
+
+    /**
+     * Drops every derivative of an original, e.g. after the original is deleted.
+     */
+    public void evictAll(String key) {
+        String prefix = key + "@";
+        List<String> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    totalBytes -= entry.getValue();
+                    removed.add(entry.getKey());
+                    it.remove();
+                }
+            }
+            deferDeletion(removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the files of derivatives dropped more than the grace period ago. Runs under the lock, so a
+     * derivative being regenerated meanwhile is never deleted from under its request.
+     */
+    @Scheduled(fixedDelayString = "${app.images.local.cache-eviction-sweep-ms:15000}")
+    public void deleteDroppedFiles() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<String, Long>> it = pendingDeletion.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> dropped = it.next();
+                if (now - dropped.getValue() >= evictionGraceNanos) {
+                    deleteQuietly(dropped.getKey());
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void generate(Path original, Path target, int width, DerivativeFormat format) throws IOException {
+        try {
+            decodePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to resize image");
+        }
+        try {
+            BufferedImage source = decode(original, width);
+            int targetWidth = Math.min(width, source.getWidth());
+            int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+
+            BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = resized.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha channel, flatten transparent PNGs onto white
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, targetWidth, targetHeight);
+                g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+            } finally {
+                g.dispose();
+            }
+
+            // Write next to the target and move into place so readers never see a partial file
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "derivative-", ".tmp");
+            try {
+                write(resized, temp, format);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            decodePermits.release();
+        }
+    }
+
+    // Dimensions are read from the header and checked against the pixel cap before any pixel is decoded.
+    // Sources well above the target width are decoded subsampled (still at least twice the target, so the
+    // bilinear scale-down keeps its quality), which bounds the heap a decode takes.
+    private BufferedImage decode(Path original, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > ImageMetadataReader.MAX_PIXELS) {
+                    throw new IOException("Image too large to resize: " + sourceWidth + "x" + sourceHeight);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, sourceWidth / (width * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void write(BufferedImage image, Path file, DerivativeFormat format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.getImageIoName());
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format.getImageIoName());
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void record(String derivedKey, long size) {
+        lock.lock();
+        try {
+            Long previous = entries.put(derivedKey, size);
+            totalBytes += size - (previous != null ? previous : 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverBudget() {
+        List<String> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+            deferDeletion(evicted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void deferDeletion(List<String> derivedKeys) {
+        long now = System.nanoTime();
+        derivedKeys.forEach(derivedKey -> pendingDeletion.put(derivedKey, now));
+    }
+
+    private Path resolve(String derivedKey) {
+        Path path = cacheRoot.resolve(derivedKey).normalize();
+        if (!path.startsWith(cacheRoot)) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        return path;
+    }
+
+    private void deleteQuietly(String derivedKey) {
+        try {
+            Files.deleteIfExists(resolve(derivedKey));
+        } catch (IOException e) {
+            log.warn("Could not delete cached derivative {}: {}", derivedKey, e.getMessage());
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime();
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
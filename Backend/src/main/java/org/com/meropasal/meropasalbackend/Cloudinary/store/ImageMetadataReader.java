@@ -0,0 +1,87 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Created On : 2026 14 Oct 11:02 AM
+ * Author : Monu Siddiki
+ * Description : Reads image dimensions from the file header without decoding the pixels. The JDK has no
+ * WebP reader, so WebP headers (lossy VP8, lossless VP8L and extended VP8X) are parsed here.
+ **/
+public final class ImageMetadataReader {
+
+    // Largest canvas accepted for upload or resizing (a 48 MP phone photo fits). A few KB of compressed data
+    // can declare a far bigger one, so callers check the header against this before decoding anything.
+    public static final long MAX_PIXELS = 50_000_000L;
+
+    // RIFF header (12 bytes), the first chunk's header (8) and as much of its payload as holds the size
+    private static final int WEBP_HEADER_BYTES = 30;
+
+    private ImageMetadataReader() {
+    }
+
+    /**
+     * @return {width, height}, or null if the header is not WebP and no ImageIO reader understands the format
+     */
+    public static int[] readDimensions(InputStream inputStream) throws IOException {
+        InputStream in = new BufferedInputStream(inputStream, WEBP_HEADER_BYTES);
+        in.mark(WEBP_HEADER_BYTES);
+        byte[] head = in.readNBytes(WEBP_HEADER_BYTES);
+        if (ImageType.detect(head) == ImageType.WEBP) {
+            return webpDimensions(head);
+        }
+        in.reset();
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                // seekForwardOnly + ignoreMetadata: the reader stops after the header
+                reader.setInput(iis, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int[] webpDimensions(byte[] head) {
+        if (head.length < WEBP_HEADER_BYTES) {
+            return null;
+        }
+        String chunk = new String(head, 12, 4, StandardCharsets.US_ASCII);
+        return switch (chunk) {
+            // Key frame: 3-byte frame tag, start code 9D 01 2A, then 14-bit width and height
+            case "VP8 " -> (head[23] & 0xFF) == 0x9D && (head[24] & 0xFF) == 0x01 && (head[25] & 0xFF) == 0x2A
+                    ? new int[]{littleEndian(head, 26, 2) & 0x3FFF, littleEndian(head, 28, 2) & 0x3FFF}
+                    : null;
+            // Signature 0x2F, then width - 1 and height - 1 in 14 bits each
+            case "VP8L" -> (head[20] & 0xFF) == 0x2F
+                    ? new int[]{(littleEndian(head, 21, 4) & 0x3FFF) + 1, ((littleEndian(head, 21, 4) >>> 14) & 0x3FFF) + 1}
+                    : null;
+            // Flags and reserved bytes, then canvas width - 1 and height - 1 in 24 bits each
+            case "VP8X" -> new int[]{littleEndian(head, 24, 3) + 1, littleEndian(head, 27, 3) + 1};
+            default -> null;
+        };
+    }
+
+    private static int littleEndian(byte[] data, int offset, int length) {
+        int value = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,45 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Created On : 2026 14 Oct 10:20 AM
+ * Author : Monu Siddiki
+ * Description : Storage backend for uploaded images.
+ * Selected with app.images.store (cloudinary | local).
+ **/
+public interface ImageStore {
+
+    /**
+     * Stores an already validated image. The source file belongs to the caller and
+     * may be moved by the store.
+     *
+     * @param type the format detected from the file's content
+     * @return public URL of the stored image
+     */
+    String store(Path source, ImageType type, String folder) throws IOException;
+
+    /**
+     * @return true if the image existed and was removed
+     */
+    boolean delete(String imageUrl) throws IOException;
+
+    /**
+     * URL of a copy of the image scaled down to at most the given width, for grids and thumbnails.
+     * URLs the store does not recognise are returned unchanged.
+     */
+    String resizedUrl(String imageUrl, int width);
+
+    /**
+     * Stable identity of a stored image, independent of URL decorations such as
+     * version segments or query strings. Null for URLs that do not belong to this store.
+     */
+    String assetKey(String imageUrl);
+
+    /**
+     * Walks every image held by the store, page by page.
+     */
+    void forEachStoredImage(Consumer<StoredImage> consumer) throws IOException;
+}
@@ -0,0 +1,85 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Created On : 2026 19 Oct 9:10 PM
+ * Author : Monu Siddiki
+ * Description : Raster formats accepted for upload, recognised by their leading bytes rather than the
+ * Content-Type or file name the client sent. Scriptable formats (SVG) and GIF are not accepted.
+ **/
+public enum ImageType {
+
+    JPEG(".jpg", "image/jpeg"),
+    PNG(".png", "image/png"),
+    WEBP(".webp", "image/webp");
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP_MAGIC = {'W', 'E', 'B', 'P'};
+
+    private final String extension;
+    private final String contentType;
+
+    ImageType(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the type of the file's content, or null if it is not one of the accepted formats
+     */
+    public static ImageType detect(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return detect(in.readNBytes(12));
+        }
+    }
+
+    public static ImageType detect(byte[] head) {
+        if (startsWith(head, 0, JPEG_MAGIC)) {
+            return JPEG;
+        }
+        if (startsWith(head, 0, PNG_MAGIC)) {
+            return PNG;
+        }
+        if (startsWith(head, 0, RIFF) && startsWith(head, 8, WEBP_MAGIC)) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    /**
+     * The type a stored key was written with, or null for keys of any other extension (e.g. legacy uploads).
+     */
+    public static ImageType fromKey(String key) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jpeg")) {
+            return JPEG;
+        }
+        for (ImageType type : values()) {
+            if (lower.endsWith(type.extension)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        return data.length >= offset + prefix.length
+                && Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+}
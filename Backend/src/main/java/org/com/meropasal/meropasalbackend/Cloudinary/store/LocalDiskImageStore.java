@@ -0,0 +1,115 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Created On : 2026 14 Oct 12:30 PM
+ * Author : Monu Siddiki
+ * Description : ImageStore that keeps originals on the local disk and serves them
+ * (plus resized derivatives) through ImageFileController
+ **/
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "local")
+public class LocalDiskImageStore implements ImageStore {
+
+    private final Path root;
+    private final String baseUrl;
+    private final ImageDerivativeCache derivativeCache;
+
+    public LocalDiskImageStore(@Value("${app.images.local.root:./data/images}") String root,
+                               @Value("${app.images.local.base-url:/images/files}") String baseUrl,
+                               ImageDerivativeCache derivativeCache) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.derivativeCache = derivativeCache;
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public String store(Path source, ImageType type, String folder) throws IOException {
+        // The extension comes from the detected content, never from the client's file name
+        String key = sanitizeFolder(folder) + "/" + UUID.randomUUID() + type.getExtension();
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public boolean delete(String imageUrl) throws IOException {
+        String key = keyOf(imageUrl);
+        if (key == null) {
+            return false;
+        }
+        derivativeCache.evictAll(key);
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String resizedUrl(String imageUrl, int width) {
+        if (keyOf(imageUrl) == null) {
+            return imageUrl;
+        }
+        return imageUrl + "?w=" + ImageDerivativeCache.snapWidth(width);
+    }
+
+    @Override
+    public String assetKey(String imageUrl) {
+        return keyOf(imageUrl);
+    }
+
+    @Override
+    public void forEachStoredImage(Consumer<StoredImage> consumer) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) walk.filter(Files::isRegularFile)::iterator) {
+                String key = root.relativize(file).toString().replace('\\', '/');
+                consumer.accept(new StoredImage(baseUrl + "/" + key, Files.getLastModifiedTime(file).toInstant()));
+            }
+        }
+    }
+
+    /**
+     * Maps a storage key to its file, rejecting keys that escape the storage root.
+     */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        return path;
+    }
+
+    /**
+     * @return the storage key of a URL issued by this store, or null for foreign URLs
+     */
+    public String keyOf(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        int start = imageUrl.indexOf(baseUrl + "/");
+        if (start < 0) {
+            return null;
+        }
+        String key = imageUrl.substring(start + baseUrl.length() + 1);
+        int query = key.indexOf('?');
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
+    private String sanitizeFolder(String folder) {
+        if (folder == null || !folder.matches("[A-Za-z0-9_\\-/]+") || folder.contains("..")) {
+            return "general";
+        }
+        return folder.replaceAll("^/+|/+$", "");
+    }
+}
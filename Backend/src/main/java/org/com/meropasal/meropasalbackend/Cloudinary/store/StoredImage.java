@@ -0,0 +1,13 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import java.time.Instant;
+
+/**
+ * Created On : 2026 15 Oct 10:05 AM
+ * Author : Monu Siddiki
+ * Description : An image held by an ImageStore, as seen by the orphan sweeper
+ **/
+public record StoredImage(
+        String url,
+        Instant createdAt
+) {}
@@ -0,0 +1,61 @@
+package org.com.meropasal.meropasalbackend.analytics.controller;
+
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesReport;
+import org.com.meropasal.meropasalbackend.analytics.service.SalesRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 11:45 AM
+ * Author : Monu Siddiki
+ * Description : Shop sales dashboard backed by the hourly/daily rollups
+ **/
+@RestController
+@RequestMapping("/analytics/shops")
+@PreAuthorize("hasAnyRole('SHOP_OWNER','ADMIN')")
+public class SalesAnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesAnalyticsController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    // Defaults to the last 30 days
+    @GetMapping("/{shopId}/sales")
+    public ResponseEntity<?> getSales(@PathVariable UUID shopId,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                      @RequestParam(defaultValue = "10") int top) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        try {
+            SalesReport report = salesRollupService.report(shopId, start, end, top);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "report", report
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping("/{shopId}/sales/rebuild")
+    public ResponseEntity<?> rebuildSales(@PathVariable UUID shopId) {
+        salesRollupService.rebuildShop(shopId);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Sales rollups rebuilt"
+        ));
+    }
+}
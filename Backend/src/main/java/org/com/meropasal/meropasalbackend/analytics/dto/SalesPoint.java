@@ -0,0 +1,16 @@
+package org.com.meropasal.meropasalbackend.analytics.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Created On : 2026 17 Oct 11:02 AM
+ * Author : Monu Siddiki
+ * Description : One point of a sales time series
+ **/
+public record SalesPoint(
+        LocalDateTime bucketStart,
+        long orders,
+        long itemsSold,
+        BigDecimal revenue
+) {}
@@ -0,0 +1,20 @@
+package org.com.meropasal.meropasalbackend.analytics.dto;
+
+import org.com.meropasal.meropasalbackend.analytics.enums.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Created On : 2026 17 Oct 11:06 AM
+ * Author : Monu Siddiki
+ * Description : Sales dashboard payload for [from, to), both aligned to whole hours
+ **/
+public record SalesReport(
+        LocalDateTime from,
+        LocalDateTime to,
+        RollupGranularity seriesGranularity,
+        SalesSummary summary,
+        List<SalesPoint> series,
+        List<TopProductSales> topProducts
+) {}
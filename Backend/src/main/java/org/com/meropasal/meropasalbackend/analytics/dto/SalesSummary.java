@@ -0,0 +1,14 @@
+package org.com.meropasal.meropasalbackend.analytics.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Created On : 2026 17 Oct 11:00 AM
+ * Author : Monu Siddiki
+ * Description : Net orders, items and revenue over a range
+ **/
+public record SalesSummary(
+        long orders,
+        long itemsSold,
+        BigDecimal revenue
+) {}
@@ -0,0 +1,17 @@
+package org.com.meropasal.meropasalbackend.analytics.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 11:04 AM
+ * Author : Monu Siddiki
+ * Description : A product's net sales over a range
+ **/
+public record TopProductSales(
+        UUID productId,
+        String productName,
+        long orders,
+        long quantitySold,
+        BigDecimal revenue
+) {}
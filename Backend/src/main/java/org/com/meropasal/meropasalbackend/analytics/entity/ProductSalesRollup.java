@@ -0,0 +1,58 @@
+package org.com.meropasal.meropasalbackend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.analytics.enums.RollupGranularity;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 10:10 AM
+ * Author : Monu Siddiki
+ * Description : Net sales of one product in one hourly or daily bucket
+ **/
+@Entity
+@Table(name = "product_sales_rollup",
+        indexes = {
+                @Index(name = "idx_product_sales_rollup_shop", columnList = "shop_id, granularity, bucket_start")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_product_sales_rollup_bucket", columnNames = {"product_id", "granularity", "bucket_start"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductSalesRollup {
+
+    @Id
+    @UuidV7
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "shop_id", nullable = false)
+    private UUID shopId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "quantity_sold", nullable = false)
+    private long quantitySold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
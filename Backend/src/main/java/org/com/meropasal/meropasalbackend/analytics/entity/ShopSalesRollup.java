@@ -0,0 +1,53 @@
+package org.com.meropasal.meropasalbackend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.analytics.enums.RollupGranularity;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 10:05 AM
+ * Author : Monu Siddiki
+ * Description : Net sales of one shop in one hourly or daily bucket, by order placement time.
+ * Cancelled orders are subtracted from the bucket they were placed in.
+ **/
+@Entity
+@Table(name = "shop_sales_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_shop_sales_rollup_bucket", columnNames = {"shop_id", "granularity", "bucket_start"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ShopSalesRollup {
+
+    @Id
+    @UuidV7
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "shop_id", nullable = false)
+    private UUID shopId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "items_sold", nullable = false)
+    private long itemsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
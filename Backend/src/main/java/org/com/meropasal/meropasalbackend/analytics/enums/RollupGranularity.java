@@ -0,0 +1,29 @@
+package org.com.meropasal.meropasalbackend.analytics.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Created On : 2026 17 Oct 10:00 AM
+ * Author : Monu Siddiki
+ * Description : Width of a sales rollup bucket
+ **/
+public enum RollupGranularity {
+    HOURLY(ChronoUnit.HOURS),
+    DAILY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    // Postgres date_trunc field for the same bucket
+    public String truncField() {
+        return this == HOURLY ? "hour" : "day";
+    }
+}
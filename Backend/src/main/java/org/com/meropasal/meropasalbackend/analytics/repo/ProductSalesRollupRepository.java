@@ -0,0 +1,71 @@
+package org.com.meropasal.meropasalbackend.analytics.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.analytics.entity.ProductSalesRollup;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.com.meropasal.meropasalbackend.analytics.repo.ShopSalesRollupRepository.RANGE_BUCKETS;
+
+/**
+ * Created On : 2026 17 Oct 10:30 AM
+ * Author : Monu Siddiki
+ * Description : Delta upserts and top-product reads for product_sales_rollup
+ **/
+@Repository
+public interface ProductSalesRollupRepository extends JpaRepository<ProductSalesRollup, UUID> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_sales_rollup"))
+    @Query(value = """
+        INSERT INTO product_sales_rollup (id, shop_id, product_id, granularity, bucket_start, order_count, quantity_sold, revenue)
+        VALUES (uuid_generate_v7(), :shopId, :productId, :granularity, :bucketStart, :orders, :quantity, :revenue)
+        ON CONFLICT (product_id, granularity, bucket_start) DO UPDATE SET
+            order_count = product_sales_rollup.order_count + EXCLUDED.order_count,
+            quantity_sold = product_sales_rollup.quantity_sold + EXCLUDED.quantity_sold,
+            revenue = product_sales_rollup.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    void applyDelta(@Param("shopId") UUID shopId, @Param("productId") UUID productId,
+                    @Param("granularity") String granularity, @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("orders") long orders, @Param("quantity") long quantity, @Param("revenue") BigDecimal revenue);
+
+    @Query(value = "SELECT r.product_id, p.name, sum(r.order_count), sum(r.quantity_sold), sum(r.revenue) AS revenue "
+            + "FROM product_sales_rollup r LEFT JOIN products p ON p.id = r.product_id "
+            + "WHERE r.shop_id = :shopId AND " + RANGE_BUCKETS
+            + " GROUP BY r.product_id, p.name HAVING sum(r.quantity_sold) > 0 ORDER BY revenue DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> topProducts(@Param("shopId") UUID shopId,
+                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                               @Param("dayFrom") LocalDateTime dayFrom, @Param("dayTo") LocalDateTime dayTo,
+                               @Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_sales_rollup"))
+    @Query(value = "DELETE FROM product_sales_rollup WHERE shop_id = :shopId", nativeQuery = true)
+    void deleteByShop(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_sales_rollup"))
+    @Query(value = """
+        INSERT INTO product_sales_rollup (id, shop_id, product_id, granularity, bucket_start, order_count, quantity_sold, revenue)
+        SELECT uuid_generate_v7(), b.shop_id, b.product_id, :granularity, b.bucket_start,
+               count(DISTINCT b.order_id), sum(b.quantity), sum(b.line_total)
+        FROM (SELECT o.shop_id, oi.product_id, o.id AS order_id, date_trunc(:unit, o.created_at) AS bucket_start,
+                     oi.quantity, oi.unit_price * oi.quantity AS line_total
+              FROM orders o
+              JOIN order_items oi ON oi.order_id = o.id AND oi.deleted = false
+              WHERE o.shop_id = :shopId AND o.deleted = false AND o.status <> 'CANCELLED') b
+        GROUP BY b.shop_id, b.product_id, b.bucket_start
+        """, nativeQuery = true)
+    int rebuildFromOrders(@Param("shopId") UUID shopId, @Param("granularity") String granularity, @Param("unit") String unit);
+}
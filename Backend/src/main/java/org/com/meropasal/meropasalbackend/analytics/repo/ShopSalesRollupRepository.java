@@ -0,0 +1,91 @@
+package org.com.meropasal.meropasalbackend.analytics.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.analytics.entity.ShopSalesRollup;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 10:20 AM
+ * Author : Monu Siddiki
+ * Description : Delta upserts and range reads for shop_sales_rollup
+ **/
+@Repository
+public interface ShopSalesRollupRepository extends JpaRepository<ShopSalesRollup, UUID> {
+
+    int ROLLUP_LOCK_NAMESPACE = 33034;
+
+    /**
+     * Whole days inside [from, to) come from DAILY rows and the partial days at either edge from HOURLY rows,
+     * so a range never reads more than two days' worth of hourly buckets.
+     */
+    String RANGE_BUCKETS = """
+        ((r.granularity = 'DAILY' AND r.bucket_start >= :dayFrom AND r.bucket_start < :dayTo)
+          OR (r.granularity = 'HOURLY' AND ((r.bucket_start >= :from AND r.bucket_start < :dayFrom)
+                                         OR (r.bucket_start >= :dayTo AND r.bucket_start < :to))))
+        """;
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_sales_rollup"))
+    @Query(value = """
+        INSERT INTO shop_sales_rollup (id, shop_id, granularity, bucket_start, order_count, items_sold, revenue)
+        VALUES (uuid_generate_v7(), :shopId, :granularity, :bucketStart, :orders, :items, :revenue)
+        ON CONFLICT (shop_id, granularity, bucket_start) DO UPDATE SET
+            order_count = shop_sales_rollup.order_count + EXCLUDED.order_count,
+            items_sold = shop_sales_rollup.items_sold + EXCLUDED.items_sold,
+            revenue = shop_sales_rollup.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    void applyDelta(@Param("shopId") UUID shopId, @Param("granularity") String granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart, @Param("orders") long orders,
+                    @Param("items") long items, @Param("revenue") BigDecimal revenue);
+
+    @Query(value = "SELECT coalesce(sum(r.order_count), 0), coalesce(sum(r.items_sold), 0), coalesce(sum(r.revenue), 0) "
+            + "FROM shop_sales_rollup r WHERE r.shop_id = :shopId AND " + RANGE_BUCKETS, nativeQuery = true)
+    List<Object[]> sumRange(@Param("shopId") UUID shopId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                            @Param("dayFrom") LocalDateTime dayFrom, @Param("dayTo") LocalDateTime dayTo);
+
+    // Series points are re-bucketed to :unit ('hour' or 'day'), so edge hours fold into their day
+    @Query(value = "SELECT date_trunc(:unit, r.bucket_start) AS point, sum(r.order_count), sum(r.items_sold), sum(r.revenue) "
+            + "FROM shop_sales_rollup r WHERE r.shop_id = :shopId AND " + RANGE_BUCKETS
+            + " GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<Object[]> seriesRange(@Param("shopId") UUID shopId, @Param("unit") String unit,
+                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                               @Param("dayFrom") LocalDateTime dayFrom, @Param("dayTo") LocalDateTime dayTo);
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock_shared(" + ROLLUP_LOCK_NAMESPACE
+            + ", hashtext(CAST(:shopId AS text)))) l", nativeQuery = true)
+    Integer lockShopShared(@Param("shopId") UUID shopId);
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(" + ROLLUP_LOCK_NAMESPACE
+            + ", hashtext(CAST(:shopId AS text)))) l", nativeQuery = true)
+    Integer lockShopExclusive(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_sales_rollup"))
+    @Query(value = "DELETE FROM shop_sales_rollup WHERE shop_id = :shopId", nativeQuery = true)
+    void deleteByShop(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_sales_rollup"))
+    @Query(value = """
+        INSERT INTO shop_sales_rollup (id, shop_id, granularity, bucket_start, order_count, items_sold, revenue)
+        SELECT uuid_generate_v7(), b.shop_id, :granularity, b.bucket_start,
+               count(*), coalesce(sum(b.items), 0), sum(b.total)
+        FROM (SELECT o.shop_id, date_trunc(:unit, o.created_at) AS bucket_start, o.total,
+                     (SELECT sum(oi.quantity) FROM order_items oi WHERE oi.order_id = o.id AND oi.deleted = false) AS items
+              FROM orders o
+              WHERE o.shop_id = :shopId AND o.deleted = false AND o.status <> 'CANCELLED') b
+        GROUP BY b.shop_id, b.bucket_start
+        """, nativeQuery = true)
+    int rebuildFromOrders(@Param("shopId") UUID shopId, @Param("granularity") String granularity, @Param("unit") String unit);
+}
@@ -0,0 +1,204 @@
+package org.com.meropasal.meropasalbackend.analytics.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesPoint;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesReport;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesSummary;
+import org.com.meropasal.meropasalbackend.analytics.dto.TopProductSales;
+import org.com.meropasal.meropasalbackend.analytics.enums.RollupGranularity;
+import org.com.meropasal.meropasalbackend.analytics.repo.ProductSalesRollupRepository;
+import org.com.meropasal.meropasalbackend.analytics.repo.ShopSalesRollupRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.order.event.OrderLifecycleEvent;
+import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 17 Oct 11:15 AM
+ * Author : Monu Siddiki
+ * Description : Maintains hourly and daily sales rollups per shop and per product from order lifecycle
+ * events, and answers dashboard ranges by combining whole-day buckets with hourly ones at the edges.
+ * Buckets use server-local time, the same clock orders.created_at is written with.
+ **/
+@Slf4j
+@Service
+public class SalesRollupService {
+
+    private static final int MAX_TOP_PRODUCTS = 50;
+    // Ranges up to this long get an hourly series; longer ones a daily series
+    private static final Duration HOURLY_SERIES_LIMIT = Duration.ofHours(48);
+
+    private final ShopSalesRollupRepository shopRollupRepository;
+    private final ProductSalesRollupRepository productRollupRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardScatter shardScatter;
+    private final boolean backfillOnStartup;
+    // This bean's proxy, so per-shop rebuilds get their @Workload and @ShardedBy advice
+    private final ObjectProvider<SalesRollupService> self;
+
+    public SalesRollupService(ShopSalesRollupRepository shopRollupRepository,
+                              ProductSalesRollupRepository productRollupRepository,
+                              OrderRepository orderRepository,
+                              PlatformTransactionManager transactionManager,
+                              ShardScatter shardScatter,
+                              @Value("${app.analytics.backfill-on-startup:true}") boolean backfillOnStartup,
+                              ObjectProvider<SalesRollupService> self) {
+        this.shopRollupRepository = shopRollupRepository;
+        this.productRollupRepository = productRollupRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScatter = shardScatter;
+        this.backfillOnStartup = backfillOnStartup;
+        this.self = self;
+    }
+
+    /**
+     * Applies the order as a +1 or -1 delta to its hourly and daily buckets, inside the order's transaction.
+     */
+    @EventListener
+    @Transactional
+    public void onOrderLifecycle(OrderLifecycleEvent event) {
+        int sign;
+        if (event.becameCountable()) {
+            sign = 1;
+        } else if (event.stoppedCounting()) {
+            sign = -1;
+        } else {
+            return;
+        }
+        shopRollupRepository.lockShopShared(event.shopId());
+
+        long items = event.lines().stream().mapToLong(OrderLifecycleEvent.Line::quantity).sum();
+        BigDecimal total = event.total() != null ? event.total() : BigDecimal.ZERO;
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucket = granularity.bucketStart(event.orderedAt());
+            shopRollupRepository.applyDelta(event.shopId(), granularity.name(), bucket,
+                    sign, sign * items, total.multiply(BigDecimal.valueOf(sign)));
+            for (OrderLifecycleEvent.Line line : event.lines()) {
+                productRollupRepository.applyDelta(event.shopId(), line.productId(), granularity.name(), bucket,
+                        sign, (long) sign * line.quantity(), line.revenue().multiply(BigDecimal.valueOf(sign)));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public SalesReport report(UUID shopId, LocalDateTime requestedFrom, LocalDateTime requestedTo, int top) {
+        LocalDateTime from = requestedFrom.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = ceilTo(requestedTo, ChronoUnit.HOURS);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        RollupGranularity seriesGranularity = Duration.between(from, to).compareTo(HOURLY_SERIES_LIMIT) <= 0
+                ? RollupGranularity.HOURLY : RollupGranularity.DAILY;
+
+        // Whole days in the middle are read from daily rows. An hourly series cannot be cut out of daily rows,
+        // and a range inside a single day has no whole days, so both read hourly rows only.
+        LocalDateTime dayFrom = ceilTo(from, ChronoUnit.DAYS);
+        LocalDateTime dayTo = to.truncatedTo(ChronoUnit.DAYS);
+        if (seriesGranularity == RollupGranularity.HOURLY || !dayFrom.isBefore(dayTo)) {
+            dayFrom = to;
+            dayTo = to;
+        }
+
+        Object[] sums = shopRollupRepository.sumRange(shopId, from, to, dayFrom, dayTo).get(0);
+        SalesSummary summary = new SalesSummary(toLong(sums[0]), toLong(sums[1]), toDecimal(sums[2]));
+
+        List<SalesPoint> series = shopRollupRepository
+                .seriesRange(shopId, seriesGranularity.truncField(), from, to, dayFrom, dayTo).stream()
+                .map(row -> new SalesPoint(toLocalDateTime(row[0]), toLong(row[1]), toLong(row[2]), toDecimal(row[3])))
+                .toList();
+
+        List<TopProductSales> topProducts = productRollupRepository
+                .topProducts(shopId, from, to, dayFrom, dayTo, Math.min(Math.max(top, 1), MAX_TOP_PRODUCTS)).stream()
+                .map(row -> new TopProductSales((UUID) row[0], (String) row[1], toLong(row[2]), toLong(row[3]), toDecimal(row[4])))
+                .toList();
+
+        return new SalesReport(from, to, seriesGranularity, summary, series, topProducts);
+    }
+
+    /**
+     * Replays a shop's order history into fresh rollups. Holds the shop's advisory lock exclusively,
+     * so orders placed meanwhile wait and land on top of the rebuilt rows.
+     */
+    @Workload(WorkloadClass.BACKGROUND)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public void rebuildShop(UUID shopId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            shopRollupRepository.lockShopExclusive(shopId);
+            shopRollupRepository.deleteByShop(shopId);
+            productRollupRepository.deleteByShop(shopId);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                shopRollupRepository.rebuildFromOrders(shopId, granularity.name(), granularity.truncField());
+                productRollupRepository.rebuildFromOrders(shopId, granularity.name(), granularity.truncField());
+            }
+        });
+    }
+
+    @Workload(WorkloadClass.BACKGROUND)
+    public void rebuildAll() {
+        shardScatter.forEachShard(this::rebuildShardShops);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Workload(WorkloadClass.BACKGROUND)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        shardScatter.forEachShard(() -> {
+            if (shopRollupRepository.count() == 0) {
+                rebuildShardShops();
+            }
+        });
+    }
+
+    // Every shop with orders on the current shard
+    private void rebuildShardShops() {
+        List<UUID> shopIds = orderRepository.findDistinctShopIds();
+        shopIds.forEach(self.getObject()::rebuildShop);
+        log.info("Rebuilt sales rollups for {} shops", shopIds.size());
+    }
+
+    private static LocalDateTime ceilTo(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime floor = time.truncatedTo(unit);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -6,6 +6,7 @@ package org.com.meropasal.meropasalbackend.authSystem.config;
  * Description :
  **/
 
+import org.com.meropasal.meropasalbackend.idempotency.config.IdempotencyAspect;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -61,7 +62,7 @@ public class SecurityConfig {
                         .allowedMethods("GET", "POST", "PUT","PATCH", "DELETE", "OPTIONS") // Allowed HTTP methods
                         .allowedHeaders("*") // Allow all headers
                         .allowCredentials(true) // Allow cookies and credentials
-                        .exposedHeaders("Set-Cookie");
+                        .exposedHeaders("Set-Cookie", IdempotencyAspect.REPLAYED_HEADER);
             }
         };
     }
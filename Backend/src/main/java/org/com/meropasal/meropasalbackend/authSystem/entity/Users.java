@@ -8,12 +8,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.com.meropasal.meropasalbackend.authSystem.enums.UserRole;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.follower.entity.Follower;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
-import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.Where;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -48,8 +48,7 @@ import java.util.UUID;
 public class Users {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -3,30 +3,53 @@ package org.com.meropasal.meropasalbackend.authSystem.service;
 /**
  * Created On : 2025 26 Jan 12:00 PM
  * Author : Monu Siddiki
- * Description :
+ * Description : Sends OTP mails in the background. Jakarta Mail's SMTP transport holds monitors
+ * while it talks to the server, which pins virtual threads, so delivery runs on a small pool of
+ * platform threads whatever mode the request threads are in.
  **/
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final ExecutorService executor;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender,
+                        @Value("${app.mail.sender-threads:4}") int senderThreads) {
         this.mailSender = mailSender;
+        this.executor = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("mail-sender-"));
     }
 
 
-    @Async
     //for otp
     public void sendOtpEmail(String email, String otp) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(email);
         message.setSubject("Your OTP for Verification");
         message.setText("Your OTP is: " + otp);
-        mailSender.send(message);
+        executor.execute(() -> {
+            try {
+                mailSender.send(message);
+            } catch (MailException e) {
+                log.error("Failed to send OTP email to {}", email, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
 }
@@ -0,0 +1,51 @@
+package org.com.meropasal.meropasalbackend.cache.config;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Created On : 2026 19 Oct 1:10 PM
+ * Author : Monu Siddiki
+ * Description : Every second-level cache region and its default eviction policy. Hibernate is set to fail on
+ * unknown regions, so an entity can only be cached through a region declared here. Application caches that
+ * need the same size and TTL bounds live in the same manager. Sizes and TTLs can be overridden with
+ * app.cache.regions.<name>.max-entries and .ttl.
+ **/
+public final class CacheRegions {
+
+    public static final String SHOP = "shop";
+    public static final String CATEGORY = "category";
+    public static final String SOCIAL_ACCOUNT = "social_account";
+    public static final String SHOP_GATEWAY_CONFIG = "shop_gateway_config";
+    // Results of the by-shop / by-url lookups on the entities above
+    public static final String REFERENCE_QUERIES = "reference_queries";
+    // FollowerService: customer id -> ids of the shops they follow
+    public static final String FOLLOWED_SHOPS = "followed_shops";
+
+    // Region names Hibernate uses for the query cache
+    static final String QUERY_RESULTS = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    record Policy(String region, long maxEntries, Duration timeToLive) {}
+
+    // TTLs bound how long a write made outside Hibernate (psql, another service) can stay invisible
+    static final List<Policy> POLICIES = List.of(
+            new Policy(SHOP, 5_000, Duration.ofMinutes(30)),
+            new Policy(CATEGORY, 20_000, Duration.ofHours(1)),
+            new Policy(SOCIAL_ACCOUNT, 5_000, Duration.ofHours(1)),
+            // Short-lived: holds encrypted gateway credentials that shops rotate
+            new Policy(SHOP_GATEWAY_CONFIG, 2_000, Duration.ofMinutes(10)),
+            new Policy(REFERENCE_QUERIES, 10_000, Duration.ofMinutes(10)),
+            new Policy(FOLLOWED_SHOPS, 50_000, Duration.ofMinutes(15)),
+            new Policy(QUERY_RESULTS, 1_000, Duration.ofMinutes(5)),
+            // One entry per table; must never expire before the query results that depend on it
+            new Policy(UPDATE_TIMESTAMPS, 1_000, null)
+    );
+
+    private CacheRegions() {
+    }
+
+    public static List<String> names() {
+        return POLICIES.stream().map(Policy::region).toList();
+    }
+}
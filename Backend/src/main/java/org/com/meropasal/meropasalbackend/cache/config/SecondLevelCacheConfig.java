@@ -0,0 +1,53 @@
+package org.com.meropasal.meropasalbackend.cache.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 1:20 PM
+ * Author : Monu Siddiki
+ * Description : Builds the Ehcache (JCache) manager behind Hibernate's second-level cache in code, one heap-only
+ * cache per region in CacheRegions, and hands it to Hibernate. Each application context gets a manager of its own
+ * under a fresh URI, so two contexts in one JVM (as in the test suite) don't both try to create the same regions.
+ **/
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (CacheRegions.Policy policy : CacheRegions.POLICIES) {
+            String prefix = "app.cache.regions." + policy.region();
+            long maxEntries = environment.getProperty(prefix + ".max-entries", Long.class, policy.maxEntries());
+            Duration ttl = environment.getProperty(prefix + ".ttl", Duration.class, policy.timeToLive());
+
+            CacheConfigurationBuilder<Object, Object> region = CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                    .withExpiry(ttl != null ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl) : ExpiryPolicyBuilder.noExpiration());
+            configuration = configuration.withCache(policy.region(), region);
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:meropasal:hibernate:" + UUID.randomUUID()),
+                configuration.build());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,45 @@
+package org.com.meropasal.meropasalbackend.cache.controller;
+
+import org.com.meropasal.meropasalbackend.cache.dto.CacheStatsReport;
+import org.com.meropasal.meropasalbackend.cache.service.CacheStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Created On : 2026 19 Oct 1:50 PM
+ * Author : Monu Siddiki
+ * Description : Second-level cache statistics and manual eviction for operators
+ **/
+@RestController
+@RequestMapping("/admin/cache")
+@PreAuthorize("hasAnyRole('ADMIN')")
+public class CacheAdminController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheAdminController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsReport> getStats() {
+        return ResponseEntity.ok(cacheStatsService.report());
+    }
+
+    @DeleteMapping("/stats")
+    public ResponseEntity<?> resetStats() {
+        cacheStatsService.resetStatistics();
+        return ResponseEntity.ok(Map.of("status", "success", "message", "Cache statistics reset"));
+    }
+
+    // Without a region every region is cleared
+    @PostMapping("/evict")
+    public ResponseEntity<?> evict(@RequestParam(required = false) String region) {
+        cacheStatsService.evict(region);
+        return ResponseEntity.ok(Map.of("status", "success", "message",
+                region != null ? "Evicted cache region " + region : "Evicted all cache regions"));
+    }
+}
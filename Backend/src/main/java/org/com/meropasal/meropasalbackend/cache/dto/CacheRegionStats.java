@@ -0,0 +1,15 @@
+package org.com.meropasal.meropasalbackend.cache.dto;
+
+/**
+ * Created On : 2026 19 Oct 1:35 PM
+ * Author : Monu Siddiki
+ * Description : Hit/miss counters of one second-level cache region since startup or the last reset
+ **/
+public record CacheRegionStats(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRatio,
+        long entriesInMemory
+) {}
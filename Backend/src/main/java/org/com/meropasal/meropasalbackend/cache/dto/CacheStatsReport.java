@@ -0,0 +1,19 @@
+package org.com.meropasal.meropasalbackend.cache.dto;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 19 Oct 1:36 PM
+ * Author : Monu Siddiki
+ * Description : Second-level and query cache counters. All zero when hibernate.generate_statistics is off.
+ **/
+public record CacheStatsReport(
+        boolean statisticsEnabled,
+        long secondLevelHits,
+        long secondLevelMisses,
+        long secondLevelPuts,
+        long queryCacheHits,
+        long queryCacheMisses,
+        long queryCachePuts,
+        List<CacheRegionStats> regions
+) {}
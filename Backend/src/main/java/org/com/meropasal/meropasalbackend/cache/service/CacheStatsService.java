@@ -0,0 +1,79 @@
+package org.com.meropasal.meropasalbackend.cache.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
+import org.com.meropasal.meropasalbackend.cache.dto.CacheRegionStats;
+import org.com.meropasal.meropasalbackend.cache.dto.CacheStatsReport;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 19 Oct 1:40 PM
+ * Author : Monu Siddiki
+ * Description : Reads Hibernate's cache statistics and evicts regions on demand, e.g. after a manual data fix
+ **/
+@Slf4j
+@Service
+public class CacheStatsService {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public CacheStatsReport report() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStats> regions = CacheRegions.names().stream()
+                .map(region -> regionStats(statistics, region))
+                .toList();
+        return new CacheStatsReport(
+                statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                regions);
+    }
+
+    public void evict(String region) {
+        if (region == null) {
+            sessionFactory.getCache().evictAllRegions();
+            log.info("Evicted all second-level cache regions");
+            return;
+        }
+        if (!CacheRegions.names().contains(region)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown cache region: " + region);
+        }
+        sessionFactory.getCache().evictRegion(region);
+        log.info("Evicted second-level cache region {}", region);
+    }
+
+    public void resetStatistics() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    private static CacheRegionStats regionStats(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        if (stats == null) {
+            return new CacheRegionStats(region, 0, 0, 0, 0, 0);
+        }
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return new CacheRegionStats(
+                region,
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getPutCount(),
+                lookups == 0 ? 0 : (double) stats.getHitCount() / lookups,
+                stats.getElementCountInMemory());
+    }
+}
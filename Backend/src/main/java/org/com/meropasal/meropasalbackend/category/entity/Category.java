@@ -16,9 +16,12 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.hibernate.annotations.*;
+import org.hibernate.annotations.Cache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -41,13 +44,14 @@ import java.util.UUID;
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE categories SET deleted = true WHERE id=?")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORY)
+@SQLDelete(sql = "UPDATE category SET deleted = true WHERE id=?")
 @Where(clause = "deleted = false")
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
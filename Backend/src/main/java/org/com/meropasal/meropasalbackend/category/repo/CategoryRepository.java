@@ -1,8 +1,12 @@
 package org.com.meropasal.meropasalbackend.category.repo;
 
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
 import org.com.meropasal.meropasalbackend.category.entity.Category;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +20,6 @@ import java.util.UUID;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     // Custom query to find categories by shopId
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     List<Category> findByShopId(UUID shopId);
 }
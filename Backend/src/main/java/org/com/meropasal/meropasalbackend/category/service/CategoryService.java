@@ -11,6 +11,11 @@ import org.com.meropasal.meropasalbackend.category.dto.CategoryDto;
 import org.com.meropasal.meropasalbackend.category.entity.Category;
 import org.com.meropasal.meropasalbackend.category.mapper.CategoryMapper;
 import org.com.meropasal.meropasalbackend.category.repo.CategoryRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -29,9 +34,17 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final ProductRepository productRepository;
+    private final ShardScatter shardScatter;
 
     // Get all categories
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<CategoryDto> getAllCategories() {
+        return shardScatter.gather(this::getShardCategories);
+    }
+
+    // Categories and their product counts on the current shard
+    private List<CategoryDto> getShardCategories() {
         List<Category> categories = categoryRepository.findAll();
 
         // Fetch product counts once
@@ -52,6 +65,8 @@ public class CategoryService {
     }
 
     // Get a category by ID
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.CATEGORY, key = "#id")
     public CategoryDto getCategoryById(UUID id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found with ID: " + id));
@@ -59,6 +74,7 @@ public class CategoryService {
     }
 
     // Create a new category
+    @ShardedBy(value = ShardKey.SHOP, key = "#categoryDto.shopId")
     public CategoryDto createCategory(CategoryDto categoryDto) {
 
         Category category = categoryMapper.toEntity(categoryDto);
@@ -67,6 +83,7 @@ public class CategoryService {
     }
 
     // Update an existing category
+    @ShardedBy(value = ShardKey.CATEGORY, key = "#id")
     public CategoryDto updateCategory(UUID id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found with ID: " + id));
@@ -81,6 +98,7 @@ public class CategoryService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.CATEGORY, key = "#id")
     public CategoryDto updateCategoryStatus(UUID id, boolean active) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found with ID: " + id));
@@ -92,6 +110,7 @@ public class CategoryService {
 
 
     // Soft delete category (marks it as deleted)
+    @ShardedBy(value = ShardKey.CATEGORY, key = "#id")
     public void deleteCategory(UUID id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found with ID: " + id));
@@ -106,6 +125,9 @@ public class CategoryService {
      * @param shopId UUID of the shop
      * @return List<CategoryDto>
      */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<CategoryDto> getCategoriesByShopId(UUID shopId) {
         List<Category> categories = categoryRepository.findByShopId(shopId);
 
@@ -46,8 +46,9 @@ public class CartController {
             UUID productId = UUID.fromString((String) request.get("productId"));
             Integer quantity = (Integer) request.getOrDefault("quantity", 1);
             String selectedVariant = (String) request.get("selectedVariant");
+            UUID skuId = request.get("skuId") != null ? UUID.fromString((String) request.get("skuId")) : null;
 
-            CartItemDTO cartItem = cartService.addToCart(customerId, productId, quantity, selectedVariant);
+            CartItemDTO cartItem = cartService.addToCart(customerId, productId, quantity, selectedVariant, skuId);
 
             return ResponseEntity.ok(Map.of(
                     "status", "success",
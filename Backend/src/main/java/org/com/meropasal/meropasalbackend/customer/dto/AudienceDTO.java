@@ -3,6 +3,7 @@ package org.com.meropasal.meropasalbackend.customer.dto;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Created On : 2025 02 Sep 11:39 PM
@@ -22,4 +23,5 @@ public class AudienceDTO {
     private String city;
     private Long totalOrders;   // total number of orders
     private BigDecimal totalSales;  // total sales amount
+    private LocalDateTime lastOrderAt;  // most recent non-cancelled order
 }
@@ -30,6 +30,8 @@ public class CartItemDTO {
     private Integer quantity;
     private BigDecimal totalPrice;
     private String selectedVariant;
+    private UUID skuId;
+    private String skuCode;
     private UUID shopId;
     private String shopName;
     private String shopLogo;
@@ -11,7 +11,9 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
 import org.hibernate.annotations.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -22,6 +24,8 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+// One line per (customer_id, product_id, sku_id), null sku_id included: unique index
+// uc_cartitem_customer_product_sku in V10, which CartItemRepository.upsert relies on
 @Table(name = "cart_items",
         indexes = {
                 @Index(name = "idx_cartitem_product", columnList = "product_id")
@@ -32,8 +36,7 @@ import java.util.UUID;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -53,6 +56,11 @@ public class CartItem {
     @Column(name = "selected_variant")
     private String selectedVariant; // JSON string for product variants
 
+    // Set when the variant resolved to a SKU; selectedVariant then holds the SKU label
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sku_id")
+    private ProductSku sku;
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
@@ -15,6 +15,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.com.meropasal.meropasalbackend.authSystem.entity.Users;
 import org.com.meropasal.meropasalbackend.authSystem.enums.UserRole;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.follower.entity.Follower;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.hibernate.annotations.*;
@@ -39,8 +40,7 @@ import java.util.UUID;
 public class CustomerDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 //
@@ -0,0 +1,67 @@
+package org.com.meropasal.meropasalbackend.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 16 Oct 2:10 PM
+ * Author : Monu Siddiki
+ * Description : Per-shop customer aggregate, keyed by the shipping contact the orders were placed with.
+ * Maintained incrementally by AudienceService; missing contact fields are stored as '' so the key stays unique.
+ * Cancelled orders are not counted.
+ **/
+@Entity
+@Table(name = "shop_audience",
+        indexes = {
+                @Index(name = "idx_shop_audience_last_order", columnList = "shop_id, last_order_at"),
+                @Index(name = "idx_shop_audience_total_sales", columnList = "shop_id, total_sales"),
+                @Index(name = "idx_shop_audience_order_count", columnList = "shop_id, order_count")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_shop_audience_contact",
+                        columnNames = {"shop_id", "customer_name", "mobile_number", "email", "city"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ShopAudience {
+
+    @Id
+    @UuidV7
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "shop_id", nullable = false)
+    private UUID shopId;
+
+    @Column(name = "customer_name", nullable = false)
+    private String customerName;
+
+    @Column(name = "mobile_number", nullable = false)
+    private String mobileNumber;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String city;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_sales", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalSales;
+
+    @Column(name = "first_order_at")
+    private LocalDateTime firstOrderAt;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+}
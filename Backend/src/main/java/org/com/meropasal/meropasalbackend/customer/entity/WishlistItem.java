@@ -5,9 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -19,15 +19,17 @@ import java.util.UUID;
  **/
 
 @Entity
-@Table(name = "wishlist_items")
+@Table(name = "wishlist_items",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_wishlist_customer_product", columnNames = {"customer_id", "product_id"})
+        })
 @Getter
 @Setter
 
 public class WishlistItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -1,13 +1,18 @@
 package org.com.meropasal.meropasalbackend.customer.repo;
 
+import jakarta.persistence.QueryHint;
 import org.com.meropasal.meropasalbackend.customer.entity.CartItem;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +31,35 @@ public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
     // Find cart item by customer and product
     Optional<CartItem> findByCustomerIdAndProductId(UUID customerId, UUID productId);
 
+    // A product can sit in the cart once per SKU; a null skuId matches the line without one
+    Optional<CartItem> findByCustomerIdAndProductIdAndSkuId(UUID customerId, UUID productId, UUID skuId);
+
+    /**
+     * Adds quantity to the customer's line for this product and SKU, creating it if there is none, in one
+     * statement that is safe against concurrent adds. An existing line keeps its price snapshot. Returns 0
+     * when maxQuantity is set and the line would exceed it, leaving the line unchanged.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cart_items"))
+    @Query(value = """
+        INSERT INTO cart_items (id, customer_id, product_id, sku_id, quantity, price, total_price,
+                                selected_variant, created_at, updated_at)
+        VALUES (:id, :customerId, :productId, CAST(:skuId AS uuid), :quantity, :price, :price * :quantity,
+                CAST(:variant AS varchar), :now, :now)
+        ON CONFLICT (customer_id, product_id, COALESCE(sku_id, '00000000-0000-0000-0000-000000000000'::uuid))
+        DO UPDATE SET
+            quantity = cart_items.quantity + EXCLUDED.quantity,
+            total_price = cart_items.price * (cart_items.quantity + EXCLUDED.quantity),
+            selected_variant = EXCLUDED.selected_variant,
+            updated_at = EXCLUDED.updated_at
+        WHERE CAST(:maxQuantity AS integer) IS NULL
+           OR cart_items.quantity + EXCLUDED.quantity <= CAST(:maxQuantity AS integer)
+        """, nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("customerId") UUID customerId, @Param("productId") UUID productId,
+               @Param("skuId") UUID skuId, @Param("quantity") int quantity, @Param("price") BigDecimal price,
+               @Param("variant") String variant, @Param("maxQuantity") Integer maxQuantity,
+               @Param("now") LocalDateTime now);
+
     // Count cart items for a customer
     long countByCustomerId(UUID customerId);
 
@@ -33,7 +67,7 @@ public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
     void deleteByCustomerId(UUID customerId);
 
     // Add this to CartItemRepository
-    @Query("SELECT ci FROM CartItem ci JOIN ci.product p JOIN p.shop s " +
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product p JOIN FETCH p.shop s LEFT JOIN FETCH ci.sku " +
             "WHERE ci.customer.id = :customerId AND s.id = :shopId")
     List<CartItem> findByCustomerIdAndShopId(@Param("customerId") UUID customerId,
                                              @Param("shopId") UUID shopId);
@@ -53,6 +87,7 @@ public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
     @Query("SELECT ci FROM CartItem ci " +
             "JOIN FETCH ci.product p " +
             "JOIN FETCH p.shop s " +
+            "LEFT JOIN FETCH ci.sku " +
             "WHERE ci.customer.id = :customerId " +
             "ORDER BY s.businessName, ci.createdAt DESC")
     List<CartItem> findByCustomerIdWithShopGrouping(@Param("customerId") UUID customerId);
@@ -0,0 +1,112 @@
+package org.com.meropasal.meropasalbackend.customer.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.customer.entity.ShopAudience;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Created On : 2026 16 Oct 2:20 PM
+ * Author : Monu Siddiki
+ * Description : Reads and incremental upserts for the shop_audience aggregate
+ **/
+@Repository
+public interface ShopAudienceRepository extends JpaRepository<ShopAudience, UUID> {
+
+    // Arbitrary namespace for the advisory locks that keep a rebuild from racing live order events
+    int AUDIENCE_LOCK_NAMESPACE = 33033;
+
+    List<ShopAudience> findByShopId(UUID shopId, Sort sort);
+
+    Page<ShopAudience> findByShopId(UUID shopId, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ShopAudience> streamByShopIdOrderByLastOrderAtDesc(UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_audience"))
+    @Query(value = """
+        INSERT INTO shop_audience (id, shop_id, customer_name, mobile_number, email, city,
+                                   order_count, total_sales, first_order_at, last_order_at)
+        VALUES (uuid_generate_v7(), :shopId, :name, :mobile, :email, :city, 1, :total, :orderedAt, :orderedAt)
+        ON CONFLICT (shop_id, customer_name, mobile_number, email, city) DO UPDATE SET
+            order_count = shop_audience.order_count + 1,
+            total_sales = shop_audience.total_sales + EXCLUDED.total_sales,
+            first_order_at = LEAST(shop_audience.first_order_at, EXCLUDED.first_order_at),
+            last_order_at = GREATEST(shop_audience.last_order_at, EXCLUDED.last_order_at)
+        """, nativeQuery = true)
+    void addOrder(@Param("shopId") UUID shopId, @Param("name") String name, @Param("mobile") String mobile,
+                  @Param("email") String email, @Param("city") String city,
+                  @Param("total") BigDecimal total, @Param("orderedAt") LocalDateTime orderedAt);
+
+    // last_order_at only needs recomputing when the removed order was the latest one
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_audience"))
+    @Query(value = """
+        UPDATE shop_audience a SET
+            order_count = GREATEST(a.order_count - 1, 0),
+            total_sales = GREATEST(a.total_sales - :total, 0),
+            last_order_at = CASE WHEN a.last_order_at > :orderedAt THEN a.last_order_at ELSE (
+                SELECT max(o.created_at) FROM orders o
+                WHERE o.shop_id = a.shop_id AND o.id <> :orderId
+                  AND o.deleted = false AND o.status <> 'CANCELLED'
+                  AND coalesce(o.name, '') = a.customer_name AND coalesce(o.mobile, '') = a.mobile_number
+                  AND coalesce(o.email, '') = a.email AND coalesce(o.city, '') = a.city)
+            END
+        WHERE a.shop_id = :shopId AND a.customer_name = :name AND a.mobile_number = :mobile
+          AND a.email = :email AND a.city = :city
+        """, nativeQuery = true)
+    void removeOrder(@Param("orderId") UUID orderId, @Param("shopId") UUID shopId, @Param("name") String name,
+                     @Param("mobile") String mobile, @Param("email") String email, @Param("city") String city,
+                     @Param("total") BigDecimal total, @Param("orderedAt") LocalDateTime orderedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_audience"))
+    @Query(value = "DELETE FROM shop_audience WHERE shop_id = :shopId AND order_count = 0", nativeQuery = true)
+    void deleteEmpty(@Param("shopId") UUID shopId);
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock_shared(" + AUDIENCE_LOCK_NAMESPACE
+            + ", hashtext(CAST(:shopId AS text)))) l", nativeQuery = true)
+    Integer lockShopShared(@Param("shopId") UUID shopId);
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(" + AUDIENCE_LOCK_NAMESPACE
+            + ", hashtext(CAST(:shopId AS text)))) l", nativeQuery = true)
+    Integer lockShopExclusive(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_audience"))
+    @Query(value = "DELETE FROM shop_audience WHERE shop_id = :shopId", nativeQuery = true)
+    void deleteByShop(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_audience"))
+    @Query(value = """
+        INSERT INTO shop_audience (id, shop_id, customer_name, mobile_number, email, city,
+                                   order_count, total_sales, first_order_at, last_order_at)
+        SELECT uuid_generate_v7(), o.shop_id,
+               coalesce(o.name, ''), coalesce(o.mobile, ''), coalesce(o.email, ''), coalesce(o.city, ''),
+               count(*), sum(o.total), min(o.created_at), max(o.created_at)
+        FROM orders o
+        WHERE o.shop_id = :shopId AND o.deleted = false AND o.status <> 'CANCELLED'
+        GROUP BY o.shop_id, coalesce(o.name, ''), coalesce(o.mobile, ''), coalesce(o.email, ''), coalesce(o.city, '')
+        """, nativeQuery = true)
+    int rebuildFromOrders(@Param("shopId") UUID shopId);
+}
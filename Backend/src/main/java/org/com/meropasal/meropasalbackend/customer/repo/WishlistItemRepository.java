@@ -1,11 +1,16 @@
 package org.com.meropasal.meropasalbackend.customer.repo;
 
+import jakarta.persistence.QueryHint;
 import org.com.meropasal.meropasalbackend.customer.entity.WishlistItem;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +30,17 @@ public interface WishlistItemRepository extends JpaRepository<WishlistItem, UUID
 
     Optional<WishlistItem> findByCustomerIdAndProductId(UUID customerId, UUID productId);
 
+    // 0 when the product is already in the customer's wishlist
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "wishlist_items"))
+    @Query(value = """
+        INSERT INTO wishlist_items (id, customer_id, product_id, created_at)
+        VALUES (:id, :customerId, :productId, :createdAt)
+        ON CONFLICT (customer_id, product_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("customerId") UUID customerId,
+                       @Param("productId") UUID productId, @Param("createdAt") LocalDateTime createdAt);
+
     void deleteByCustomerId(UUID customerId);
 
     void deleteByCustomerIdAndProductId(UUID customerId, UUID productId);
@@ -1,27 +1,177 @@
 package org.com.meropasal.meropasalbackend.customer.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.com.meropasal.meropasalbackend.customer.dto.AudienceDTO;
+import org.com.meropasal.meropasalbackend.customer.entity.ShopAudience;
+import org.com.meropasal.meropasalbackend.customer.repo.ShopAudienceRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.order.event.OrderLifecycleEvent;
 import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Created On : 2025 02 Sep 11:54 PM
  * Author : Monu Siddiki
- * Description :
+ * Description : Shop audience served from the shop_audience aggregate, which is kept current from
+ * order lifecycle events instead of grouping a shop's whole order history on every request
  **/
+@Slf4j
 @Service
 public class AudienceService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("lastOrderAt"), Sort.Order.asc("id"));
+
+    // API sort names -> entity properties
+    private static final Map<String, String> SORTABLE = Map.of(
+            "lastOrderAt", "lastOrderAt",
+            "totalOrders", "orderCount",
+            "totalSales", "totalSales",
+            "customerName", "customerName");
+
+    private final ShopAudienceRepository audienceRepository;
     private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardScatter shardScatter;
+    private final boolean backfillOnStartup;
+    // This bean's proxy, so per-shop rebuilds get their @Workload and @ShardedBy advice
+    private final ObjectProvider<AudienceService> self;
 
-    public AudienceService(OrderRepository orderRepository) {
+    public AudienceService(ShopAudienceRepository audienceRepository, OrderRepository orderRepository,
+                           PlatformTransactionManager transactionManager, ShardScatter shardScatter,
+                           @Value("${app.audience.backfill-on-startup:true}") boolean backfillOnStartup,
+                           ObjectProvider<AudienceService> self) {
+        this.audienceRepository = audienceRepository;
         this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScatter = shardScatter;
+        this.backfillOnStartup = backfillOnStartup;
+        this.self = self;
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<AudienceDTO> getAudienceByShop(UUID shopId) {
-        return orderRepository.getAudienceDataByShop(shopId);
+        return audienceRepository.findByShopId(shopId, DEFAULT_SORT).stream()
+                .map(AudienceService::toDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public Page<AudienceDTO> getAudiencePage(UUID shopId, int page, int size, String sortBy, String direction) {
+        String property = SORTABLE.get(sortBy);
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy + ". Use one of " + SORTABLE.keySet());
+        }
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), property).and(Sort.by("id"));
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+        return audienceRepository.findByShopId(shopId, pageRequest).map(AudienceService::toDTO);
+    }
+
+    /**
+     * Runs inside the order's transaction, so the aggregate commits or rolls back with the order itself.
+     */
+    @EventListener
+    @Transactional
+    public void onOrderLifecycle(OrderLifecycleEvent event) {
+        boolean add = event.becameCountable();
+        if (!add && !event.stoppedCounting()) {
+            return;
+        }
+        audienceRepository.lockShopShared(event.shopId());
+        String name = keyPart(event.customerName());
+        String mobile = keyPart(event.mobile());
+        String email = keyPart(event.email());
+        String city = keyPart(event.city());
+
+        if (add) {
+            audienceRepository.addOrder(event.shopId(), name, mobile, email, city, event.total(), event.orderedAt());
+        } else {
+            audienceRepository.removeOrder(event.orderId(), event.shopId(), name, mobile, email, city,
+                    event.total(), event.orderedAt());
+            audienceRepository.deleteEmpty(event.shopId());
+        }
+    }
+
+    /**
+     * Recomputes one shop's aggregate from its orders. Holds the shop's advisory lock exclusively,
+     * so orders placed meanwhile wait and are counted exactly once.
+     */
+    @Workload(WorkloadClass.BACKGROUND)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public int rebuildShop(UUID shopId) {
+        Integer rows = transactionTemplate.execute(status -> {
+            audienceRepository.lockShopExclusive(shopId);
+            audienceRepository.deleteByShop(shopId);
+            return audienceRepository.rebuildFromOrders(shopId);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    // One transaction per shop keeps each lock and rewrite short
+    @Workload(WorkloadClass.BACKGROUND)
+    public void rebuildAll() {
+        shardScatter.forEachShard(this::rebuildShardShops);
+    }
+
+    // First start after the aggregate was introduced: backfill from existing orders
+    @EventListener(ApplicationReadyEvent.class)
+    @Workload(WorkloadClass.BACKGROUND)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        shardScatter.forEachShard(() -> {
+            if (audienceRepository.count() == 0) {
+                rebuildShardShops();
+            }
+        });
+    }
+
+    // Every shop with orders on the current shard
+    private void rebuildShardShops() {
+        List<UUID> shopIds = orderRepository.findDistinctShopIds();
+        AudienceService proxy = self.getObject();
+        int rows = 0;
+        for (UUID shopId : shopIds) {
+            rows += proxy.rebuildShop(shopId);
+        }
+        log.info("Rebuilt shop audience for {} shops ({} customers)", shopIds.size(), rows);
+    }
+
+    private static String keyPart(String value) {
+        return value != null ? value : "";
+    }
+
+    private static AudienceDTO toDTO(ShopAudience audience) {
+        return new AudienceDTO(
+                audience.getCustomerName(),
+                audience.getMobileNumber(),
+                audience.getEmail(),
+                audience.getCity(),
+                audience.getOrderCount(),
+                audience.getTotalSales(),
+                audience.getLastOrderAt());
     }
 }
@@ -4,14 +4,20 @@ import jakarta.transaction.Transactional;
 import org.com.meropasal.meropasalbackend.customer.dto.CartItemDTO;
 import org.com.meropasal.meropasalbackend.customer.dto.CartSummaryDTO;
 import org.com.meropasal.meropasalbackend.customer.entity.CartItem;
-import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
 import org.com.meropasal.meropasalbackend.customer.repo.CartItemRepository;
-import org.com.meropasal.meropasalbackend.customer.repo.CustomerRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
 import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.com.meropasal.meropasalbackend.product.service.ProductSkuService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -27,60 +33,66 @@ import java.util.stream.Collectors;
 public class CartService {
 
     private final CartItemRepository cartItemRepository;
-    private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
+    private final ProductSkuService productSkuService;
+    private final ShardScatter shardScatter;
 
-    public CartService(CartItemRepository cartItemRepository, CustomerRepository customerRepository, ProductRepository productRepository) {
+    public CartService(CartItemRepository cartItemRepository, ProductRepository productRepository,
+                       ProductSkuService productSkuService, ShardScatter shardScatter) {
         this.cartItemRepository = cartItemRepository;
-        this.customerRepository = customerRepository;
         this.productRepository = productRepository;
+        this.productSkuService = productSkuService;
+        this.shardScatter = shardScatter;
     }
 
-    public CartItemDTO addToCart(UUID customerId, UUID productId, Integer quantity, String selectedVariant) {
-        CustomerDetails customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
+    // A cart item lives with its product's shop, so one customer's cart can span shards
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId", customer = "#customerId")
+    public CartItemDTO addToCart(UUID customerId, UUID productId, Integer quantity, String selectedVariant, UUID skuId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found or inactive"));
 
-        // Check if item already exists in cart
-        CartItem existingItem = cartItemRepository.findByCustomerIdAndProductId(customerId, productId)
-                .orElse(null);
-
-        if (existingItem != null) {
-            // Update quantity
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-            existingItem.setSelectedVariant(selectedVariant);
-            existingItem = cartItemRepository.save(existingItem);
-        } else {
-            // Create new cart item
-            CartItem cartItem = new CartItem();
-            cartItem.setCustomer(customer);
-            cartItem.setProduct(product);
-            cartItem.setQuantity(quantity);
-            cartItem.setPrice(product.getPrice());
-            cartItem.setSelectedVariant(selectedVariant);
-            existingItem = cartItemRepository.save(cartItem);
+        // Free-text variants of SKU-backed products are matched to their SKU here
+        ProductSku sku = productSkuService.resolveForCart(product, skuId, selectedVariant);
+        String variantLabel = sku != null ? sku.getLabel() : selectedVariant;
+        Integer stock = sku != null ? sku.getStock() : null;
+        if (stock != null && quantity > stock) {
+            throw new IllegalArgumentException("Only " + stock + " left for " + sku.getLabel());
+        }
+
+        // Inserts the line or adds to it in one statement, so concurrent adds neither duplicate nor lose quantity
+        int written;
+        try {
+            written = cartItemRepository.upsert(UuidV7Generator.next(), customerId, productId, sku != null ? sku.getId() : null,
+                    quantity, sku != null ? sku.getEffectivePrice() : product.getPrice(), variantLabel, stock, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // The product and SKU were just read, so the failing foreign key is the customer's
+            throw new RuntimeException("Customer not found");
+        }
+        if (written == 0) {
+            throw new IllegalArgumentException("Only " + stock + " left for " + sku.getLabel());
         }
 
-        return convertToDTO(existingItem);
+        CartItem cartItem = cartItemRepository.findByCustomerIdAndProductIdAndSkuId(customerId, productId, sku != null ? sku.getId() : null)
+                .orElseThrow(() -> new IllegalStateException("Cart item missing after upsert"));
+        return convertToDTO(cartItem);
     }
 
     public List<CartItemDTO> getCartItems(UUID customerId) {
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdWithShopGrouping(customerId);
-        return cartItems.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return shardScatter.gather(() -> cartItemDTOs(customerId));
     }
 
     public Map<UUID, List<CartItemDTO>> getCartItemsGroupedByShop(UUID customerId) {
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdWithShopGrouping(customerId);
+        return shardScatter.gather(() -> cartItemDTOs(customerId)).stream()
+                .collect(Collectors.groupingBy(CartItemDTO::getShopId));
+    }
 
-        return cartItems.stream()
+    private List<CartItemDTO> cartItemDTOs(UUID customerId) {
+        return cartItemRepository.findByCustomerIdWithShopGrouping(customerId).stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.groupingBy(CartItemDTO::getShopId));
+                .collect(Collectors.toList());
     }
 
+    @ShardedBy(value = ShardKey.CART_ITEM, key = "#cartItemId")
     public CartItemDTO updateCartItem(UUID customerId, UUID cartItemId, Integer quantity) {
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found"));
@@ -100,6 +112,7 @@ public class CartService {
         return convertToDTO(cartItem);
     }
 
+    @ShardedBy(value = ShardKey.CART_ITEM, key = "#cartItemId")
     public void removeFromCart(UUID customerId, UUID cartItemId) {
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found"));
@@ -112,15 +125,20 @@ public class CartService {
     }
 
     public void clearCart(UUID customerId) {
-        cartItemRepository.deleteByCustomerId(customerId);
+        shardScatter.gatherForUpdate(() -> {
+            cartItemRepository.deleteByCustomerId(customerId);
+            return List.of();
+        });
     }
 
     public CartSummaryDTO getCartSummary(UUID customerId) {
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdOrderByCreatedAtDesc(customerId);
-
-        long totalItems = cartItems.size();
-        BigDecimal totalAmount = cartItems.stream()
+        List<BigDecimal> itemTotals = shardScatter.gather(() -> cartItemRepository.findByCustomerIdOrderByCreatedAtDesc(customerId)
+                .stream()
                 .map(CartItem::getTotalPrice)
+                .collect(Collectors.toList()));
+
+        long totalItems = itemTotals.size();
+        BigDecimal totalAmount = itemTotals.stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return CartSummaryDTO.builder()
@@ -130,38 +148,44 @@ public class CartService {
     }
 
     public long getCartItemsCount(UUID customerId) {
-        return cartItemRepository.countByCustomerId(customerId);
+        return shardScatter.sum(() -> cartItemRepository.countByCustomerId(customerId));
     }
 
     // Add these methods to your existing CartService
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<CartItemDTO> getCartItemsByShop(UUID customerId, UUID shopId) {
         return cartItemRepository.findByCustomerIdAndShopId(customerId, shopId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public void clearCartItemsByShop(UUID customerId, UUID shopId) {
         cartItemRepository.deleteByCustomerIdAndShopId(customerId, shopId);
     }
 
     private CartItemDTO convertToDTO(CartItem cartItem) {
         Product product = cartItem.getProduct();
+        ProductSku sku = cartItem.getSku();
 
         return CartItemDTO.builder()
                 .id(cartItem.getId())
                 .productId(product.getId())
                 .productName(product.getName())
                 .productImage(product.getImageUrl())
-                .price(product.getPrice())
+                .price(sku != null ? sku.getEffectivePrice() : product.getPrice())
                 .discountPercentage(product.getDiscountPercentage())
-                .discountPrice(product.getDiscountPrice() != null ? product.getDiscountPrice() : product.getPrice())
+                .discountPrice(sku != null ? sku.getEffectiveDiscountPrice()
+                        : product.getDiscountPrice() != null ? product.getDiscountPrice() : product.getPrice())
                 .quantity(cartItem.getQuantity())
                 .totalPrice(cartItem.getTotalPrice())
                 .selectedVariant(cartItem.getSelectedVariant())
+                .skuId(sku != null ? sku.getId() : null)
+                .skuCode(sku != null ? sku.getSkuCode() : null)
                 .shopId(product.getShop().getId())
                 .shopName(product.getShop().getBusinessName())
                 .shopLogo(product.getShop().getLogoUrl() != null ? product.getShop().getLogoUrl() : "")
-                .stockQuantity(product.getStock())
+                .stockQuantity(sku != null ? sku.getEffectiveStock() : product.getStock())
                 .createdAt(cartItem.getCreatedAt())
                 .build();
     }
@@ -1,17 +1,20 @@
 package org.com.meropasal.meropasalbackend.customer.service;
 
 import org.com.meropasal.meropasalbackend.customer.dto.WishlistItemDTO;
-import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
 import org.com.meropasal.meropasalbackend.customer.entity.WishlistItem;
-import org.com.meropasal.meropasalbackend.customer.repo.CustomerRepository;
 import org.com.meropasal.meropasalbackend.customer.repo.WishlistItemRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
 import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,45 +30,48 @@ public class WishlistService {
 
     private final WishlistItemRepository wishlistItemRepository;
     private final ProductRepository productRepository;
-    private final CustomerRepository customerRepository;
+    private final ShardScatter shardScatter;
 
-    public WishlistService(WishlistItemRepository wishlistItemRepository, ProductRepository productRepository, CustomerRepository customerRepository) {
+    public WishlistService(WishlistItemRepository wishlistItemRepository, ProductRepository productRepository,
+                           ShardScatter shardScatter) {
         this.wishlistItemRepository = wishlistItemRepository;
         this.productRepository = productRepository;
-        this.customerRepository = customerRepository;
+        this.shardScatter = shardScatter;
     }
 
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId", customer = "#customerId")
     public WishlistItemDTO addToWishlist(UUID customerId, UUID productId) {
-        CustomerDetails customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        // Check if item already exists in wishlist
-        Optional<WishlistItem> existingItem = wishlistItemRepository
-                .findByCustomerIdAndProductId(customerId, productId);
-
-        if (existingItem.isPresent()) {
-            throw new RuntimeException("Product already in wishlist");
-        }
-
         WishlistItem wishlistItem = new WishlistItem();
-        wishlistItem.setCustomer(customer);
+        wishlistItem.setId(UuidV7Generator.next());
         wishlistItem.setProduct(product);
-
-        wishlistItem = wishlistItemRepository.save(wishlistItem);
+        wishlistItem.setCreatedAt(LocalDateTime.now());
+
+        // The (customer_id, product_id) unique constraint settles concurrent adds of the same product
+        int inserted;
+        try {
+            inserted = wishlistItemRepository.insertIfAbsent(wishlistItem.getId(), customerId, productId,
+                    wishlistItem.getCreatedAt());
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Customer not found");
+        }
+        if (inserted == 0) {
+            throw new RuntimeException("Product already in wishlist");
+        }
 
         return convertToDTO(wishlistItem);
     }
 
+    @Transactional(readOnly = true)
     public List<WishlistItemDTO> getWishlistItems(UUID customerId) {
-        List<WishlistItem> wishlistItems = wishlistItemRepository.findByCustomerIdWithProductAndShop(customerId);
-        return wishlistItems.stream()
+        return shardScatter.gather(() -> wishlistItemRepository.findByCustomerIdWithProductAndShop(customerId).stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId")
     public void removeFromWishlist(UUID customerId, UUID productId) {
         WishlistItem wishlistItem = wishlistItemRepository.findByCustomerIdAndProductId(customerId, productId)
                 .orElseThrow(() -> new RuntimeException("Wishlist item not found"));
@@ -74,15 +80,21 @@ public class WishlistService {
     }
 
     public void clearWishlist(UUID customerId) {
-        wishlistItemRepository.deleteByCustomerId(customerId);
+        shardScatter.gatherForUpdate(() -> {
+            wishlistItemRepository.deleteByCustomerId(customerId);
+            return List.of();
+        });
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId")
     public boolean isInWishlist(UUID customerId, UUID productId) {
         return wishlistItemRepository.existsByCustomerIdAndProductId(customerId, productId);
     }
 
+    @Transactional(readOnly = true)
     public long getWishlistItemsCount(UUID customerId) {
-        return wishlistItemRepository.countByCustomerId(customerId);
+        return shardScatter.sum(() -> wishlistItemRepository.countByCustomerId(customerId));
     }
 
     private WishlistItemDTO convertToDTO(WishlistItem wishlistItem) {
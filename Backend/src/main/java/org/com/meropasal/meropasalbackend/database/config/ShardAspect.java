@@ -0,0 +1,91 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.com.meropasal.meropasalbackend.database.service.ShardDirectory;
+import org.com.meropasal.meropasalbackend.database.service.ShardReferenceData;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created On : 2026 19 Oct 6:25 PM
+ * Author : Monu Siddiki
+ * Description : Sets the ShardContext for calls into @ShardedBy methods and pins the request to that
+ * shard for open-in-view lazy loads. Runs inside WorkloadAspect and outside the transaction interceptor,
+ * so the shard is known before the transaction takes its connection. A call that resolves to another
+ * shard than the transaction it is nested in fails instead of silently reading the wrong database.
+ **/
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ShardAspect {
+
+    private final ShardDirectory directory;
+    private final ShardReferenceData referenceData;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public ShardAspect(ShardDirectory directory, ShardReferenceData referenceData) {
+        this.directory = directory;
+        this.referenceData = referenceData;
+    }
+
+    @Around("@annotation(shardedBy)")
+    public Object onShard(ProceedingJoinPoint joinPoint, ShardedBy shardedBy) throws Throwable {
+        if (!directory.isSharded()) {
+            return joinPoint.proceed();
+        }
+        EvaluationContext context = new MethodBasedEvaluationContext(joinPoint.getTarget(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(), parameterNames);
+        Object key = evaluate(shardedBy.key(), context);
+        if (key == null) {
+            return joinPoint.proceed();
+        }
+
+        int shard = directory.resolve(shardedBy.value(), key);
+        if (shard != ShardContext.current() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Call for " + shardedBy.value() + " " + key + " needs shard " + shard
+                    + " inside a transaction on shard " + ShardContext.current());
+        }
+        referenceData.ensureUser(toUuid(evaluate(shardedBy.user(), context)), shard);
+        referenceData.ensureCustomer(toUuid(evaluate(shardedBy.customer(), context)), shard);
+
+        Integer previous = ShardContext.enter(shard);
+        ShardContext.pinRequest(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private Object evaluate(String expression, EvaluationContext context) {
+        if (expression.isEmpty()) {
+            return null;
+        }
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+    }
+
+    private static UUID toUuid(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+}
@@ -0,0 +1,80 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Created On : 2026 19 Oct 6:20 PM
+ * Author : Monu Siddiki
+ * Description : The shard the code running on the current thread works on, read by the routing
+ * DataSource when a connection is taken. Shard 0 is the home database, which also holds the global
+ * tables (users, customer_details, shop_shards).
+ **/
+public final class ShardContext {
+
+    public static final int HOME = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final String PINNED_ATTRIBUTE = ShardContext.class.getName() + ".pinned";
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : HOME;
+    }
+
+    /**
+     * The shard for a connection taken outside any transaction. Under open-in-view that is a lazy load
+     * after the service call returned, so it follows the shard the request last resolved.
+     */
+    public static int currentOrPinned() {
+        Integer shard = CURRENT.get();
+        if (shard != null) {
+            return shard;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Object pinned = request != null ? request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        return pinned instanceof Integer pinnedShard ? pinnedShard : HOME;
+    }
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = enter(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static void pinRequest(int shard) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED_ATTRIBUTE, shard, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
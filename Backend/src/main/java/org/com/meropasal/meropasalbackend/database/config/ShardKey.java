@@ -0,0 +1,49 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+/**
+ * Created On : 2026 19 Oct 6:10 PM
+ * Author : Monu Siddiki
+ * Description : What the key of a @ShardedBy call identifies, and so how its shard is found. Shop keys
+ * are answered by the shop_shards directory on the home database; every other key by asking each shard
+ * whether it holds the row (probe), home first, with the answer cached because rows never change shard.
+ **/
+public enum ShardKey {
+
+    /** A shop id. */
+    SHOP(null),
+
+    /** The owner (users.id) of a shop, for calls made before the shop id is known. */
+    SHOP_OWNER(null),
+
+    /** A shop's storefront URL. */
+    SHOP_URL(null),
+
+    /** The owner of a shop about to be created: the owner's shop shard, else where new shops are placed. */
+    NEW_SHOP(null),
+
+    PRODUCT("SELECT EXISTS (SELECT 1 FROM products WHERE id = CAST(? AS uuid))"),
+
+    CATEGORY("SELECT EXISTS (SELECT 1 FROM category WHERE id = CAST(? AS uuid))"),
+
+    // Archived months only remain in order_history, which lives on the same shard
+    ORDER("SELECT EXISTS (SELECT 1 FROM orders WHERE id = CAST(? AS uuid))"
+            + " OR EXISTS (SELECT 1 FROM order_history WHERE order_id = CAST(? AS uuid))"),
+
+    CART_ITEM("SELECT EXISTS (SELECT 1 FROM cart_items WHERE id = CAST(? AS uuid))"),
+
+    GATEWAY_CONFIG("SELECT EXISTS (SELECT 1 FROM store_gateway_config WHERE id = CAST(? AS uuid))"),
+
+    /** The gateway's request id of a payment (payment.gateway_request_id), as sent back in callbacks. */
+    PAYMENT_REQUEST("SELECT EXISTS (SELECT 1 FROM payment WHERE gateway_request_id = ?)");
+
+    private final String probeSql;
+
+    ShardKey(String probeSql) {
+        this.probeSql = probeSql;
+    }
+
+    /** Null for the keys the directory answers. Every ? is bound to the key. */
+    public String probeSql() {
+        return probeSql;
+    }
+}
@@ -0,0 +1,64 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 19 Oct 7:05 PM
+ * Author : Monu Siddiki
+ * Description : Applies the db/migration scripts to every extra shard after Spring Boot's Flyway has
+ * migrated the home database, with the same settings and its own unpooled connections. Every shard
+ * carries the full schema, so Hibernate's validation against home holds for all of them.
+ **/
+@Slf4j
+@Component
+public class ShardMigrations implements InitializingBean {
+
+    private final WorkloadPools workloadPools;
+    private final ObjectProvider<Flyway> flyway;
+
+    public ShardMigrations(WorkloadPools workloadPools,
+                           ObjectProvider<Flyway> flyway,
+                           ObjectProvider<FlywayMigrationInitializer> homeMigration) {
+        this.workloadPools = workloadPools;
+        this.flyway = flyway;
+        // Creating the initializer runs the home migration, so home is always ahead of the shards
+        homeMigration.getIfAvailable();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Flyway home = flyway.getIfAvailable();
+        if (home == null) {
+            return;
+        }
+        List<WorkloadPools.ShardNode> shards = workloadPools.shards();
+        for (int shard = 1; shard < shards.size(); shard++) {
+            WorkloadPools.ShardNode node = shards.get(shard);
+            FluentConfiguration configuration = Flyway.configure()
+                    .configuration(home.getConfiguration())
+                    .dataSource(node.url(), node.username(), node.password());
+            // Set explicitly so every shard takes the same lock mode as home; CONCURRENTLY needs the session-level one
+            configuration.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class)
+                    .setTransactionalLock(transactionalLock(home));
+            MigrateResult result = configuration.load().migrate();
+            log.info("Shard {} schema at version {} ({} migrations applied)", shard,
+                    result.targetSchemaVersion, result.migrationsExecuted);
+        }
+    }
+
+    private static boolean transactionalLock(Flyway home) {
+        return home.getConfiguration().getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .isTransactionalLock();
+    }
+}
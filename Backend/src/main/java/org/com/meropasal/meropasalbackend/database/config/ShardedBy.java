@@ -0,0 +1,25 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Created On : 2026 19 Oct 6:15 PM
+ * Author : Monu Siddiki
+ * Description : Runs the call on the shard that holds its data. key is a SpEL expression over the method
+ * arguments (#shopId, #dto.shopId, #event.shopId()); a null key leaves the call on the current shard.
+ * customer / user name ids whose customer_details / users row the shard's foreign keys need; they are
+ * copied from the home database before the call. Without extra shards the annotation does nothing.
+ **/
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardedBy {
+
+    ShardKey value();
+
+    String key();
+
+    String customer() default "";
+
+    String user() default "";
+}
@@ -0,0 +1,18 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Created On : 2026 19 Oct 5:05 PM
+ * Author : Monu Siddiki
+ * Description : Declares which connection pool a service (type level) or a single method uses. Method
+ * level wins. The class only decides the pool when the call is the one that takes the connection, i.e.
+ * it starts the transaction or runs outside one.
+ **/
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,47 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Created On : 2026 19 Oct 5:15 PM
+ * Author : Monu Siddiki
+ * Description : Sets the WorkloadContext for calls into @Workload services. Runs outside the transaction
+ * interceptor so the class is in place before the transaction takes its connection.
+ **/
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around("@within(org.com.meropasal.meropasalbackend.database.config.Workload) || "
+            + "@annotation(org.com.meropasal.meropasalbackend.database.config.Workload)")
+    public Object withWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(specific, Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        }
+        if (workload == null) {
+            return joinPoint.proceed();
+        }
+        WorkloadClass previous = WorkloadContext.enter(workload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
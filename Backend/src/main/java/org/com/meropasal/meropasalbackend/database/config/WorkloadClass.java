@@ -0,0 +1,25 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import java.util.Locale;
+
+/**
+ * Created On : 2026 19 Oct 5:05 PM
+ * Author : Monu Siddiki
+ * Description : Workload classes with their own connection pools and statement timeouts, configured
+ * under app.datasource.workloads.&lt;name&gt;.
+ **/
+public enum WorkloadClass {
+
+    /** Request-path reads and writes: checkout, cart, catalogue. The default for anything unannotated. */
+    OLTP,
+
+    /** Seller reports, exports and catalogue-wide aggregates. */
+    REPORTING,
+
+    /** Scheduled jobs, backfills, imports and startup schema work. */
+    BACKGROUND;
+
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Created On : 2026 19 Oct 5:10 PM
+ * Author : Monu Siddiki
+ * Description : The workload class of the code running on the current thread, read by the routing
+ * DataSource when a connection is taken.
+ **/
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.OLTP;
+    }
+
+    public static <T> T call(WorkloadClass workload, Supplier<T> action) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(WorkloadClass workload, Runnable action) {
+        call(workload, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static WorkloadClass enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(WorkloadClass previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.meropasal.meropasalbackend.database.service.ReplicaRoutingPolicy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Created On : 2026 19 Oct 4:40 PM
+ * Author : Monu Siddiki
+ * Description : Replaces the single auto-configured pool with the workload pools and the routing
+ * DataSource in front of them. The replica pools only exist with app.datasource.replica.enabled=true;
+ * pointing the replica URL at the primary database is enough to exercise that routing locally. Every
+ * shard listed in app.datasource.shards.urls gets its own primary pools behind the same router.
+ **/
+@Configuration
+public class WorkloadDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public WorkloadPools workloadPools(Environment environment, DataSourceProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new WorkloadPools(environment, properties, meterRegistry);
+    }
+
+    // Hibernate asks for its connection in Transaction.begin() to switch off auto-commit, before Spring has
+    // marked the transaction active or read-only. The lazy proxy records that call and only takes the pooled
+    // connection at the first statement, by which time the router can see the transaction it belongs to.
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadPools workloadPools, ObjectProvider<ReplicaRoutingPolicy> replicaPolicy) {
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(replicaPolicy.getIfAvailable());
+        routing.setTargetDataSources(workloadPools.targets());
+        routing.setDefaultTargetDataSource(workloadPools.primary(WorkloadClass.OLTP));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Spring's default holds one connection for the whole session, which under open-in-view would pin a
+    // request to whichever pool its first transaction picked
+    @Bean
+    public HibernatePropertiesCustomizer routedConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,147 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created On : 2026 19 Oct 5:25 PM
+ * Author : Monu Siddiki
+ * Description : One Hikari pool per workload class, plus a replica pool per class when the replica is
+ * enabled. Each pool starts from spring.datasource.hikari (replica pools then apply
+ * app.datasource.replica.hikari) and is overridden by app.datasource.workloads.&lt;class&gt;, whose
+ * statement-timeout is set on every connection the pool opens.
+ * Every extra shard in app.datasource.shards.urls gets its own set of primary pools (shard 0 is
+ * spring.datasource), built the same way with app.datasource.shards.hikari applied on top.
+ * Pools report hikaricp.* meters tagged pool=&lt;class&gt;, &lt;class&gt;-replica or &lt;class&gt;-shard&lt;n&gt;; saturation
+ * shows as hikaricp_connections_pending above zero and hikaricp_connections_active reaching hikaricp_connections_max.
+ **/
+public class WorkloadPools implements AutoCloseable {
+
+    // The replica only serves the home shard
+    public record PoolKey(WorkloadClass workload, boolean replica, int shard) {
+    }
+
+    public record ShardNode(String url, String username, String password) {
+    }
+
+    private final List<ShardNode> shards = new ArrayList<>();
+    private final List<Map<WorkloadClass, HikariDataSource>> primary = new ArrayList<>();
+    private final Map<WorkloadClass, HikariDataSource> replica = new EnumMap<>(WorkloadClass.class);
+
+    WorkloadPools(Environment environment, DataSourceProperties properties, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        boolean replicaEnabled = binder.bind("app.datasource.replica.enabled", Boolean.class).orElse(false);
+
+        shards.add(new ShardNode(properties.determineUrl(), properties.determineUsername(), properties.determinePassword()));
+        String shardUsername = binder.bind("app.datasource.shards.username", String.class).orElse(properties.determineUsername());
+        String shardPassword = binder.bind("app.datasource.shards.password", String.class).orElse(properties.determinePassword());
+        binder.bind("app.datasource.shards.urls", Bindable.listOf(String.class)).orElse(List.of()).stream()
+                .filter(url -> !url.isBlank())
+                .forEach(url -> shards.add(new ShardNode(url.trim(), shardUsername, shardPassword)));
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            ShardNode node = shards.get(shard);
+            Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+            for (WorkloadClass workload : WorkloadClass.values()) {
+                HikariConfig config = baseConfig(binder, properties);
+                if (shard != ShardContext.HOME) {
+                    binder.bind("app.datasource.shards.hikari", Bindable.ofInstance(config));
+                }
+                config.setJdbcUrl(node.url());
+                config.setUsername(node.username());
+                config.setPassword(node.password());
+                String poolName = shard == ShardContext.HOME ? workload.propertyName() : workload.propertyName() + "-shard" + shard;
+                pools.put(workload, createPool(binder, config, workload, poolName, meterRegistry));
+            }
+            primary.add(pools);
+        }
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            if (replicaEnabled) {
+                HikariConfig replicaConfig = baseConfig(binder, properties);
+                binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replicaConfig));
+                replicaConfig.setJdbcUrl(binder.bind("app.datasource.replica.url", String.class).get());
+                replicaConfig.setUsername(binder.bind("app.datasource.replica.username", String.class)
+                        .orElse(properties.determineUsername()));
+                replicaConfig.setPassword(binder.bind("app.datasource.replica.password", String.class)
+                        .orElse(properties.determinePassword()));
+                replicaConfig.setReadOnly(true);
+                replica.put(workload, createPool(binder, replicaConfig, workload, workload.propertyName() + "-replica", meterRegistry));
+            }
+        }
+    }
+
+    public boolean hasReplica() {
+        return !replica.isEmpty();
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public List<ShardNode> shards() {
+        return List.copyOf(shards);
+    }
+
+    public DataSource primary(WorkloadClass workload) {
+        return primary(workload, ShardContext.HOME);
+    }
+
+    public DataSource primary(WorkloadClass workload, int shard) {
+        return primary.get(shard).get(workload);
+    }
+
+    public DataSource replica(WorkloadClass workload) {
+        return replica.get(workload);
+    }
+
+    Map<Object, Object> targets() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        for (int shard = 0; shard < primary.size(); shard++) {
+            int index = shard;
+            primary.get(shard).forEach((workload, pool) -> targets.put(new PoolKey(workload, false, index), pool));
+        }
+        replica.forEach((workload, pool) -> targets.put(new PoolKey(workload, true, ShardContext.HOME), pool));
+        return targets;
+    }
+
+    @Override
+    public void close() {
+        primary.forEach(pools -> pools.values().forEach(HikariDataSource::close));
+        replica.values().forEach(HikariDataSource::close);
+    }
+
+    private static HikariConfig baseConfig(Binder binder, DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName(properties.determineDriverClassName());
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        return config;
+    }
+
+    private static HikariDataSource createPool(Binder binder, HikariConfig config, WorkloadClass workload,
+                                               String poolName, MeterRegistry meterRegistry) {
+        String prefix = "app.datasource.workloads." + workload.propertyName();
+        binder.bind(prefix, Bindable.ofInstance(config));
+        binder.bind(prefix + ".statement-timeout", Duration.class).ifBound(timeout ->
+                config.setConnectionInitSql("SET statement_timeout = " + timeout.toMillis()));
+        config.setPoolName(poolName);
+        config.setMetricRegistry(meterRegistry);
+        // Started on first use, so an unreachable replica or shard does not stop the application from booting
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,41 @@
+package org.com.meropasal.meropasalbackend.database.config;
+
+import org.com.meropasal.meropasalbackend.database.service.ReplicaRoutingPolicy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Created On : 2026 19 Oct 4:25 PM
+ * Author : Monu Siddiki
+ * Description : Picks the pool for each connection: the current WorkloadContext class on the ShardContext
+ * shard; on the home shard, the replica for connections taken inside @Transactional(readOnly = true) while
+ * the replica policy allows it, otherwise the primary. It sits behind a LazyConnectionDataSourceProxy and
+ * Hibernate releases connections after each transaction (see WorkloadDataSourceConfig), so the lookup runs
+ * at a transaction's first statement, once its flags are set, and every transaction is routed on its own.
+ **/
+class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Null when the replica is disabled
+    private final ReplicaRoutingPolicy policy;
+
+    WorkloadRoutingDataSource(ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        WorkloadClass workload = WorkloadContext.current();
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        // A transaction works on the shard its caller set explicitly (home when none did); the request's pin is
+        // only for connections taken outside one, the open-in-view lazy loads after a sharded call returned
+        int shard = inTransaction ? ShardContext.current() : ShardContext.currentOrPinned();
+        if (policy == null || !inTransaction || shard != ShardContext.HOME) {
+            return new WorkloadPools.PoolKey(workload, false, shard);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            policy.recordWrite();
+            return new WorkloadPools.PoolKey(workload, false, shard);
+        }
+        return new WorkloadPools.PoolKey(workload, policy.mayUseReplica(), shard);
+    }
+}
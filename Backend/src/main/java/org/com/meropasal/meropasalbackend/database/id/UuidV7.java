@@ -0,0 +1,19 @@
+package org.com.meropasal.meropasalbackend.database.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Created On : 2026 19 Oct 6:00 PM
+ * Author : Monu Siddiki
+ * Description : Marks a UUID id as generated by UuidV7Generator. Use it on its own, without @GeneratedValue.
+ **/
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,47 @@
+package org.com.meropasal.meropasalbackend.database.id;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Created On : 2026 19 Oct 6:00 PM
+ * Author : Monu Siddiki
+ * Description : Issues time-ordered UUIDv7 ids (RFC 9562): a 48-bit millisecond timestamp followed by random
+ * bits. New rows land at the right edge of the primary key B-tree instead of on a random page, which keeps
+ * index pages dense and the hot part of the index in cache. Ids stay in Postgres' native uuid type.
+ **/
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    // Guarded by a j.u.c lock (no virtual-thread pinning); ids from one JVM stay ordered within a millisecond
+    private static final TimeBasedEpochGenerator GENERATOR = Generators.timeBasedEpochGenerator();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    // For rows written by native SQL that need their id back without a RETURNING round-trip
+    public static UUID next() {
+        return GENERATOR.generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+
+    // Empty for ids issued before UUIDv7 (random v4), which carry no time
+    public static Optional<Instant> timestampOf(UUID id) {
+        return id.version() == 7 ? Optional.of(Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16)) : Optional.empty();
+    }
+}
@@ -0,0 +1,223 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import io.micrometer.core.instrument.Gauge;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created On : 2026 19 Oct 4:10 PM
+ * Author : Monu Siddiki
+ * Description : Decides whether a read-only transaction may use the replica. The replica is skipped while
+ * its replay lag is above the limit or it cannot be reached, and for a short window after a user writes,
+ * so checkout and similar flows read their own writes from the primary. That window follows a signed-in
+ * user by name, and every client (anonymous checkouts included) through a short-lived signed cookie, which
+ * any instance sharing app.datasource.replica.pin-secret honours.
+ **/
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingPolicy {
+
+    private static final String PINNED_ATTRIBUTE = ReplicaRoutingPolicy.class.getName() + ".pinned";
+    public static final String PIN_COOKIE = "mp_primary_until";
+    private static final String HMAC = "HmacSHA256";
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final String LAG_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+        END
+        """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final long stickyNanos;
+    // Principal name -> System.nanoTime() until which that user's reads stay on the primary
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final SecretKeySpec pinKey;
+
+    private volatile boolean replicaUsable = false;
+    private volatile double lagMillis = Double.NaN;
+
+    public ReplicaRoutingPolicy(WorkloadPools workloadPools,
+                                MeterRegistry registry,
+                                @Value("${app.datasource.replica.max-lag:2s}") Duration maxLag,
+                                @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+                                @Value("${app.datasource.replica.pin-secret:}") String pinSecret) {
+        // Lag checks are background work, so they never wait behind request traffic for a connection
+        this.replicaJdbcTemplate = new JdbcTemplate(workloadPools.replica(WorkloadClass.BACKGROUND));
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickyNanos = readYourWritesWindow.toNanos();
+        this.pinKey = new SecretKeySpec(pinSecretBytes(pinSecret), HMAC);
+        Gauge.builder("meropasal.db.replica.lag", this, policy -> policy.lagMillis)
+                .description("Replica replay lag, NaN while the replica is unreachable")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("meropasal.db.replica.in_use", this, policy -> policy.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+    }
+
+    public boolean mayUseReplica() {
+        return replicaUsable && !isPinnedToPrimary();
+    }
+
+    /**
+     * Called when a read-write transaction takes a connection. Later reads in the same request, and the
+     * same user's or client's reads for the read-your-writes window, go to the primary.
+     */
+    public void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            if (request instanceof ServletRequestAttributes servlet && servlet.getResponse() != null) {
+                issuePinCookie(servlet.getResponse());
+            }
+        }
+        String principal = currentPrincipal();
+        if (principal != null) {
+            pinnedUntil.put(principal, System.nanoTime() + stickyNanos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1000}")
+    public void checkLag() {
+        boolean wasUsable = replicaUsable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagMillis = lag != null ? lag : 0;
+            replicaUsable = lagMillis <= maxLagMillis;
+        } catch (RuntimeException e) {
+            lagMillis = Double.NaN;
+            replicaUsable = false;
+            if (wasUsable) {
+                log.warn("Replica unreachable, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (wasUsable != replicaUsable && !Double.isNaN(lagMillis)) {
+            log.info("Replica lag {} ms, read-only transactions now use the {}", (long) lagMillis,
+                    replicaUsable ? "replica" : "primary");
+        }
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now < 0);
+    }
+
+    boolean isPinnedToPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String principal = currentPrincipal();
+        if (principal != null) {
+            Long until = pinnedUntil.get(principal);
+            if (until != null && until - System.nanoTime() > 0) {
+                return true;
+            }
+        }
+        return request instanceof ServletRequestAttributes servlet && hasValidPinCookie(servlet.getRequest());
+    }
+
+    // Value is <epoch millis the pin ends>.<HMAC of that>, so a client can neither forge nor extend a pin
+    private void issuePinCookie(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        long windowMillis = TimeUnit.NANOSECONDS.toMillis(stickyNanos);
+        String expiry = Long.toString(System.currentTimeMillis() + windowMillis);
+        ResponseCookie cookie = ResponseCookie.from(PIN_COOKIE, expiry + "." + sign(expiry))
+                .httpOnly(true)
+                .path("/")
+                .maxAge(Duration.ofMillis(windowMillis).plusSeconds(1).getSeconds())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private boolean hasValidPinCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (!PIN_COOKIE.equals(cookie.getName()) || cookie.getValue() == null) {
+                continue;
+            }
+            int dot = cookie.getValue().indexOf('.');
+            if (dot <= 0) {
+                continue;
+            }
+            String expiry = cookie.getValue().substring(0, dot);
+            byte[] signature = cookie.getValue().substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+            try {
+                if (MessageDigest.isEqual(signature, sign(expiry).getBytes(StandardCharsets.US_ASCII))
+                        && Long.parseLong(expiry) > System.currentTimeMillis()) {
+                    return true;
+                }
+            } catch (NumberFormatException e) {
+                // A tampered value: not pinned
+            }
+        }
+        return false;
+    }
+
+    private String sign(String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(pinKey);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign replica pin", e);
+        }
+    }
+
+    private static byte[] pinSecretBytes(String pinSecret) {
+        if (pinSecret != null && !pinSecret.isBlank()) {
+            return pinSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("app.datasource.replica.pin-secret is not set; read-your-writes cookies only hold on this instance");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
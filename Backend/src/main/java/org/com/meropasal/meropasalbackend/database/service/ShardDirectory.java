@@ -0,0 +1,166 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import org.com.meropasal.meropasalbackend.database.config.ShardContext;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created On : 2026 19 Oct 6:30 PM
+ * Author : Monu Siddiki
+ * Description : Knows which shard holds a shop, and finds the shard of products, orders and the other
+ * shop-scoped rows addressed by their own id. The shop_shards directory lives on the home database; a
+ * shop without a row is on home, where every shop created before sharding stays. Shops never change
+ * shard, so answers are cached.
+ **/
+@Service
+public class ShardDirectory {
+
+    private static final String SHARD_OF_SHOP = "SELECT shard FROM shop_shards WHERE shop_id = CAST(? AS uuid)";
+    private static final String SHARD_OF_OWNER = "SELECT shard FROM shop_shards WHERE owner_id = CAST(? AS uuid) LIMIT 1";
+    private static final String SHARD_OF_URL = "SELECT shard FROM shop_shards WHERE shop_url = ?";
+
+    // New shops go to the shard holding the fewest shops
+    private static final String LEAST_USED_SHARD = """
+        SELECT s.shard
+        FROM generate_series(0, ? - 1) AS s(shard)
+        LEFT JOIN shop_shards d ON d.shard = s.shard
+        GROUP BY s.shard
+        ORDER BY count(d.shop_id), s.shard
+        LIMIT 1
+        """;
+
+    private static final String REGISTER = """
+        INSERT INTO shop_shards (shop_id, shard, owner_id, shop_url)
+        VALUES (CAST(? AS uuid), ?, CAST(? AS uuid), ?)
+        ON CONFLICT (shop_id) DO UPDATE SET owner_id = EXCLUDED.owner_id, shop_url = EXCLUDED.shop_url
+        """;
+
+    private static final String UPDATE_URL = "UPDATE shop_shards SET shop_url = ? WHERE shop_id = CAST(? AS uuid)";
+
+    private final WorkloadPools workloadPools;
+    private final JdbcTemplate routedJdbcTemplate;
+    private final Map<UUID, Integer> shopShards = new ConcurrentHashMap<>();
+    // "<key>:<id>" -> shard for probed rows, least recently used dropped first
+    private final Map<String, Integer> located;
+
+    public ShardDirectory(WorkloadPools workloadPools,
+                          DataSource dataSource,
+                          @Value("${app.datasource.shards.cache-size:100000}") int cacheSize) {
+        this.workloadPools = workloadPools;
+        this.routedJdbcTemplate = new JdbcTemplate(dataSource);
+        this.located = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public int shardCount() {
+        return workloadPools.shardCount();
+    }
+
+    public boolean isSharded() {
+        return workloadPools.shardCount() > 1;
+    }
+
+    public int resolve(ShardKey key, Object value) {
+        return switch (key) {
+            case SHOP -> shardOfShop(value);
+            case SHOP_OWNER -> homeLookup(SHARD_OF_OWNER, value);
+            case SHOP_URL -> homeLookup(SHARD_OF_URL, value);
+            case NEW_SHOP -> placeShopOf(value);
+            default -> locate(key, value);
+        };
+    }
+
+    /**
+     * Records a shop created on the current shard. On home this joins the shop's transaction; elsewhere
+     * it is written straight to home before the shard commits, so a taken URL still rolls the shop back.
+     */
+    public void register(UUID shopId, UUID ownerId, String shopUrl) {
+        int shard = ShardContext.current();
+        homeWriter().update(REGISTER, shopId.toString(), shard, ownerId.toString(), shopUrl);
+        shopShards.put(shopId, shard);
+    }
+
+    public void updateShopUrl(UUID shopId, String shopUrl) {
+        homeWriter().update(UPDATE_URL, shopUrl, shopId.toString());
+    }
+
+    private int shardOfShop(Object shopId) {
+        UUID id = shopId instanceof UUID uuid ? uuid : UUID.fromString(shopId.toString());
+        Integer cached = shopShards.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        List<Integer> rows = home().queryForList(SHARD_OF_SHOP, Integer.class, id.toString());
+        if (rows.isEmpty()) {
+            return ShardContext.HOME;
+        }
+        shopShards.put(id, rows.get(0));
+        return rows.get(0);
+    }
+
+    private int placeShopOf(Object ownerId) {
+        List<Integer> owned = home().queryForList(SHARD_OF_OWNER, Integer.class, ownerId.toString());
+        if (!owned.isEmpty()) {
+            return owned.get(0);
+        }
+        Integer shard = home().queryForObject(LEAST_USED_SHARD, Integer.class, shardCount());
+        return shard != null ? shard : ShardContext.HOME;
+    }
+
+    private int homeLookup(String sql, Object value) {
+        List<Integer> rows = home().queryForList(sql, Integer.class, value.toString());
+        return rows.isEmpty() ? ShardContext.HOME : rows.get(0);
+    }
+
+    // Home first, where most rows are. A row no shard has stays on home, so the caller reports it missing
+    private int locate(ShardKey key, Object value) {
+        String id = value.toString();
+        String cacheKey = key.name() + ':' + id;
+        Integer cached = located.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        Object[] args = Collections.nCopies(countPlaceholders(key.probeSql()), id).toArray();
+        for (int shard = 0; shard < shardCount(); shard++) {
+            Boolean found = direct(shard).queryForObject(key.probeSql(), Boolean.class, args);
+            if (Boolean.TRUE.equals(found)) {
+                located.put(cacheKey, shard);
+                return shard;
+            }
+        }
+        return ShardContext.HOME;
+    }
+
+    // The shard pools are used directly, outside whatever transaction the caller holds on its own shard
+    private JdbcTemplate direct(int shard) {
+        return new JdbcTemplate(workloadPools.primary(WorkloadContext.current(), shard));
+    }
+
+    private JdbcTemplate home() {
+        return direct(ShardContext.HOME);
+    }
+
+    private JdbcTemplate homeWriter() {
+        return ShardContext.current() == ShardContext.HOME ? routedJdbcTemplate : home();
+    }
+
+    private static int countPlaceholders(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+}
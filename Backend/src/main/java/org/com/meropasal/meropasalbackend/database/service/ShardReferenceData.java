@@ -0,0 +1,87 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 6:45 PM
+ * Author : Monu Siddiki
+ * Description : Copies the global rows a shard's foreign keys point at (a shop's owner in users, a
+ * customer in customer_details) from the home database onto the shard before it first needs them.
+ * The copies are insert-only references for those keys and joins; home stays the source of truth for
+ * login and profile changes, so a copied email can be older than home's. Owner copies carry no password.
+ **/
+@Slf4j
+@Service
+public class ShardReferenceData {
+
+    private static final String READ_USER =
+            "SELECT (to_jsonb(u) || jsonb_build_object('password', ''))::text FROM users u WHERE u.id = CAST(? AS uuid)";
+    private static final String COPY_USER =
+            "INSERT INTO users SELECT * FROM jsonb_populate_record(NULL::users, CAST(? AS jsonb)) ON CONFLICT DO NOTHING";
+
+    private static final String READ_CUSTOMER =
+            "SELECT to_jsonb(c)::text FROM customer_details c WHERE c.id = CAST(? AS uuid)";
+    private static final String COPY_CUSTOMER =
+            "INSERT INTO customer_details SELECT * FROM jsonb_populate_record(NULL::customer_details, CAST(? AS jsonb)) "
+                    + "ON CONFLICT DO NOTHING";
+
+    private final WorkloadPools workloadPools;
+    // "<table>:<shard>:<id>" already present on the shard
+    private final Set<String> copied;
+
+    public ShardReferenceData(WorkloadPools workloadPools,
+                              @Value("${app.datasource.shards.cache-size:100000}") int cacheSize) {
+        this.workloadPools = workloadPools;
+        this.copied = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        }));
+    }
+
+    public void ensureUser(UUID userId, int shard) {
+        ensure("users", READ_USER, COPY_USER, userId, shard);
+    }
+
+    public void ensureCustomer(UUID customerId, int shard) {
+        ensure("customer_details", READ_CUSTOMER, COPY_CUSTOMER, customerId, shard);
+    }
+
+    // Runs before the shard's transaction starts, straight on the pools, and commits on its own
+    private void ensure(String table, String readSql, String copySql, UUID id, int shard) {
+        if (id == null || shard == ShardContext.HOME) {
+            return;
+        }
+        String key = table + ':' + shard + ':' + id;
+        if (copied.contains(key)) {
+            return;
+        }
+        List<String> rows = jdbc(ShardContext.HOME).queryForList(readSql, String.class, id.toString());
+        if (rows.isEmpty()) {
+            // Nothing to copy; the service reports the missing row as it always has
+            return;
+        }
+        if (jdbc(shard).update(copySql, rows.get(0)) > 0) {
+            log.debug("Copied {} {} to shard {}", table, id, shard);
+        }
+        copied.add(key);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(workloadPools.primary(WorkloadContext.current(), shard));
+    }
+}
@@ -0,0 +1,176 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Created On : 2026 19 Oct 6:55 PM
+ * Author : Monu Siddiki
+ * Description : Runs cross-shop reads and writes on every shard and merges the results. The caller's
+ * own shard runs inline in its transaction; the others run in parallel, each in a transaction of its
+ * own on a virtual thread, so a slice must return fully loaded results (DTOs, or entities whose lazy
+ * state it touched) rather than rely on open-in-view. With a single database every call is inline.
+ **/
+@Slf4j
+@Service
+public class ShardScatter {
+
+    private final ShardDirectory directory;
+    private final TransactionTemplate readOnlyTemplate;
+    private final TransactionTemplate readWriteTemplate;
+    private final Duration timeout;
+    private final int maxMergeDepth;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardScatter(ShardDirectory directory,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.datasource.shards.scatter-timeout:30s}") Duration timeout,
+                        @Value("${app.datasource.shards.max-merge-depth:1000}") int maxMergeDepth) {
+        this.directory = directory;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.readWriteTemplate = new TransactionTemplate(transactionManager);
+        this.timeout = timeout;
+        this.maxMergeDepth = maxMergeDepth;
+    }
+
+    public boolean isSharded() {
+        return directory.isSharded();
+    }
+
+    /**
+     * Rows every shard has to return so that page {@code page} of {@code size} can be cut from the merge.
+     * Each shard pays for the whole depth, so pages past max-merge-depth are rejected before any shard is
+     * queried; callers wanting more should narrow the query or filter by shop.
+     */
+    public int mergeDepth(int page, int size) {
+        long depth = ((long) page + 1) * size;
+        if (depth > maxMergeDepth) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Results across all shops are limited to the first " + maxMergeDepth + "; filter by shop to page further");
+        }
+        return (int) depth;
+    }
+
+    public <T> List<T> gather(Supplier<? extends Collection<T>> slice) {
+        return scatter(slice, readOnlyTemplate, null);
+    }
+
+    /**
+     * As {@link #gather(Supplier)}, sorting the merged list. Each slice should already be in this order;
+     * a single slice is returned as the query produced it.
+     */
+    public <T> List<T> gather(Supplier<? extends Collection<T>> slice, Comparator<? super T> order) {
+        return scatter(slice, readOnlyTemplate, order);
+    }
+
+    public <T> List<T> gatherForUpdate(Supplier<? extends Collection<T>> slice) {
+        return scatter(slice, readWriteTemplate, null);
+    }
+
+    public long sum(LongSupplier slice) {
+        return gather(() -> List.of(slice.getAsLong())).stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Runs a background job once per shard, one shard after the other on the calling thread. The job
+     * manages its own transactions, so the caller must not hold one. Every shard runs even when one
+     * fails; the first failure is rethrown at the end.
+     */
+    public void forEachShard(Runnable job) {
+        if (!isSharded()) {
+            job.run();
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("forEachShard must run outside a transaction");
+        }
+        RuntimeException failure = null;
+        for (int shard = 0; shard < directory.shardCount(); shard++) {
+            try {
+                ShardContext.run(shard, job);
+            } catch (RuntimeException e) {
+                log.warn("Job failed on shard {}: {}", shard, e.getMessage());
+                failure = failure != null ? failure : e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> List<T> scatter(Supplier<? extends Collection<T>> slice, TransactionTemplate template,
+                                Comparator<? super T> order) {
+        if (!isSharded()) {
+            return new ArrayList<>(slice.get());
+        }
+        int here = ShardContext.current();
+        WorkloadClass workload = WorkloadContext.current();
+        List<Future<List<T>>> remote = new ArrayList<>();
+        for (int shard = 0; shard < directory.shardCount(); shard++) {
+            if (shard == here) {
+                continue;
+            }
+            int target = shard;
+            remote.add(executor.submit(() -> WorkloadContext.call(workload,
+                    () -> ShardContext.call(target, () -> template.execute(status -> new ArrayList<>(slice.get()))))));
+        }
+        try {
+            List<T> merged = new ArrayList<>(template.execute(status -> new ArrayList<>(slice.get())));
+            for (Future<List<T>> future : remote) {
+                merged.addAll(await(future));
+            }
+            if (order != null) {
+                merged.sort(order);
+            }
+            return merged;
+        } finally {
+            remote.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> List<T> await(Future<List<T>> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Shard query timed out after " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", e);
+        }
+    }
+}
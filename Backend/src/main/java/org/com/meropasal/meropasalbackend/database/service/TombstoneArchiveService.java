@@ -0,0 +1,92 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.com.meropasal.meropasalbackend.payment.repo.PaymentRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Created On : 2026 19 Oct 3:10 PM
+ * Author : Monu Siddiki
+ * Description : Moves long-deleted orders, payments and products out of the live tables into their
+ * *_archive copies, so soft-deleted rows stop growing the tables every query filters them out of.
+ * Orders go first because archiving them is what frees deleted products from order history.
+ **/
+@Slf4j
+@Service
+public class TombstoneArchiveService {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardScatter shardScatter;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public TombstoneArchiveService(OrderRepository orderRepository,
+                                   PaymentRepository paymentRepository,
+                                   ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ShardScatter shardScatter,
+                                   @Value("${app.archive.tombstones.enabled:true}") boolean enabled,
+                                   @Value("${app.archive.tombstones.retention-days:90}") int retentionDays,
+                                   @Value("${app.archive.tombstones.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScatter = shardScatter;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.archive.tombstones.cron:0 0 4 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void archiveTombstones() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        shardScatter.forEachShard(() -> archiveTombstones(cutoff));
+    }
+
+    private void archiveTombstones(LocalDateTime cutoff) {
+        int orders = drain("orders", cutoff, orderRepository::archiveDeletedBefore);
+        int payments = drain("payment", cutoff, paymentRepository::archiveDeletedBefore);
+        int products = drain("products", cutoff, productRepository::archiveDeletedBefore);
+        log.info("Archived tombstones deleted before {}: {} orders, {} payments, {} products",
+                cutoff, orders, payments, products);
+    }
+
+    // One short transaction per batch, so row locks and WAL bursts stay small while the shop keeps trading
+    private int drain(String table, LocalDateTime cutoff, BiFunction<LocalDateTime, Integer, Integer> archiveBatch) {
+        int total = 0;
+        while (true) {
+            Integer moved;
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch.apply(cutoff, batchSize));
+            } catch (RuntimeException e) {
+                log.warn("Archiving {} stopped after {} rows: {}", table, total, e.getMessage());
+                return total;
+            }
+            int count = moved != null ? moved : 0;
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+}
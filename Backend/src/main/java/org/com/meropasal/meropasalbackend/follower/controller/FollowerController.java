@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -42,6 +43,18 @@ public class FollowerController {
         return ResponseEntity.ok(followerService.countFollowers(shopId));
     }
 
+    @GetMapping("/counts")
+    public ResponseEntity<Map<UUID, Long>> countFollowersForShops(@RequestParam List<UUID> shopIds) {
+        return ResponseEntity.ok(followerService.countFollowers(shopIds));
+    }
+
+    @GetMapping("/customer/{customerId}/status")
+    public ResponseEntity<Map<UUID, Boolean>> getFollowStatus(
+            @PathVariable UUID customerId,
+            @RequestParam List<UUID> shopIds) {
+        return ResponseEntity.ok(followerService.getFollowStatus(customerId, shopIds));
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<String>> getUserFollowedShops(@PathVariable UUID customerId) {
         List<String> followedShopIds = followerService.getFollowedShopsByCustomer(customerId);
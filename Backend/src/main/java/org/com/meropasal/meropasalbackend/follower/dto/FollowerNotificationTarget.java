@@ -0,0 +1,13 @@
+package org.com.meropasal.meropasalbackend.follower.dto;
+
+import java.util.UUID;
+
+/**
+ * Created On : 2026 12 Oct 4:14 PM
+ * Author : Monu Siddiki
+ * Description : Slim projection of a follower used by the notification fan-out
+ **/
+public record FollowerNotificationTarget(
+        UUID followerId,
+        String email
+) {}
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.com.meropasal.meropasalbackend.authSystem.entity.Users;
 import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.hibernate.annotations.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -26,7 +27,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "followers",
         indexes = {
-                @Index(name = "idx_follower_created_at", columnList = "createdAt")
+                @Index(name = "idx_follower_created_at", columnList = "createdAt"),
+                @Index(name = "idx_follower_shop_id", columnList = "shop_id, id")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uc_follower_customer_shop", columnNames = {"customer_id", "shop_id"})
         })
 @Getter
 @Setter
@@ -36,8 +41,7 @@ import java.util.UUID;
 public class Follower {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
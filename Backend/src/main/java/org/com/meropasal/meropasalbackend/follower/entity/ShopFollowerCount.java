@@ -0,0 +1,33 @@
+package org.com.meropasal.meropasalbackend.follower.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 11:05 PM
+ * Author : Monu Siddiki
+ * Description : Denormalised follower count of a shop, kept in step by FollowerService through atomic
+ * SQL updates. Deliberately not second-level cached and not part of Shop, so follows never invalidate
+ * the cached shops.
+ **/
+@Entity
+@Table(name = "shop_follower_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ShopFollowerCount {
+
+    @Id
+    @Column(name = "shop_id", updatable = false, nullable = false)
+    private UUID shopId;
+
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+}
@@ -1,11 +1,18 @@
 package org.com.meropasal.meropasalbackend.follower.repo;
 
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
 import org.com.meropasal.meropasalbackend.follower.entity.Follower;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,11 +29,34 @@ public interface FollowerRepository extends JpaRepository<Follower, UUID> {
 
     Optional<Follower> findByCustomerDetailsIdAndShopId(UUID customerId, UUID shopId);
 
+    // 0 when the customer already follows the shop
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "followers"))
+    @Query(value = """
+        INSERT INTO followers (id, customer_id, shop_id, created_at)
+        VALUES (:id, :customerId, :shopId, :createdAt)
+        ON CONFLICT (customer_id, shop_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("customerId") UUID customerId,
+                       @Param("shopId") UUID shopId, @Param("createdAt") LocalDateTime createdAt);
+
     long countByShopId(UUID shopId);
 
     List<Follower> findByShopId(UUID shopId);
 
     @Query("SELECT f.shop.id FROM Follower f WHERE f.customerDetails.id = :customerId")
-    List<String> findShopIdsByCustomerDetailsId(@Param("customerId") UUID customerId);
+    List<UUID> findShopIdsByCustomerDetailsId(@Param("customerId") UUID customerId);
+
+    // Keyset page of a shop's followers for the notification fan-out, read in order from idx_follower_shop_id
+    @Query("""
+        SELECT new org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget(f.id, c.email)
+        FROM Follower f
+        JOIN f.customerDetails c
+        WHERE f.shop.id = :shopId AND f.id > :afterId
+        ORDER BY f.id
+    """)
+    List<FollowerNotificationTarget> findNotificationTargets(@Param("shopId") UUID shopId,
+                                                             @Param("afterId") UUID afterId,
+                                                             Limit limit);
 
 }
@@ -0,0 +1,71 @@
+package org.com.meropasal.meropasalbackend.follower.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.follower.entity.ShopFollowerCount;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 11:10 PM
+ * Author : Monu Siddiki
+ * Description : Follower counter maintenance, native so every change is a single atomic statement.
+ * The native space hint keeps the invalidation to this uncached table.
+ **/
+@Repository
+public interface ShopFollowerCountRepository extends JpaRepository<ShopFollowerCount, UUID> {
+
+    // The first follow of a shop creates its row
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_follower_counts"))
+    @Query(value = """
+        INSERT INTO shop_follower_counts (shop_id, follower_count) VALUES (:shopId, 1)
+        ON CONFLICT (shop_id) DO UPDATE SET follower_count = shop_follower_counts.follower_count + 1
+        """, nativeQuery = true)
+    int incrementFollowerCount(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_follower_counts"))
+    @Query(value = """
+        UPDATE shop_follower_counts SET follower_count = GREATEST(follower_count - 1, 0)
+        WHERE shop_id = :shopId
+        """, nativeQuery = true)
+    int decrementFollowerCount(@Param("shopId") UUID shopId);
+
+    @Query("SELECT c.shopId, c.followerCount FROM ShopFollowerCount c WHERE c.shopId IN :shopIds")
+    List<Object[]> findFollowerCounts(@Param("shopIds") Collection<UUID> shopIds);
+
+    // Shops whose counter disagrees with the followers table; a plain read, the repair locks each shop
+    @Query(value = """
+        SELECT sh.id FROM shop sh
+        LEFT JOIN shop_follower_counts c ON c.shop_id = sh.id
+        LEFT JOIN (SELECT shop_id, COUNT(*) AS cnt FROM followers GROUP BY shop_id) f ON f.shop_id = sh.id
+        WHERE COALESCE(c.follower_count, 0) <> COALESCE(f.cnt, 0)
+        """, nativeQuery = true)
+    List<UUID> findDriftedShopIds();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_follower_counts"))
+    @Query(value = """
+        INSERT INTO shop_follower_counts (shop_id, follower_count) VALUES (:shopId, 0)
+        ON CONFLICT (shop_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("shopId") UUID shopId);
+
+    // Waits for in-flight follows of the shop, whose increments hold this row until they commit
+    @Query(value = "SELECT follower_count FROM shop_follower_counts WHERE shop_id = :shopId FOR UPDATE", nativeQuery = true)
+    long lockFollowerCount(@Param("shopId") UUID shopId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shop_follower_counts"))
+    @Query(value = "UPDATE shop_follower_counts SET follower_count = :count WHERE shop_id = :shopId", nativeQuery = true)
+    int setFollowerCount(@Param("shopId") UUID shopId, @Param("count") long count);
+}
@@ -0,0 +1,72 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 12 Oct 4:24 PM
+ * Author : Monu Siddiki
+ * Description : Sends a whole batch over one SMTP connection. Followers without a valid address are skipped
+ * before sending and a recipient the server rejects only loses their own message, not the batch's.
+ **/
+@Slf4j
+@Component
+public class EmailFollowerNotificationSink implements FollowerNotificationSink {
+
+    private final JavaMailSender mailSender;
+
+    public EmailFollowerNotificationSink(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    public int deliver(List<FollowerNotificationTarget> batch, String subject, String body) {
+        SimpleMailMessage[] messages = batch.stream()
+                .filter(EmailFollowerNotificationSink::hasValidEmail)
+                .map(target -> {
+                    SimpleMailMessage message = new SimpleMailMessage();
+                    message.setTo(target.email());
+                    message.setSubject(subject);
+                    message.setText(body);
+                    return message;
+                })
+                .toArray(SimpleMailMessage[]::new);
+        if (messages.length == 0) {
+            return 0;
+        }
+        try {
+            mailSender.send(messages);
+            return messages.length;
+        } catch (MailSendException e) {
+            // JavaMailSender tries every message and reports the rejected ones; only a batch that reached nobody is a failure
+            int failed = e.getFailedMessages().size();
+            if (failed == 0 || failed >= messages.length) {
+                throw e;
+            }
+            log.warn("{} of {} follower notifications were rejected: {}", failed, messages.length, e.getMessage());
+            return messages.length - failed;
+        }
+    }
+
+    private static boolean hasValidEmail(FollowerNotificationTarget target) {
+        if (target.email() == null || target.email().isBlank()) {
+            log.debug("Skipping follower {} without an email address", target.followerId());
+            return false;
+        }
+        try {
+            new InternetAddress(target.email(), true).validate();
+            return true;
+        } catch (AddressException e) {
+            log.debug("Skipping follower {} with invalid email address: {}", target.followerId(), e.getMessage());
+            return false;
+        }
+    }
+}
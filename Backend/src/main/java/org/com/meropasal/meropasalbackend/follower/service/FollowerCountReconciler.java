@@ -0,0 +1,79 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.follower.repo.FollowerRepository;
+import org.com.meropasal.meropasalbackend.follower.repo.ShopFollowerCountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 11:30 PM
+ * Author : Monu Siddiki
+ * Description : Nightly repair of follower counters that drifted from the followers table. Drifted shops are
+ * found with a plain read; each one is then fixed in its own short transaction that locks the shop's counter
+ * row before counting, so follows committing meanwhile are neither lost nor counted twice.
+ **/
+@Slf4j
+@Service
+public class FollowerCountReconciler {
+
+    private final ShopFollowerCountRepository followerCountRepository;
+    private final FollowerRepository followerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardScatter shardScatter;
+    private final boolean enabled;
+
+    public FollowerCountReconciler(ShopFollowerCountRepository followerCountRepository,
+                                   FollowerRepository followerRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ShardScatter shardScatter,
+                                   @Value("${app.follower.counts.reconcile.enabled:true}") boolean enabled) {
+        this.followerCountRepository = followerCountRepository;
+        this.followerRepository = followerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScatter = shardScatter;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.follower.counts.reconcile.cron:0 20 4 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void reconcileFollowerCounts() {
+        if (!enabled) {
+            return;
+        }
+        shardScatter.forEachShard(this::reconcileShard);
+    }
+
+    private void reconcileShard() {
+        List<UUID> drifted = followerCountRepository.findDriftedShopIds();
+        int repaired = 0;
+        for (UUID shopId : drifted) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reconcile(shopId));
+                repaired++;
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile the follower count of shop {}: {}", shopId, e.getMessage());
+            }
+        }
+        if (!drifted.isEmpty()) {
+            log.info("Reconciled follower counts of {} of {} drifted shops", repaired, drifted.size());
+        }
+    }
+
+    // A follow increments the counter in the transaction that inserts its row, so once the counter row is
+    // locked every committed follow is visible to the count and every uncommitted one will increment after it
+    private void reconcile(UUID shopId) {
+        followerCountRepository.insertIfAbsent(shopId);
+        followerCountRepository.lockFollowerCount(shopId);
+        followerCountRepository.setFollowerCount(shopId, followerRepository.countByShopId(shopId));
+    }
+}
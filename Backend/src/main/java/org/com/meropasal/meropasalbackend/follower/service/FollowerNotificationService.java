@@ -0,0 +1,156 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
+import org.com.meropasal.meropasalbackend.follower.repo.FollowerRepository;
+import org.com.meropasal.meropasalbackend.product.event.ProductCreatedEvent;
+import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created On : 2026 12 Oct 4:36 PM
+ * Author : Monu Siddiki
+ * Description : Tells a shop's followers about new products.
+ * Followers are read in keyset-paged chunks of (id, email) only, split into batches and
+ * handed to the sink with bounded parallelism. A semaphore caps the batches in flight,
+ * so paging stalls while the sink is slow instead of buffering the whole follower list.
+ **/
+@Slf4j
+@Service
+public class FollowerNotificationService {
+
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+
+    private final FollowerRepository followerRepository;
+    private final ShopRepository shopRepository;
+    private final FollowerNotificationSink sink;
+    private final ExecutorService executor;
+    private final int pageSize;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    @Autowired
+    public FollowerNotificationService(FollowerRepository followerRepository,
+                                       ShopRepository shopRepository,
+                                       FollowerNotificationSink sink,
+                                       @Value("${app.follower.notification.page-size:1000}") int pageSize,
+                                       @Value("${app.follower.notification.batch-size:100}") int batchSize,
+                                       @Value("${app.follower.notification.parallelism:4}") int parallelism) {
+        // Dedicated pool so slow SMTP deliveries never occupy the shared @Async executor
+        this(followerRepository, shopRepository, sink,
+                Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("follower-notify-")),
+                pageSize, batchSize, parallelism * 2);
+    }
+
+    // Tests pass an unbounded executor here, so only the in-flight cap limits the batches running at once
+    FollowerNotificationService(FollowerRepository followerRepository,
+                                ShopRepository shopRepository,
+                                FollowerNotificationSink sink,
+                                ExecutorService executor,
+                                int pageSize,
+                                int batchSize,
+                                int maxInFlight) {
+        this.followerRepository = followerRepository;
+        this.shopRepository = shopRepository;
+        this.sink = sink;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Workload(WorkloadClass.BACKGROUND)
+    @ShardedBy(value = ShardKey.SHOP, key = "#event.shopId()")
+    public void onProductCreated(ProductCreatedEvent event) {
+        Shop shop = shopRepository.findById(event.shopId()).orElse(null);
+        if (shop == null) {
+            return;
+        }
+        String subject = shop.getBusinessName() + " just added a new product";
+        String body = shop.getBusinessName() + " has added \"" + event.productName() + "\". Visit the shop to check it out!";
+        int sent = fanOut(event.shopId(), subject, body);
+        log.info("Notified {} followers of shop {} about product {}", sent, event.shopId(), event.productId());
+    }
+
+    /**
+     * Streams every follower of the shop to the sink and blocks until all batches are delivered.
+     *
+     * @return number of followers handed to the sink successfully
+     */
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public int fanOut(UUID shopId, String subject, String body) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger delivered = new AtomicInteger();
+        UUID lastKey = FIRST_KEY;
+
+        try {
+            while (true) {
+                List<FollowerNotificationTarget> page =
+                        followerRepository.findNotificationTargets(shopId, lastKey, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                boolean accepted = true;
+                for (int from = 0; from < page.size() && accepted; from += batchSize) {
+                    List<FollowerNotificationTarget> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+                    inFlight.acquire();
+                    try {
+                        executor.execute(() -> {
+                            try {
+                                delivered.addAndGet(sink.deliver(batch, subject, body));
+                            } catch (Exception e) {
+                                log.warn("Failed to deliver {} follower notifications for shop {}: {}", batch.size(), shopId, e.getMessage());
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        // The pool is shutting down; the batch never ran, so its permit goes back or the drain never ends
+                        inFlight.release();
+                        log.warn("Stopped follower notifications for shop {}: the delivery pool is shut down", shopId);
+                        accepted = false;
+                    }
+                }
+                if (!accepted || page.size() < pageSize) {
+                    break;
+                }
+                lastKey = page.get(page.size() - 1).followerId();
+            }
+            // Wait for the tail of the pipeline to drain
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Follower notification fan-out for shop {} was interrupted", shopId);
+        }
+        return delivered.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
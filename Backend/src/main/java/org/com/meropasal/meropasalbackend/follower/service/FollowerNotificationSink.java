@@ -0,0 +1,18 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 12 Oct 4:20 PM
+ * Author : Monu Siddiki
+ * Description : Delivery channel for follower notifications (mail, webhook, ...)
+ **/
+public interface FollowerNotificationSink {
+
+    /**
+     * @return how many followers of the batch the notification reached; throws only when none of them could
+     */
+    int deliver(List<FollowerNotificationTarget> batch, String subject, String body);
+}
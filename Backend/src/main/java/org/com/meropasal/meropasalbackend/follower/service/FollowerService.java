@@ -3,18 +3,26 @@ package org.com.meropasal.meropasalbackend.follower.service;
 import jakarta.transaction.Transactional;
 import lombok.Getter;
 import lombok.Setter;
-import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
-import org.com.meropasal.meropasalbackend.customer.repo.CustomerRepository;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.follower.dto.FollowerRequestDTO;
 import org.com.meropasal.meropasalbackend.follower.dto.FollowerResponseDTO;
 import org.com.meropasal.meropasalbackend.follower.entity.Follower;
 import org.com.meropasal.meropasalbackend.follower.repo.FollowerRepository;
-import org.com.meropasal.meropasalbackend.shop.entity.Shop;
-import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.com.meropasal.meropasalbackend.follower.repo.ShopFollowerCountRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.UUID;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Created On : 2025 08 Jul 9:54 PM
@@ -28,61 +36,126 @@ public class FollowerService {
 
 
     private final FollowerRepository followerRepository;
-    private final CustomerRepository customerRepository;
-    private final ShopRepository shopRepository;
+    private final ShopFollowerCountRepository followerCountRepository;
+    private final ShardScatter shardScatter;
 
+    // customerId -> ids of the shops they follow; bounded and expiring (CacheRegions.FOLLOWED_SHOPS),
+    // evicted after every follow/unfollow commit
+    private final Cache<Object, Object> followedShopsCache;
 
-    public FollowerService(FollowerRepository followerRepository, CustomerRepository customerRepository, ShopRepository shopRepository) {
+
+    public FollowerService(FollowerRepository followerRepository, ShopFollowerCountRepository followerCountRepository,
+                           ShardScatter shardScatter, CacheManager hibernateCacheManager) {
         this.followerRepository = followerRepository;
-        this.customerRepository = customerRepository;
-        this.shopRepository = shopRepository;
+        this.followerCountRepository = followerCountRepository;
+        this.shardScatter = shardScatter;
+        this.followedShopsCache = hibernateCacheManager.getCache(CacheRegions.FOLLOWED_SHOPS);
     }
 
+    // A follow lives with the shop it follows
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#dto.shopId", customer = "#dto.customerId")
     public FollowerResponseDTO followShop(FollowerRequestDTO dto) {
-        if (followerRepository.existsByCustomerDetailsIdAndShopId(dto.getCustomerId(), dto.getShopId())) {
+        UUID followerId = UuidV7Generator.next();
+        LocalDateTime followedAt = LocalDateTime.now();
+
+        int inserted;
+        try {
+            // ON CONFLICT on the (customer_id, shop_id) constraint, so a concurrent duplicate follow inserts nothing
+            inserted = followerRepository.insertIfAbsent(followerId, dto.getCustomerId(), dto.getShopId(), followedAt);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Customer or shop not found");
+        }
+        if (inserted == 0) {
             throw new RuntimeException("Already following the shop.");
         }
+        // Only the request that inserted the row counts it
+        followerCountRepository.incrementFollowerCount(dto.getShopId());
+        evictFollowedShopsAfterCommit(dto.getCustomerId());
 
-        CustomerDetails customer = customerRepository.findById(dto.getCustomerId())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
-        Shop shop = shopRepository.findById(dto.getShopId())
-                .orElseThrow(() -> new RuntimeException("Shop not found"));
-
-        Follower follower = new Follower();
-        follower.setCustomerDetails(customer);
-        follower.setShop(shop);
-
-        Follower saved = followerRepository.save(follower);
-
-        return mapToResponseDTO(saved);
+        return mapToResponseDTO(followerId, dto.getCustomerId(), dto.getShopId(), followedAt);
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#dto.shopId")
     public void unfollowShop(FollowerRequestDTO dto) {
         Follower follower = followerRepository.findByCustomerDetailsIdAndShopId(dto.getCustomerId(), dto.getShopId())
                 .orElseThrow(() -> new RuntimeException("Follow record not found"));
 
         followerRepository.delete(follower);
+        followerCountRepository.decrementFollowerCount(dto.getShopId());
+        evictFollowedShopsAfterCommit(dto.getCustomerId());
     }
 
     public long countFollowers(UUID shopId) {
-        return followerRepository.countByShopId(shopId);
+        return countFollowers(List.of(shopId)).getOrDefault(shopId, 0L);
+    }
+
+    /**
+     * Returns the follower count of every requested shop in a single query.
+     * Unknown shop ids are reported with a count of zero.
+     */
+    public Map<UUID, Long> countFollowers(Collection<UUID> shopIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        if (shopIds == null || shopIds.isEmpty()) {
+            return counts;
+        }
+        shopIds.forEach(id -> counts.put(id, 0L));
+        for (Object[] row : shardScatter.gather(() -> followerCountRepository.findFollowerCounts(shopIds))) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
     }
 
     public List<String> getFollowedShopsByCustomer(UUID customerId) {
-        // Return list of shop IDs that the customer is following
-        // This should query your database and return the shopIds
-        return followerRepository.findShopIdsByCustomerDetailsId(customerId);
+        return getFollowedShopIds(customerId).stream()
+                .map(UUID::toString)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Batched follow status lookup for a customer, answered from the cached followed-shops set.
+     */
+    public Map<UUID, Boolean> getFollowStatus(UUID customerId, Collection<UUID> shopIds) {
+        Set<UUID> followed = getFollowedShopIds(customerId);
+        Map<UUID, Boolean> status = new HashMap<>();
+        for (UUID shopId : shopIds) {
+            status.put(shopId, followed.contains(shopId));
+        }
+        return status;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID> getFollowedShopIds(UUID customerId) {
+        Set<UUID> cached = (Set<UUID>) followedShopsCache.get(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        Set<UUID> followed = Set.copyOf(shardScatter.gather(() -> followerRepository.findShopIdsByCustomerDetailsId(customerId)));
+        followedShopsCache.put(customerId, followed);
+        return followed;
+    }
+
+    // Evict again once the change is visible to other transactions, so a read racing the commit cannot leave
+    // stale data cached; the region's TTL bounds anything that still slips through
+    private void evictFollowedShopsAfterCommit(UUID customerId) {
+        followedShopsCache.remove(customerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    followedShopsCache.remove(customerId);
+                }
+            });
+        }
     }
 
-    private FollowerResponseDTO mapToResponseDTO(Follower follower) {
+    private FollowerResponseDTO mapToResponseDTO(UUID followerId, UUID customerId, UUID shopId, LocalDateTime followedAt) {
         FollowerResponseDTO dto = new FollowerResponseDTO();
-        dto.setId(follower.getId());
-        dto.setCustomerId(follower.getCustomerDetails().getId());
-        dto.setShopId(follower.getShop().getId());
-        dto.setFollowedAt(follower.getCreatedAt());
+        dto.setId(followerId);
+        dto.setCustomerId(customerId);
+        dto.setShopId(shopId);
+        dto.setFollowedAt(followedAt);
         return dto;
     }
 
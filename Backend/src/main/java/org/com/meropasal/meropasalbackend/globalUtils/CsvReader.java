@@ -0,0 +1,89 @@
+package org.com.meropasal.meropasalbackend.globalUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created On : 2026 18 Oct 10:00 AM
+ * Author : Monu Siddiki
+ * Description : Streaming RFC 4180 CSV reader, the counterpart of CsvWriter. Handles quoted cells with
+ * commas, escaped quotes and line breaks, and skips a leading UTF-8 BOM.
+ **/
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private boolean first = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * Next record, or null at end of input.
+     */
+    public List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (first) {
+            first = false;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+            c = reader.read();
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /**
+     * Physical line the last record ended on, for error reporting.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,181 @@
+package org.com.meropasal.meropasalbackend.idempotency.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.com.meropasal.meropasalbackend.idempotency.service.IdempotencyService;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Optional;
+
+/**
+ * Created On : 2026 19 Oct 8:25 PM
+ * Author : Monu Siddiki
+ * Description : Applies the Idempotency-Key header to @Idempotent controller methods. Keys are scoped to
+ * the operation and the caller, and a reused key must come with the same request, compared by a digest
+ * of the method's arguments other than headers and the caller's principal. Runs outside the transaction interceptor, so a stored
+ * response is only recorded once the work it describes has committed.
+ **/
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class IdempotencyAspect {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    // Request digests must not depend on the order a client happened to send map entries in
+    private final ObjectMapper fingerprintMapper;
+
+    public IdempotencyAspect(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.fingerprintMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object withIdempotencyKey(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        String key = request != null ? request.getHeader(HEADER) : null;
+        if (key == null) {
+            return joinPoint.proceed();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        byte[] keyHash = keyHash(idempotent.value(), caller(request), key);
+        Optional<IdempotencyService.StoredResponse> stored = idempotencyService.begin(keyHash, fingerprint(joinPoint));
+        if (stored.isPresent()) {
+            return ResponseEntity.status(stored.get().status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readTree(stored.get().body()));
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            idempotencyService.release(keyHash);
+            throw e;
+        }
+        record(keyHash, result);
+        return result;
+    }
+
+    private void record(byte[] keyHash, Object result) {
+        ResponseEntity<?> response = result instanceof ResponseEntity<?> entity ? entity : ResponseEntity.ok(result);
+        try {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                idempotencyService.complete(keyHash, response.getStatusCode().value(),
+                        objectMapper.writeValueAsString(response.getBody()));
+            } else {
+                idempotencyService.release(keyHash);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The work is done; a retry after the lease runs it again, which is what happened before keys existed
+            log.warn("Could not record the response for an idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest() : null;
+    }
+
+    // The signed-in user, else the bearer token itself; only its digest is stored
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? "token:" + authorization : "";
+    }
+
+    private static byte[] keyHash(String operation, String caller, String key) {
+        MessageDigest digest = sha256();
+        for (String part : new String[]{operation, caller, key}) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private byte[] fingerprint(ProceedingJoinPoint joinPoint) throws IOException {
+        MessageDigest digest = sha256();
+        Annotation[][] annotations = ((MethodSignature) joinPoint.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            // The caller is already in the key; its principal would add session details and credentials to the digest
+            if (isHeader(annotations[i]) || arg instanceof Principal
+                    || arg instanceof ServletRequest || arg instanceof ServletResponse) {
+                continue;
+            }
+            if (arg instanceof MultipartFile file) {
+                digest.update(String.valueOf(file.getOriginalFilename()).getBytes(StandardCharsets.UTF_8));
+                try (InputStream input = file.getInputStream();
+                     OutputStream sink = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                    input.transferTo(sink);
+                }
+            } else {
+                digest.update(fingerprintMapper.writeValueAsBytes(arg));
+            }
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private static boolean isHeader(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof RequestHeader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.com.meropasal.meropasalbackend.idempotency.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Created On : 2026 19 Oct 8:10 PM
+ * Author : Monu Siddiki
+ * Description : Marks a controller method whose requests may carry an Idempotency-Key header. A repeated
+ * key from the same caller replays the first successful response instead of running the method again.
+ * Requests without the header run as before.
+ **/
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+
+    // Name of the operation; the same key may be reused across different operations
+    String value();
+}
@@ -0,0 +1,85 @@
+package org.com.meropasal.meropasalbackend.idempotency.repo;
+
+import org.com.meropasal.meropasalbackend.database.config.ShardContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadContext;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Created On : 2026 19 Oct 8:15 PM
+ * Author : Monu Siddiki
+ * Description : The idempotency_keys table on the home database. Every statement commits on its own, on
+ * the primary pool, so a claim is visible to duplicates before the request it guards starts its work.
+ **/
+@Repository
+public class IdempotencyKeyRepository {
+
+    // Takes a new key, an expired one, or this request's own claim abandoned past its lease
+    private static final String CLAIM = """
+        INSERT INTO idempotency_keys (key_hash, request_hash, locked_until, expires_at)
+        VALUES (?, ?, now() + ? * interval '1 second', now() + ? * interval '1 second')
+        ON CONFLICT (key_hash) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, response_status = NULL, response_body = NULL,
+                locked_until = EXCLUDED.locked_until, created_at = now(), expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < now()
+               OR (idempotency_keys.response_status IS NULL AND idempotency_keys.locked_until < now()
+                   AND idempotency_keys.request_hash = EXCLUDED.request_hash)
+        RETURNING 1
+        """;
+
+    private static final String FIND =
+            "SELECT request_hash, response_status, response_body::text FROM idempotency_keys WHERE key_hash = ?";
+
+    private static final String COMPLETE = """
+        UPDATE idempotency_keys SET response_status = ?, response_body = CAST(? AS jsonb), locked_until = NULL
+        WHERE key_hash = ? AND response_status IS NULL
+        """;
+
+    private static final String RELEASE = "DELETE FROM idempotency_keys WHERE key_hash = ? AND response_status IS NULL";
+
+    private static final String DELETE_EXPIRED = """
+        DELETE FROM idempotency_keys
+        WHERE key_hash IN (SELECT key_hash FROM idempotency_keys WHERE expires_at < now() LIMIT ?)
+        """;
+
+    private final WorkloadPools workloadPools;
+
+    public IdempotencyKeyRepository(WorkloadPools workloadPools) {
+        this.workloadPools = workloadPools;
+    }
+
+    public record StoredKey(byte[] requestHash, Integer responseStatus, String responseBody) {}
+
+    public boolean claim(byte[] keyHash, byte[] requestHash, Duration lease, Duration ttl) {
+        return !jdbc().queryForList(CLAIM, Integer.class, keyHash, requestHash, lease.toSeconds(), ttl.toSeconds()).isEmpty();
+    }
+
+    public Optional<StoredKey> find(byte[] keyHash) {
+        List<StoredKey> rows = jdbc().query(FIND, (rs, rowNum) -> new StoredKey(
+                rs.getBytes("request_hash"), rs.getObject("response_status", Integer.class), rs.getString("response_body")),
+                (Object) keyHash);
+        return rows.stream().findFirst();
+    }
+
+    public void complete(byte[] keyHash, int responseStatus, String responseBody) {
+        jdbc().update(COMPLETE, responseStatus, responseBody, keyHash);
+    }
+
+    public void release(byte[] keyHash) {
+        jdbc().update(RELEASE, (Object) keyHash);
+    }
+
+    public int deleteExpired(int limit) {
+        return jdbc().update(DELETE_EXPIRED, limit);
+    }
+
+    // Straight to the home primary: never the replica, and never the shard the request was pinned to
+    private JdbcTemplate jdbc() {
+        return new JdbcTemplate(workloadPools.primary(WorkloadContext.current(), ShardContext.HOME));
+    }
+}
@@ -0,0 +1,117 @@
+package org.com.meropasal.meropasalbackend.idempotency.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.idempotency.repo.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Created On : 2026 19 Oct 8:20 PM
+ * Author : Monu Siddiki
+ * Description : Claims Idempotency-Keys, stores the responses they produced and purges expired keys.
+ * Only successful responses are stored; a failed request releases its key so the client can retry.
+ **/
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final long FIRST_PAUSE_MS = 25;
+    private static final long MAX_PAUSE_MS = 500;
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final int cleanupBatchSize;
+
+    public IdempotencyService(IdempotencyKeyRepository repository,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.lease:5m}") Duration lease,
+                              @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              @Value("${app.idempotency.cleanup.batch-size:1000}") int cleanupBatchSize) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    public record StoredResponse(int status, String body) {}
+
+    /**
+     * Claims the key for this request, or returns the response an earlier request with it produced. A
+     * duplicate that arrives while the first request still runs waits for its response.
+     *
+     * @return empty when the caller now owns the key and must {@link #complete} or {@link #release} it
+     */
+    public Optional<StoredResponse> begin(byte[] keyHash, byte[] requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        long pause = FIRST_PAUSE_MS;
+        while (true) {
+            if (repository.claim(keyHash, requestHash, lease, ttl)) {
+                return Optional.empty();
+            }
+            // Gone again means the first request failed and released it; the next claim takes it over
+            Optional<IdempotencyKeyRepository.StoredKey> existing = repository.find(keyHash);
+            if (existing.isPresent()) {
+                IdempotencyKeyRepository.StoredKey stored = existing.get();
+                if (!Arrays.equals(stored.requestHash(), requestHash)) {
+                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key was already used with a different request");
+                }
+                if (stored.responseStatus() != null) {
+                    return Optional.of(new StoredResponse(stored.responseStatus(), stored.responseBody()));
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            sleep(pause);
+            pause = Math.min(pause * 2, MAX_PAUSE_MS);
+        }
+    }
+
+    public void complete(byte[] keyHash, int status, String body) {
+        repository.complete(keyHash, status, body);
+    }
+
+    public void release(byte[] keyHash) {
+        repository.release(keyHash);
+    }
+
+    // Small batches, so the purge never holds many row locks next to live claims
+    @Scheduled(cron = "${app.idempotency.cleanup.cron:0 */15 * * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void purgeExpired() {
+        int total = 0;
+        while (true) {
+            int deleted = repository.deleteExpired(cleanupBatchSize);
+            total += deleted;
+            if (deleted < cleanupBatchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for an earlier request");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.com.meropasal.meropasalbackend.metrics.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created On : 2026 19 Oct 3:30 PM
+ * Author : Monu Siddiki
+ * Description : Replaces show-sql. Hibernate reports statements slower than hibernate.log_slow_query on the
+ * org.hibernate.SQL_SLOW logger; this filter counts every one of them and lets only the first few per second
+ * through to the log, so a database stall cannot flood it.
+ **/
+@Component
+public class SlowQueryLogSampler extends TurboFilter {
+
+    private static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    private final Counter slowQueries;
+    private final Counter suppressed;
+    private final int maxPerSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+
+    public SlowQueryLogSampler(MeterRegistry registry,
+                               @Value("${app.sql.slow-log.max-per-second:5}") int maxPerSecond) {
+        this.slowQueries = Counter.builder("meropasal.sql.slow")
+                .description("Statements slower than hibernate.log_slow_query")
+                .register(registry);
+        this.suppressed = Counter.builder("meropasal.sql.slow.suppressed")
+                .description("Slow statements counted but not logged by the sampler")
+                .register(registry);
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @PostConstruct
+    void register() {
+        setName("slow-query-sampler");
+        start();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).addTurboFilter(this);
+    }
+
+    @PreDestroy
+    void unregister() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(this);
+        stop();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks arrive without a format and must not be counted
+        if (format == null || !SLOW_QUERY_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        slowQueries.increment();
+
+        long second = System.currentTimeMillis() / 1000;
+        long seen = currentSecond.get();
+        if (seen != second && currentSecond.compareAndSet(seen, second)) {
+            loggedThisSecond.set(0);
+        }
+        if (loggedThisSecond.incrementAndGet() <= maxPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,85 @@
+package org.com.meropasal.meropasalbackend.metrics.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.meropasal.meropasalbackend.order.event.OrderLifecycleEvent;
+import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Created On : 2026 19 Oct 3:10 PM
+ * Author : Monu Siddiki
+ * Description : Business counters for the Prometheus endpoint. Everything is counted after commit, so rolled
+ * back orders and payments never show up. Rates are derived at query time, e.g. orders per minute is
+ * rate(meropasal_orders_placed_total[5m]) * 60 and the payment success ratio is the success share of
+ * rate(meropasal_payments_completed_total[5m]).
+ **/
+@Component
+public class BusinessMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter ordersPlaced;
+    private final Counter ordersCancelled;
+    private final DistributionSummary orderValue;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.ordersPlaced = Counter.builder("meropasal.orders.placed")
+                .description("Orders placed")
+                .register(registry);
+        this.ordersCancelled = Counter.builder("meropasal.orders.cancelled")
+                .description("Orders cancelled after being placed")
+                .register(registry);
+        this.orderValue = DistributionSummary.builder("meropasal.orders.value")
+                .description("Order totals")
+                .baseUnit("NPR")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderLifecycle(OrderLifecycleEvent event) {
+        if (event.previousStatus() == null) {
+            ordersPlaced.increment();
+            if (event.total() != null) {
+                orderValue.record(event.total().doubleValue());
+            }
+        } else if (event.stoppedCounting() && !event.deleted()) {
+            ordersCancelled.increment();
+        }
+    }
+
+    public void paymentInitiated(PaymentMethod method) {
+        afterCommit(() -> Counter.builder("meropasal.payments.initiated")
+                .description("Payments handed to a gateway")
+                .tag("method", method.name())
+                .register(registry)
+                .increment());
+    }
+
+    public void paymentCompleted(PaymentMethod method, boolean success) {
+        afterCommit(() -> Counter.builder("meropasal.payments.completed")
+                .description("Gateway payment outcomes")
+                .tag("method", method != null ? method.name() : "UNKNOWN")
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .increment());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package org.com.meropasal.meropasalbackend.order.controller;
 
 import org.com.meropasal.meropasalbackend.authSystem.config.CustomerJwtService;
+import org.com.meropasal.meropasalbackend.idempotency.config.Idempotent;
 import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
 import org.com.meropasal.meropasalbackend.order.dto.OrderResponseDTO;
 import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
@@ -37,6 +38,7 @@ public class OrderController {
 
     // 1. Create order
     @PostMapping("/create")
+    @Idempotent("orders.create")
     public ResponseEntity<?> createOrder(
             @RequestBody OrderRequestDTO orderRequest,
             @RequestHeader("Authorization") String authHeader) {
@@ -23,4 +23,5 @@ public class OrderItemResponseDTO {
     private BigDecimal discountPrice;
     private BigDecimal discountPercentage;
     private String variant;
+    private UUID skuId;
 }
@@ -0,0 +1,52 @@
+package org.com.meropasal.meropasalbackend.order.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.order.dto.OrderResponseDTO;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 4:40 PM
+ * Author : Monu Siddiki
+ * Description : An order from a month OrderPartitionService moved to cold storage. The order is kept as the
+ * response customers were shown, so their history reads it back without the dropped order tables.
+ **/
+@Entity
+@Table(name = "order_history",
+        indexes = {
+                @Index(name = "idx_order_history_customer_created", columnList = "customer_id, created_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id", updatable = false, nullable = false)
+    private UUID orderId;
+
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+
+    @Column(name = "shop_id", nullable = false)
+    private UUID shopId;
+
+    @Column(name = "order_number")
+    private String orderNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private OrderResponseDTO document;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -15,6 +15,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.com.meropasal.meropasalbackend.address.entity.ShippingAddress;
 import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
@@ -31,23 +32,23 @@ import java.util.UUID;
 @Entity
 @Table(name = "orders",
         indexes = {
-                @Index(name = "idx_order_shop", columnList = "shop_id"),
+                // Shop and customer lookups use partial indexes over live rows (migration V6)
                 @Index(name = "idx_order_created_at", columnList = "createdAt")
         })
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE orders SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE orders SET deleted = true, deleted_at = now() WHERE id=?")
 @Where(clause = "deleted = false")
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
-    @Column(name = "order_number", unique = true)
+    // Unique through the order_numbers table (migration V7); orders is partitioned by created_at
+    @Column(name = "order_number")
     private String orderNumber;
 
     @JsonIgnore
@@ -13,7 +13,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
 import org.hibernate.annotations.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,6 +29,7 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_order_item_order", columnList = "order_id"),
                 @Index(name = "idx_order_item_product", columnList = "product_id"),
+                @Index(name = "idx_order_item_sku", columnList = "sku_id"),
                 @Index(name = "idx_order_item_created_at", columnList = "createdAt")
         })
 @Getter
@@ -39,8 +42,7 @@ import java.util.UUID;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -70,15 +72,20 @@ public class OrderItem {
     @Column
     private String variant; // Selected variant
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sku_id")
+    private ProductSku sku; // Null for products without SKUs and for orders placed before them
+
     @Column
     private String productImage; // Snapshot of product image
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Same instant as the order, so an order and its items always land in the same monthly partition
     @PrePersist
     protected void onCreate(){
-        createdAt = LocalDateTime.now();
+        createdAt = order != null && order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
     }
 
     @ColumnDefault("false")
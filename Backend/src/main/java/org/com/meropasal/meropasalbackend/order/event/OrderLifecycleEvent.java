@@ -0,0 +1,100 @@
+package org.com.meropasal.meropasalbackend.order.event;
+
+import org.com.meropasal.meropasalbackend.address.entity.ShippingAddress;
+import org.com.meropasal.meropasalbackend.order.entity.Order;
+import org.com.meropasal.meropasalbackend.order.entity.OrderItem;
+import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 16 Oct 2:00 PM
+ * Author : Monu Siddiki
+ * Description : Published by OrderService inside the order transaction whenever an order is placed,
+ * changes status or is soft-deleted. previousStatus is null for a newly placed order; a deleted order
+ * keeps its status and stops counting unless it was already cancelled.
+ **/
+public record OrderLifecycleEvent(
+        UUID orderId,
+        UUID shopId,
+        String customerName,
+        String mobile,
+        String email,
+        String city,
+        BigDecimal total,
+        LocalDateTime orderedAt,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        List<Line> lines,
+        Map<UUID, Integer> skuQuantities,
+        boolean deleted
+) {
+
+    // Per-product quantity and revenue of the order, one entry per product
+    public record Line(UUID productId, int quantity, BigDecimal revenue) {}
+
+    public static OrderLifecycleEvent of(Order order, OrderStatus previousStatus) {
+        return of(order, previousStatus, false);
+    }
+
+    public static OrderLifecycleEvent deleted(Order order) {
+        return of(order, order.getStatus(), true);
+    }
+
+    private static OrderLifecycleEvent of(Order order, OrderStatus previousStatus, boolean deleted) {
+        ShippingAddress address = order.getShippingAddress();
+        return new OrderLifecycleEvent(
+                order.getId(),
+                order.getShop().getId(),
+                address != null ? address.getName() : null,
+                address != null ? address.getMobile() : null,
+                address != null ? address.getEmail() : null,
+                address != null ? address.getCity() : null,
+                order.getTotal(),
+                order.getCreatedAt(),
+                previousStatus,
+                order.getStatus(),
+                linesOf(order),
+                skuQuantitiesOf(order),
+                deleted);
+    }
+
+    private static List<Line> linesOf(Order order) {
+        if (order.getItems() == null) {
+            return List.of();
+        }
+        Map<UUID, List<OrderItem>> byProduct = order.getItems().stream()
+                .collect(Collectors.groupingBy(item -> item.getProduct().getId()));
+        return byProduct.entrySet().stream()
+                .map(entry -> new Line(
+                        entry.getKey(),
+                        entry.getValue().stream().mapToInt(OrderItem::getQuantity).sum(),
+                        entry.getValue().stream().map(OrderItem::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add)))
+                .toList();
+    }
+
+    // Ordered quantity per SKU, for items that were bought as a specific variant
+    private static Map<UUID, Integer> skuQuantitiesOf(Order order) {
+        if (order.getItems() == null) {
+            return Map.of();
+        }
+        return order.getItems().stream()
+                .filter(item -> item.getSku() != null)
+                .collect(Collectors.toMap(item -> item.getSku().getId(), OrderItem::getQuantity, Integer::sum));
+    }
+
+    // True when this change moves the order into the set of orders that count as sales
+    public boolean becameCountable() {
+        return !deleted && status != OrderStatus.CANCELLED && (previousStatus == null || previousStatus == OrderStatus.CANCELLED);
+    }
+
+    // True when a counted order was cancelled or deleted
+    public boolean stoppedCounting() {
+        return (deleted || status == OrderStatus.CANCELLED) && previousStatus != null && previousStatus != OrderStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,22 @@
+package org.com.meropasal.meropasalbackend.order.repo;
+
+import org.com.meropasal.meropasalbackend.order.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 4:45 PM
+ * Author : Monu Siddiki
+ * Description : Customer reads of archived order months
+ **/
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, UUID> {
+
+    List<ArchivedOrder> findByCustomerIdOrderByCreatedAtDesc(UUID customerId);
+
+    Optional<ArchivedOrder> findByOrderIdAndCustomerId(UUID orderId, UUID customerId);
+}
@@ -1,16 +1,24 @@
 package org.com.meropasal.meropasalbackend.order.repo;
 
-import org.com.meropasal.meropasalbackend.customer.dto.AudienceDTO;
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Created On : 2025 22 Jul 4:49 PM
@@ -20,6 +28,9 @@ import java.util.UUID;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    // How far created_at may sit from the time in an order's UUIDv7 id (clock skew, late flushes)
+    Duration CREATED_AT_SLACK = Duration.ofDays(1);
+
     List<Order> findByCustomerId(UUID customerId);
 
     @Query("SELECT o FROM Order o WHERE o.shop.id = :shopId")
@@ -29,25 +40,112 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findByCustomerAndStatus(@Param("customerId") UUID customerId,
                                         @Param("status") OrderStatus status);
 
-    Optional<Order> findByIdAndCustomerId(UUID orderId, UUID customerId);
+    /**
+     * A UUIDv7 id carries its creation time, so the lookup is bounded to created_at around it and Postgres
+     * prunes every other monthly partition. Orders with pre-v7 ids search all partitions.
+     */
+    default Optional<Order> findByIdAndCustomerId(UUID orderId, UUID customerId) {
+        return createdAround(orderId)
+                .map(createdAround -> findByIdAndCustomerIdCreatedBetween(orderId, customerId,
+                        createdAround.minus(CREATED_AT_SLACK), createdAround.plus(CREATED_AT_SLACK)))
+                .orElseGet(() -> findAnyByIdAndCustomerId(orderId, customerId));
+    }
+
+    // findById bounded the same way, for the shop-side paths that have no customer to match
+    default Optional<Order> findByIdBounded(UUID orderId) {
+        return createdAround(orderId)
+                .map(createdAround -> findByIdCreatedBetween(orderId,
+                        createdAround.minus(CREATED_AT_SLACK), createdAround.plus(CREATED_AT_SLACK)))
+                .orElseGet(() -> findById(orderId));
+    }
+
+    private static Optional<LocalDateTime> createdAround(UUID orderId) {
+        return UuidV7Generator.timestampOf(orderId).map(issued -> LocalDateTime.ofInstant(issued, ZoneId.systemDefault()));
+    }
+
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId AND o.createdAt >= :from AND o.createdAt < :to")
+    Optional<Order> findByIdCreatedBetween(@Param("orderId") UUID orderId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId AND o.customer.id = :customerId "
+            + "AND o.createdAt >= :from AND o.createdAt < :to")
+    Optional<Order> findByIdAndCustomerIdCreatedBetween(@Param("orderId") UUID orderId,
+                                                        @Param("customerId") UUID customerId,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to);
+
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId AND o.customer.id = :customerId")
+    Optional<Order> findAnyByIdAndCustomerId(@Param("orderId") UUID orderId, @Param("customerId") UUID customerId);
 
+    // order_numbers holds every number ever issued, archived months included; one primary key probe
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM order_numbers WHERE order_number = :orderNumber)", nativeQuery = true)
+    boolean existsByOrderNumber(@Param("orderNumber") String orderNumber);
 
-    boolean existsByOrderNumber(String orderNumber);
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o FROM Order o WHERE o.shop.id = :shopId ORDER BY o.createdAt")
+    Stream<Order> streamByShopId(@Param("shopId") UUID shopId);
 
-    @Query("""
-        SELECT new org.com.meropasal.meropasalbackend.customer.dto.AudienceDTO(
-            sa.name,
-            sa.mobile,
-            sa.email,
-            sa.city,
-            COUNT(o.id),
-            SUM(o.total)
+    // One probe of the live (shop_id, created_at) index per shop instead of de-duplicating every order row.
+    // Deleted shops are skipped, as nothing reads their audience or rollups
+    @Query("SELECT s.id FROM Shop s WHERE EXISTS (SELECT 1 FROM Order o WHERE o.shop = s)")
+    List<UUID> findDistinctShopIds();
+
+    // Moves the oldest tombstones and all their items to the archive tables; returns the orders moved.
+    // SKIP LOCKED lets several instances archive side by side without waiting on each other's batches
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items")
+    })
+    @Query(value = """
+        WITH batch AS (
+            SELECT o.id FROM orders o
+            WHERE o.deleted AND o.deleted_at < :cutoff
+            ORDER BY o.deleted_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        ), items AS (
+            DELETE FROM order_items oi USING batch b WHERE oi.order_id = b.id RETURNING oi.*
+        ), archived_items AS (
+            INSERT INTO order_items_archive SELECT items.*, now() FROM items
+        ), moved AS (
+            DELETE FROM orders o USING batch b WHERE o.id = b.id RETURNING o.*
         )
-        FROM Order o
-        JOIN o.shippingAddress sa
-        WHERE o.shop.id = :shopId
-        GROUP BY sa.name, sa.mobile, sa.email, sa.city
-    """)
-    List<AudienceDTO> getAudienceDataByShop(@Param("shopId") UUID shopId);
+        INSERT INTO orders_archive SELECT moved.*, now() FROM moved
+        """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    // Creates this month's and the next monthsAhead months' partitions that are missing; see migration V7
+    @Query(value = "SELECT create_order_partitions(:monthsAhead)", nativeQuery = true)
+    int createPartitions(@Param("monthsAhead") int monthsAhead);
+
+    // [partition name, range start, range end] for orders partitions that end by the cutoff, oldest first
+    @Query(value = """
+        SELECT partition_name, coalesce(range_start, TIMESTAMP '1970-01-01'), range_end
+        FROM order_partition_ranges('orders')
+        WHERE range_end <= :cutoff
+        ORDER BY range_end
+        """, nativeQuery = true)
+    List<Object[]> findPartitionsEndingBy(@Param("cutoff") LocalDateTime cutoff);
+
+    // Keyset page of live orders in one partition's range; the bounds prune the scan to that partition
+    @Query(value = """
+        SELECT * FROM orders
+        WHERE created_at >= :from AND created_at < :to AND deleted = false AND id > CAST(:after AS uuid)
+        ORDER BY id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Order> findLiveInRangeAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     @Param("after") String after, @Param("limit") int limit);
+
+    // Detaches and drops the partition with its order_items month; refuses while an order is not in order_history
+    @Query(value = "SELECT drop_order_partition(:partition)", nativeQuery = true)
+    long dropPartition(@Param("partition") String partition);
 
 }
@@ -0,0 +1,146 @@
+package org.com.meropasal.meropasalbackend.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.order.entity.ArchivedOrder;
+import org.com.meropasal.meropasalbackend.order.entity.Order;
+import org.com.meropasal.meropasalbackend.order.repo.ArchivedOrderRepository;
+import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 4:50 PM
+ * Author : Monu Siddiki
+ * Description : Keeps the monthly orders / order_items partitions ahead of the calendar and, when enabled,
+ * moves months older than the configured age into order_history before dropping their partitions.
+ * Every shard has its own partitions and history, so both jobs run once per shard.
+ **/
+@Slf4j
+@Service
+public class OrderPartitionService {
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardScatter shardScatter;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int archiveAfterMonths;
+    private final int archiveChunkSize;
+
+    public OrderPartitionService(OrderRepository orderRepository,
+                                 ArchivedOrderRepository archivedOrderRepository,
+                                 OrderService orderService,
+                                 PlatformTransactionManager transactionManager,
+                                 ShardScatter shardScatter,
+                                 @Value("${app.orders.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${app.orders.archive.enabled:false}") boolean archiveEnabled,
+                                 @Value("${app.orders.archive.after-months:24}") int archiveAfterMonths,
+                                 @Value("${app.orders.archive.chunk-size:200}") int archiveChunkSize) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScatter = shardScatter;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveAfterMonths = archiveAfterMonths;
+        this.archiveChunkSize = archiveChunkSize;
+    }
+
+    // Orders for a month without a partition still land in the default partition, but stay out of pruning
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.orders.partitions.cron:0 15 3 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void createUpcomingPartitions() {
+        shardScatter.forEachShard(() -> {
+            Integer created = transactionTemplate.execute(status -> orderRepository.createPartitions(monthsAhead));
+            if (created != null && created > 0) {
+                log.info("Created {} order partitions", created);
+            }
+        });
+    }
+
+    /**
+     * Archives every whole month that ended more than archiveAfterMonths ago, oldest first. Stops at the
+     * first month that fails so a later month is never dropped while an earlier one is still live.
+     */
+    @Scheduled(cron = "${app.orders.archive.cron:0 45 3 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void archiveOldPartitions() {
+        if (!archiveEnabled) {
+            return;
+        }
+        shardScatter.forEachShard(this::archiveShardPartitions);
+    }
+
+    private void archiveShardPartitions() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).atStartOfDay().minusMonths(archiveAfterMonths);
+        List<Object[]> partitions = transactionTemplate.execute(status -> orderRepository.findPartitionsEndingBy(cutoff));
+        for (Object[] partition : partitions != null ? partitions : List.<Object[]>of()) {
+            String name = (String) partition[0];
+            try {
+                archivePartition(name, toLocalDateTime(partition[1]), toLocalDateTime(partition[2]));
+            } catch (RuntimeException e) {
+                log.warn("Archiving order partition {} stopped: {}", name, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Package-private for tests, which archive a month of their own rather than everything past the cutoff
+    void archivePartition(String name, LocalDateTime from, LocalDateTime to) {
+        UUID after = new UUID(0, 0);
+        int archived = 0;
+        while (true) {
+            UUID cursor = after;
+            List<UUID> ids = transactionTemplate.execute(status -> {
+                List<Order> chunk = orderRepository.findLiveInRangeAfter(from, to, cursor.toString(), archiveChunkSize);
+                archivedOrderRepository.saveAll(chunk.stream().map(this::toArchivedOrder).toList());
+                return chunk.stream().map(Order::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            archived += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < archiveChunkSize) {
+                break;
+            }
+        }
+        Long dropped = transactionTemplate.execute(status -> orderRepository.dropPartition(name));
+        log.info("Archived {} orders from {} ({} to {}) and dropped {} rows with the partition",
+                archived, name, from, to, dropped);
+    }
+
+    private ArchivedOrder toArchivedOrder(Order order) {
+        ArchivedOrder archived = new ArchivedOrder();
+        archived.setOrderId(order.getId());
+        archived.setCustomerId(order.getCustomer().getId());
+        archived.setShopId(order.getShop().getId());
+        archived.setOrderNumber(order.getOrderNumber());
+        archived.setCreatedAt(order.getCreatedAt());
+        archived.setDocument(orderService.mapToOrderResponseDTO(order));
+        archived.setArchivedAt(LocalDateTime.now());
+        return archived;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
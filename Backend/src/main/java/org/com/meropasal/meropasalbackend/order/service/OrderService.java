@@ -6,20 +6,29 @@ import org.com.meropasal.meropasalbackend.customer.dto.CartItemDTO;
 import org.com.meropasal.meropasalbackend.customer.entity.CustomerDetails;
 import org.com.meropasal.meropasalbackend.customer.repo.CustomerRepository;
 import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.order.dto.OrderItemResponseDTO;
 import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
 import org.com.meropasal.meropasalbackend.order.dto.OrderResponseDTO;
+import org.com.meropasal.meropasalbackend.order.entity.ArchivedOrder;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.com.meropasal.meropasalbackend.order.entity.OrderItem;
 import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
+import org.com.meropasal.meropasalbackend.order.event.OrderLifecycleEvent;
+import org.com.meropasal.meropasalbackend.order.repo.ArchivedOrderRepository;
 import org.com.meropasal.meropasalbackend.order.repo.OrderItemRepository;
 import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
 import org.com.meropasal.meropasalbackend.order.utils.OrderNumberGenerator;
 import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductSkuRepository;
 import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,21 +40,30 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final ShopRepository shopRepository;
     private final ProductRepository productRepository;
+    private final ProductSkuRepository productSkuRepository;
     private final CustomerRepository customerRepository;
     private final CartService cartService;
     private final OrderNumberGenerator orderNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ShardScatter shardScatter;
 
-    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, ShopRepository shopRepository, ProductRepository productRepository, CustomerRepository customerRepository, CartService cartService, OrderNumberGenerator orderNumberGenerator) {
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, ShopRepository shopRepository, ProductRepository productRepository, ProductSkuRepository productSkuRepository, CustomerRepository customerRepository, CartService cartService, OrderNumberGenerator orderNumberGenerator, ApplicationEventPublisher eventPublisher, ArchivedOrderRepository archivedOrderRepository, ShardScatter shardScatter) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.shopRepository = shopRepository;
         this.productRepository = productRepository;
+        this.productSkuRepository = productSkuRepository;
         this.customerRepository = customerRepository;
         this.cartService = cartService;
         this.orderNumberGenerator = orderNumberGenerator;
+        this.eventPublisher = eventPublisher;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.shardScatter = shardScatter;
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#orderRequest.shopId", customer = "#customerId")
     public OrderResponseDTO createOrderFromCart(OrderRequestDTO orderRequest, UUID customerId) {
         CustomerDetails customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
@@ -84,6 +102,8 @@ public class OrderService {
                     orderItem.setDiscountPrice(cartItem.getDiscountPrice());
                     orderItem.setDiscountPercentage(cartItem.getDiscountPercentage());
                     orderItem.setVariant(cartItem.getSelectedVariant());
+                    // Variant stock is reserved by ProductSkuService when the order event is published
+                    orderItem.setSku(cartItem.getSkuId() != null ? productSkuRepository.getReferenceById(cartItem.getSkuId()) : null);
                     orderItem.setProductImage(cartItem.getProductImage());
                     return orderItem;
                 })
@@ -94,24 +114,36 @@ public class OrderService {
 
         Order savedOrder = orderRepository.save(order);
         cartService.clearCartItemsByShop(customerId, UUID.fromString(orderRequest.getShopId()));
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(savedOrder, null));
 
         return mapToOrderResponseDTO(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByCustomer(UUID customerId) {
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        return orders.stream()
+        List<OrderResponseDTO> responses = shardScatter.gather(() -> orderRepository.findByCustomerId(customerId).stream()
                 .map(this::mapToOrderResponseDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        // Months moved to cold storage are served from the response stored when they were archived
+        shardScatter.gather(() -> archivedOrderRepository.findByCustomerIdOrderByCreatedAtDesc(customerId).stream()
+                        .map(ArchivedOrder::getDocument)
+                        .collect(Collectors.toList()),
+                Comparator.comparing(OrderResponseDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .forEach(responses::add);
+        return responses;
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.ORDER, key = "#orderId")
     public OrderResponseDTO getOrderByIdAndCustomer(UUID orderId, UUID customerId) {
-        Order order = orderRepository.findByIdAndCustomerId(orderId, customerId)
+        return orderRepository.findByIdAndCustomerId(orderId, customerId)
+                .map(this::mapToOrderResponseDTO)
+                .or(() -> archivedOrderRepository.findByOrderIdAndCustomerId(orderId, customerId).map(ArchivedOrder::getDocument))
                 .orElseThrow(() -> new IllegalArgumentException("Order not found or does not belong to the customer"));
-        return mapToOrderResponseDTO(order);
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.ORDER, key = "#orderId")
     public void cancelOrder(UUID orderId, UUID customerId) {
         Order order = orderRepository.findByIdAndCustomerId(orderId, customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found or does not belong to the customer"));
@@ -122,9 +154,23 @@ public class OrderService {
 
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(order, OrderStatus.PENDING));
+    }
+
+    /**
+     * Soft-deletes an order. The audience aggregate and sales rollups stop counting it in the same
+     * transaction; reserved variant stock is only released by cancelling, not by deleting.
+     */
+    @Transactional
+    @ShardedBy(value = ShardKey.ORDER, key = "#orderId")
+    public void deleteOrder(UUID orderId) {
+        Order order = orderRepository.findByIdBounded(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found"));
+        eventPublisher.publishEvent(OrderLifecycleEvent.deleted(order));
+        orderRepository.delete(order);
     }
 
-    private OrderResponseDTO mapToOrderResponseDTO(Order order) {
+    OrderResponseDTO mapToOrderResponseDTO(Order order) {
         OrderResponseDTO response = new OrderResponseDTO();
         response.setId(order.getId());
         response.setOrderNumber(order.getOrderNumber());
@@ -168,18 +214,27 @@ public class OrderService {
         dto.setDiscountPrice(item.getDiscountPrice());
         dto.setDiscountPercentage(item.getDiscountPercentage());
         dto.setVariant(item.getVariant());
+        dto.setSkuId(item.getSku() != null ? item.getSku().getId() : null);
         return dto;
     }
 
+    @Transactional
+    @ShardedBy(value = ShardKey.ORDER, key = "#orderId")
     public OrderResponseDTO updateOrderStatus(UUID orderId, OrderStatus status) {
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdBounded(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(OrderLifecycleEvent.of(updatedOrder, previousStatus));
+        }
         return mapToOrderResponseDTO(updatedOrder);
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<OrderResponseDTO> getOrdersByShop(UUID shopId) {
 
         List<Order> orders = orderRepository.findByShopId(shopId);
@@ -28,6 +28,7 @@ import java.util.UUID;
 public class EsewaGateway implements PaymentGateway {
 
     private final ShopGatewayConfigService cfgs;
+    private final RestTemplate restTemplate;
 
     private static final String FORM_URL = "https://rc-epay.esewa.com.np/api/epay/main/v2/form";
 
@@ -95,7 +96,6 @@ public class EsewaGateway implements PaymentGateway {
             log.debug("Calling eSewa verification API: {}", verifyUrl);
 
             // Make verification request to eSewa
-            RestTemplate restTemplate = new RestTemplate();
             ResponseEntity<String> response = restTemplate.getForEntity(verifyUrl, String.class);
 
             if (response.getStatusCode().is2xxSuccessful()) {
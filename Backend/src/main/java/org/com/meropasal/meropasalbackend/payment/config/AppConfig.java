@@ -1,9 +1,14 @@
 package org.com.meropasal.meropasalbackend.payment.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  * Created On : 2025 05 Sep 10:39 PM
  * Author : Monu Siddiki
@@ -12,8 +17,16 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class AppConfig {
 
+    // java.net.http blocks without holding monitors, so gateway calls do not pin virtual threads,
+    // and the timeouts stop a slow gateway from holding request threads indefinitely
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${app.http.connect-timeout:5s}") Duration connectTimeout,
+                                     @Value("${app.http.read-timeout:15s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
     }
 }
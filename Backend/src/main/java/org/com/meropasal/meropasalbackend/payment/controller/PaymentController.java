@@ -1,6 +1,7 @@
 package org.com.meropasal.meropasalbackend.payment.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.com.meropasal.meropasalbackend.idempotency.config.Idempotent;
 import org.com.meropasal.meropasalbackend.payment.dto.InitiateResponse;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.payment.service.PaymentService;
@@ -22,6 +23,7 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     @PostMapping("/{shopId}/{paymentMethod}/init")
+    @Idempotent("payments.initiate")
     public ResponseEntity<InitiateResponse> initiate(
             @PathVariable UUID shopId,
             @PathVariable PaymentMethod paymentMethod,
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
 import org.com.meropasal.meropasalbackend.payment.dto.*;
 import org.com.meropasal.meropasalbackend.payment.entity.ShopGatewayConfig;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
@@ -31,6 +33,7 @@ public class ShopGatewayConfigController {
     private final CredentialsEncryptor credentialsEncryptor;
 
     @PostMapping
+    @ShardedBy(value = ShardKey.SHOP, key = "#request.shopId()")
     public ResponseEntity<ApiResponse<ShopGatewayConfigResponse>> createConfig(@Valid @RequestBody CreateConfigRequest request) {
         try {
             // Find the shop entity
@@ -63,6 +66,7 @@ public class ShopGatewayConfigController {
     }
 
     @GetMapping("/{shopId}")
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public ResponseEntity<ApiResponse<List<ShopGatewayConfigResponse>>> getConfigsByShop(
             @PathVariable UUID shopId) {
         try {
@@ -82,6 +86,7 @@ public class ShopGatewayConfigController {
 
     @GetMapping("/{shopId}/{paymentMethod}")
     @Transactional // This method needs read-write transaction for LOB access
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public ResponseEntity<ApiResponse<ShopGatewayConfigDetailResponse>> getConfigDetail(
             @PathVariable UUID shopId,
             @PathVariable PaymentMethod paymentMethod) {
@@ -99,6 +104,7 @@ public class ShopGatewayConfigController {
     }
 
     @PutMapping("/{configId}")
+    @ShardedBy(value = ShardKey.GATEWAY_CONFIG, key = "#configId")
     public ResponseEntity<ApiResponse<ShopGatewayConfigResponse>> updateConfig(
             @PathVariable UUID configId,
             @Valid @RequestBody UpdateConfigRequest request) {
@@ -127,6 +133,7 @@ public class ShopGatewayConfigController {
     }
 
     @DeleteMapping("/{configId}")
+    @ShardedBy(value = ShardKey.GATEWAY_CONFIG, key = "#configId")
     public ResponseEntity<ApiResponse<String>> deleteConfig(@PathVariable UUID configId) {
         try {
             if (!configRepository.existsById(configId)) {
@@ -143,6 +150,7 @@ public class ShopGatewayConfigController {
     }
 
     @PatchMapping("/{configId}/toggle-active")
+    @ShardedBy(value = ShardKey.GATEWAY_CONFIG, key = "#configId")
     public ResponseEntity<ApiResponse<Boolean>> toggleActive(@PathVariable UUID configId) {
         try {
             var config = configRepository.findById(configId)
@@ -161,6 +169,7 @@ public class ShopGatewayConfigController {
 
     // Admin-only endpoint to view decrypted credentials
     @GetMapping("/{configId}/credentials")
+    @ShardedBy(value = ShardKey.GATEWAY_CONFIG, key = "#configId")
     public ResponseEntity<ApiResponse<PaymentCredentials>> getCredentialsForAdmin(
             @PathVariable UUID configId) {
         try {
@@ -11,6 +11,7 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentStatus;
@@ -26,19 +27,18 @@ import java.util.UUID;
 @Entity
 @Table(name = "payment",
         indexes = {
-                @Index(name = "idx_payment_order", columnList = "order_id"),
+                // Order and gateway id lookups use partial indexes over live rows (migration V6)
                 @Index(name = "idx_payment_created_at", columnList = "createdAt")
         })
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE payments SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE payment SET deleted = true, deleted_at = now() WHERE id=?")
 @Where(clause = "deleted = false")
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
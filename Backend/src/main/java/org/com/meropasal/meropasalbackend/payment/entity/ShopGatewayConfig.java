@@ -7,13 +7,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.payment.dto.*;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.payment.utils.CredentialsEncryptor;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
-import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.Where;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -33,13 +36,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SHOP_GATEWAY_CONFIG)
 @SQLDelete(sql = "UPDATE store_gateway_config SET deleted = true WHERE id=?")
 @Where(clause = "deleted = false")
 public class ShopGatewayConfig {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
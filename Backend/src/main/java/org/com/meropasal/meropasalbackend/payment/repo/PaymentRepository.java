@@ -1,11 +1,18 @@
 package org.com.meropasal.meropasalbackend.payment.repo;
 
+import jakarta.persistence.QueryHint;
 import org.com.meropasal.meropasalbackend.payment.entity.Payment;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,4 +30,21 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByGatewayRequestId(String transactionUuid);
     Optional<Payment> findByGatewayTxnId(String gatewayTxnId);
+
+    // Moves the oldest tombstones to payment_archive; returns the rows moved
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payment"))
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM payment p
+            WHERE p.id IN (SELECT id FROM payment
+                           WHERE deleted AND deleted_at < :cutoff
+                           ORDER BY deleted_at
+                           LIMIT :batchSize
+                           FOR UPDATE SKIP LOCKED)
+            RETURNING p.*
+        )
+        INSERT INTO payment_archive SELECT moved.*, now() FROM moved
+        """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -1,10 +1,14 @@
 package org.com.meropasal.meropasalbackend.payment.repo;
 
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
 import org.com.meropasal.meropasalbackend.payment.entity.ShopGatewayConfig;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -27,10 +31,12 @@ public interface ShopGatewayConfigRepository extends JpaRepository<ShopGatewayCo
 
     // Try this explicit query instead of method name derivation
     // Use JOIN FETCH to avoid LazyLoadingException
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     @Query("SELECT c FROM ShopGatewayConfig c JOIN FETCH c.shop s WHERE s.id = :shopId AND c.paymentMethod = :paymentMethod AND c.deleted = false")
     Optional<ShopGatewayConfig> findByShopIdAndPaymentMethod(@Param("shopId") UUID shopId,
                                                              @Param("paymentMethod") PaymentMethod paymentMethod);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     @Query("SELECT c FROM ShopGatewayConfig c WHERE c.shop.id = :shopId AND c.deleted = false")
     List<ShopGatewayConfig> findByShopId(@Param("shopId") UUID shopId);
 
@@ -3,6 +3,9 @@ package org.com.meropasal.meropasalbackend.payment.service;
 import com.google.gson.Gson;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.metrics.service.BusinessMetrics;
 import org.com.meropasal.meropasalbackend.payment.dto.InitiateRequest;
 import org.com.meropasal.meropasalbackend.payment.dto.InitiateResponse;
 import org.com.meropasal.meropasalbackend.payment.dto.VerifyRequest;
@@ -31,8 +34,10 @@ public class PaymentService {
     private final PaymentRepository repo;
     private final GatewayRegistry registry;
     private final ShopRepository shopRepo;
+    private final BusinessMetrics businessMetrics;
 
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public InitiateResponse startPayment(UUID shopId, PaymentMethod paymentMethod,
                                          UUID orderId, Long amountMinor,
                                          String returnUrl, String failureUrl) {
@@ -49,11 +54,13 @@ public class PaymentService {
         p.setReturnUrl(returnUrl);
         p.setFailureUrl(failureUrl);
         repo.save(p);
+        businessMetrics.paymentInitiated(paymentMethod);
 
         return res;
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.PAYMENT_REQUEST, key = "#transactionUuid")
     public Payment handleEsewaSuccess(String transactionUuid, String transactionCode, String amount) {
         log.info("Looking for payment with gatewayRequestId: {}", transactionUuid);
 
@@ -68,6 +75,7 @@ public class PaymentService {
                 payment.setGatewayTxnId(transactionCode);
                 payment.setRawCallbackJson("Success data received");
                 Payment savedPayment = repo.save(payment);
+                businessMetrics.paymentCompleted(payment.getPaymentMethod(), true);
 
                 log.info("Payment marked as COMPLETED for transaction: {}, orderId: {}",
                         transactionCode, payment.getOrderId());
@@ -81,9 +89,13 @@ public class PaymentService {
             paymentOpt = repo.findByGatewayTxnId(transactionCode);
             if (paymentOpt.isPresent()) {
                 Payment payment = paymentOpt.get();
+                boolean newlyCompleted = payment.getStatus() != PaymentStatus.COMPLETED;
                 payment.setStatus(PaymentStatus.COMPLETED);
                 payment.setGatewayTxnId(transactionCode);
                 Payment savedPayment = repo.save(payment);
+                if (newlyCompleted) {
+                    businessMetrics.paymentCompleted(payment.getPaymentMethod(), true);
+                }
                 log.info("Payment found by transaction code and marked as COMPLETED: {}", transactionCode);
                 return savedPayment;
             }
@@ -94,6 +106,7 @@ public class PaymentService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.PAYMENT_REQUEST, key = "#transactionUuid")
     public Payment handleEsewaFailure(String transactionUuid, String rawData) {
         Optional<Payment> paymentOpt = repo.findByGatewayRequestId(transactionUuid);
 
@@ -102,6 +115,7 @@ public class PaymentService {
             payment.setStatus(PaymentStatus.FAILED);
             payment.setRawCallbackJson(rawData);
             Payment savedPayment = repo.save(payment);
+            businessMetrics.paymentCompleted(payment.getPaymentMethod(), false);
 
             log.info("Payment marked as FAILED for transaction UUID: {}", transactionUuid);
             return savedPayment;
@@ -112,6 +126,7 @@ public class PaymentService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public VerifyResult handleCallback(UUID shopId, PaymentMethod paymentMethod, Map<String,String> params) {
         String requestId;
 
@@ -130,6 +145,7 @@ public class PaymentService {
             p.setGatewayTxnId(result.gatewayTxnId());
             p.setRawCallbackJson(new Gson().toJson(params));
             repo.save(p);
+            businessMetrics.paymentCompleted(paymentMethod, result.success());
         });
 
         return result;
@@ -2,6 +2,8 @@ package org.com.meropasal.meropasalbackend.payment.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
 import org.com.meropasal.meropasalbackend.payment.dto.PaymentCredentials;
 import org.com.meropasal.meropasalbackend.payment.dto.ShopGatewaySecrets;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
@@ -23,6 +25,7 @@ public class ShopGatewayConfigService {
     private final ObjectMapper mapper;
     private final CredentialsEncryptor credentialsEncryptor;
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public ShopGatewaySecrets load(UUID shopId, PaymentMethod type) {
         var config = repo.findByShopIdAndPaymentMethod(shopId, type)
                 .orElseThrow(() -> new RuntimeException("Config not found"));
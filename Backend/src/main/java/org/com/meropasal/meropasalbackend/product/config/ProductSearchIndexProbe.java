@@ -0,0 +1,40 @@
+package org.com.meropasal.meropasalbackend.product.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Created On : 2026 15 Oct 2:10 PM
+ * Author : Monu Siddiki
+ * Description : Checks whether the trigram index from migration V3 exists. The search column and indexes
+ * are created by migrations; the trigram index is skipped there when pg_trgm cannot be installed, and
+ * fuzzy matching is then turned off.
+ **/
+@Slf4j
+@Component
+public class ProductSearchIndexProbe {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean trigramAvailable;
+
+    public ProductSearchIndexProbe(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectTrigramIndex() {
+        Boolean present = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('idx_product_name_trgm') IS NOT NULL", Boolean.class);
+        trigramAvailable = Boolean.TRUE.equals(present);
+        if (!trigramAvailable) {
+            log.warn("pg_trgm index missing, fuzzy product search disabled");
+        }
+    }
+
+    public boolean isTrigramAvailable() {
+        return trigramAvailable;
+    }
+}
@@ -0,0 +1,40 @@
+package org.com.meropasal.meropasalbackend.product.config;
+
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.product.service.ProductSkuService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Created On : 2026 19 Oct 10:40 AM
+ * Author : Monu Siddiki
+ * Description : Migrates variant products that only have the legacy variant_data JSON to SKUs once the
+ * application is up. The SKU indexes themselves come from migration V3.
+ **/
+@Component
+@Workload(WorkloadClass.BACKGROUND)
+public class ProductSkuBackfillRunner {
+
+    private final ProductSkuService productSkuService;
+    private final ShardScatter shardScatter;
+    private final boolean backfillOnStartup;
+
+    public ProductSkuBackfillRunner(ProductSkuService productSkuService,
+                                    ShardScatter shardScatter,
+                                    @Value("${app.products.skus.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.productSkuService = productSkuService;
+        this.shardScatter = shardScatter;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (backfillOnStartup) {
+            shardScatter.forEachShard(productSkuService::backfillFromVariantData);
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package org.com.meropasal.meropasalbackend.product.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.com.meropasal.meropasalbackend.category.dto.CategoryDto;
+import org.com.meropasal.meropasalbackend.idempotency.config.Idempotent;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseResult;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateRequest;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateResult;
 import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductImportResult;
+import org.com.meropasal.meropasalbackend.product.enums.ProductSort;
+import org.com.meropasal.meropasalbackend.product.service.ProductBrowseService;
+import org.com.meropasal.meropasalbackend.product.service.ProductBulkUpdateService;
+import org.com.meropasal.meropasalbackend.product.service.ProductImportService;
 import org.com.meropasal.meropasalbackend.product.service.ProductService;
+import org.com.meropasal.meropasalbackend.shop.service.ShopService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -25,9 +44,19 @@ import java.util.UUID;
 @PreAuthorize("hasAnyRole('SHOP_OWNER')")
 public class ProductController {
     private final ProductService productService;
+    private final ProductBrowseService productBrowseService;
+    private final ProductImportService productImportService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final ShopService shopService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductBrowseService productBrowseService,
+                             ProductImportService productImportService, ProductBulkUpdateService productBulkUpdateService,
+                             ShopService shopService) {
         this.productService = productService;
+        this.productBrowseService = productBrowseService;
+        this.productImportService = productImportService;
+        this.productBulkUpdateService = productBulkUpdateService;
+        this.shopService = shopService;
     }
 
     @PostMapping
@@ -35,6 +64,57 @@ public class ProductController {
         return new ResponseEntity<>(productService.createProduct(productDTO), HttpStatus.CREATED);
     }
 
+    // Bulk onboarding: CSV with a header row, or NDJSON with one product object per line
+    @PostMapping("/import")
+    @Idempotent("products.import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            Principal principal,
+            @RequestParam(required = false) UUID shopId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ProductImportService.Format format) throws IOException {
+        UUID ownedShopId = ownedShopId(principal, shopId);
+        ProductImportService.Format resolved = format != null ? format : detectFormat(file);
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importProducts(ownedShopId, input, resolved));
+        }
+    }
+
+    @PatchMapping("/bulk")
+    @Idempotent("products.bulk-update")
+    public ResponseEntity<ProductBulkUpdateResult> bulkUpdateProducts(
+            Principal principal,
+            @RequestParam(required = false) UUID shopId,
+            @Valid @RequestBody ProductBulkUpdateRequest request) {
+        return ResponseEntity.ok(productBulkUpdateService.bulkUpdate(ownedShopId(principal, shopId), request));
+    }
+
+    // Bulk writes act on the signed-in owner's shop; a shopId naming any other shop is refused
+    private UUID ownedShopId(Principal principal, UUID shopId) {
+        UUID ownerId = UUID.fromString(shopService.getOwnerIdByEmail(principal.getName()));
+        UUID ownedShopId;
+        try {
+            ownedShopId = shopService.getShopByOwnerId(ownerId).getId();
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No shop registered for this account");
+        }
+        if (shopId != null && !shopId.equals(ownedShopId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not the owner of this shop");
+        }
+        return ownedShopId;
+    }
+
+    private static ProductImportService.Format detectFormat(MultipartFile file) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        String type = file.getContentType() != null ? file.getContentType() : "";
+        if (name.endsWith(".csv") || type.contains("csv")) {
+            return ProductImportService.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson")) {
+            return ProductImportService.Format.NDJSON;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unrecognised file type; pass format=CSV or format=NDJSON");
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable UUID id,
@@ -71,6 +151,42 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsByCategoryId(categoryId));
     }
 
+    // Storefront listing, open to customers as well as shop owners
+    @PreAuthorize("permitAll()")
+    @GetMapping("/browse")
+    public ResponseEntity<ProductBrowseResult> browseProducts(
+            @RequestParam(required = false) UUID shopId,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minDiscount,
+            @RequestParam(required = false) BigDecimal maxDiscount,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "NEWEST") ProductSort sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean facets,
+            // Repeatable "Name:value" pairs, e.g. variant=Size:M&variant=Color:Red
+            @RequestParam(required = false) List<String> variant) {
+        ProductBrowseCriteria criteria = new ProductBrowseCriteria(shopId, categoryId, minPrice, maxPrice, minDiscount, maxDiscount, inStock, Map.of());
+        return ResponseEntity.ok(productBrowseService.browse(criteria, parseVariantFilters(variant), sort, page, size, facets));
+    }
+
+    private static Map<String, String> parseVariantFilters(List<String> filters) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (filters == null) {
+            return attributes;
+        }
+        for (String filter : filters) {
+            int separator = filter.indexOf(':');
+            if (separator <= 0 || separator == filter.length() - 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Variant filter must be Name:value, got " + filter);
+            }
+            attributes.put(filter.substring(0, separator).trim(), filter.substring(separator + 1).trim());
+        }
+        return attributes;
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN')")
     @GetMapping
     public ResponseEntity<List<ProductDTO>> getAllProducts() {
@@ -0,0 +1,52 @@
+package org.com.meropasal.meropasalbackend.product.controller;
+
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchResult;
+import org.com.meropasal.meropasalbackend.product.service.ProductSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 15 Oct 3:00 PM
+ * Author : Monu Siddiki
+ * Description : Public product search for storefronts and the marketplace
+ **/
+@RestController
+@RequestMapping("/search/products")
+public class ProductSearchController {
+
+    private final ProductSearchService productSearchService;
+
+    public ProductSearchController(ProductSearchService productSearchService) {
+        this.productSearchService = productSearchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ProductSearchResult> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) UUID shopId,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        ProductSearchCriteria criteria = new ProductSearchCriteria(query, shopId, categoryId, minPrice, maxPrice, inStock);
+        return ResponseEntity.ok(productSearchService.search(criteria, page, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) UUID shopId,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productSearchService.suggest(text, shopId, limit));
+    }
+}
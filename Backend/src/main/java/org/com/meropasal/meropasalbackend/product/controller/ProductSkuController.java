@@ -0,0 +1,46 @@
+package org.com.meropasal.meropasalbackend.product.controller;
+
+import jakarta.validation.Valid;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSkuDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSkuUpdateRequest;
+import org.com.meropasal.meropasalbackend.product.service.ProductSkuService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 10:50 AM
+ * Author : Monu Siddiki
+ * Description : Per-variant price and stock for a product
+ **/
+@RestController
+@RequestMapping("/products/{productId}/skus")
+public class ProductSkuController {
+
+    private final ProductSkuService productSkuService;
+
+    public ProductSkuController(ProductSkuService productSkuService) {
+        this.productSkuService = productSkuService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ProductSkuDTO>> getSkus(@PathVariable UUID productId) {
+        return ResponseEntity.ok(productSkuService.getSkus(productId));
+    }
+
+    // Re-derives the SKU set from the product's variant data; existing SKUs keep their price and stock
+    @PostMapping("/regenerate")
+    public ResponseEntity<List<ProductSkuDTO>> regenerateSkus(@PathVariable UUID productId) {
+        return ResponseEntity.ok(productSkuService.regenerateSkus(productId));
+    }
+
+    @PutMapping("/{skuId}")
+    public ResponseEntity<ProductSkuDTO> updateSku(
+            @PathVariable UUID productId,
+            @PathVariable UUID skuId,
+            @Valid @RequestBody ProductSkuUpdateRequest request) {
+        return ResponseEntity.ok(productSkuService.updateSku(productId, skuId, request));
+    }
+}
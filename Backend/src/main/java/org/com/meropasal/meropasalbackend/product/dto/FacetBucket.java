@@ -0,0 +1,14 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Created On : 2026 16 Oct 10:10 AM
+ * Author : Monu Siddiki
+ * Description : Count of products in [from, to); to is null for the open-ended top bucket
+ **/
+public record FacetBucket(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {}
@@ -0,0 +1,42 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 16 Oct 10:05 AM
+ * Author : Monu Siddiki
+ * Description : Listing filters. Prices are the price the customer pays (discountPrice); null means no filter.
+ * variantAttributes holds the requested "Name:value" variant pairs; empty means no variant filter.
+ **/
+public record ProductBrowseCriteria(
+        UUID shopId,
+        UUID categoryId,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        BigDecimal minDiscount,
+        BigDecimal maxDiscount,
+        boolean inStockOnly,
+        Map<String, String> variantAttributes
+) {
+    public ProductBrowseCriteria withoutCategory() {
+        return new ProductBrowseCriteria(shopId, null, minPrice, maxPrice, minDiscount, maxDiscount, inStockOnly, variantAttributes);
+    }
+
+    public ProductBrowseCriteria withoutPrice() {
+        return new ProductBrowseCriteria(shopId, categoryId, null, null, minDiscount, maxDiscount, inStockOnly, variantAttributes);
+    }
+
+    public ProductBrowseCriteria withoutDiscount() {
+        return new ProductBrowseCriteria(shopId, categoryId, minPrice, maxPrice, null, null, inStockOnly, variantAttributes);
+    }
+
+    public ProductBrowseCriteria withoutStock() {
+        return new ProductBrowseCriteria(shopId, categoryId, minPrice, maxPrice, minDiscount, maxDiscount, false, variantAttributes);
+    }
+
+    public ProductBrowseCriteria withVariantAttributes(Map<String, String> attributes) {
+        return new ProductBrowseCriteria(shopId, categoryId, minPrice, maxPrice, minDiscount, maxDiscount, inStockOnly, attributes);
+    }
+}
@@ -0,0 +1,16 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 16 Oct 10:15 AM
+ * Author : Monu Siddiki
+ * Description : One page of a filtered, sorted product listing plus optional facet counts
+ **/
+public record ProductBrowseResult(
+        List<ProductDTO> products,
+        long total,
+        int page,
+        int size,
+        ProductFacets facets
+) {}
@@ -0,0 +1,42 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 18 Oct 2:00 PM
+ * Author : Monu Siddiki
+ * Description : Bulk mutation of a shop's products. Target either explicit productIds, a categoryId,
+ * or allProducts; every non-null change is applied to all targeted rows in one statement.
+ **/
+public record ProductBulkUpdateRequest(
+        @Size(max = 10000) List<UUID> productIds,
+        UUID categoryId,
+        boolean allProducts,
+        boolean activeOnly,
+
+        @DecimalMin("0.01") BigDecimal price,
+        // Relative change, e.g. 10 raises prices by 10%, -5 lowers them by 5%
+        @DecimalMin(value = "-99.99") BigDecimal priceAdjustPercent,
+        // 0 removes the discount
+        @DecimalMin("0") @DecimalMax("100") BigDecimal discountPercentage,
+        @Min(0) Integer stock,
+        Integer stockDelta,
+        Boolean active
+) {
+
+    public boolean hasTarget() {
+        return allProducts || categoryId != null || (productIds != null && !productIds.isEmpty());
+    }
+
+    public boolean hasChange() {
+        return price != null || priceAdjustPercent != null || discountPercentage != null
+                || stock != null || stockDelta != null || active != null;
+    }
+}
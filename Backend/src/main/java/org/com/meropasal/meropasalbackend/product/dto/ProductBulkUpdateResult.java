@@ -0,0 +1,22 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 18 Oct 2:05 PM
+ * Author : Monu Siddiki
+ * Description : Summary of a bulk update. skipped counts targeted rows left unchanged because
+ * a stockDelta would have taken their stock below zero. errors lists rows refused outright, e.g. a
+ * stock change on a product whose stock is the sum of its SKUs.
+ **/
+public record ProductBulkUpdateResult(
+        int matched,
+        int updated,
+        int skipped,
+        List<UUID> updatedIds,
+        List<RowError> errors
+) {
+
+    public record RowError(UUID productId, String message) {}
+}
@@ -51,6 +51,8 @@ public class ProductDTO {
 
     private List<String> images = new ArrayList<>();
 
+    private String thumbnailUrl; // resized primary image for product grids
+
 //    // ADDED: multiple images
 //    private List<String> images; // store multiple image URLs
 
@@ -0,0 +1,19 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 16 Oct 10:12 AM
+ * Author : Monu Siddiki
+ * Description : Facet counts for a listing. Each facet ignores its own filter, so the UI can
+ * show how many products the other choices would return.
+ **/
+public record ProductFacets(
+        Map<UUID, Long> categories,
+        long inStock,
+        long outOfStock,
+        List<FacetBucket> priceRanges,
+        List<FacetBucket> discountRanges
+) {}
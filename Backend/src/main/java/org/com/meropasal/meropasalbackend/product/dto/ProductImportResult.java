@@ -0,0 +1,20 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 18 Oct 10:20 AM
+ * Author : Monu Siddiki
+ * Description : Outcome of a bulk product import. errors is capped, errorsTruncated tells the caller
+ * that more rows failed than are listed.
+ **/
+public record ProductImportResult(
+        int totalRows,
+        int imported,
+        int failed,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    public record RowError(int line, String message) {}
+}
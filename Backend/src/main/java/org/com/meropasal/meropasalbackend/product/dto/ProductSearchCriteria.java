@@ -0,0 +1,18 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 15 Oct 2:20 PM
+ * Author : Monu Siddiki
+ * Description : Search text plus optional filters; null filters are left out of the query
+ **/
+public record ProductSearchCriteria(
+        String query,
+        UUID shopId,
+        UUID categoryId,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean inStockOnly
+) {}
@@ -0,0 +1,17 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.util.List;
+
+/**
+ * Created On : 2026 15 Oct 2:25 PM
+ * Author : Monu Siddiki
+ * Description : One page of ranked search hits. fuzzy is true when the page came from the
+ * trigram fallback because the full-text query matched nothing.
+ **/
+public record ProductSearchResult(
+        List<ProductDTO> products,
+        long total,
+        int page,
+        int size,
+        boolean fuzzy
+) {}
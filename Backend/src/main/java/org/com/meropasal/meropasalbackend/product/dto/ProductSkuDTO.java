@@ -0,0 +1,25 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 9:40 AM
+ * Author : Monu Siddiki
+ * Description : A variant as the storefront sees it. price and stock are the stored overrides (null when
+ * the product values apply); effectivePrice, discountPrice and effectiveStock are what the customer gets.
+ **/
+public record ProductSkuDTO(
+        UUID id,
+        UUID productId,
+        String skuCode,
+        Map<String, String> attributes,
+        String label,
+        BigDecimal price,
+        Integer stock,
+        BigDecimal effectivePrice,
+        BigDecimal discountPrice,
+        Integer effectiveStock,
+        boolean active
+) {}
@@ -0,0 +1,20 @@
+package org.com.meropasal.meropasalbackend.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Created On : 2026 19 Oct 9:45 AM
+ * Author : Monu Siddiki
+ * Description : Replaces a variant's overrides. A null price sells at the product price and a null
+ * stock leaves the variant untracked; skuCode keeps the current code when blank.
+ **/
+public record ProductSkuUpdateRequest(
+        @Size(max = 100) String skuCode,
+        @DecimalMin("0.01") BigDecimal price,
+        @Min(0) Integer stock,
+        boolean active
+) {}
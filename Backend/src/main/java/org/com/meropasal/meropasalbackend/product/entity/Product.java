@@ -17,6 +17,7 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.com.meropasal.meropasalbackend.category.entity.Category;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.hibernate.annotations.*;
 import org.hibernate.type.SqlTypes;
@@ -39,9 +40,8 @@ import java.util.UUID;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "products",
         indexes = {
+                // Shop and category lookups use partial indexes over live rows (migration V6)
                 @Index(name = "idx_product_name", columnList = "name"),
-                @Index(name = "idx_product_shop", columnList = "shop_id"),
-                @Index(name = "idx_product_category", columnList = "category_id"),
                 @Index(name = "idx_product_created_at", columnList = "createdAt"),
                 @Index(name = "idx_product_price", columnList = "price"),
                 @Index(name = "idx_product_discount", columnList = "discount_percentage")
@@ -52,13 +52,15 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE products SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE products SET deleted = true, deleted_at = now() WHERE id=?")
 @Where(clause = "deleted = false")
 public class Product {
 
+    // ObjectMapper is thread-safe and costly to build, so one instance serves every entity
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -161,8 +163,7 @@ public class Product {
             return new ArrayList<>();
         }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(this.imagesJson, new TypeReference<List<String>>() {});
+            return MAPPER.readValue(this.imagesJson, new TypeReference<List<String>>() {});
         } catch (Exception e) {
             return new ArrayList<>();
         }
@@ -170,8 +171,7 @@ public class Product {
 
     public void setImages(List<String> images) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            this.imagesJson = mapper.writeValueAsString(images != null ? images : new ArrayList<>());
+            this.imagesJson = MAPPER.writeValueAsString(images != null ? images : new ArrayList<>());
 
             // Maintain backward compatibility - set first image as primary
             if (images != null && !images.isEmpty() && this.imageUrl == null) {
@@ -188,8 +188,7 @@ public class Product {
             return new ProductVariantData();
         }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(this.variantData, ProductVariantData.class);
+            return MAPPER.readValue(this.variantData, ProductVariantData.class);
         } catch (Exception e) {
             // Log error and return empty object
             System.err.println("Error parsing variant data: " + e.getMessage());
@@ -199,8 +198,7 @@ public class Product {
 
     public void setVariantDataObject(ProductVariantData variantData) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            this.variantData = mapper.writeValueAsString(variantData);
+            this.variantData = MAPPER.writeValueAsString(variantData);
         } catch (Exception e) {
             // Log error and set empty JSON
             System.err.println("Error serializing variant data: " + e.getMessage());
@@ -0,0 +1,115 @@
+package org.com.meropasal.meropasalbackend.product.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
+import org.hibernate.annotations.*;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 19 Oct 9:10 AM
+ * Author : Monu Siddiki
+ * Description : One purchasable combination of a product's variant values, e.g. {"Size":"M","Color":"Red"}.
+ * price and stock are optional overrides: a null price sells at the product price, and a null stock means
+ * the variant is not tracked separately and the product-level stock applies.
+ **/
+@Entity
+@Table(name = "product_skus",
+        indexes = {
+                @Index(name = "idx_product_sku_product", columnList = "product_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@SQLDelete(sql = "UPDATE product_skus SET deleted = true WHERE id=?")
+@SQLRestriction("deleted = false")
+public class ProductSku {
+
+    @Id
+    @UuidV7
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(name = "sku_code", nullable = false, length = 100)
+    private String skuCode;
+
+    // Indexed with GIN (see migration V3) so attribute filters are containment lookups
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> attributes = new LinkedHashMap<>();
+
+    @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+    @Column(precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Min(value = 0, message = "Stock quantity cannot be negative")
+    @Column
+    private Integer stock;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @ColumnDefault("false")
+    private boolean deleted = false;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public BigDecimal getEffectivePrice() {
+        return price != null ? price : product.getPrice();
+    }
+
+    // The product's discount percentage applies to every variant
+    public BigDecimal getEffectiveDiscountPrice() {
+        BigDecimal percentage = product.getDiscountPercentage();
+        BigDecimal base = getEffectivePrice();
+        if (percentage == null || percentage.compareTo(BigDecimal.ZERO) <= 0) {
+            return base;
+        }
+        BigDecimal discount = base.multiply(percentage).divide(BigDecimal.valueOf(100));
+        return base.subtract(discount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public Integer getEffectiveStock() {
+        return stock != null ? stock : product.getStock();
+    }
+
+    // Same "Size: M, Color: Red" form the storefront sends as a free-text variant
+    public String getLabel() {
+        return attributes.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
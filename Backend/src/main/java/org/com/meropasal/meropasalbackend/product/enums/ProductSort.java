@@ -0,0 +1,14 @@
+package org.com.meropasal.meropasalbackend.product.enums;
+
+/**
+ * Created On : 2026 16 Oct 10:00 AM
+ * Author : Monu Siddiki
+ * Description : Listing sort orders. Each one matches a (shop_id, active, column) index on products,
+ * and id breaks ties so pages stay stable. The ORDER BY itself is built by ProductSpecifications.orderedBy.
+ **/
+public enum ProductSort {
+    NEWEST,
+    PRICE_ASC,
+    PRICE_DESC,
+    DISCOUNT_DESC
+}
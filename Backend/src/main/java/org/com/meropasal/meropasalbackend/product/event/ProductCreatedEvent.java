@@ -0,0 +1,14 @@
+package org.com.meropasal.meropasalbackend.product.event;
+
+import java.util.UUID;
+
+/**
+ * Created On : 2026 12 Oct 4:10 PM
+ * Author : Monu Siddiki
+ * Description : Published by ProductService once a new product has been saved
+ **/
+public record ProductCreatedEvent(
+        UUID productId,
+        UUID shopId,
+        String productName
+) {}
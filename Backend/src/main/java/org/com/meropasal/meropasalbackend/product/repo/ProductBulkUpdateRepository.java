@@ -0,0 +1,124 @@
+package org.com.meropasal.meropasalbackend.product.repo;
+
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 18 Oct 2:10 PM
+ * Author : Monu Siddiki
+ * Description : Set-based product updates. Only the requested columns appear in the SET list, and
+ * discount_price is recomputed in SQL the same way Product.calculateAndSetDiscountPrice does it.
+ **/
+@Repository
+public class ProductBulkUpdateRepository {
+
+    // Same condition as the HAVING clause of ProductSkuRepository.syncProductStock
+    private static final String SKU_TRACKED = """
+            EXISTS (SELECT 1 FROM product_skus s WHERE s.product_id = p.id AND s.active AND s.deleted = false)
+            AND NOT EXISTS (SELECT 1 FROM product_skus s
+                            WHERE s.product_id = p.id AND s.active AND s.deleted = false AND s.stock IS NULL)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBulkUpdateRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int countTargets(UUID shopId, ProductBulkUpdateRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT count(*) FROM products p WHERE " + targetFilter(shopId, request, params, false);
+        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Targeted products whose stock is derived from their SKUs: every active SKU tracks its own stock, so
+     * ProductSkuRepository.syncProductStock would overwrite a product-level stock write on the next movement.
+     */
+    public List<UUID> findSkuTrackedTargets(UUID shopId, ProductBulkUpdateRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT p.id FROM products p WHERE " + targetFilter(shopId, request, params, false)
+                + " AND " + SKU_TRACKED;
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    public List<UUID> update(UUID shopId, ProductBulkUpdateRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> assignments = new ArrayList<>();
+
+        // SET expressions see the old row, so discount_price is built from the new-value expressions
+        String newPrice = "p.price";
+        if (request.price() != null) {
+            newPrice = ":price";
+            params.addValue("price", request.price());
+        } else if (request.priceAdjustPercent() != null) {
+            newPrice = "round(p.price * (100 + :priceAdjust) / 100, 2)";
+            params.addValue("priceAdjust", request.priceAdjustPercent());
+        }
+        String newDiscount = "p.discount_percentage";
+        if (request.discountPercentage() != null) {
+            newDiscount = request.discountPercentage().signum() == 0 ? "CAST(NULL AS numeric)" : ":discount";
+            params.addValue("discount", request.discountPercentage());
+        }
+        if (!newPrice.equals("p.price")) {
+            assignments.add("price = " + newPrice);
+        }
+        if (!newDiscount.equals("p.discount_percentage")) {
+            assignments.add("discount_percentage = " + newDiscount);
+        }
+        if (!newPrice.equals("p.price") || !newDiscount.equals("p.discount_percentage")) {
+            assignments.add("discount_price = CASE WHEN coalesce(" + newDiscount + ", 0) <= 0 THEN " + newPrice
+                    + " ELSE round(" + newPrice + " - " + newPrice + " * " + newDiscount + " / 100, 2) END");
+        }
+
+        if (request.stock() != null) {
+            assignments.add("stock = :stock");
+            params.addValue("stock", request.stock());
+        } else if (request.stockDelta() != null) {
+            assignments.add("stock = p.stock + :stockDelta");
+            params.addValue("stockDelta", request.stockDelta());
+        }
+        if (request.active() != null) {
+            assignments.add("active = :active");
+            params.addValue("active", request.active());
+        }
+        assignments.add("updated_at = now()");
+
+        String sql = "UPDATE products p SET " + String.join(", ", assignments)
+                + " WHERE " + targetFilter(shopId, request, params, true)
+                + " RETURNING p.id";
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    private static String targetFilter(UUID shopId, ProductBulkUpdateRequest request, MapSqlParameterSource params,
+                                       boolean stockGuard) {
+        StringBuilder where = new StringBuilder("p.shop_id = :shopId AND p.deleted = false");
+        params.addValue("shopId", shopId);
+        if (request.productIds() != null && !request.productIds().isEmpty()) {
+            where.append(" AND p.id IN (:productIds)");
+            params.addValue("productIds", request.productIds());
+        }
+        if (request.categoryId() != null) {
+            where.append(" AND p.category_id = :categoryId");
+            params.addValue("categoryId", request.categoryId());
+        }
+        if (request.activeOnly()) {
+            where.append(" AND p.active = true");
+        }
+        // Rows a stock decrement would push below zero are left alone and reported as skipped
+        if (stockGuard && request.stock() == null && request.stockDelta() != null) {
+            where.append(" AND p.stock + :stockDelta >= 0");
+        }
+        // SKU-tracked rows are refused as a whole rather than updated without their stock change
+        if (stockGuard && (request.stock() != null || request.stockDelta() != null)) {
+            where.append(" AND NOT (").append(SKU_TRACKED).append(")");
+        }
+        return where.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package org.com.meropasal.meropasalbackend.product.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.com.meropasal.meropasalbackend.product.dto.FacetBucket;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 16 Oct 10:35 AM
+ * Author : Monu Siddiki
+ * Description : Facet counts for product listings. Range facets use conditional aggregation,
+ * so every bucket of a facet is counted in a single pass over the filtered rows.
+ **/
+@Repository
+public class ProductFacetRepository {
+
+    private final EntityManager entityManager;
+
+    public ProductFacetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Map<UUID, Long> countByCategory(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<UUID> categoryId = root.get("category").get("id");
+        query.multiselect(categoryId, cb.count(root))
+                .where(cb.and(specification.toPredicate(root, query, cb), cb.isNotNull(categoryId)))
+                .groupBy(categoryId);
+
+        Map<UUID, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, UUID.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns {inStock, outOfStock}.
+     */
+    public long[] countByStock(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Expression<Integer> inStock = cb.<Integer>selectCase()
+                .when(cb.greaterThan(root.get("stock"), 0), 1)
+                .otherwise(0);
+        query.multiselect(cb.sum(inStock), cb.count(root))
+                .where(specification.toPredicate(root, query, cb));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        long total = row.get(1, Long.class);
+        long withStock = row.get(0) == null ? 0 : ((Number) row.get(0)).longValue();
+        return new long[]{withStock, total - withStock};
+    }
+
+    /**
+     * Counts rows per [bounds[i], bounds[i+1]) range of the given attribute; the last bucket is open-ended.
+     * Rows where the attribute is null are counted as zero.
+     */
+    public List<FacetBucket> countByRange(Specification<Product> specification, String attribute, List<BigDecimal> bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Expression<BigDecimal> value = cb.coalesce(root.get(attribute), BigDecimal.ZERO);
+
+        List<Selection<?>> sums = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            Expression<Boolean> inBucket = i + 1 < bounds.size()
+                    ? cb.and(cb.greaterThanOrEqualTo(value, bounds.get(i)), cb.lessThan(value, bounds.get(i + 1)))
+                    : cb.greaterThanOrEqualTo(value, bounds.get(i));
+            sums.add(cb.sum(cb.<Integer>selectCase().when(inBucket, 1).otherwise(0)));
+        }
+        query.multiselect(sums).where(specification.toPredicate(root, query, cb));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        List<FacetBucket> buckets = new ArrayList<>(bounds.size());
+        for (int i = 0; i < bounds.size(); i++) {
+            Object count = row.get(i);
+            buckets.add(new FacetBucket(bounds.get(i), i + 1 < bounds.size() ? bounds.get(i + 1) : null,
+                    count == null ? 0 : ((Number) count).longValue()));
+        }
+        return buckets;
+    }
+}
@@ -1,10 +1,17 @@
 package org.com.meropasal.meropasalbackend.product.repo;
 
+import jakarta.persistence.QueryHint;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +22,7 @@ import java.util.UUID;
  * Description :
  **/
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
 
     List<Product> findAllByShopId(UUID shopId);
     List<Product> findAllByCategoryId(UUID categoryId);
@@ -26,4 +33,38 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
             "WHERE p.deleted = false " +
             "GROUP BY p.category.id")
     List<Object[]> countProductsByCategory();
+
+    /**
+     * Moves the oldest tombstones and their SKUs to the archive tables and drops them from carts and
+     * wishlists; returns the products moved. Products that order history still references stay put.
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_skus"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cart_items"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "wishlist_items")
+    })
+    @Query(value = """
+        WITH batch AS (
+            SELECT p.id FROM products p
+            WHERE p.deleted AND p.deleted_at < :cutoff
+              AND NOT EXISTS (SELECT 1 FROM order_items oi WHERE oi.product_id = p.id)
+            ORDER BY p.deleted_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        ), carts AS (
+            DELETE FROM cart_items c USING batch b WHERE c.product_id = b.id
+        ), wishlists AS (
+            DELETE FROM wishlist_items w USING batch b WHERE w.product_id = b.id
+        ), skus AS (
+            DELETE FROM product_skus s USING batch b WHERE s.product_id = b.id RETURNING s.*
+        ), archived_skus AS (
+            INSERT INTO product_skus_archive SELECT skus.*, now() FROM skus
+        ), moved AS (
+            DELETE FROM products p USING batch b WHERE p.id = b.id RETURNING p.*
+        )
+        INSERT INTO products_archive SELECT moved.*, now() FROM moved
+        """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
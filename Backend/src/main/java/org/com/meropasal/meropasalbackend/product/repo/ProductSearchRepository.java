@@ -0,0 +1,114 @@
+package org.com.meropasal.meropasalbackend.product.repo;
+
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchCriteria;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 15 Oct 2:30 PM
+ * Author : Monu Siddiki
+ * Description : Native search queries over products.search_vector (GIN) and the lower(name) trigram index.
+ * Only the filters present in the criteria are added to the WHERE clause.
+ **/
+@Repository
+public class ProductSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // score is the value the query ranked by, so pages from several databases can be merged
+    public record Hit(UUID productId, double score, long total) {}
+
+    /**
+     * Ranked full-text match. websearch_to_tsquery accepts raw user input (quotes, OR, -term) without syntax errors.
+     */
+    public List<Hit> search(ProductSearchCriteria criteria, int limit, int offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource("q", criteria.query());
+        String sql = """
+            SELECT p.id, ts_rank_cd(p.search_vector, query) AS score, count(*) OVER () AS total
+            FROM products p, websearch_to_tsquery('simple', :q) query
+            WHERE p.search_vector @@ query
+            """ + filters(criteria, params) + """
+            ORDER BY ts_rank_cd(p.search_vector, query) DESC, p.id
+            LIMIT :limit OFFSET :offset
+            """;
+        return page(sql, params, limit, offset);
+    }
+
+    /**
+     * Typo-tolerant fallback on product names, used when the full-text query finds nothing.
+     */
+    public List<Hit> searchFuzzy(ProductSearchCriteria criteria, int limit, int offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource("q", criteria.query().toLowerCase());
+        String sql = """
+            SELECT p.id, similarity(lower(p.name), :q) AS score, count(*) OVER () AS total
+            FROM products p
+            WHERE lower(p.name) % :q
+            """ + filters(criteria, params) + """
+            ORDER BY similarity(lower(p.name), :q) DESC, p.id
+            LIMIT :limit OFFSET :offset
+            """;
+        return page(sql, params, limit, offset);
+    }
+
+    /**
+     * Distinct product names matching a prefix tsquery such as {@code red & sho:*}.
+     */
+    public List<String> suggestNames(String prefixQuery, UUID shopId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("q", prefixQuery).addValue("limit", limit);
+        String shopFilter = "";
+        if (shopId != null) {
+            shopFilter = " AND p.shop_id = :shopId";
+            params.addValue("shopId", shopId);
+        }
+        String sql = """
+            SELECT p.name
+            FROM products p, to_tsquery('simple', :q) query
+            WHERE p.search_vector @@ query AND p.deleted = false AND p.active = true
+            """ + shopFilter + """
+
+            GROUP BY p.name
+            ORDER BY max(ts_rank_cd(p.search_vector, query)) DESC, p.name
+            LIMIT :limit
+            """;
+        return jdbcTemplate.queryForList(sql, params, String.class);
+    }
+
+    private List<Hit> page(String sql, MapSqlParameterSource params, int limit, int offset) {
+        params.addValue("limit", limit).addValue("offset", offset);
+        return jdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new Hit(rs.getObject("id", UUID.class), rs.getDouble("score"), rs.getLong("total")));
+    }
+
+    private static String filters(ProductSearchCriteria criteria, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" AND p.deleted = false AND p.active = true");
+        if (criteria.shopId() != null) {
+            where.append(" AND p.shop_id = :shopId");
+            params.addValue("shopId", criteria.shopId());
+        }
+        if (criteria.categoryId() != null) {
+            where.append(" AND p.category_id = :categoryId");
+            params.addValue("categoryId", criteria.categoryId());
+        }
+        // Customers filter on what they pay, so the discounted price wins when there is one
+        if (criteria.minPrice() != null) {
+            where.append(" AND coalesce(p.discount_price, p.price) >= :minPrice");
+            params.addValue("minPrice", criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            where.append(" AND coalesce(p.discount_price, p.price) <= :maxPrice");
+            params.addValue("maxPrice", criteria.maxPrice());
+        }
+        if (criteria.inStockOnly()) {
+            where.append(" AND p.stock > 0");
+        }
+        return where.append('\n').toString();
+    }
+}
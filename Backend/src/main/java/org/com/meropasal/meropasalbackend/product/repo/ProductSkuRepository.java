@@ -0,0 +1,74 @@
+package org.com.meropasal.meropasalbackend.product.repo;
+
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 9:25 AM
+ * Author : Monu Siddiki
+ * Description : Variant lookups and stock movements. Stock is only ever changed by a single conditional
+ * UPDATE, so concurrent orders cannot oversell a variant.
+ **/
+@Repository
+public interface ProductSkuRepository extends JpaRepository<ProductSku, UUID> {
+
+    List<ProductSku> findByProductIdOrderBySkuCodeAsc(UUID productId);
+
+    // jsonb equality ignores key order, and the (product_id, attributes) unique index serves it
+    @Query(value = """
+        SELECT * FROM product_skus
+        WHERE product_id = :productId AND attributes = CAST(:attributes AS jsonb) AND deleted = false
+        """, nativeQuery = true)
+    Optional<ProductSku> findByProductIdAndAttributes(@Param("productId") UUID productId,
+                                                      @Param("attributes") String attributesJson);
+
+    @Query(value = """
+        SELECT p.id FROM products p
+        WHERE p.has_variants AND p.deleted = false
+          AND NOT EXISTS (SELECT 1 FROM product_skus s WHERE s.product_id = p.id)
+        """, nativeQuery = true)
+    List<UUID> findVariantProductIdsWithoutSkus();
+
+    // Returns 0 when the variant is inactive or short of stock; untracked variants always succeed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_skus"))
+    @Query(value = """
+        UPDATE product_skus SET stock = stock - :quantity, updated_at = now()
+        WHERE id = :id AND active AND deleted = false AND (stock IS NULL OR stock >= :quantity)
+        """, nativeQuery = true)
+    int reserveStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_skus"))
+    @Query(value = "UPDATE product_skus SET stock = stock + :quantity, updated_at = now() WHERE id = :id", nativeQuery = true)
+    int releaseStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Once every active variant is tracked, the product stock is their sum so listings stay truthful
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Query(value = """
+        UPDATE products p SET stock = totals.stock, updated_at = now()
+        FROM (
+            SELECT s.product_id, coalesce(sum(s.stock), 0) AS stock
+            FROM product_skus s
+            WHERE s.product_id IN (SELECT product_id FROM product_skus WHERE id IN (:skuIds))
+              AND s.active AND s.deleted = false
+            GROUP BY s.product_id
+            HAVING count(*) = count(s.stock)
+        ) totals
+        WHERE p.id = totals.product_id
+        """, nativeQuery = true)
+    int syncProductStock(@Param("skuIds") Collection<UUID> skuIds);
+}
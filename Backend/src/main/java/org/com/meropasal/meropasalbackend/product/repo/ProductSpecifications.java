@@ -0,0 +1,118 @@
+package org.com.meropasal.meropasalbackend.product.repo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseCriteria;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
+import org.com.meropasal.meropasalbackend.product.enums.ProductSort;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.SortDirection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaExpression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created On : 2026 16 Oct 10:20 AM
+ * Author : Monu Siddiki
+ * Description : Listing predicates. Only filters that are present are added, and each one compares a
+ * bare column so the (shop_id, active, ...) composite indexes stay usable.
+ **/
+public final class ProductSpecifications {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductBrowseCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.shopId() != null) {
+                predicates.add(cb.equal(root.get("shop").get("id"), criteria.shopId()));
+            }
+            predicates.add(cb.isTrue(root.get("active")));
+            if (criteria.categoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), criteria.categoryId()));
+            }
+            if (criteria.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("discountPrice"), criteria.minPrice()));
+            }
+            if (criteria.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("discountPrice"), criteria.maxPrice()));
+            }
+            // A null discountPercentage means no discount, which only a zero lower bound should match
+            if (criteria.minDiscount() != null && criteria.minDiscount().compareTo(BigDecimal.ZERO) > 0) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("discountPercentage"), criteria.minDiscount()));
+            }
+            if (criteria.maxDiscount() != null) {
+                predicates.add(cb.or(
+                        cb.isNull(root.get("discountPercentage")),
+                        cb.lessThanOrEqualTo(root.get("discountPercentage"), criteria.maxDiscount())));
+            }
+            if (criteria.inStockOnly()) {
+                predicates.add(cb.greaterThan(root.get("stock"), 0));
+            }
+            if (criteria.variantAttributes() != null && !criteria.variantAttributes().isEmpty()) {
+                predicates.add(cb.exists(skuMatching(root, query, (HibernateCriteriaBuilder) cb, criteria)));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * The listing order, set on the query itself because a Spring Sort cannot carry NULLS LAST into a Specification
+     * query. Pass an unsorted Pageable with it; Spring drops the order again for the count query.
+     */
+    public static Specification<Product> orderedBy(ProductSort sort) {
+        return (root, query, cb) -> {
+            Order byIdAsc = cb.asc(root.get("id"));
+            Order byIdDesc = cb.desc(root.get("id"));
+            query.orderBy(switch (sort) {
+                case NEWEST -> List.of(cb.desc(root.get("createdAt")), byIdDesc);
+                case PRICE_ASC -> List.of(cb.asc(root.get("discountPrice")), byIdAsc);
+                case PRICE_DESC -> List.of(cb.desc(root.get("discountPrice")), byIdDesc);
+                // Products without a discount come last, as idx_product_shop_active_discount_desc_live stores them
+                case DISCOUNT_DESC -> List.of(((HibernateCriteriaBuilder) cb).sort(
+                        (JpaExpression<?>) root.<BigDecimal>get("discountPercentage"), SortDirection.DESCENDING, NullPrecedence.LAST), byIdDesc);
+            });
+            return null;
+        };
+    }
+
+    // EXISTS (SELECT 1 FROM product_skus s WHERE s.product_id = p.id AND s.attributes @> :attributes ...),
+    // correlated so the planner probes the GIN index per candidate product instead of binding an id list.
+    // An untracked variant falls back to the product stock
+    private static Subquery<Integer> skuMatching(Root<Product> root, CriteriaQuery<?> query,
+                                                 HibernateCriteriaBuilder cb, ProductBrowseCriteria criteria) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<ProductSku> sku = subquery.from(ProductSku.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(sku.get("product"), root));
+        predicates.add(cb.isTrue(cb.sql("? @> cast(? as jsonb)", Boolean.class,
+                sku.get("attributes"), cb.literal(toJson(criteria.variantAttributes())))));
+        predicates.add(cb.isTrue(sku.get("active")));
+        if (criteria.inStockOnly()) {
+            predicates.add(cb.greaterThan(cb.coalesce(sku.<Integer>get("stock"), root.<Integer>get("stock")), 0));
+        }
+        return subquery.select(cb.literal(1)).where(predicates.toArray(Predicate[]::new));
+    }
+
+    private static String toJson(Map<String, String> attributes) {
+        try {
+            return JSON.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid variant attributes");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.product.dto.FacetBucket;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseResult;
+import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductFacets;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.enums.ProductSort;
+import org.com.meropasal.meropasalbackend.product.repo.ProductFacetRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 16 Oct 10:50 AM
+ * Author : Monu Siddiki
+ * Description : Filtered, sorted and paged product listings with facet counts
+ **/
+@Service
+public class ProductBrowseService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductFacetRepository facetRepository;
+    private final ProductService productService;
+    private final ShardScatter shardScatter;
+    private final List<BigDecimal> priceBounds;
+    private final List<BigDecimal> discountBounds;
+
+    public ProductBrowseService(ProductRepository productRepository, ProductFacetRepository facetRepository,
+                                ProductService productService,
+                                ShardScatter shardScatter,
+                                @Value("${app.products.facets.price-bounds:0,500,1000,2500,5000,10000}") List<BigDecimal> priceBounds,
+                                @Value("${app.products.facets.discount-bounds:0,10,25,50}") List<BigDecimal> discountBounds) {
+        this.productRepository = productRepository;
+        this.facetRepository = facetRepository;
+        this.productService = productService;
+        this.shardScatter = shardScatter;
+        this.priceBounds = priceBounds.stream().sorted().toList();
+        this.discountBounds = discountBounds.stream().sorted().toList();
+    }
+
+    // One shard's first products in the listing order, its total and its facets
+    private record ShardPage(List<ProductDTO> products, long total, ProductFacets facets) {}
+
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#criteria.shopId()")
+    public ProductBrowseResult browse(ProductBrowseCriteria criteria, Map<String, String> variantAttributes,
+                                      ProductSort sort, int page, int size, boolean includeFacets) {
+        validateRange(criteria.minPrice(), criteria.maxPrice(), "Price");
+        validateRange(criteria.minDiscount(), criteria.maxDiscount(), "Discount");
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (criteria.shopId() == null && shardScatter.isSharded()) {
+            return browseAllShards(criteria.withVariantAttributes(variantAttributes), sort, Math.max(page, 0), limit, includeFacets);
+        }
+        criteria = criteria.withVariantAttributes(variantAttributes);
+
+        Page<Product> products = productRepository.findAll(
+                ProductSpecifications.matching(criteria).and(ProductSpecifications.orderedBy(sort)),
+                PageRequest.of(Math.max(page, 0), limit));
+        List<ProductDTO> content = products.getContent().stream()
+                .map(productService::toListingDTO)
+                .toList();
+
+        return new ProductBrowseResult(content, products.getTotalElements(), products.getNumber(), limit,
+                includeFacets ? facets(criteria) : null);
+    }
+
+    // Every shard lists its first offset + limit products, capped by mergeDepth; the page is cut from their merge in the same order
+    private ProductBrowseResult browseAllShards(ProductBrowseCriteria criteria, ProductSort sort, int page, int limit,
+                                                boolean includeFacets) {
+        int depth = shardScatter.mergeDepth(page, limit);
+        int offset = depth - limit;
+        List<ShardPage> pages = shardScatter.gather(() -> {
+            Page<Product> products = productRepository.findAll(
+                    ProductSpecifications.matching(criteria).and(ProductSpecifications.orderedBy(sort)),
+                    PageRequest.of(0, depth));
+            return List.of(new ShardPage(
+                    products.getContent().stream().map(productService::toListingDTO).toList(),
+                    products.getTotalElements(),
+                    includeFacets ? facets(criteria) : null));
+        });
+
+        List<ProductDTO> content = pages.stream()
+                .flatMap(shardPage -> shardPage.products().stream())
+                .sorted(listingOrder(sort))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+        long total = pages.stream().mapToLong(ShardPage::total).sum();
+        return new ProductBrowseResult(content, total, page, limit,
+                includeFacets ? mergeFacets(pages.stream().map(ShardPage::facets).toList()) : null);
+    }
+
+    // ProductSort in Java, with Postgres' null placement: last when ascending, first when descending unless stated
+    private static Comparator<ProductDTO> listingOrder(ProductSort sort) {
+        Comparator<ProductDTO> byId = Comparator.comparing(product -> product.getId().toString());
+        return switch (sort) {
+            case NEWEST -> Comparator.comparing(ProductDTO::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(byId.reversed());
+            case PRICE_ASC -> Comparator.comparing(ProductDTO::getDiscountPrice, Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()))
+                    .thenComparing(byId);
+            case PRICE_DESC -> Comparator.comparing(ProductDTO::getDiscountPrice, Comparator.nullsFirst(Comparator.<BigDecimal>reverseOrder()))
+                    .thenComparing(byId.reversed());
+            case DISCOUNT_DESC -> Comparator.comparing(ProductDTO::getDiscountPercentage, Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()))
+                    .thenComparing(byId.reversed());
+        };
+    }
+
+    // Every shard buckets with the same bounds, so buckets add up position by position
+    private static ProductFacets mergeFacets(List<ProductFacets> shards) {
+        Map<UUID, Long> categories = new HashMap<>();
+        long inStock = 0;
+        long outOfStock = 0;
+        List<FacetBucket> priceRanges = null;
+        List<FacetBucket> discountRanges = null;
+        for (ProductFacets facets : shards) {
+            facets.categories().forEach((category, count) -> categories.merge(category, count, Long::sum));
+            inStock += facets.inStock();
+            outOfStock += facets.outOfStock();
+            priceRanges = addBuckets(priceRanges, facets.priceRanges());
+            discountRanges = addBuckets(discountRanges, facets.discountRanges());
+        }
+        return new ProductFacets(categories, inStock, outOfStock,
+                priceRanges != null ? priceRanges : List.of(), discountRanges != null ? discountRanges : List.of());
+    }
+
+    private static List<FacetBucket> addBuckets(List<FacetBucket> sum, List<FacetBucket> shard) {
+        if (sum == null) {
+            return new ArrayList<>(shard);
+        }
+        for (int i = 0; i < sum.size(); i++) {
+            FacetBucket bucket = sum.get(i);
+            sum.set(i, new FacetBucket(bucket.from(), bucket.to(), bucket.count() + shard.get(i).count()));
+        }
+        return sum;
+    }
+
+    // Each facet is counted with every filter except its own
+    private ProductFacets facets(ProductBrowseCriteria criteria) {
+        long[] stock = facetRepository.countByStock(ProductSpecifications.matching(criteria.withoutStock()));
+        return new ProductFacets(
+                facetRepository.countByCategory(ProductSpecifications.matching(criteria.withoutCategory())),
+                stock[0],
+                stock[1],
+                facetRepository.countByRange(ProductSpecifications.matching(criteria.withoutPrice()), "discountPrice", priceBounds),
+                facetRepository.countByRange(ProductSpecifications.matching(criteria.withoutDiscount()), "discountPercentage", discountBounds));
+    }
+
+    private static void validateRange(BigDecimal min, BigDecimal max, String label) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, label + " minimum cannot be greater than maximum");
+        }
+    }
+}
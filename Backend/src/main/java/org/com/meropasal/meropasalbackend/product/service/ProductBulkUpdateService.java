@@ -0,0 +1,79 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateRequest;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateResult;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.repo.ProductBulkUpdateRepository;
+import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 18 Oct 2:30 PM
+ * Author : Monu Siddiki
+ * Description : Applies price, discount, stock and status changes to many products with one UPDATE
+ * instead of loading and saving each entity
+ **/
+@Slf4j
+@Service
+public class ProductBulkUpdateService {
+
+    private static final String SKU_STOCK_ERROR = "Stock is tracked per SKU for this product; update the SKUs instead";
+
+    private final ProductBulkUpdateRepository bulkUpdateRepository;
+    private final ShopRepository shopRepository;
+    private final EntityManager entityManager;
+
+    public ProductBulkUpdateService(ProductBulkUpdateRepository bulkUpdateRepository, ShopRepository shopRepository,
+                                    EntityManager entityManager) {
+        this.bulkUpdateRepository = bulkUpdateRepository;
+        this.shopRepository = shopRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public ProductBulkUpdateResult bulkUpdate(UUID shopId, ProductBulkUpdateRequest request) {
+        if (!request.hasTarget()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Specify productIds, categoryId or allProducts");
+        }
+        if (!request.hasChange()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No changes requested");
+        }
+        if (request.price() != null && request.priceAdjustPercent() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either price or priceAdjustPercent, not both");
+        }
+        if (request.stock() != null && request.stockDelta() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either stock or stockDelta, not both");
+        }
+        if (!shopRepository.existsById(shopId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Shop not found");
+        }
+
+        int matched = bulkUpdateRepository.countTargets(shopId, request);
+        List<ProductBulkUpdateResult.RowError> errors = request.stock() != null || request.stockDelta() != null
+                ? bulkUpdateRepository.findSkuTrackedTargets(shopId, request).stream()
+                        .map(id -> new ProductBulkUpdateResult.RowError(id, SKU_STOCK_ERROR))
+                        .toList()
+                : List.of();
+        List<UUID> updatedIds = bulkUpdateRepository.update(shopId, request);
+
+        // The UPDATE bypassed Hibernate, so drop any product state it may still hold
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evict(Product.class);
+
+        log.info("Bulk updated {} of {} products for shop {}", updatedIds.size(), matched, shopId);
+        return new ProductBulkUpdateResult(matched, updatedIds.size(), matched - updatedIds.size() - errors.size(),
+                updatedIds, errors);
+    }
+}
@@ -0,0 +1,347 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.category.entity.Category;
+import org.com.meropasal.meropasalbackend.category.repo.CategoryRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.globalUtils.CsvReader;
+import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductImportResult;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.mapper.ProductMapper;
+import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 18 Oct 10:30 AM
+ * Author : Monu Siddiki
+ * Description : Bulk product import from CSV or NDJSON. Rows are parsed and validated as they stream in,
+ * categories are resolved from one query per import, and valid rows are inserted in chunks so Hibernate
+ * can send them as JDBC batches (see hibernate.jdbc.batch_size).
+ **/
+@Slf4j
+@Service
+@Workload(WorkloadClass.BACKGROUND)
+public class ProductImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final BigDecimal MAX_DISCOUNT = new BigDecimal("100");
+
+    private final ShopRepository shopRepository;
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ProductSkuService productSkuService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductImportService(ShopRepository shopRepository, CategoryRepository categoryRepository,
+                                EntityManager entityManager, Validator validator, ProductSkuService productSkuService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.products.import.chunk-size:500}") int chunkSize) {
+        this.shopRepository = shopRepository;
+        this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.productSkuService = productSkuService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Followers are not notified per imported product; a bulk onboarding would flood their inboxes.
+     */
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public ProductImportResult importProducts(UUID shopId, InputStream input, Format format) throws IOException {
+        if (!shopRepository.existsById(shopId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Shop not found");
+        }
+        Import run = new Import(shopId, categoryRepository.findByShopId(shopId));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        flush(run);
+        // SKUs for imported variant products are generated in one batched pass rather than per row
+        if (run.imported > 0) {
+            productSkuService.backfillFromVariantData();
+        }
+
+        log.info("Imported {} of {} products for shop {}", run.imported, run.total, shopId);
+        return new ProductImportResult(run.total, run.imported, run.failed, run.errors, run.failed > run.errors.size());
+    }
+
+    private void readCsv(BufferedReader reader, Import run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRow();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(ProductImportService::normalizeHeader).toList();
+        if (!columns.contains("name") || !columns.contains("price")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must include at least name and price columns");
+        }
+
+        List<String> cells;
+        while ((cells = csv.readRow()) != null) {
+            if (cells.size() == 1 && cells.get(0).isBlank()) {
+                continue;
+            }
+            int line = csv.getLineNumber();
+            run.total++;
+            try {
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < cells.size(); i++) {
+                    String value = cells.get(i).trim();
+                    if (!value.isEmpty()) {
+                        row.put(columns.get(i), value);
+                    }
+                }
+                accept(run, line, fromCsv(row), row.getOrDefault("category", row.get("categoryid")));
+            } catch (IllegalArgumentException e) {
+                run.reject(line, e.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Import run) throws IOException {
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            run.total++;
+            try {
+                JsonNode node = JSON.readTree(text);
+                ProductDTO dto = JSON.treeToValue(node, ProductDTO.class);
+                String category = node.hasNonNull("category") ? node.get("category").asText() : null;
+                accept(run, line, dto, category != null ? category : (dto.getCategoryId() != null ? dto.getCategoryId().toString() : null));
+            } catch (JsonProcessingException e) {
+                run.reject(line, "Invalid JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                run.reject(line, e.getMessage());
+            }
+        }
+    }
+
+    private void accept(Import run, int line, ProductDTO dto, String categoryRef) {
+        validate(dto);
+        UUID categoryId = run.resolveCategory(categoryRef);
+
+        Product product = ProductMapper.toEntity(dto);
+        product.setShop(null);
+        product.setCategory(null);
+        product.setActive(true);
+        run.pending.add(new PendingRow(line, product, categoryId));
+        if (run.pending.size() >= chunkSize) {
+            flush(run);
+        }
+    }
+
+    private void validate(ProductDTO dto) {
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (dto.getPrice() == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        if (dto.getStock() == null) {
+            dto.setStock(0);
+        }
+        if (dto.getDiscountPercentage() != null && dto.getDiscountPercentage().compareTo(MAX_DISCOUNT) > 0) {
+            throw new IllegalArgumentException("discountPercentage cannot be greater than 100");
+        }
+        if (Boolean.TRUE.equals(dto.getHasVariants())) {
+            ProductService.validateVariantData(dto.getVariantData());
+        }
+    }
+
+    /**
+     * Inserts the buffered rows in one transaction. If the chunk fails, rows are retried one by one
+     * so the failure is pinned to the rows that caused it.
+     */
+    private void flush(Import run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = List.copyOf(run.pending);
+        run.pending.clear();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(run.shopId, chunk));
+            run.imported += chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            for (PendingRow row : chunk) {
+                row.product().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(run.shopId, List.of(row)));
+                    run.imported++;
+                } catch (RuntimeException e) {
+                    row.product().setId(null);
+                    run.reject(row.line(), rootMessage(e));
+                }
+            }
+        }
+    }
+
+    private void persist(UUID shopId, List<PendingRow> rows) {
+        Shop shop = entityManager.getReference(Shop.class, shopId);
+        for (PendingRow row : rows) {
+            Product product = row.product();
+            product.setShop(shop);
+            product.setCategory(row.categoryId() != null ? entityManager.getReference(Category.class, row.categoryId()) : null);
+            entityManager.persist(product);
+        }
+        // Flush while the batch is hot, then drop the chunk from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static ProductDTO fromCsv(Map<String, String> row) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(row.get("name"));
+        dto.setDescription(row.get("description"));
+        dto.setPrice(decimal(row, "price"));
+        dto.setDiscountPercentage(decimal(row, "discountpercentage"));
+        dto.setStock(row.containsKey("stock") ? integer(row.get("stock")) : null);
+        dto.setImageUrl(row.get("imageurl"));
+        if (row.containsKey("images")) {
+            dto.setImages(Arrays.stream(row.get("images").split("\\|")).map(String::trim).filter(s -> !s.isEmpty()).toList());
+        }
+        dto.setHasVariants(Boolean.parseBoolean(row.getOrDefault("hasvariants", "false")));
+        dto.setVariantData(row.get("variantdata"));
+        return dto;
+    }
+
+    private static BigDecimal decimal(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Integer integer(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("stock is not a whole number: " + value);
+        }
+    }
+
+    // "Discount Percentage" / "discount_percentage" -> "discountpercentage"
+    private static String normalizeHeader(String header) {
+        return header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private record PendingRow(int line, Product product, UUID categoryId) {}
+
+    // Mutable state of one import call
+    private static final class Import {
+        private final UUID shopId;
+        private final Map<UUID, UUID> categoryIds = new HashMap<>();
+        private final Map<String, UUID> categoryNames = new HashMap<>();
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<ProductImportResult.RowError> errors = new ArrayList<>();
+        private int total;
+        private int imported;
+        private int failed;
+
+        private Import(UUID shopId, List<Category> categories) {
+            this.shopId = shopId;
+            for (Category category : categories) {
+                categoryIds.put(category.getId(), category.getId());
+                if (category.getName() != null) {
+                    categoryNames.put(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+                }
+            }
+        }
+
+        // Accepts a category id or name from the shop's own categories
+        private UUID resolveCategory(String ref) {
+            if (ref == null || ref.isBlank()) {
+                return null;
+            }
+            UUID byName = categoryNames.get(ref.trim().toLowerCase(Locale.ROOT));
+            if (byName != null) {
+                return byName;
+            }
+            try {
+                UUID id = UUID.fromString(ref.trim());
+                if (categoryIds.containsKey(id)) {
+                    return id;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // not a UUID, fall through to the error below
+            }
+            throw new IllegalArgumentException("Unknown category for this shop: " + ref);
+        }
+
+        private void reject(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportResult.RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.product.config.ProductSearchIndexProbe;
+import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchResult;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductSearchRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 15 Oct 2:45 PM
+ * Author : Monu Siddiki
+ * Description : Ranked product search and autocomplete on top of ProductSearchRepository
+ **/
+@Service
+public class ProductSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // The order the search queries rank in; Postgres compares uuids as unsigned bytes, like their hex strings
+    private static final Comparator<RankedProduct> RANK_ORDER = Comparator.comparingDouble(RankedProduct::score).reversed()
+            .thenComparing(ranked -> ranked.product().getId().toString());
+
+    private final ProductSearchRepository searchRepository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ProductSearchIndexProbe searchIndex;
+    private final ShardScatter shardScatter;
+
+    public ProductSearchService(ProductSearchRepository searchRepository, ProductRepository productRepository,
+                                ProductService productService, ProductSearchIndexProbe searchIndex,
+                                ShardScatter shardScatter) {
+        this.searchRepository = searchRepository;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.searchIndex = searchIndex;
+        this.shardScatter = shardScatter;
+    }
+
+    private record RankedProduct(double score, ProductDTO product) {}
+
+    // One shard's best hits and how many it matched in total
+    private record ShardPage(List<RankedProduct> hits, long total) {}
+
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#criteria.shopId()")
+    public ProductSearchResult search(ProductSearchCriteria criteria, int page, int size) {
+        if (criteria.query() == null || criteria.query().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (criteria.minPrice() != null && criteria.maxPrice() != null && criteria.minPrice().compareTo(criteria.maxPrice()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice cannot be greater than maxPrice");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (criteria.shopId() == null && shardScatter.isSharded()) {
+            return searchAllShards(criteria, Math.max(page, 0), limit);
+        }
+        int offset = Math.max(page, 0) * limit;
+
+        List<ProductSearchRepository.Hit> hits = searchRepository.search(criteria, limit, offset);
+        boolean fuzzy = false;
+        if (hits.isEmpty() && offset == 0 && fuzzyAllowed(criteria)) {
+            hits = searchRepository.searchFuzzy(criteria, limit, offset);
+            fuzzy = true;
+        }
+
+        long total = hits.isEmpty() ? 0 : hits.get(0).total();
+        return new ProductSearchResult(loadInRankOrder(hits), total, Math.max(page, 0), limit, fuzzy && !hits.isEmpty());
+    }
+
+    // Every shard ranks its own first offset + limit hits, capped by mergeDepth; the page is cut from their merge
+    private ProductSearchResult searchAllShards(ProductSearchCriteria criteria, int page, int limit) {
+        int depth = shardScatter.mergeDepth(page, limit);
+        int offset = depth - limit;
+        List<ShardPage> pages = shardScatter.gather(() -> List.of(shardPage(searchRepository.search(criteria, depth, 0))));
+        boolean fuzzy = false;
+        if (offset == 0 && pages.stream().allMatch(shardPage -> shardPage.hits().isEmpty()) && fuzzyAllowed(criteria)) {
+            pages = shardScatter.gather(() -> List.of(shardPage(searchRepository.searchFuzzy(criteria, limit, 0))));
+            fuzzy = true;
+        }
+
+        long total = pages.stream().mapToLong(ShardPage::total).sum();
+        List<ProductDTO> products = pages.stream()
+                .flatMap(shardPage -> shardPage.hits().stream())
+                .sorted(RANK_ORDER)
+                .skip(offset)
+                .limit(limit)
+                .map(RankedProduct::product)
+                .toList();
+        return new ProductSearchResult(products, total, page, limit, fuzzy && total > 0);
+    }
+
+    private ShardPage shardPage(List<ProductSearchRepository.Hit> hits) {
+        Map<UUID, Product> byId = loadById(hits);
+        List<RankedProduct> ranked = hits.stream()
+                .filter(hit -> byId.containsKey(hit.productId()))
+                .map(hit -> new RankedProduct(hit.score(), productService.toListingDTO(byId.get(hit.productId()))))
+                .toList();
+        return new ShardPage(ranked, hits.isEmpty() ? 0 : hits.get(0).total());
+    }
+
+    private boolean fuzzyAllowed(ProductSearchCriteria criteria) {
+        return searchIndex.isTrigramAvailable() && criteria.query().trim().length() >= MIN_FUZZY_LENGTH;
+    }
+
+    /**
+     * Product names completing the text typed so far; the last word is matched as a prefix.
+     */
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public List<String> suggest(String text, UUID shopId, int limit) {
+        String prefixQuery = toPrefixQuery(text);
+        if (prefixQuery == null) {
+            return List.of();
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        if (shopId != null) {
+            return searchRepository.suggestNames(prefixQuery, shopId, max);
+        }
+        // Across shards each one's best names come first, so the ranking is only approximate
+        return shardScatter.gather(() -> searchRepository.suggestNames(prefixQuery, null, max)).stream()
+                .distinct()
+                .limit(max)
+                .toList();
+    }
+
+    // One query for the whole page, then restore the rank order the search returned
+    private List<ProductDTO> loadInRankOrder(List<ProductSearchRepository.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Product> byId = loadById(hits);
+        return hits.stream()
+                .map(hit -> byId.get(hit.productId()))
+                .filter(Objects::nonNull)
+                .map(productService::toListingDTO)
+                .toList();
+    }
+
+    private Map<UUID, Product> loadById(List<ProductSearchRepository.Hit> hits) {
+        if (hits.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findAllById(hits.stream().map(ProductSearchRepository.Hit::productId).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    // "red sho" -> "red & sho:*". Only letters and digits survive, so the result is always valid tsquery syntax.
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        List<String> terms = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return String.join(" & ", terms) + ":*";
+    }
+}
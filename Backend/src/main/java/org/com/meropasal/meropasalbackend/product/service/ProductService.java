@@ -1,40 +1,69 @@
 package org.com.meropasal.meropasalbackend.product.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.com.meropasal.meropasalbackend.Cloudinary.service.ImageLifecycleService;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageStore;
 import org.com.meropasal.meropasalbackend.category.entity.Category;
 import org.com.meropasal.meropasalbackend.category.repo.CategoryRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
 import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.event.ProductCreatedEvent;
 import org.com.meropasal.meropasalbackend.product.mapper.ProductMapper;
 import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     private final ProductRepository productRepository;
     private final ShopRepository shopRepository;
     private final CategoryRepository categoryRepository;
-
-    public ProductService(ProductRepository productRepository, ShopRepository shopRepository, CategoryRepository categoryRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageStore imageStore;
+    private final ImageLifecycleService imageLifecycleService;
+    private final ProductSkuService productSkuService;
+    private final ShardScatter shardScatter;
+    private final int thumbnailWidth;
+
+    public ProductService(ProductRepository productRepository, ShopRepository shopRepository, CategoryRepository categoryRepository,
+                          ApplicationEventPublisher eventPublisher, ImageStore imageStore, ImageLifecycleService imageLifecycleService,
+                          ProductSkuService productSkuService, ShardScatter shardScatter,
+                          @Value("${app.images.thumbnail-width:480}") int thumbnailWidth) {
         this.productRepository = productRepository;
         this.shopRepository = shopRepository;
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.imageStore = imageStore;
+        this.imageLifecycleService = imageLifecycleService;
+        this.productSkuService = productSkuService;
+        this.shardScatter = shardScatter;
+        this.thumbnailWidth = thumbnailWidth;
     }
 
     // Note: The ProductMapper dependency is removed because we use its static methods directly.
 
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#productDTO.shopId")
     public ProductDTO createProduct(ProductDTO productDTO) {
         try {
             // Convert DTO to entity using the static method
@@ -50,6 +79,10 @@ public class ProductService {
 
             // Save and convert back to DTO
             Product savedProduct = productRepository.save(product);
+            productSkuService.syncFromVariantData(savedProduct);
+
+            // Followers are notified after commit, off the request thread
+            eventPublisher.publishEvent(new ProductCreatedEvent(savedProduct.getId(), savedProduct.getShop().getId(), savedProduct.getName()));
             return ProductMapper.toDTO(savedProduct);
 
         } catch (Exception e) {
@@ -58,6 +91,7 @@ public class ProductService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#id")
     public ProductDTO updateProduct(UUID id, ProductDTO productDTO) {
         try {
             Product existingProduct = productRepository.findById(id)
@@ -68,11 +102,18 @@ public class ProductService {
                 validateVariantData(productDTO.getVariantData());
             }
 
+            Set<String> previousImages = imageUrlsOf(existingProduct);
+
             // Update entity fields from DTO using the static mapper method
             ProductMapper.updateEntity(existingProduct, productDTO, categoryRepository, shopRepository);
 
             // Save and convert back to DTO
             Product updatedProduct = productRepository.save(existingProduct);
+            productSkuService.syncFromVariantData(updatedProduct);
+
+            // Images dropped by this update are queued for background deletion
+            previousImages.removeAll(imageUrlsOf(updatedProduct));
+            imageLifecycleService.scheduleDeletion(previousImages);
             return ProductMapper.toDTO(updatedProduct);
 
         } catch (EntityNotFoundException e) {
@@ -83,6 +124,7 @@ public class ProductService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#id")
     public ProductDTO updateProductStatus(UUID id, boolean active) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with ID: " + id));
@@ -93,33 +135,57 @@ public class ProductService {
     }
 
     @Transactional
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#id")
     public void deleteProduct(UUID id) {
         productRepository.deleteById(id);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#id")
     public ProductDTO getProductById(UUID id) {
         return productRepository.findByIdAndDeletedFalse(id)
                 .map(ProductMapper::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<ProductDTO> getProductsByShopId(UUID shopId) {
         return productRepository.findAllByShopId(shopId).stream()
-                .map(ProductMapper::toDTO)
+                .map(this::toListingDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.CATEGORY, key = "#categoryId")
     public List<ProductDTO> getProductsByCategoryId(UUID categoryId) {
         return productRepository.findAllByCategoryId(categoryId).stream()
-                .map(ProductMapper::toDTO)
+                .map(this::toListingDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(ProductMapper::toDTO)
-                .collect(Collectors.toList());
+        return shardScatter.gather(() -> productRepository.findAll().stream()
+                .map(this::toListingDTO)
+                .collect(Collectors.toList()));
+    }
+
+    private static Set<String> imageUrlsOf(Product product) {
+        Set<String> urls = new HashSet<>(product.getImages());
+        if (product.getImageUrl() != null) {
+            urls.add(product.getImageUrl());
+        }
+        return urls;
+    }
+
+    // Listing DTOs carry a downscaled thumbnail so grids don't pull full-resolution originals
+    ProductDTO toListingDTO(Product product) {
+        ProductDTO dto = ProductMapper.toDTO(product);
+        if (dto.getImageUrl() != null) {
+            dto.setThumbnailUrl(imageStore.resizedUrl(dto.getImageUrl(), thumbnailWidth));
+        }
+        return dto;
     }
 
     /**
@@ -146,15 +212,14 @@ public class ProductService {
     /**
      * Validates that variant data is properly formatted JSON when hasVariants is true
      */
-    private void validateVariantData(String variantData) {
+    static void validateVariantData(String variantData) {
         if (variantData == null || variantData.trim().isEmpty()) {
             throw new IllegalArgumentException("Variant data is required when hasVariants is true");
         }
 
         try {
             // Basic JSON validation - you can enhance this with schema validation
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.readTree(variantData);
+            JSON.readTree(variantData);
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid variant data format: " + e.getMessage());
         }
@@ -0,0 +1,292 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.order.event.OrderLifecycleEvent;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSkuDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSkuUpdateRequest;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.product.entity.ProductSku;
+import org.com.meropasal.meropasalbackend.product.entity.ProductVariant;
+import org.com.meropasal.meropasalbackend.product.entity.ProductVariantData;
+import org.com.meropasal.meropasalbackend.product.repo.ProductRepository;
+import org.com.meropasal.meropasalbackend.product.repo.ProductSkuRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Created On : 2026 19 Oct 10:00 AM
+ * Author : Monu Siddiki
+ * Description : Keeps product_skus in step with each product's variant definitions and moves variant
+ * stock as orders are placed and cancelled.
+ **/
+@Slf4j
+@Service
+public class ProductSkuService {
+
+    static final int MAX_SKUS_PER_PRODUCT = 200;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ProductSkuRepository skuRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillChunkSize;
+
+    public ProductSkuService(ProductSkuRepository skuRepository, ProductRepository productRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.products.skus.backfill-chunk-size:200}") int backfillChunkSize) {
+        this.skuRepository = skuRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillChunkSize = backfillChunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId")
+    public List<ProductSkuDTO> getSkus(UUID productId) {
+        return skuRepository.findByProductIdOrderBySkuCodeAsc(productId).stream()
+                .map(ProductSkuService::toDTO)
+                .toList();
+    }
+
+    @Transactional
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId")
+    public List<ProductSkuDTO> regenerateSkus(UUID productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with ID: " + productId));
+        try {
+            syncFromVariantData(product);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return getSkus(productId);
+    }
+
+    @Transactional
+    @ShardedBy(value = ShardKey.PRODUCT, key = "#productId")
+    public ProductSkuDTO updateSku(UUID productId, UUID skuId, ProductSkuUpdateRequest request) {
+        ProductSku sku = skuRepository.findById(skuId)
+                .filter(found -> found.getProduct().getId().equals(productId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Variant not found for this product"));
+
+        if (request.skuCode() != null && !request.skuCode().isBlank()) {
+            sku.setSkuCode(request.skuCode().trim());
+        }
+        sku.setPrice(request.price());
+        sku.setStock(request.stock());
+        sku.setActive(request.active());
+        skuRepository.saveAndFlush(sku);
+        skuRepository.syncProductStock(List.of(skuId));
+        return toDTO(sku);
+    }
+
+    /**
+     * Creates a SKU for every combination of the product's variant values that has none yet and
+     * deactivates SKUs whose combination was removed. Existing SKUs keep their price and stock, and new
+     * ones start untracked so the product stock keeps applying until the shop sets per-variant stock.
+     */
+    @Transactional
+    public void syncFromVariantData(Product product) {
+        List<Map<String, String>> combinations = Boolean.TRUE.equals(product.getHasVariants())
+                ? combinationsOf(product.getVariantDataObject())
+                : List.of();
+        List<ProductSku> existing = skuRepository.findByProductIdOrderBySkuCodeAsc(product.getId());
+
+        Set<Map<String, String>> wanted = new HashSet<>(combinations);
+        existing.stream()
+                .filter(sku -> sku.isActive() && !wanted.contains(sku.getAttributes()))
+                .forEach(sku -> sku.setActive(false));
+
+        Set<Map<String, String>> present = existing.stream()
+                .map(ProductSku::getAttributes)
+                .collect(Collectors.toSet());
+        List<ProductSku> created = combinations.stream()
+                .filter(combination -> !present.contains(combination))
+                .map(combination -> newSku(product, combination))
+                .toList();
+        skuRepository.saveAll(created);
+    }
+
+    /**
+     * Picks the SKU a cart line refers to. An explicit skuId wins; otherwise the storefront's
+     * "Size: M, Color: Red" text is matched against the product's SKUs. Returns null for products
+     * without SKUs or text that matches none, which keeps the free-text variant behaviour.
+     */
+    public ProductSku resolveForCart(Product product, UUID skuId, String selectedVariant) {
+        if (skuId != null) {
+            ProductSku sku = skuRepository.findById(skuId)
+                    .filter(found -> found.getProduct().getId().equals(product.getId()))
+                    .orElseThrow(() -> new IllegalArgumentException("Variant not found for this product"));
+            if (!sku.isActive()) {
+                throw new IllegalArgumentException("Variant " + sku.getLabel() + " is not available");
+            }
+            return sku;
+        }
+        if (!Boolean.TRUE.equals(product.getHasVariants()) || selectedVariant == null || selectedVariant.isBlank()) {
+            return null;
+        }
+        Map<String, String> attributes = parseLabel(selectedVariant);
+        if (attributes.isEmpty()) {
+            return null;
+        }
+        return skuRepository.findByProductIdAndAttributes(product.getId(), toJson(attributes))
+                .filter(ProductSku::isActive)
+                .orElse(null);
+    }
+
+    // Runs inside the order transaction, so a variant that runs out rolls the whole order back
+    @EventListener
+    @Transactional
+    public void onOrderLifecycle(OrderLifecycleEvent event) {
+        if (event.skuQuantities().isEmpty()) {
+            return;
+        }
+        if (event.becameCountable()) {
+            reserve(event.skuQuantities());
+        } else if (event.stoppedCounting() && !event.deleted()) {
+            event.skuQuantities().forEach(skuRepository::releaseStock);
+            skuRepository.syncProductStock(event.skuQuantities().keySet());
+        }
+    }
+
+    // Rows are locked in id order so two orders sharing variants cannot deadlock
+    private void reserve(Map<UUID, Integer> quantities) {
+        for (Map.Entry<UUID, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (skuRepository.reserveStock(entry.getKey(), entry.getValue()) == 0) {
+                String label = skuRepository.findById(entry.getKey()).map(ProductSku::getLabel).orElse("variant");
+                throw new IllegalStateException("Insufficient stock for " + label);
+            }
+        }
+        skuRepository.syncProductStock(quantities.keySet());
+    }
+
+    /**
+     * Migration from the JSON-only format: generates SKUs for every variant product that has none.
+     * Idempotent, so it is safe to run on every startup.
+     */
+    @Workload(WorkloadClass.BACKGROUND)
+    public int backfillFromVariantData() {
+        List<UUID> productIds = skuRepository.findVariantProductIdsWithoutSkus();
+        int migrated = 0;
+        for (int from = 0; from < productIds.size(); from += backfillChunkSize) {
+            List<UUID> chunk = productIds.subList(from, Math.min(from + backfillChunkSize, productIds.size()));
+            Integer done = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Product product : productRepository.findAllById(chunk)) {
+                    try {
+                        syncFromVariantData(product);
+                        count++;
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Skipped SKU migration for product {}: {}", product.getId(), e.getMessage());
+                    }
+                }
+                return count;
+            });
+            migrated += done != null ? done : 0;
+        }
+        if (migrated > 0) {
+            log.info("Generated SKUs for {} products from their variant data", migrated);
+        }
+        return migrated;
+    }
+
+    static List<Map<String, String>> combinationsOf(ProductVariantData variantData) {
+        if (variantData == null || variantData.isEmpty()) {
+            return List.of();
+        }
+        List<Map<String, String>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (ProductVariant variant : variantData.getVariants()) {
+            if (variant.getName() == null || variant.getName().isBlank() || variant.getValues() == null) {
+                continue;
+            }
+            Set<String> values = variant.getValues().stream()
+                    .filter(value -> value != null && !value.isBlank())
+                    .map(String::trim)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (values.isEmpty()) {
+                continue;
+            }
+            if ((long) combinations.size() * values.size() > MAX_SKUS_PER_PRODUCT) {
+                throw new IllegalArgumentException("Variants would produce more than " + MAX_SKUS_PER_PRODUCT + " combinations");
+            }
+            List<Map<String, String>> next = new ArrayList<>(combinations.size() * values.size());
+            for (Map<String, String> combination : combinations) {
+                for (String value : values) {
+                    Map<String, String> extended = new LinkedHashMap<>(combination);
+                    extended.put(variant.getName().trim(), value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations.get(0).isEmpty() ? List.of() : combinations;
+    }
+
+    // Inverse of ProductSku.getLabel(); anything not in "Name: value, Name: value" form yields an empty map
+    static Map<String, String> parseLabel(String label) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (String part : label.split(",")) {
+            int separator = part.indexOf(':');
+            if (separator <= 0) {
+                return Map.of();
+            }
+            attributes.put(part.substring(0, separator).trim(), part.substring(separator + 1).trim());
+        }
+        return attributes;
+    }
+
+    private static ProductSku newSku(Product product, Map<String, String> attributes) {
+        ProductSku sku = new ProductSku();
+        sku.setProduct(product);
+        sku.setAttributes(attributes);
+        sku.setSkuCode(skuCodeOf(product, attributes));
+        return sku;
+    }
+
+    private static String skuCodeOf(Product product, Map<String, String> attributes) {
+        String suffix = attributes.values().stream()
+                .map(value -> value.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", ""))
+                .collect(Collectors.joining("-"));
+        String code = product.getId().toString().substring(0, 8).toUpperCase(Locale.ROOT) + "-" + suffix;
+        return code.length() > 100 ? code.substring(0, 100) : code;
+    }
+
+    private static String toJson(Map<String, String> attributes) {
+        try {
+            return JSON.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid variant attributes");
+        }
+    }
+
+    static ProductSkuDTO toDTO(ProductSku sku) {
+        return new ProductSkuDTO(
+                sku.getId(),
+                sku.getProduct().getId(),
+                sku.getSkuCode(),
+                sku.getAttributes(),
+                sku.getLabel(),
+                sku.getPrice(),
+                sku.getStock(),
+                sku.getEffectivePrice(),
+                sku.getEffectiveDiscountPrice(),
+                sku.getEffectiveStock(),
+                sku.isActive());
+    }
+}
@@ -1,5 +1,6 @@
 package org.com.meropasal.meropasalbackend.shop.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.com.meropasal.meropasalbackend.address.dto.AddressDto;
@@ -11,11 +12,19 @@ import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.shop.dto.ShopDTO;
 import org.com.meropasal.meropasalbackend.shop.dto.ShopThemeDTO;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.com.meropasal.meropasalbackend.shop.service.ShopExportService;
 import org.com.meropasal.meropasalbackend.shop.service.ShopService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -34,6 +43,7 @@ public class ShopController {
     private final ShopService shopService;
     private final OrderService orderService;
     private final AudienceService audienceService;
+    private final ShopExportService shopExportService;
 
 
     @PostMapping
@@ -123,6 +133,83 @@ public class ShopController {
         return ResponseEntity.ok(audience);
     }
 
+    @PreAuthorize("hasAnyRole('SHOP_OWNER','ADMIN')")
+    @GetMapping("/{shopId}/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(Authentication authentication, @PathVariable UUID shopId) {
+        requireShopAccess(authentication, shopId);
+        return csvDownload("orders-" + shopId + ".csv.gz", out -> shopExportService.exportOrders(shopId, out));
+    }
+
+    @PreAuthorize("hasAnyRole('SHOP_OWNER','ADMIN')")
+    @GetMapping("/{shopId}/audience/export")
+    public ResponseEntity<StreamingResponseBody> exportAudience(Authentication authentication, @PathVariable UUID shopId) {
+        requireShopAccess(authentication, shopId);
+        return csvDownload("audience-" + shopId + ".csv.gz", out -> shopExportService.exportAudience(shopId, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csvDownload(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @PreAuthorize("hasAnyRole('SHOP_OWNER','ADMIN')")
+    @GetMapping("/{shopId}/audience/page")
+    public ResponseEntity<?> getAudiencePage(Authentication authentication,
+                                             @PathVariable UUID shopId,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(defaultValue = "lastOrderAt") String sortBy,
+                                             @RequestParam(defaultValue = "desc") String direction) {
+        requireShopAccess(authentication, shopId);
+        try {
+            Page<AudienceDTO> audience = audienceService.getAudiencePage(shopId, page, size, sortBy, direction);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "audience", audience.getContent(),
+                    "page", audience.getNumber(),
+                    "size", audience.getSize(),
+                    "totalElements", audience.getTotalElements(),
+                    "totalPages", audience.getTotalPages()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    // Customer data of a shop: an admin may read any shop's, an owner only their own
+    private void requireShopAccess(Authentication authentication, UUID shopId) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (admin) {
+            return;
+        }
+        UUID ownerId = UUID.fromString(shopService.getOwnerIdByEmail(authentication.getName()));
+        UUID ownedShopId;
+        try {
+            ownedShopId = shopService.getShopByOwnerId(ownerId).getId();
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No shop registered for this account");
+        }
+        if (!shopId.equals(ownedShopId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not the owner of this shop");
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping("/{shopId}/audience/rebuild")
+    public ResponseEntity<?> rebuildAudience(@PathVariable UUID shopId) {
+        int customers = audienceService.rebuildShop(shopId);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "customers", customers
+        ));
+    }
+
 
     @GetMapping("/{shopId}/payment-methods")
     public ResponseEntity<?> getShopPaymentMethods(@PathVariable UUID shopId) {
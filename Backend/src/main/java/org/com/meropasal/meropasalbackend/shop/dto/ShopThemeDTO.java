@@ -19,4 +19,5 @@ public class ShopThemeDTO {
     private String businessName;
     private String themeName;
     private String logoUrl;
+    private long followerCount;
 }
@@ -16,13 +16,16 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.com.meropasal.meropasalbackend.address.entity.Address;
 import org.com.meropasal.meropasalbackend.authSystem.entity.Users;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
 import org.com.meropasal.meropasalbackend.category.entity.Category;
+import org.com.meropasal.meropasalbackend.database.id.UuidV7;
 import org.com.meropasal.meropasalbackend.order.entity.Order;
 import org.com.meropasal.meropasalbackend.product.entity.Product;
 import org.com.meropasal.meropasalbackend.shop.enums.District;
 import org.com.meropasal.meropasalbackend.shop.enums.Province;
 import org.com.meropasal.meropasalbackend.socialMediaAndSupport.entity.SocialAccount;
 import org.hibernate.annotations.*;
+import org.hibernate.annotations.Cache;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -44,13 +47,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE shops SET deleted = true WHERE id=?")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SHOP)
+@SQLDelete(sql = "UPDATE shop SET deleted = true WHERE id=?")
 @Where(clause = "deleted = false")
 public class Shop {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator
+    @UuidV7
     @Column(updatable = false, nullable = false)
     private UUID id;
 
@@ -37,7 +37,7 @@ public class ShopMapper {
 
 
     // New method for theme gallery
-    public ShopThemeDTO toThemeDTO(Shop shop) {
+    public ShopThemeDTO toThemeDTO(Shop shop, long followerCount) {
         if (shop == null) return null;
 
         ShopThemeDTO dto = new ShopThemeDTO();
@@ -46,6 +46,7 @@ public class ShopMapper {
         dto.setBusinessName(shop.getBusinessName());
         dto.setThemeName(shop.getTheme());
         dto.setLogoUrl(shop.getLogoUrl());
+        dto.setFollowerCount(followerCount);
         return dto;
     }
 
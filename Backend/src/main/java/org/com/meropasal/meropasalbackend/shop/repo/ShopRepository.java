@@ -1,7 +1,11 @@
 package org.com.meropasal.meropasalbackend.shop.repo;
 
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,8 +20,11 @@ import java.util.UUID;
 @Repository
 public interface ShopRepository extends JpaRepository<Shop, UUID> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<Shop> findByOwnerId(UUID ownerId);
 
+    // Resolved on every storefront request
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<Shop> findByShopUrl(String shopUrl);
 
     List<Shop> findAllByActiveTrue();
@@ -0,0 +1,96 @@
+package org.com.meropasal.meropasalbackend.shop.service;
+
+import jakarta.persistence.EntityManager;
+import org.com.meropasal.meropasalbackend.address.entity.ShippingAddress;
+import org.com.meropasal.meropasalbackend.customer.entity.ShopAudience;
+import org.com.meropasal.meropasalbackend.customer.repo.ShopAudienceRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.config.Workload;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.globalUtils.CsvWriter;
+import org.com.meropasal.meropasalbackend.order.entity.Order;
+import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Created On : 2026 17 Oct 3:20 PM
+ * Author : Monu Siddiki
+ * Description : Gzipped CSV exports of a shop's orders and audience. Rows are read through a
+ * forward-only cursor and detached as soon as they are written, so memory stays flat with shop size.
+ **/
+@Service
+@Workload(WorkloadClass.REPORTING)
+public class ShopExportService {
+
+    private final OrderRepository orderRepository;
+    private final ShopAudienceRepository audienceRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ShopExportService(OrderRepository orderRepository, ShopAudienceRepository audienceRepository,
+                             EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.audienceRepository = audienceRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public void exportOrders(UUID shopId, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(new GZIPOutputStream(out, 64 * 1024))) {
+            csv.writeRow("Order Number", "Placed At", "Status", "Payment Method", "Channel",
+                    "Customer Name", "Email", "Mobile", "Address", "City", "Country",
+                    "Subtotal", "Delivery Fee", "Total");
+            // The cursor needs an open transaction on the streaming thread
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Order> orders = orderRepository.streamByShopId(shopId)) {
+                    orders.forEach(order -> {
+                        ShippingAddress address = order.getShippingAddress() != null ? order.getShippingAddress() : new ShippingAddress();
+                        write(csv, order.getOrderNumber(), order.getCreatedAt(), order.getStatus(), order.getPaymentMethod(),
+                                order.getChannel(), address.getName(), address.getEmail(), address.getMobile(),
+                                address.getAddress(), address.getCity(), address.getCountry(),
+                                order.getSubtotal(), order.getDeliveryFee(), order.getTotal());
+                        entityManager.detach(order);
+                    });
+                }
+            });
+        }
+    }
+
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
+    public void exportAudience(UUID shopId, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(new GZIPOutputStream(out, 64 * 1024))) {
+            csv.writeRow("Customer Name", "Mobile", "Email", "City", "Total Orders", "Total Sales",
+                    "First Order At", "Last Order At");
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ShopAudience> audience = audienceRepository.streamByShopIdOrderByLastOrderAtDesc(shopId)) {
+                    audience.forEach(row -> {
+                        write(csv, row.getCustomerName(), row.getMobileNumber(), row.getEmail(), row.getCity(),
+                                row.getOrderCount(), row.getTotalSales(), row.getFirstOrderAt(), row.getLastOrderAt());
+                        entityManager.detach(row);
+                    });
+                }
+            });
+        }
+    }
+
+    private static void write(CsvWriter csv, Object... values) {
+        try {
+            csv.writeRow(values);
+        } catch (IOException e) {
+            // Client went away; unwinding closes the cursor and ends the transaction
+            throw new UncheckedIOException(e);
+        }
+    }
+}
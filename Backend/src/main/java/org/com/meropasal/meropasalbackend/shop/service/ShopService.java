@@ -1,10 +1,14 @@
 package org.com.meropasal.meropasalbackend.shop.service;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.com.meropasal.meropasalbackend.authSystem.entity.Users;
 import org.com.meropasal.meropasalbackend.authSystem.repo.UsersRepository;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
+import org.com.meropasal.meropasalbackend.database.service.ShardDirectory;
+import org.com.meropasal.meropasalbackend.database.service.ShardScatter;
+import org.com.meropasal.meropasalbackend.follower.repo.ShopFollowerCountRepository;
 import org.com.meropasal.meropasalbackend.payment.entity.ShopGatewayConfig;
 import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
 import org.com.meropasal.meropasalbackend.payment.repo.ShopGatewayConfigRepository;
@@ -13,9 +17,14 @@ import org.com.meropasal.meropasalbackend.shop.dto.ShopThemeDTO;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.com.meropasal.meropasalbackend.shop.mapper.ShopMapper;
 import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -33,7 +42,13 @@ public class ShopService {
     private final UsersRepository usersRepository;
     private final ShopMapper shopMapper;
     private final ShopGatewayConfigRepository shopGatewayConfigRepository;
+    private final ShardDirectory shardDirectory;
+    private final ShardScatter shardScatter;
+    private final ShopFollowerCountRepository followerCountRepository;
 
+    // The owner's row is copied to the chosen shard first, for the shop's foreign key
+    @Transactional
+    @ShardedBy(value = ShardKey.NEW_SHOP, key = "#ownerId", user = "#ownerId")
     public Shop createShop(ShopDTO shopDTO, UUID ownerId) {
         Users owner = usersRepository.findById(ownerId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -45,17 +60,37 @@ public class ShopService {
         shop.setProvince(shopDTO.getProvince());
         shop.setOwner(owner);
 
-        return shopRepository.save(shop);
+        Shop saved = shopRepository.save(shop);
+        shardDirectory.register(saved.getId(), ownerId, saved.getShopUrl());
+        return saved;
     }
 
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP_OWNER, key = "#ownerId")
     public Shop getShopByOwnerId(UUID ownerId) {
         return shopRepository.findByOwnerId(ownerId)
                 .orElseThrow(() -> new EntityNotFoundException("Shop not found for this owner"));
     }
 
+    @Transactional(readOnly = true)
     public List<Shop> getAllShops() {
-        return shopRepository.findAll();
+        return shardScatter.gather(() -> {
+            List<Shop> shops = shopRepository.findAll();
+            if (shardScatter.isSharded()) {
+                // Shops from other shards are serialized after their transaction has closed
+                shops.forEach(ShopService::loadForResponse);
+            }
+            return shops;
+        });
+    }
+
+    private static void loadForResponse(Shop shop) {
+        Hibernate.initialize(shop.getProducts());
+        Hibernate.initialize(shop.getOrders());
+        Hibernate.initialize(shop.getCategories());
+        shop.getCategories().forEach(category -> Hibernate.initialize(category.getProducts()));
+        Hibernate.initialize(shop.getSocialAccount());
     }
 
     public String getOwnerIdByEmail(String email) {
@@ -67,11 +102,14 @@ public class ShopService {
         return users.getId().toString(); // Assuming 'getId' returns the userId
     }
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP_URL, key = "#shopUrl")
     public Shop getShopByUrl(String shopUrl) {
         return shopRepository.findByShopUrl(shopUrl)
                 .orElseThrow(()->new EntityNotFoundException("Shop not found for this shopUrl"));
     }
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public Shop updateTheme(UUID shopId, String theme) {
 // Find the shop by ID
         Optional<Shop> optionalShop = shopRepository.findById(shopId);
@@ -91,22 +129,31 @@ public class ShopService {
 
 
 
+    @Transactional(readOnly = true)
     public List<ShopThemeDTO> getAllActiveShopsForGallery() {
-        List<Shop> shops = shopRepository.findAllByActiveTrue();
-        return shops.stream()
-                .map(shopMapper::toThemeDTO)
-                .collect(Collectors.toList());
+        return shardScatter.gather(() -> {
+            List<Shop> shops = shopRepository.findAllByActiveTrue();
+            Map<UUID, Long> followerCounts = new HashMap<>();
+            for (Object[] row : followerCountRepository.findFollowerCounts(shops.stream().map(Shop::getId).toList())) {
+                followerCounts.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+            return shops.stream()
+                    .map(shop -> shopMapper.toThemeDTO(shop, followerCounts.getOrDefault(shop.getId(), 0L)))
+                    .collect(Collectors.toList());
+        });
     }
 
     // Partial update for any shop fields including address
     @Transactional
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public Shop updateShop(UUID shopId, ShopDTO shopDTO) {
         Shop existingShop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new EntityNotFoundException("Shop not found"));
 
         // Update only non-null fields from DTO
-        if (shopDTO.getShopUrl() != null) {
+        if (shopDTO.getShopUrl() != null && !Objects.equals(shopDTO.getShopUrl(), existingShop.getShopUrl())) {
             existingShop.setShopUrl(shopDTO.getShopUrl());
+            shardDirectory.updateShopUrl(shopId, shopDTO.getShopUrl());
         }
         if (shopDTO.getBusinessName() != null) {
             existingShop.setBusinessName(shopDTO.getBusinessName());
@@ -128,6 +175,8 @@ public class ShopService {
     }
 
 
+    @Transactional(readOnly = true)
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public List<PaymentMethod> getActivePaymentMethods(UUID shopId) {
         return shopGatewayConfigRepository.findByShopId(shopId)
                 .stream()
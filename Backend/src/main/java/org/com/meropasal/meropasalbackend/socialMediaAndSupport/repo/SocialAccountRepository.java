@@ -1,7 +1,11 @@
 package org.com.meropasal.meropasalbackend.socialMediaAndSupport.repo;
 
+import jakarta.persistence.QueryHint;
+import org.com.meropasal.meropasalbackend.cache.config.CacheRegions;
 import org.com.meropasal.meropasalbackend.socialMediaAndSupport.entity.SocialAccount;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,6 +19,7 @@ import java.util.UUID;
 @Repository
 public interface SocialAccountRepository extends JpaRepository<SocialAccount, UUID> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<SocialAccount> findByShopId(UUID shopId);
     boolean existsByShopId(UUID shopId);
 }
@@ -1,6 +1,8 @@
 package org.com.meropasal.meropasalbackend.socialMediaAndSupport.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.ShardedBy;
 import org.com.meropasal.meropasalbackend.shop.entity.Shop;
 import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
 import org.com.meropasal.meropasalbackend.socialMediaAndSupport.dto.SocialAccountDTO;
@@ -30,6 +32,7 @@ public class SocialAccountService {
         this.socialAccountMapper = socialAccountMapper;
     }
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public SocialAccountDTO createSocialAccount(UUID shopId, SocialAccountDTO dto) {
         Shop shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new EntityNotFoundException("Shop not found"));
@@ -44,12 +47,14 @@ public class SocialAccountService {
         return socialAccountMapper.toDto(saved);
     }
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public SocialAccountDTO getByShopId(UUID shopId) {
         SocialAccount socialAccount = socialAccountRepository.findByShopId(shopId)
                 .orElseThrow(() -> new EntityNotFoundException("Social account not found"));
         return socialAccountMapper.toDto(socialAccount);
     }
 
+    @ShardedBy(value = ShardKey.SHOP, key = "#shopId")
     public SocialAccountDTO updateSocialAccount(UUID shopId, SocialAccountDTO dto) {
         SocialAccount socialAccount = socialAccountRepository.findByShopId(shopId)
                 .orElseThrow(() -> new EntityNotFoundException("Social account not found"));
@@ -0,0 +1,16 @@
+-- UUIDv7 for rows inserted by native SQL, matching the ids UuidV7Generator gives entities: the 48-bit
+-- Unix millisecond timestamp replaces the first six bytes of a random UUID, and the version nibble is
+-- changed from 4 to 7 (bits 52 and 53 set).
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid
+    LANGUAGE sql VOLATILE PARALLEL SAFE
+AS $$
+SELECT encode(
+    set_bit(
+        set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1),
+        53, 1),
+    'hex')::uuid
+$$;
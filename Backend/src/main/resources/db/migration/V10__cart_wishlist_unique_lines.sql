@@ -0,0 +1,39 @@
+-- One cart line per customer, product and SKU, and one wishlist row per customer and product, so adds can
+-- be single INSERT ... ON CONFLICT statements instead of a racy read followed by an insert. A product
+-- without SKUs has one line whose sku_id is null; the cart index folds null onto the nil uuid so that line
+-- is unique too, and CartItemRepository.upsert names the same expression as its conflict target.
+-- Existing duplicates are merged first: a cart keeps its oldest line with the quantities summed, a wishlist
+-- its oldest row. The tables are locked against writes for the merge and index build, so no new duplicate
+-- can slip in between; both are small next to orders and take seconds, not the minutes CONCURRENTLY needs.
+
+LOCK TABLE cart_items, wishlist_items IN SHARE ROW EXCLUSIVE MODE;
+
+WITH ranked AS (
+    SELECT id,
+           first_value(id) OVER line AS keep_id,
+           sum(quantity) OVER (PARTITION BY customer_id, product_id, sku_id) AS line_quantity
+    FROM cart_items
+    WINDOW line AS (PARTITION BY customer_id, product_id, sku_id ORDER BY created_at NULLS LAST, id)
+),
+merged AS (
+    UPDATE cart_items c
+    SET quantity = r.line_quantity,
+        total_price = c.price * r.line_quantity,
+        updated_at = localtimestamp
+    FROM ranked r
+    WHERE c.id = r.id AND r.id = r.keep_id AND c.quantity <> r.line_quantity
+)
+DELETE FROM cart_items c
+USING ranked r
+WHERE c.id = r.id AND r.id <> r.keep_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uc_cartitem_customer_product_sku
+    ON cart_items (customer_id, product_id, COALESCE(sku_id, '00000000-0000-0000-0000-000000000000'::uuid));
+
+DELETE FROM wishlist_items w
+USING (SELECT id, row_number() OVER (PARTITION BY customer_id, product_id ORDER BY created_at NULLS LAST, id) AS n
+       FROM wishlist_items) ranked
+WHERE w.id = ranked.id AND ranked.n > 1;
+
+ALTER TABLE wishlist_items
+    ADD CONSTRAINT uc_wishlist_customer_product UNIQUE (customer_id, product_id);
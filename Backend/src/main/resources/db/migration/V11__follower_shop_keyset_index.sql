@@ -0,0 +1,8 @@
+-- The follower notification fan-out pages a shop's followers as WHERE shop_id = ? AND id > ? ORDER BY id.
+-- With only (shop_id) every page fetched all of the shop's followers and sorted them; (shop_id, id)
+-- returns each page straight from the index. It also serves plain shop_id lookups, so it replaces idx_follower_shop.
+-- CONCURRENTLY only: runs outside a transaction via the .sql.conf next to this file (see V4).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_follower_shop_id ON followers (shop_id, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_follower_shop;
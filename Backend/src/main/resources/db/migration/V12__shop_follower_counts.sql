@@ -0,0 +1,15 @@
+-- Follower counters move off the shop row into a table of their own. shop is a second-level cached entity,
+-- and every native UPDATE of shop.follower_count invalidated the whole Shop cache region; the counters are
+-- now written where nothing is cached. A shop without a row has no followers yet.
+
+CREATE TABLE IF NOT EXISTS shop_follower_counts (
+    shop_id uuid not null,
+    follower_count bigint default 0 not null,
+    primary key (shop_id)
+);
+
+INSERT INTO shop_follower_counts (shop_id, follower_count)
+SELECT id, follower_count FROM shop WHERE follower_count > 0
+ON CONFLICT (shop_id) DO NOTHING;
+
+ALTER TABLE shop DROP COLUMN IF EXISTS follower_count;
@@ -0,0 +1,9 @@
+-- The biggest-discount listing orders by discount_percentage DESC NULLS LAST (products without a discount come
+-- last). An ascending index scanned backwards yields NULLS FIRST, so every such listing sorted the whole shop;
+-- this index returns the page in order. Discount range filters use it just as well, so it replaces the old one.
+-- CONCURRENTLY only: runs outside a transaction via the .sql.conf next to this file (see V4).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_shop_active_discount_desc_live
+    ON products (shop_id, active, discount_percentage DESC NULLS LAST) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_shop_active_discount_live;
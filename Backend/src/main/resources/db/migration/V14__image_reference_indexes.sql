@@ -0,0 +1,21 @@
+-- The image deletion queue asks, per batch of URLs, whether any row still points at each one. Every column
+-- that can hold an image URL gets an index that answers "= url" (btree) or "images_json @> [url]" (GIN), so
+-- that check probes each source once per URL instead of reading products, order_items and both archives in
+-- full on every shard every minute. Soft-deleted and archived rows count as references, so none is partial.
+-- CONCURRENTLY only where the table allows it: runs outside a transaction via the .sql.conf next to this file (see V4).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_image_url ON products (image_url);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_images_json ON products USING gin (images_json jsonb_path_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_shop_logo_url ON shop (logo_url);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_category_banner_image_url ON category (banner_image_url);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_category_image_url ON category (category_image_url);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_archive_image_url ON products_archive (image_url);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_archive_images_json
+    ON products_archive USING gin (images_json jsonb_path_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_archive_product_image ON order_items_archive (product_image);
+
+-- order_items is partitioned (V7) and a partitioned table cannot be indexed CONCURRENTLY. This builds the index on
+-- every partition and blocks order item inserts until it finishes, so run it in a deploy window on large tables.
+-- Partitions created later get it from the parent.
+CREATE INDEX IF NOT EXISTS idx_order_item_product_image ON order_items (product_image);
@@ -0,0 +1,8 @@
+-- V7 rebuilt orders as a partitioned parent with LIKE ... INCLUDING CONSTRAINTS, which copies CHECK constraints
+-- but not foreign keys: the customer and shop keys stayed on orders_legacy alone, and every monthly partition
+-- created since accepts orders for customers and shops that do not exist. Declared on the parent, each key
+-- reaches every partition, present and future. orders_legacy already carries an identical key, which is adopted
+-- rather than revalidated; the monthly and default partitions are checked once here.
+
+ALTER TABLE orders ADD CONSTRAINT fk_order_customer FOREIGN KEY (customer_id) REFERENCES customer_details (id);
+ALTER TABLE orders ADD CONSTRAINT fk_order_shop FOREIGN KEY (shop_id) REFERENCES shop (id);
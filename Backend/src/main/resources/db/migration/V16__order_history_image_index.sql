@@ -0,0 +1,8 @@
+-- Archived months (V7) keep their orders only as order_history documents, so once a month's order_items
+-- partition is dropped the product images those orders show live on in items[].productImage alone. The image
+-- deletion queue probes them with "images @> [url]" like products.images_json (V14); this GIN index answers
+-- that without reading every document. An expression index, so order_history is not rewritten.
+-- CONCURRENTLY: runs outside a transaction via the .sql.conf next to this file (see V4).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_history_product_images
+    ON order_history USING gin (jsonb_path_query_array(document, '$.items[*].productImage') jsonb_path_ops);
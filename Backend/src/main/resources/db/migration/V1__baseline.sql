@@ -0,0 +1,341 @@
+-- Baseline: the schema Hibernate's ddl-auto=update built from the entities of the last release before
+-- migrations, i.e. before follower counts, SKUs, audience and sales rollups. Databases that already exist
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and start from V2, which adds those.
+
+create table cart_items (
+    id uuid not null,
+    created_at timestamp(6),
+    price numeric(10,2) not null,
+    quantity integer not null,
+    selected_variant varchar(255),
+    total_price numeric(10,2) not null,
+    updated_at timestamp(6),
+    customer_id uuid not null,
+    product_id uuid not null,
+    primary key (id)
+);
+
+create table category (
+    id uuid not null,
+    active boolean,
+    banner_image_url varchar(255),
+    category_image_url varchar(255),
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    description varchar(255),
+    name varchar(255) not null unique,
+    updated_at timestamp(6),
+    shop_id uuid not null,
+    primary key (id)
+);
+
+create table customer_details (
+    id uuid not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    email varchar(255) not null,
+    role varchar(255) not null check (role in ('USER','SHOP_OWNER','ADMIN')),
+    updated_at timestamp(6),
+    verified boolean not null,
+    primary key (id)
+);
+
+create table followers (
+    id uuid not null,
+    created_at timestamp(6),
+    customer_id uuid not null,
+    shop_id uuid not null,
+    primary key (id)
+);
+
+create table order_items (
+    id uuid not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    discount_percentage numeric(38,2),
+    discount_price numeric(10,2),
+    product_image varchar(255),
+    quantity integer not null,
+    unit_price numeric(10,2) not null,
+    variant varchar(255),
+    order_id uuid not null,
+    product_id uuid not null,
+    primary key (id)
+);
+
+create table orders (
+    id uuid not null,
+    channel varchar(255),
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    delivery_fee numeric(10,2),
+    order_number varchar(255) unique,
+    payment_method varchar(255) not null check (payment_method in ('COD','ESEWA','KHALTI','BANK_TRANSFER')),
+    address varchar(255),
+    city varchar(255),
+    country varchar(255),
+    email varchar(255),
+    mobile varchar(255),
+    name varchar(255),
+    status varchar(255) not null check (status in ('PENDING','ACCEPTED','DELIVERED','CANCELLED','SHIPPED')),
+    subtotal numeric(10,2) not null,
+    total numeric(10,2) not null,
+    customer_id uuid not null,
+    shop_id uuid not null,
+    primary key (id)
+);
+
+create table payment (
+    id uuid not null,
+    amount_minor bigint,
+    created_at timestamp(6),
+    currency varchar(255),
+    deleted boolean default false not null,
+    failure_url varchar(255),
+    gateway_request_id varchar(255),
+    gateway_txn_id varchar(255),
+    order_id uuid,
+    payment_method varchar(255) not null check (payment_method in ('COD','ESEWA','KHALTI','BANK_TRANSFER')),
+    raw_callback_json oid,
+    return_url varchar(255),
+    status varchar(255) not null check (status in ('INITIATED','PENDING','COMPLETED','FAILED','REFUNDED','CANCELED')),
+    updated_at timestamp(6),
+    shop_id uuid,
+    primary key (id)
+);
+
+create table products (
+    id uuid not null,
+    active boolean,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    description varchar(255),
+    discount_percentage numeric(10,2),
+    discount_price numeric(10,2),
+    has_variants boolean,
+    image_url varchar(255),
+    images_json jsonb,
+    name varchar(255) not null,
+    price numeric(10,2) not null,
+    stock integer not null,
+    updated_at timestamp(6),
+    variant_data jsonb,
+    category_id uuid,
+    shop_id uuid not null,
+    primary key (id)
+);
+
+create table shop (
+    id uuid not null,
+    is_active boolean,
+    city varchar(255),
+    map_url varchar(255),
+    postal_code varchar(255),
+    street varchar(255),
+    tole varchar(255),
+    business_name varchar(255) not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    district varchar(255) not null check (district in ('TAPLEJUNG','PANCHTHAR','ILAM','JHAPA','MORANG','SUNSARI','DHANKUTA','TERHATHUM','SANKHUWASABHA','BOJHPUR','SOLUKHUMBU','KHOTANG','OKHALDHUNGA','UDAYAPUR','SAPTARI','SIRAHA','DHANUSA','MAHOTTARI','SARLAHI','BARA','PARSA','RAUTAHAT','SINDHULI','RAMECHHAP','DOLAKHA','SINDHUPALCHOK','KAVREPALANCHOK','LALITPUR','BHAKTAPUR','KATHMANDU','NUWAKOT','RASUWA','DHADING','MAKAWANPUR','CHITWAN','GORKHA','LAMJUNG','TANAHU','SYANGJA','KASKI','MANANG','MUSTANG','MYAGDI','PARBAT','BAGLUNG','NAWALPUR','NAWALPARASI','RUPANDEHI','KAPILVASTU','ARGHAKHANCHI','GULMI','PALPA','PARASI','ROLPA','PYUTHAN','DANG','BANKA','BARDIYA','DOLPA','HUMLA','MUGU','KALIKOT','JUMLA','DAILEKH','JAJARKOT','RUKUM_EAST','SURKHET','SALYAN','BAJURA','BAJHANG','DOTI','ACHHAM','KAILALI','KANCHANPUR','DADHELDHURA','BAITADI','DARCHULA')),
+    logo_url varchar(255),
+    province varchar(255) not null check (province in ('PROVINCE_1','MADHESH_PROVINCE','BAGMATI_PROVINCE','GANDAKI_PROVINCE','LUMBINI_PROVINCE','KARNALI_PROVINCE','SUDURPASHCHIM_PROVINCE')),
+    shop_url varchar(255) unique,
+    theme varchar(255),
+    updated_at timestamp(6),
+    owner_id uuid not null unique,
+    primary key (id)
+);
+
+create table social_accounts (
+    id uuid not null,
+    facebook_link varchar(255),
+    instagram_link varchar(255),
+    support_email varchar(255),
+    support_phone varchar(255),
+    tiktok_link varchar(255),
+    youtube_link varchar(255),
+    shop_id uuid not null unique,
+    primary key (id)
+);
+
+create table store_gateway_config (
+    id uuid not null,
+    active boolean not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    encrypted_credentials TEXT,
+    payment_method varchar(255) check (payment_method in ('COD','ESEWA','KHALTI','BANK_TRANSFER')),
+    shop_id uuid,
+    primary key (id)
+);
+
+create table users (
+    id uuid not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    email varchar(255) not null unique,
+    email_verified boolean,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('USER','SHOP_OWNER','ADMIN')),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table wishlist_items (
+    id uuid not null,
+    created_at timestamp(6),
+    customer_id uuid not null,
+    product_id uuid not null,
+    primary key (id)
+);
+
+create index idx_cartitem_product
+   on cart_items (product_id);
+
+create index idx_category_name
+   on category (name);
+
+create index idx_category_created_at
+   on category (created_at);
+
+create index idx_customer_created_at
+   on customer_details (created_at);
+
+create index idx_follower_created_at
+   on followers (created_at);
+
+create index idx_order_item_order
+   on order_items (order_id);
+
+create index idx_order_item_product
+   on order_items (product_id);
+
+create index idx_order_item_created_at
+   on order_items (created_at);
+
+create index idx_order_shop
+   on orders (shop_id);
+
+create index idx_order_created_at
+   on orders (created_at);
+
+create index idx_payment_order
+   on payment (order_id);
+
+create index idx_payment_created_at
+   on payment (created_at);
+
+create index idx_product_name
+   on products (name);
+
+create index idx_product_shop
+   on products (shop_id);
+
+create index idx_product_category
+   on products (category_id);
+
+create index idx_product_created_at
+   on products (created_at);
+
+create index idx_product_price
+   on products (price);
+
+create index idx_product_discount
+   on products (discount_percentage);
+
+create index idx_shop_owner
+   on shop (owner_id);
+
+create index idx_shop_created_at
+   on shop (created_at);
+
+create index idx_user_role
+   on users (role);
+
+create index idx_user_created_at
+   on users (created_at);
+
+alter table if exists cart_items
+   add constraint FKisgl3qx4k9trf1hspew6dfnxs
+   foreign key (customer_id)
+   references customer_details;
+
+alter table if exists cart_items
+   add constraint FK1re40cjegsfvw58xrkdp6bac6
+   foreign key (product_id)
+   references products;
+
+alter table if exists category
+   add constraint FKbkad58d7yfk6etilxocf4mlil
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists followers
+   add constraint FK2cul92q6donvdmae44vdwoffh
+   foreign key (customer_id)
+   references customer_details;
+
+alter table if exists followers
+   add constraint FKdf0nj22ld61rn3h1okahp559c
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders;
+
+alter table if exists order_items
+   add constraint FKocimc7dtr037rh4ls4l95nlfi
+   foreign key (product_id)
+   references products;
+
+alter table if exists orders
+   add constraint FK2kbr8ihmxltcd2fa78q74x8f1
+   foreign key (customer_id)
+   references customer_details;
+
+alter table if exists orders
+   add constraint FKqn03kko0738sehaal2gr2uxl6
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists payment
+   add constraint FKkse4jjdip3owhll08k13lud7b
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists products
+   add constraint FK1cf90etcu98x1e6n9aks3tel3
+   foreign key (category_id)
+   references category;
+
+alter table if exists products
+   add constraint FKo30qkc9rwi8jbcbf1eshespl1
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists shop
+   add constraint FKea1di7i3b50tpkwrfkincd34g
+   foreign key (owner_id)
+   references users;
+
+alter table if exists social_accounts
+   add constraint FK6v0vll9sl4cval30ydafo1gsl
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists store_gateway_config
+   add constraint FKkcvloh5kusw46t8mpwks6klqw
+   foreign key (shop_id)
+   references shop;
+
+alter table if exists wishlist_items
+   add constraint FK91e910n4ifcswv4kmw7g6fp29
+   foreign key (customer_id)
+   references customer_details;
+
+alter table if exists wishlist_items
+   add constraint FKqxj7lncd242b59fb78rqegyxj
+   foreign key (product_id)
+   references products;
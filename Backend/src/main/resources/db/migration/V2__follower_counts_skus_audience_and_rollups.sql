@@ -0,0 +1,132 @@
+-- Tables and columns added between the V1 release and the move to migrations: denormalised follower counts,
+-- per-variant SKUs, the shop audience aggregate, sales rollups and the image deletion queue. A database
+-- baselined at V1 gets them here. IF NOT EXISTS keeps this a no-op where ddl-auto=update already built them.
+-- The aggregates start empty; AudienceService, SalesRollupService and ProductSkuBackfillRunner fill them
+-- from existing orders and products on the first start.
+
+-- Follows: one row per customer and shop, and a counter on the shop kept in step by FollowerService
+DELETE FROM followers f
+USING (SELECT id, row_number() OVER (PARTITION BY customer_id, shop_id ORDER BY created_at NULLS LAST, id) AS n
+       FROM followers) ranked
+WHERE f.id = ranked.id AND ranked.n > 1;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uc_follower_customer_shop') THEN
+        ALTER TABLE followers ADD CONSTRAINT uc_follower_customer_shop UNIQUE (customer_id, shop_id);
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_follower_shop ON followers (shop_id);
+
+ALTER TABLE shop ADD COLUMN IF NOT EXISTS follower_count bigint DEFAULT 0 NOT NULL;
+
+UPDATE shop s SET follower_count = c.cnt
+FROM (SELECT shop_id, count(*) AS cnt FROM followers GROUP BY shop_id) c
+WHERE s.id = c.shop_id AND s.follower_count <> c.cnt;
+
+-- Variants as SKUs with their own price and stock; cart and order lines point at the SKU they were for
+CREATE TABLE IF NOT EXISTS product_skus (
+    id uuid not null,
+    active boolean not null,
+    attributes jsonb not null,
+    created_at timestamp(6),
+    deleted boolean default false not null,
+    price numeric(10,2),
+    sku_code varchar(100) not null,
+    stock integer,
+    updated_at timestamp(6),
+    product_id uuid not null,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_sku_product ON product_skus (product_id);
+
+ALTER TABLE cart_items ADD COLUMN IF NOT EXISTS sku_id uuid;
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS sku_id uuid;
+
+CREATE INDEX IF NOT EXISTS idx_order_item_sku ON order_items (sku_id);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkgfjst7dvihycy15ceiruv9roo') THEN
+        ALTER TABLE product_skus ADD CONSTRAINT FKgfjst7dvihycy15ceiruv9roo
+            FOREIGN KEY (product_id) REFERENCES products;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkia2f7yq196srm6ya3v96wafy6') THEN
+        ALTER TABLE cart_items ADD CONSTRAINT FKia2f7yq196srm6ya3v96wafy6
+            FOREIGN KEY (sku_id) REFERENCES product_skus;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk2mbmbfy82tn7joyvldcdoim61') THEN
+        ALTER TABLE order_items ADD CONSTRAINT FK2mbmbfy82tn7joyvldcdoim61
+            FOREIGN KEY (sku_id) REFERENCES product_skus;
+    END IF;
+END
+$$;
+
+-- Shop listings filter on shop + active and sort by one of these columns
+CREATE INDEX IF NOT EXISTS idx_product_shop_active_price ON products (shop_id, active, discount_price);
+CREATE INDEX IF NOT EXISTS idx_product_shop_active_discount ON products (shop_id, active, discount_percentage);
+CREATE INDEX IF NOT EXISTS idx_product_shop_active_created ON products (shop_id, active, created_at);
+
+-- Per-shop customer aggregate behind the audience endpoint
+CREATE TABLE IF NOT EXISTS shop_audience (
+    id uuid not null,
+    city varchar(255) not null,
+    customer_name varchar(255) not null,
+    email varchar(255) not null,
+    first_order_at timestamp(6),
+    last_order_at timestamp(6),
+    mobile_number varchar(255) not null,
+    order_count bigint not null,
+    shop_id uuid not null,
+    total_sales numeric(14,2) not null,
+    primary key (id),
+    constraint uc_shop_audience_contact unique (shop_id, customer_name, mobile_number, email, city)
+);
+
+CREATE INDEX IF NOT EXISTS idx_shop_audience_last_order ON shop_audience (shop_id, last_order_at);
+CREATE INDEX IF NOT EXISTS idx_shop_audience_total_sales ON shop_audience (shop_id, total_sales);
+CREATE INDEX IF NOT EXISTS idx_shop_audience_order_count ON shop_audience (shop_id, order_count);
+
+-- Hourly and daily sales buckets per shop and per product
+CREATE TABLE IF NOT EXISTS shop_sales_rollup (
+    id uuid not null,
+    bucket_start timestamp(6) not null,
+    granularity varchar(10) not null check (granularity in ('HOURLY','DAILY')),
+    items_sold bigint not null,
+    order_count bigint not null,
+    revenue numeric(14,2) not null,
+    shop_id uuid not null,
+    primary key (id),
+    constraint uc_shop_sales_rollup_bucket unique (shop_id, granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS product_sales_rollup (
+    id uuid not null,
+    bucket_start timestamp(6) not null,
+    granularity varchar(10) not null check (granularity in ('HOURLY','DAILY')),
+    order_count bigint not null,
+    product_id uuid not null,
+    quantity_sold bigint not null,
+    revenue numeric(14,2) not null,
+    shop_id uuid not null,
+    primary key (id),
+    constraint uc_product_sales_rollup_bucket unique (product_id, granularity, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_sales_rollup_shop ON product_sales_rollup (shop_id, granularity, bucket_start);
+
+-- Image URLs whose stored asset is still to be deleted by ImageLifecycleService
+CREATE TABLE IF NOT EXISTS pending_image_deletions (
+    id uuid not null,
+    attempts integer default 0 not null,
+    image_url varchar(1000) not null,
+    last_error varchar(500),
+    requested_at timestamp(6) not null,
+    primary key (id),
+    constraint uc_pending_image_deletion_url unique (image_url)
+);
+
+CREATE INDEX IF NOT EXISTS idx_pending_image_deletion_requested_at ON pending_image_deletions (requested_at);
@@ -0,0 +1,29 @@
+-- Objects ddl-auto could not express, previously created by the startup initializers. IF NOT EXISTS keeps
+-- this a no-op on databases where those initializers already ran.
+
+-- 'simple' config: the catalogue mixes English and romanised Nepali, so no stemming or stop words.
+-- A stored generated column, so Postgres keeps it in sync on every product write
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B') ||
+        setweight(jsonb_to_tsvector('simple', coalesce(variant_data, '{}'::jsonb), '["string"]'), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_product_search_vector ON products USING GIN (search_vector);
+
+-- Trigram matching is only a typo fallback; search still works if the extension cannot be installed
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON products USING GIN (lower(name) gin_trgm_ops);
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'pg_trgm unavailable, fuzzy product search disabled: %', SQLERRM;
+END
+$$;
+
+-- jsonb_path_ops only supports @>, which is the one operator attribute filters use, and is smaller than the default opclass
+CREATE INDEX IF NOT EXISTS idx_product_sku_attributes ON product_skus USING GIN (attributes jsonb_path_ops);
+
+-- One live SKU per combination; soft-deleted rows do not block regenerating it
+CREATE UNIQUE INDEX IF NOT EXISTS uq_product_sku_combination ON product_skus (product_id, attributes) WHERE deleted = false;
@@ -0,0 +1,14 @@
+-- Lookups that had no index: a customer's orders, cart and wishlist, and payment callbacks by gateway id.
+-- Built CONCURRENTLY so live tables keep taking writes. CONCURRENTLY cannot run in a transaction, so the
+-- .sql.conf next to this file sets executeInTransaction=false; keep such statements in files of their own.
+-- A build that fails leaves an INVALID index that IF NOT EXISTS would skip, so drop it before retrying.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_customer_created ON orders (customer_id, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cartitem_customer_created ON cart_items (customer_id, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wishlist_customer_created ON wishlist_items (customer_id, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_gateway_request ON payment (gateway_request_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_gateway_txn ON payment (gateway_txn_id);
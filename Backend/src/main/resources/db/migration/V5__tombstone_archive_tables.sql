@@ -0,0 +1,46 @@
+-- Soft-deleted orders, payments and products are moved out of the live tables by TombstoneArchiveService
+-- once they have been deleted longer than the retention period. deleted_at records when that happened;
+-- adding a nullable column without a default does not rewrite the table.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+ALTER TABLE payment ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+ALTER TABLE products ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+
+-- Existing tombstones get the best age we have, so the first archive run does not sweep them all at once
+UPDATE orders SET deleted_at = coalesce(created_at, now()) WHERE deleted AND deleted_at IS NULL;
+UPDATE payment SET deleted_at = coalesce(updated_at, created_at, now()) WHERE deleted AND deleted_at IS NULL;
+UPDATE products SET deleted_at = coalesce(updated_at, created_at, now()) WHERE deleted AND deleted_at IS NULL;
+
+-- Cold copies with the live columns in the same order plus archived_at, so rows move with
+-- INSERT ... SELECT moved.*, now(). A migration that adds a column to a live table must add it here too.
+-- No foreign keys: an archived order keeps pointing at its shop and customer even if they change later.
+CREATE TABLE IF NOT EXISTS orders_archive (
+    LIKE orders INCLUDING DEFAULTS,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    LIKE order_items INCLUDING DEFAULTS,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_order_item_archive_order ON order_items_archive (order_id);
+
+CREATE TABLE IF NOT EXISTS payment_archive (
+    LIKE payment INCLUDING DEFAULTS,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS products_archive (
+    LIKE products INCLUDING DEFAULTS,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS product_skus_archive (
+    LIKE product_skus INCLUDING DEFAULTS,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,58 @@
+-- Every entity query on these tables carries deleted = false (the @Where clause or an explicit predicate),
+-- so hot-path indexes only cover live rows: tombstones no longer bloat them or get visited and discarded.
+-- Each partial index replaces the full index on the same leading columns. Full indexes on columns that
+-- archiving deletes or foreign-key checks probe across live and deleted rows (order_items.order_id,
+-- order_items.product_id, cart_items.product_id, product_skus.product_id) stay as they are.
+-- CONCURRENTLY only: the .sql.conf next to this file runs it outside a transaction, and it relies on
+-- spring.flyway.postgresql.transactional-lock=false so the builds do not wait on Flyway's own lock
+-- transaction. See V4 about retrying a failed build.
+
+-- Shop listings filter on shop + active and sort by one of these columns; they also serve plain shop_id lookups
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_shop_active_created_live
+    ON products (shop_id, active, created_at) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_shop_active_price_live
+    ON products (shop_id, active, discount_price) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_shop_active_discount_live
+    ON products (shop_id, active, discount_percentage) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_category_live
+    ON products (category_id) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_shop_active_created;
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_shop_active_price;
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_shop_active_discount;
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_shop;
+DROP INDEX CONCURRENTLY IF EXISTS idx_product_category;
+
+-- Shop order lists, streaming exports and rollup rebuilds all read a shop's orders in created_at order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_shop_created_live
+    ON orders (shop_id, created_at) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_customer_created_live
+    ON orders (customer_id, created_at) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_shop;
+DROP INDEX CONCURRENTLY IF EXISTS idx_order_customer_created;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_order_live
+    ON payment (order_id) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_gateway_request_live
+    ON payment (gateway_request_id) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_gateway_txn_live
+    ON payment (gateway_txn_id) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_order;
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_gateway_request;
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_gateway_txn;
+
+-- Lookups that had no index at all
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_category_shop_live
+    ON category (shop_id) WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gateway_config_shop_method_live
+    ON store_gateway_config (shop_id, payment_method) WHERE deleted = false;
+
+-- The archive job's batch scans: only tombstones, oldest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_tombstone ON orders (deleted_at) WHERE deleted;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_tombstone ON payment (deleted_at) WHERE deleted;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_tombstone ON products (deleted_at) WHERE deleted;
+
+-- Archiving a product clears it from wishlists, which would otherwise scan wishlist_items per product
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wishlist_product ON wishlist_items (product_id);
@@ -0,0 +1,232 @@
+-- orders and order_items become range-partitioned by created_at, one partition per month. The existing tables
+-- are attached unchanged as the *_legacy partitions covering everything before next month, so no rows are
+-- copied; a CHECK constraint validated up front lets the attach and SET NOT NULL skip their own scans. The
+-- validation still reads both tables once under the migration's locks, so run this in a deploy window.
+-- OrderPartitionService creates the months ahead and can archive old months into order_history.
+
+-- An order's items are written with the order's created_at, so both land in the same month. A foreign key
+-- cannot reference a partitioned table whose unique keys lack the partition column, so this one goes.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'order_items'::regclass AND confrelid = 'orders'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END
+$$;
+
+UPDATE orders SET created_at = now() WHERE created_at IS NULL;
+UPDATE order_items i SET created_at = o.created_at FROM orders o WHERE i.order_id = o.id AND i.created_at IS NULL;
+UPDATE order_items SET created_at = now() WHERE created_at IS NULL;
+
+-- Unique constraints on a partitioned table must include created_at, so order numbers are kept unique here.
+-- Rows outlive archiving, so a number is never handed out twice.
+CREATE TABLE IF NOT EXISTS order_numbers (
+    order_number varchar(255) PRIMARY KEY,
+    order_id uuid NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+INSERT INTO order_numbers (order_number, order_id, created_at)
+SELECT order_number, id, created_at FROM orders WHERE order_number IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION register_order_number() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF NEW.order_number IS NOT NULL THEN
+        INSERT INTO order_numbers (order_number, order_id, created_at) VALUES (NEW.order_number, NEW.id, NEW.created_at);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- Renames the live table to <table>_legacy, recreates <table> as its partitioned parent and attaches the
+-- legacy table for everything before next month. Index names move to the parent; the legacy indexes are
+-- kept under a _legacy suffix and reused as partition indexes instead of being rebuilt.
+CREATE OR REPLACE FUNCTION partition_by_month_in_place(target text) RETURNS void
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    legacy text := target || '_legacy';
+    boundary timestamp := date_trunc('month', now()) + interval '1 month';
+    idx record;
+BEGIN
+    FOR idx IN SELECT i.relname
+               FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+               WHERE x.indrelid = target::regclass
+                 AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid AND c.conrelid = x.indrelid)
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.relname, idx.relname || '_legacy');
+    END LOOP;
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', target, legacy);
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at)',
+                   target, legacy);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN created_at SET NOT NULL', target);
+
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (created_at IS NOT NULL AND created_at < %L) NOT VALID',
+                   legacy, legacy || '_range', boundary);
+    EXECUTE format('ALTER TABLE %I VALIDATE CONSTRAINT %I', legacy, legacy || '_range');
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN created_at SET NOT NULL', legacy);
+END
+$$;
+
+CREATE OR REPLACE FUNCTION attach_legacy_partition(target text) RETURNS void
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    legacy text := target || '_legacy';
+BEGIN
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)', target, legacy,
+                   date_trunc('month', now()) + interval '1 month');
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', legacy, legacy || '_range');
+    -- Catches rows for a month whose partition is missing, so inserts never fail outright
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I (PRIMARY KEY (id)) DEFAULT', target || '_default', target);
+END
+$$;
+
+SELECT partition_by_month_in_place('orders');
+
+CREATE INDEX idx_order_created_at ON orders (created_at);
+CREATE INDEX idx_order_shop_created_live ON orders (shop_id, created_at) WHERE deleted = false;
+CREATE INDEX idx_order_customer_created_live ON orders (customer_id, created_at) WHERE deleted = false;
+CREATE INDEX idx_order_tombstone ON orders (deleted_at) WHERE deleted;
+
+CREATE TRIGGER orders_register_number AFTER INSERT ON orders
+    FOR EACH ROW EXECUTE FUNCTION register_order_number();
+
+SELECT attach_legacy_partition('orders');
+
+SELECT partition_by_month_in_place('order_items');
+
+CREATE INDEX idx_order_item_order ON order_items (order_id);
+CREATE INDEX idx_order_item_product ON order_items (product_id);
+CREATE INDEX idx_order_item_sku ON order_items (sku_id);
+CREATE INDEX idx_order_item_created_at ON order_items (created_at);
+
+-- Matching foreign keys already on the legacy table are adopted on attach rather than revalidated
+ALTER TABLE order_items ADD CONSTRAINT fk_order_item_product FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_item_sku FOREIGN KEY (sku_id) REFERENCES product_skus (id);
+
+SELECT attach_legacy_partition('order_items');
+
+DROP FUNCTION partition_by_month_in_place(text);
+DROP FUNCTION attach_legacy_partition(text);
+
+-- Partition bounds as timestamps; range_start is null for the legacy partition, which starts at MINVALUE.
+-- The default partition has no range and is left out.
+CREATE OR REPLACE FUNCTION order_partition_ranges(parent regclass)
+    RETURNS TABLE (partition_name text, range_start timestamp, range_end timestamp)
+    LANGUAGE sql STABLE
+AS $$
+SELECT c.relname::text,
+       CASE WHEN b[1] = 'MINVALUE' THEN NULL ELSE b[1]::timestamp END,
+       b[2]::timestamp
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+CROSS JOIN LATERAL regexp_match(pg_get_expr(c.relpartbound, c.oid),
+                                'FROM \(''?([^'')]*)''?\) TO \(''?([^'')]*)''?\)') AS b
+WHERE i.inhparent = parent AND b IS NOT NULL
+$$;
+
+-- Creates the orders and order_items partitions for this month and the next months_ahead months, skipping
+-- months an existing partition already covers. Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION create_order_partitions(months_ahead integer) RETURNS integer
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start timestamp;
+    month_end timestamp;
+    parent text;
+    child text;
+    created integer := 0;
+BEGIN
+    -- Attaching waits for reports holding the parent; give up quickly and let the next run retry
+    PERFORM set_config('lock_timeout', '5s', true);
+    FOR m IN 0..months_ahead LOOP
+        month_start := date_trunc('month', now()) + make_interval(months => m);
+        month_end := month_start + interval '1 month';
+        FOREACH parent IN ARRAY ARRAY['orders', 'order_items'] LOOP
+            child := parent || to_char(month_start, '"_p"YYYY_MM');
+            CONTINUE WHEN EXISTS (SELECT 1 FROM order_partition_ranges(parent::regclass) r
+                                  WHERE r.range_end > month_start
+                                    AND (r.range_start IS NULL OR r.range_start < month_end));
+            BEGIN
+                -- Created standalone and attached, which locks the parent less than CREATE TABLE ... PARTITION OF
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS, PRIMARY KEY (id))',
+                               child, parent);
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent, child, month_start, month_end);
+                created := created + 1;
+            EXCEPTION WHEN check_violation OR lock_not_available THEN
+                -- Rows for this month already sit in the default partition, or the parent stayed busy
+                RAISE WARNING 'Partition % not created: %', child, SQLERRM;
+            END;
+        END LOOP;
+    END LOOP;
+    RETURN created;
+END
+$$;
+
+-- Drops one month of orders and its order_items partition once every live order in it is in order_history.
+-- Tombstones still in the partition are kept in orders_archive / order_items_archive first. Returns the
+-- number of order rows dropped.
+CREATE OR REPLACE FUNCTION drop_order_partition(orders_partition text) RETURNS bigint
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    items_partition text := 'order_items' || substring(orders_partition FROM length('orders') + 1);
+    unarchived bigint;
+    dropped bigint;
+BEGIN
+    PERFORM set_config('lock_timeout', '5s', true);
+    EXECUTE format('LOCK TABLE %I IN SHARE MODE', orders_partition);
+    EXECUTE format('SELECT count(*) FROM %I o WHERE NOT o.deleted '
+                   'AND NOT EXISTS (SELECT 1 FROM order_history h WHERE h.order_id = o.id)', orders_partition)
+        INTO unarchived;
+    IF unarchived > 0 THEN
+        RAISE EXCEPTION 'Partition % still has % orders missing from order_history', orders_partition, unarchived;
+    END IF;
+
+    EXECUTE format('INSERT INTO order_items_archive SELECT i.*, now() FROM %I i '
+                   'WHERE i.deleted OR i.order_id IN (SELECT o.id FROM %I o WHERE o.deleted)',
+                   items_partition, orders_partition);
+    EXECUTE format('INSERT INTO orders_archive SELECT o.*, now() FROM %I o WHERE o.deleted', orders_partition);
+    EXECUTE format('SELECT count(*) FROM %I', orders_partition) INTO dropped;
+
+    EXECUTE format('ALTER TABLE orders DETACH PARTITION %I', orders_partition);
+    EXECUTE format('ALTER TABLE order_items DETACH PARTITION %I', items_partition);
+    EXECUTE format('DROP TABLE %I', orders_partition);
+    EXECUTE format('DROP TABLE %I', items_partition);
+    RETURN dropped;
+END
+$$;
+
+-- Cold store for archived months: one row per order holding the order exactly as customers are shown it.
+-- Append-only and read by customer id, with the document TOAST-compressed (lz4 where the server has it).
+CREATE TABLE IF NOT EXISTS order_history (
+    order_id uuid PRIMARY KEY,
+    customer_id uuid NOT NULL,
+    shop_id uuid NOT NULL,
+    order_number varchar(255),
+    created_at timestamp(6) NOT NULL,
+    document jsonb NOT NULL,
+    archived_at timestamp(6) NOT NULL DEFAULT now()
+) WITH (fillfactor = 100);
+
+CREATE INDEX IF NOT EXISTS idx_order_history_customer_created ON order_history (customer_id, created_at);
+
+DO $$
+BEGIN
+    ALTER TABLE order_history ALTER COLUMN document SET COMPRESSION lz4;
+EXCEPTION WHEN feature_not_supported THEN
+    RAISE NOTICE 'lz4 unavailable, order_history keeps the default compression: %', SQLERRM;
+END
+$$;
+
+SELECT create_order_partitions(3);
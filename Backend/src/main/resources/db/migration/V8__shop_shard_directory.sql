@@ -0,0 +1,19 @@
+-- Which database (shard) holds each shop, read by ShardDirectory on the home database. Every extra shard
+-- runs the same migrations and keeps an empty copy. Shops created before sharding are registered on the
+-- home database (shard 0), which is where they stay; ShopService registers every shop created after.
+
+CREATE TABLE IF NOT EXISTS shop_shards (
+    shop_id uuid PRIMARY KEY,
+    shard integer NOT NULL DEFAULT 0,
+    owner_id uuid NOT NULL,
+    shop_url varchar(255),
+    assigned_at timestamp(6) NOT NULL DEFAULT now()
+);
+
+-- shop.shop_url is only unique within one database; this keeps storefront URLs unique across shards
+CREATE UNIQUE INDEX IF NOT EXISTS uc_shop_shards_url ON shop_shards (shop_url);
+CREATE INDEX IF NOT EXISTS idx_shop_shards_owner ON shop_shards (owner_id);
+
+INSERT INTO shop_shards (shop_id, shard, owner_id, shop_url)
+SELECT id, 0, owner_id, shop_url FROM shop
+ON CONFLICT (shop_id) DO NOTHING;
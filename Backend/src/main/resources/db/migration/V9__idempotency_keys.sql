@@ -0,0 +1,16 @@
+-- Idempotency-Key store for retried POSTs (order creation, payment initiation, bulk product APIs). A row is
+-- claimed before the request runs and holds the stored response once it succeeded; response_status stays
+-- null while the first request is in flight, and locked_until bounds how long a crashed one blocks retries.
+-- Keys and request bodies are kept as SHA-256 digests only. Lives on the home database.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    key_hash bytea PRIMARY KEY,
+    request_hash bytea NOT NULL,
+    response_status smallint,
+    response_body jsonb,
+    locked_until timestamp(6),
+    created_at timestamp(6) NOT NULL DEFAULT now(),
+    expires_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys (expires_at);
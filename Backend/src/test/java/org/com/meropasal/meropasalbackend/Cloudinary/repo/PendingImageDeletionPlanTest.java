@@ -0,0 +1,133 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.repo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.QueryPlan;
+import org.com.meropasal.meropasalbackend.support.StatementRecorder;
+import org.com.meropasal.meropasalbackend.support.StatementRecorder.Recorded;
+import org.com.meropasal.meropasalbackend.support.SyntheticCatalog;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 3:05 AM
+ * Author : Monu Siddiki
+ * Description : EXPLAIN checks for the deletion queue's "still referenced?" lookup, run with a full batch of
+ * URLs over the synthetic catalogue (200k products unless -Dplan-check.products says otherwise). Products must
+ * be probed through the image indexes, and every other source must have an index the lookup can use at all.
+ * Images shown only by an archived order's order_history document still count as referenced.
+ **/
+@Import(PendingImageDeletionPlanTest.RecordStatements.class)
+class PendingImageDeletionPlanTest extends PostgresIntegrationTest {
+
+    private static final int PRODUCTS = Integer.getInteger("plan-check.products", 200_000);
+    private static final int BATCH_SIZE = 50;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TestConfiguration
+    static class RecordStatements {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @Autowired
+    private PendingImageDeletionRepository deletionRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        new SyntheticCatalog(testData).ensure(PRODUCTS);
+    }
+
+    @Test
+    void findsReferencedUrlsAmongTheBatch() throws Exception {
+        List<String> urls = batch();
+
+        List<String> referenced = deletionRepository.findReferencedAmong(JSON.writeValueAsString(urls));
+
+        assertThat(referenced).containsExactlyInAnyOrder(SyntheticCatalog.imageUrl(PRODUCTS / 2),
+                SyntheticCatalog.galleryUrl(PRODUCTS / 3));
+    }
+
+    @Test
+    void probesProductsThroughTheImageIndexes() throws Exception {
+        QueryPlan plan = QueryPlan.explain(testData.jdbc(), lookup(batch()));
+
+        assertThat(plan.scansSequentially("products")).as("%s", plan).isFalse();
+        assertThat(plan.usesIndex("idx_product_image_url")).as("%s", plan).isTrue();
+        assertThat(plan.usesIndex("idx_product_images_json")).as("%s", plan).isTrue();
+    }
+
+    @Test
+    void everySourceHasAUsableIndex() throws Exception {
+        QueryPlan plan = QueryPlan.explainWithoutSeqScans(testData.jdbc(), lookup(batch()));
+
+        assertThat(plan.nodes()).as("%s", plan).noneMatch(node -> node.type().equals("Seq Scan"));
+    }
+
+    @Test
+    void archivedOrderImagesStayReferenced() throws Exception {
+        String archivedImage = "/images/files/products/" + UUID.randomUUID() + ".jpg";
+        UUID shopId = testData.shop();
+        UUID customerId = testData.customer();
+        // An archived month's order exists only as its document once the order_items partition is dropped
+        testData.jdbc().update("""
+                INSERT INTO order_history (order_id, customer_id, shop_id, order_number, created_at, document)
+                VALUES (uuid_generate_v7(), ?, ?, ?, now() - interval '3 years', CAST(? AS jsonb))
+                """, customerId, shopId, "ARCHIVED-" + UUID.randomUUID(), JSON.writeValueAsString(Map.of(
+                "items", List.of(Map.of("productName", "Pashmina shawl", "productImage", archivedImage),
+                        Map.of("productName", "Gift wrap")))));
+        List<String> urls = batch();
+        urls.add(archivedImage);
+
+        assertThat(deletionRepository.findReferencedAmong(JSON.writeValueAsString(urls))).contains(archivedImage);
+        assertThat(deletionRepository.findAllReferencedImageUrls()).contains(archivedImage).doesNotContainNull();
+
+        QueryPlan plan = QueryPlan.explainWithoutSeqScans(testData.jdbc(), lookup(urls));
+        assertThat(plan.usesIndex("idx_order_history_product_images")).as("%s", plan).isTrue();
+    }
+
+    // One product image, one gallery image and the rest unknown, so most probes miss and run to the last source
+    private static List<String> batch() {
+        List<String> urls = new ArrayList<>(BATCH_SIZE);
+        urls.add(SyntheticCatalog.imageUrl(PRODUCTS / 2));
+        urls.add(SyntheticCatalog.galleryUrl(PRODUCTS / 3));
+        while (urls.size() < BATCH_SIZE) {
+            urls.add("/images/files/products/" + UUID.randomUUID() + ".jpg");
+        }
+        return urls;
+    }
+
+    private Recorded lookup(List<String> urls) throws Exception {
+        statementRecorder.clear();
+        deletionRepository.findReferencedAmong(JSON.writeValueAsString(urls));
+        return statementRecorder.statements().stream()
+                .filter(statement -> statement.sql().contains("jsonb_array_elements_text"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Lookup not recorded among " + statementRecorder.statements()));
+    }
+}
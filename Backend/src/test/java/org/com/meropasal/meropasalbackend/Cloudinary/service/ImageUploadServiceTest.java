@@ -0,0 +1,201 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.service;
+
+import org.com.meropasal.meropasalbackend.Cloudinary.dto.ImageUploadResult;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageStore;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.ImageType;
+import org.com.meropasal.meropasalbackend.Cloudinary.store.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 12:20 AM
+ * Author : Monu Siddiki
+ * Description : Multi-image upload against a local stub store: files go up in parallel under the permit cap,
+ * each one streams from its own temp file, and bad files fail on their own while the rest are stored. WebP
+ * uploads, whose headers are read without an ImageIO reader, are checked against the pixel cap like the rest.
+ **/
+class ImageUploadServiceTest {
+
+    private static final int MAX_CONCURRENT = 3;
+
+    private StubImageStore store;
+    private ImageUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new StubImageStore();
+        service = new ImageUploadService(new CloudinaryService(store), MAX_CONCURRENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void uploadsInParallelUnderThePermitCap() throws IOException {
+        store.delayMillis = 100;
+        MultipartFile[] files = new MultipartFile[8];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = png("photo" + i + ".png", 10 + i);
+        }
+
+        List<ImageUploadResult> results = service.uploadAll(files, "products");
+
+        assertThat(results).hasSize(files.length).allMatch(ImageUploadResult::success);
+        assertThat(results).extracting(ImageUploadResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(results).extracting(ImageUploadResult::url).allMatch(url -> url.startsWith("https://stub.local/products/"));
+        assertThat(store.maxConcurrent.get()).isGreaterThan(1).isLessThanOrEqualTo(MAX_CONCURRENT);
+    }
+
+    @Test
+    void reportsFailuresPerFileAndStoresTheRest() throws IOException {
+        MockMultipartFile rejectedByStore = png("rejected.png", 21);
+        store.failOn = rejectedByStore.getBytes();
+        MultipartFile[] files = {
+                png("first.png", 20),
+                new MockMultipartFile("files", "empty.png", "image/png", new byte[0]),
+                // Claims to be an image, but the leading bytes say otherwise
+                new MockMultipartFile("files", "script.png", "image/png", "<svg onload=alert(1)>".getBytes()),
+                rejectedByStore,
+                png("last.jpg", 22)
+        };
+
+        List<ImageUploadResult> results = service.uploadAll(files, null);
+
+        assertThat(results).extracting(ImageUploadResult::originalFilename)
+                .containsExactly("first.png", "empty.png", "script.png", "rejected.png", "last.jpg");
+        assertThat(results).extracting(ImageUploadResult::success).containsExactly(true, false, false, false, true);
+        assertThat(results.get(1).error()).contains("File is empty");
+        assertThat(results.get(2).error()).contains("Invalid image type");
+        assertThat(results.get(3).error()).contains("stub store unavailable");
+        // Stored under the type found in the content, not the client's file name
+        assertThat(results.get(4).url()).startsWith("https://stub.local/general/").endsWith(".png");
+        assertThat(store.storedTypes).containsOnly(ImageType.PNG);
+    }
+
+    @Test
+    void streamsEachFileFromATempFileThatIsRemovedAfterwards() throws IOException {
+        service.uploadAll(new MultipartFile[]{png("a.png", 30), png("b.png", 31)}, "logos");
+
+        assertThat(store.sources).hasSize(2).doesNotHaveDuplicates();
+        assertThat(store.sources).noneMatch(Files::exists);
+    }
+
+    @Test
+    void acceptsWebpInEachEncodingUnderThePixelCap() {
+        MultipartFile[] files = {
+                webp("lossy.webp", "VP8 ", new byte[]{0x10, 0x02, 0x00, (byte) 0x9D, 0x01, 0x2A, 40, 0, 30, 0}),
+                webp("lossless.webp", "VP8L", vp8l(40, 30)),
+                webp("extended.webp", "VP8X", vp8x(40, 30)),
+                webp("huge.webp", "VP8X", vp8x(10_000, 10_000))
+        };
+
+        List<ImageUploadResult> results = service.uploadAll(files, "products");
+
+        assertThat(results).extracting(ImageUploadResult::success).containsExactly(true, true, true, false);
+        assertThat(results.get(3).error()).contains("Image dimensions too large");
+        assertThat(store.storedTypes).containsOnly(ImageType.WEBP);
+    }
+
+    // A RIFF container holding one chunk; only the header is ever read, so the image data can be left out
+    private static MockMultipartFile webp(String filename, String chunk, byte[] payload) {
+        ByteBuffer file = ByteBuffer.allocate(20 + payload.length).order(ByteOrder.LITTLE_ENDIAN);
+        file.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(12 + payload.length)
+                .put("WEBP".getBytes(StandardCharsets.US_ASCII))
+                .put(chunk.getBytes(StandardCharsets.US_ASCII)).putInt(payload.length).put(payload);
+        return new MockMultipartFile("files", filename, "image/webp", file.array());
+    }
+
+    private static byte[] vp8l(int width, int height) {
+        ByteBuffer payload = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN);
+        return payload.put((byte) 0x2F).putInt((width - 1) | (height - 1) << 14).array();
+    }
+
+    private static byte[] vp8x(int width, int height) {
+        byte[] payload = new byte[10];
+        for (int i = 0; i < 3; i++) {
+            payload[4 + i] = (byte) ((width - 1) >>> (8 * i));
+            payload[7 + i] = (byte) ((height - 1) >>> (8 * i));
+        }
+        return payload;
+    }
+
+    private static MockMultipartFile png(String filename, int width) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, 8, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new MockMultipartFile("files", filename, "image/png", out.toByteArray());
+    }
+
+    private static final class StubImageStore implements ImageStore {
+
+        private final AtomicInteger stored = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final List<Path> sources = Collections.synchronizedList(new ArrayList<>());
+        private final List<ImageType> storedTypes = Collections.synchronizedList(new ArrayList<>());
+        private volatile long delayMillis;
+        private volatile byte[] failOn;
+
+        @Override
+        public String store(Path source, ImageType type, String folder) throws IOException {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                sources.add(source);
+                if (failOn != null && Arrays.equals(Files.readAllBytes(source), failOn)) {
+                    throw new IOException("stub store unavailable");
+                }
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                storedTypes.add(type);
+                return "https://stub.local/" + folder + "/" + stored.incrementAndGet() + type.getExtension();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean delete(String imageUrl) {
+            return false;
+        }
+
+        @Override
+        public String resizedUrl(String imageUrl, int width) {
+            return imageUrl;
+        }
+
+        @Override
+        public String assetKey(String imageUrl) {
+            return null;
+        }
+
+        @Override
+        public void forEachStoredImage(Consumer<StoredImage> consumer) {
+        }
+    }
+}
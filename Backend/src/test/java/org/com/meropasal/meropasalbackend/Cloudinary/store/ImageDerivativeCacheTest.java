@@ -0,0 +1,82 @@
+package org.com.meropasal.meropasalbackend.Cloudinary.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 2:45 AM
+ * Author : Monu Siddiki
+ * Description : Budget eviction keeps a dropped derivative on disk through the grace period, so a path already
+ * handed to sendfile still opens, and deletes it afterwards unless it was regenerated in between.
+ **/
+class ImageDerivativeCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private Path original;
+    // Room for either test derivative but not both, so each new one evicts the other
+    private long maxBytes;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        original = dir.resolve("original.png");
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+        ImageDerivativeCache unbounded = new ImageDerivativeCache(dir.resolve("measure").toString(), Long.MAX_VALUE, 0);
+        unbounded.loadIndex();
+        maxBytes = Math.max(Files.size(unbounded.get("original.png", original, 160, DerivativeFormat.JPEG)),
+                Files.size(unbounded.get("original.png", original, 320, DerivativeFormat.JPEG)));
+    }
+
+    @Test
+    void evictedDerivativeSurvivesTheGracePeriod() throws IOException {
+        ImageDerivativeCache cache = cache(3_600_000);
+        Path first = cache.get("original.png", original, 160, DerivativeFormat.JPEG);
+
+        cache.get("original.png", original, 320, DerivativeFormat.JPEG);
+        cache.deleteDroppedFiles();
+
+        assertThat(first).exists();
+    }
+
+    @Test
+    void evictedDerivativeIsDeletedAfterTheGracePeriod() throws IOException {
+        ImageDerivativeCache cache = cache(0);
+        Path first = cache.get("original.png", original, 160, DerivativeFormat.JPEG);
+        Path second = cache.get("original.png", original, 320, DerivativeFormat.JPEG);
+
+        cache.deleteDroppedFiles();
+
+        assertThat(first).doesNotExist();
+        assertThat(second).exists();
+    }
+
+    @Test
+    void regeneratedDerivativeIsNotDeletedWithItsDroppedFile() throws IOException {
+        ImageDerivativeCache cache = cache(0);
+        Path first = cache.get("original.png", original, 160, DerivativeFormat.JPEG);
+        cache.get("original.png", original, 320, DerivativeFormat.JPEG);
+        // Requested again before the sweep: generated afresh at the same path
+        cache.get("original.png", original, 160, DerivativeFormat.JPEG);
+
+        cache.deleteDroppedFiles();
+
+        assertThat(first).exists();
+        assertThat(Files.size(first)).isPositive();
+    }
+
+    private ImageDerivativeCache cache(long graceMillis) throws IOException {
+        ImageDerivativeCache cache = new ImageDerivativeCache(dir.resolve("cache").toString(), maxBytes, graceMillis);
+        cache.loadIndex();
+        return cache;
+    }
+}
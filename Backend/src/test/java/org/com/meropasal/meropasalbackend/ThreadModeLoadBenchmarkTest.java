@@ -0,0 +1,178 @@
+package org.com.meropasal.meropasalbackend;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 6:35 AM
+ * Author : Monu Siddiki
+ * Description : Load test of the storefront listing over real HTTP, once with Tomcat on its platform-thread
+ * pool and once with spring.threads.virtual.enabled, at each of -Dbenchmark.load.connections concurrent
+ * connections (1000, 5000 and 10000 unless set) for -Dbenchmark.load.seconds each. Throughput and p99 are
+ * logged per level; virtual threads must keep at least -Dbenchmark.load.min-throughput-ratio (0.9) of the
+ * platform throughput and at most -Dbenchmark.load.max-p99-ratio (1.1) of its p99 at every level. Every client
+ * holds its own HTTP/1.1 connection, so the level is the number of open sockets Tomcat has to serve.
+ **/
+@Slf4j
+@Tag("benchmark")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class ThreadModeLoadBenchmarkTest {
+
+    private static final List<Integer> CONNECTIONS = Arrays.stream(
+            System.getProperty("benchmark.load.connections", "1000,5000,10000").split(","))
+            .map(String::trim).map(Integer::valueOf).toList();
+    private static final Duration LEVEL_DURATION = Duration.ofSeconds(Long.getLong("benchmark.load.seconds", 20));
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double MIN_THROUGHPUT_RATIO = Double.parseDouble(System.getProperty("benchmark.load.min-throughput-ratio", "0.9"));
+    private static final double MAX_P99_RATIO = Double.parseDouble(System.getProperty("benchmark.load.max-p99-ratio", "1.1"));
+
+    private record LevelResult(double requestsPerSecond, double p99Millis, long errors) {}
+
+    // Mode -> connections -> result, filled by the nested runs and compared once both have finished
+    private static final Map<String, Map<Integer, LevelResult>> RESULTS = new ConcurrentHashMap<>();
+
+    @Nested
+    @Order(1)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends PostgresIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Test
+        void storefrontUnderLoad() throws Exception {
+            RESULTS.put("platform", runLevels(port, dataSource));
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends PostgresIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Test
+        void storefrontUnderLoad() throws Exception {
+            RESULTS.put("virtual", runLevels(port, dataSource));
+        }
+    }
+
+    @AfterAll
+    static void virtualThreadsHoldUpAgainstPlatformThreads() {
+        Map<Integer, LevelResult> platform = RESULTS.get("platform");
+        Map<Integer, LevelResult> virtual = RESULTS.get("virtual");
+        if (platform == null || virtual == null) {
+            // Skipped without Postgres, or one mode failed on its own
+            return;
+        }
+        for (int connections : CONNECTIONS) {
+            LevelResult p = platform.get(connections);
+            LevelResult v = virtual.get(connections);
+            log.info("{} connections: platform {} req/s p99 {} ms ({} errors), virtual {} req/s p99 {} ms ({} errors)",
+                    connections, Math.round(p.requestsPerSecond()), Math.round(p.p99Millis()), p.errors(),
+                    Math.round(v.requestsPerSecond()), Math.round(v.p99Millis()), v.errors());
+            assertThat(v.requestsPerSecond())
+                    .as("virtual-thread req/s at %d connections", connections)
+                    .isGreaterThanOrEqualTo(p.requestsPerSecond() * MIN_THROUGHPUT_RATIO);
+            assertThat(v.p99Millis())
+                    .as("virtual-thread p99 ms at %d connections", connections)
+                    .isLessThanOrEqualTo(p.p99Millis() * MAX_P99_RATIO);
+        }
+    }
+
+    private static Map<Integer, LevelResult> runLevels(int port, DataSource dataSource) throws Exception {
+        TestData testData = new TestData(dataSource);
+        UUID shopId = testData.shop();
+        for (int i = 0; i < 200; i++) {
+            testData.product(shopId, new BigDecimal(100 + i), 10);
+        }
+        URI listing = URI.create("http://localhost:" + port + "/products/browse?shopId=" + shopId + "&size=24&facets=false");
+
+        Map<Integer, LevelResult> results = new ConcurrentHashMap<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+            drive(http, listing, CONNECTIONS.get(0), WARMUP, new Latencies("warm-up"), new AtomicLong());
+            for (int connections : CONNECTIONS) {
+                Latencies latencies = new Latencies(connections + " connections");
+                AtomicLong errors = new AtomicLong();
+                drive(http, listing, connections, LEVEL_DURATION, latencies, errors);
+                results.put(connections, new LevelResult(latencies.count() / (double) LEVEL_DURATION.toSeconds(),
+                        latencies.percentileMillis(99), errors.get()));
+                log.info("{}, {} errors", latencies, errors.get());
+            }
+        }
+        return results;
+    }
+
+    // Each client keeps one request in flight until the level ends; failed requests count as errors, not samples
+    private static void drive(HttpClient http, URI uri, int connections, Duration duration, Latencies latencies,
+                              AtomicLong errors) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.record(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+}
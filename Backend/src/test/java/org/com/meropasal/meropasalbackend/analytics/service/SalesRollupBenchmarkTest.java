@@ -0,0 +1,143 @@
+package org.com.meropasal.meropasalbackend.analytics.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesPoint;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesReport;
+import org.com.meropasal.meropasalbackend.analytics.dto.SalesSummary;
+import org.com.meropasal.meropasalbackend.analytics.dto.TopProductSales;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.SyntheticCatalog;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 5:00 AM
+ * Author : Monu Siddiki
+ * Description : The 30-day sales dashboard of a shop with -Dbenchmark.rollup.orders orders (1M unless set),
+ * served from the rollups after a replay, against the same numbers aggregated live from orders and
+ * order_items. Both must agree, and the rollup p95 must beat the live p95 by -Dbenchmark.rollup.min-speedup.
+ **/
+@Slf4j
+@Tag("benchmark")
+class SalesRollupBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.rollup.orders", 1_000_000);
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 30);
+    private static final int WARMUP = 5;
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("benchmark.rollup.min-speedup", "5"));
+    private static final int TOP = 10;
+
+    // The same order filter rebuildFromOrders replays
+    private static final String LIVE_ORDERS = """
+        FROM orders o
+        WHERE o.shop_id = ? AND o.deleted = false AND o.status <> 'CANCELLED' AND o.created_at >= ? AND o.created_at < ?
+        """;
+
+    private static final String LIVE_SUMMARY = """
+        SELECT count(*), coalesce(sum(b.items), 0), coalesce(sum(b.total), 0)
+        FROM (SELECT o.total, (SELECT sum(oi.quantity) FROM order_items oi WHERE oi.order_id = o.id AND oi.deleted = false) AS items
+        """ + LIVE_ORDERS + ") b";
+
+    private static final String LIVE_SERIES = """
+        SELECT b.point, count(*), coalesce(sum(b.items), 0), sum(b.total)
+        FROM (SELECT date_trunc('day', o.created_at) AS point, o.total,
+                     (SELECT sum(oi.quantity) FROM order_items oi WHERE oi.order_id = o.id AND oi.deleted = false) AS items
+        """ + LIVE_ORDERS + ") b GROUP BY b.point ORDER BY b.point";
+
+    private static final String LIVE_TOP_PRODUCTS = """
+        SELECT sum(oi.unit_price * oi.quantity) AS revenue
+        FROM orders o JOIN order_items oi ON oi.order_id = o.id AND oi.deleted = false
+        WHERE o.shop_id = ? AND o.deleted = false AND o.status <> 'CANCELLED' AND o.created_at >= ? AND o.created_at < ?
+        GROUP BY oi.product_id HAVING sum(oi.quantity) > 0 ORDER BY revenue DESC LIMIT ?
+        """;
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private UUID shopId;
+
+    @BeforeEach
+    void seed() {
+        TestData testData = new TestData(dataSource);
+        jdbc = testData.jdbc();
+        SyntheticCatalog catalog = new SyntheticCatalog(testData);
+        shopId = catalog.ensure(PRODUCTS).get(2);
+        catalog.ensureOrders(shopId, ORDERS);
+
+        // Seeded orders bypass the order events, so the rollups come from the replay tool
+        long start = System.nanoTime();
+        rollupService.rebuildShop(shopId);
+        log.info("Replayed {} orders into rollups in {} ms", ORDERS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    void rollupsAnswerTheDashboardFasterThanLiveAggregation() throws Exception {
+        // A 30-day range on whole hours, so the report serves exactly the range the live queries read
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = to.minusDays(30);
+
+        Latencies rollup = new Latencies("dashboard from rollups");
+        SalesReport report = measure(rollup, () -> rollupService.report(shopId, from, to, TOP));
+        Latencies live = new Latencies("dashboard aggregated live");
+        SalesReport liveReport = measure(live, () -> liveReport(from, to));
+        log.info("{} over {} orders", rollup, ORDERS);
+        log.info("{} over {} orders", live, ORDERS);
+
+        assertThat(report.summary().orders()).isPositive();
+        assertThat(report.summary()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(liveReport.summary());
+        assertThat(report.series()).usingRecursiveFieldByFieldElementComparator(RecursiveComparisonConfiguration.builder()
+                        .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).build())
+                .containsExactlyElementsOf(liveReport.series());
+        assertThat(report.topProducts()).extracting(TopProductSales::revenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyElementsOf(liveReport.topProducts().stream().map(TopProductSales::revenue).toList());
+        assertThat(rollup.percentileMillis(95) * MIN_SPEEDUP)
+                .as("rollup p95 times %s against live p95, in ms", MIN_SPEEDUP)
+                .isLessThanOrEqualTo(live.percentileMillis(95));
+    }
+
+    // Only what the assertions compare is filled in; top products carry just their revenue
+    private SalesReport liveReport(LocalDateTime from, LocalDateTime to) {
+        SalesSummary summary = jdbc.queryForObject(LIVE_SUMMARY, (rs, row) ->
+                new SalesSummary(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)), shopId, from, to);
+        List<SalesPoint> series = jdbc.query(LIVE_SERIES, (rs, row) -> new SalesPoint(
+                rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4)), shopId, from, to);
+        List<TopProductSales> topProducts = jdbc.query(LIVE_TOP_PRODUCTS, (rs, row) ->
+                new TopProductSales(null, null, 0, 0, rs.getBigDecimal(1)), shopId, from, to, TOP);
+        return new SalesReport(from, to, null, summary, series, topProducts);
+    }
+
+    private static SalesReport measure(Latencies latencies, Callable<SalesReport> dashboard) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            dashboard.call();
+        }
+        SalesReport result = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = latencies.time(dashboard);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package org.com.meropasal.meropasalbackend.customer.service;
+
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 19 Oct 11:50 PM
+ * Author : Monu Siddiki
+ * Description : Concurrent adds of one product to one customer's cart, released together: they must end in a
+ * single line holding the summed quantity, and a SKU's stock must cap it without any add being lost.
+ **/
+class CartServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CONCURRENT_ADDS = 50;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID customerId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        customerId = testData.customer();
+        productId = testData.product(testData.shop(), new BigDecimal("120.00"), 1_000);
+    }
+
+    @Test
+    void concurrentAddsSumIntoOneLine() throws Exception {
+        List<Throwable> failures = addConcurrently(null, 2);
+
+        assertThat(failures).isEmpty();
+        Map<String, Object> line = singleLine();
+        assertThat(line.get("quantity")).isEqualTo(CONCURRENT_ADDS * 2);
+        assertThat((BigDecimal) line.get("total_price")).isEqualByComparingTo(new BigDecimal("12000.00"));
+    }
+
+    @Test
+    void concurrentAddsAreCappedBySkuStock() throws Exception {
+        UUID skuId = testData.sku(productId, "M", 30);
+
+        List<Throwable> failures = addConcurrently(skuId, 1);
+
+        // Exactly the adds past the stock are rejected; the rest all land on the one line
+        assertThat(failures).hasSize(CONCURRENT_ADDS - 30)
+                .allSatisfy(failure -> assertThat(failure).isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("Only 30 left"));
+        Map<String, Object> line = singleLine();
+        assertThat(line.get("quantity")).isEqualTo(30);
+        assertThat(line.get("sku_id")).isEqualTo(skuId);
+    }
+
+    // Starts every add at once and returns the exceptions of the ones that failed
+    private List<Throwable> addConcurrently(UUID skuId, int quantity) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> adds = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ADDS)) {
+            for (int i = 0; i < CONCURRENT_ADDS; i++) {
+                adds.add(executor.submit(() -> {
+                    start.await();
+                    return cartService.addToCart(customerId, productId, quantity, null, skuId);
+                }));
+            }
+            start.countDown();
+        }
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> add : adds) {
+            try {
+                add.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        return failures;
+    }
+
+    private Map<String, Object> singleLine() {
+        List<Map<String, Object>> lines = testData.jdbc().queryForList(
+                "SELECT quantity, total_price, sku_id FROM cart_items WHERE customer_id = ? AND product_id = ?",
+                customerId, productId);
+        assertThat(lines).hasSize(1);
+        return lines.get(0);
+    }
+}
@@ -0,0 +1,98 @@
+package org.com.meropasal.meropasalbackend.database.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 6:00 AM
+ * Author : Monu Siddiki
+ * Description : Inserts -Dbenchmark.uuid.rows rows (1M unless set) shaped like order_items into two identical
+ * tables, one keyed by random v4 UUIDs and one by UuidV7Generator ids, in the same JDBC batches. The v7 table's
+ * primary-key index must come out smaller and its inserts at least -Dbenchmark.uuid.min-speedup times as fast.
+ **/
+@Slf4j
+@Tag("benchmark")
+class UuidV7BenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.uuid.rows", 1_000_000);
+    private static final int BATCH = 1_000;
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("benchmark.uuid.min-speedup", "1.0"));
+    private static final String V4_TABLE = "uuid_benchmark_v4";
+    private static final String V7_TABLE = "uuid_benchmark_v7";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createTables() {
+        jdbc = new TestData(dataSource).jdbc();
+        for (String table : List.of(V4_TABLE, V7_TABLE)) {
+            jdbc.execute("DROP TABLE IF EXISTS " + table);
+            jdbc.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, order_id uuid NOT NULL, product_id uuid NOT NULL, "
+                    + "quantity integer NOT NULL, unit_price numeric(10,2) NOT NULL, created_at timestamp(6) NOT NULL)");
+        }
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbc.execute("DROP TABLE IF EXISTS " + V4_TABLE);
+        jdbc.execute("DROP TABLE IF EXISTS " + V7_TABLE);
+    }
+
+    @Test
+    void v7KeysInsertFasterIntoASmallerIndex() {
+        // Interleaved halves, so a checkpoint or autovacuum lands on both schemes alike
+        double v4Seconds = insert(V4_TABLE, UUID::randomUUID, 0, ROWS / 2);
+        double v7Seconds = insert(V7_TABLE, UuidV7Generator::next, 0, ROWS / 2);
+        v4Seconds += insert(V4_TABLE, UUID::randomUUID, ROWS / 2, ROWS);
+        v7Seconds += insert(V7_TABLE, UuidV7Generator::next, ROWS / 2, ROWS);
+
+        long v4Index = indexBytes(V4_TABLE);
+        long v7Index = indexBytes(V7_TABLE);
+        log.info("v4: {} rows/s, primary key {} MB", String.format("%.0f", ROWS / v4Seconds), v4Index / (1024 * 1024));
+        log.info("v7: {} rows/s, primary key {} MB", String.format("%.0f", ROWS / v7Seconds), v7Index / (1024 * 1024));
+
+        assertThat(v7Index).as("v7 primary key bytes").isLessThan(v4Index);
+        assertThat(v4Seconds / v7Seconds).as("v7 insert speedup over v4").isGreaterThanOrEqualTo(MIN_SPEEDUP);
+    }
+
+    private double insert(String table, Supplier<UUID> ids, int from, int to) {
+        String sql = "INSERT INTO " + table + " (id, order_id, product_id, quantity, unit_price, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        UUID productId = UUID.randomUUID();
+        long start = System.nanoTime();
+        for (int first = from; first < to; first += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            UUID orderId = ids.get();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int n = first; n < Math.min(first + BATCH, to); n++) {
+                rows.add(new Object[]{ids.get(), orderId, productId, 1 + n % 3, BigDecimal.valueOf(100 + (n * 37L) % 9900), now});
+            }
+            jdbc.batchUpdate(sql, rows);
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private long indexBytes(String table) {
+        Long bytes = jdbc.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        return bytes != null ? bytes : 0;
+    }
+}
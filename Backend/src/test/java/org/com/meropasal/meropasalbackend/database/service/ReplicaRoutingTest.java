@@ -0,0 +1,191 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import jakarta.servlet.http.Cookie;
+import org.com.meropasal.meropasalbackend.address.dto.ShippingAddressDTO;
+import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
+import org.com.meropasal.meropasalbackend.order.service.OrderService;
+import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 7:30 AM
+ * Author : Monu Siddiki
+ * Description : Replica routing against two databases: the test database as primary and a second one, given
+ * the same schema, as the replica. Which one serves a transaction is read back with current_database().
+ * A read-only transaction goes to the replica; a checkout keeps the rest of its request on the primary, and
+ * the pin it hands out keeps the client's next request there too, until the window ends, while a forged pin
+ * is ignored. A signed-in user is pinned by name without the cookie.
+ **/
+class ReplicaRoutingTest extends PostgresIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "meropasal_replica_test";
+    private static final long WINDOW_MILLIS = 1_500;
+    private static boolean replicaMigrated;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", () -> database(REPLICA_DATABASE));
+        registry.add("app.datasource.replica.read-your-writes-window", () -> WINDOW_MILLIS + "ms");
+        registry.add("app.datasource.replica.pin-secret", () -> "replica-routing-test");
+    }
+
+    @Autowired
+    private ReplicaRoutingPolicy policy;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private WorkloadPools workloadPools;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String primaryDatabase;
+
+    @BeforeEach
+    void setUp() {
+        if (!replicaMigrated) {
+            // A real replica carries the primary's schema; reads routed there before a write must still work
+            WorkloadPools.ShardNode home = workloadPools.shards().get(0);
+            FluentConfiguration configuration = Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(database(REPLICA_DATABASE), home.username(), home.password());
+            configuration.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class).setTransactionalLock(false);
+            configuration.load().migrate();
+            replicaMigrated = true;
+        }
+        primaryDatabase = new JdbcTemplate(workloadPools.primary(WorkloadClass.OLTP))
+                .queryForObject("SELECT current_database()", String.class);
+        policy.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        startRequest();
+        assertThat(databaseServing(true)).isEqualTo(REPLICA_DATABASE);
+        assertThat(databaseServing(true)).as("a second read in the same request").isEqualTo(REPLICA_DATABASE);
+        assertThat(databaseServing(false)).isEqualTo(primaryDatabase);
+    }
+
+    @Test
+    void checkoutPinsItsRequestAndThenItsClientToThePrimary() throws InterruptedException {
+        TestData testData = new TestData(dataSource);
+        UUID shopId = testData.shop();
+        UUID productId = testData.product(shopId, new BigDecimal("450.00"), 10);
+        UUID customerId = testData.customer();
+        startRequest();
+        cartService.addToCart(customerId, productId, 1, null, null);
+
+        // A new client: nothing pins it yet
+        MockHttpServletResponse checkoutResponse = startRequest();
+        assertThat(databaseServing(true)).isEqualTo(REPLICA_DATABASE);
+        orderService.createOrderFromCart(orderRequest(shopId), customerId);
+        assertThat(databaseServing(true)).as("read after the checkout, same request").isEqualTo(primaryDatabase);
+
+        Cookie pin = checkoutResponse.getCookie(ReplicaRoutingPolicy.PIN_COOKIE);
+        assertThat(pin).isNotNull();
+        assertThat(pin.isHttpOnly()).isTrue();
+        startRequest(pin);
+        assertThat(databaseServing(true)).as("next request with the pin").isEqualTo(primaryDatabase);
+        startRequest();
+        assertThat(databaseServing(true)).as("another client").isEqualTo(REPLICA_DATABASE);
+
+        String signature = pin.getValue().substring(pin.getValue().indexOf('.'));
+        startRequest(new Cookie(pin.getName(), Long.MAX_VALUE + signature));
+        assertThat(databaseServing(true)).as("pin with its expiry pushed out").isEqualTo(REPLICA_DATABASE);
+        startRequest(new Cookie(pin.getName(), "garbage"));
+        assertThat(databaseServing(true)).as("garbage pin").isEqualTo(REPLICA_DATABASE);
+
+        Thread.sleep(WINDOW_MILLIS + 500);
+        startRequest(pin);
+        assertThat(databaseServing(true)).as("pin after the window").isEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void signedInUserIsPinnedWithoutTheCookie() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("pinned-" + UUID.randomUUID() + "@example.com", null, List.of()));
+        startRequest();
+        assertThat(databaseServing(false)).isEqualTo(primaryDatabase);
+
+        startRequest();
+        assertThat(databaseServing(true)).isEqualTo(primaryDatabase);
+        SecurityContextHolder.clearContext();
+        assertThat(databaseServing(true)).as("same request, signed out").isEqualTo(REPLICA_DATABASE);
+    }
+
+    // The database behind a transaction, as the routing DataSource chose it
+    private String databaseServing(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static MockHttpServletResponse startRequest(Cookie... cookies) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static OrderRequestDTO orderRequest(UUID shopId) {
+        return OrderRequestDTO.builder()
+                .shopId(shopId.toString())
+                .shippingAddress(new ShippingAddressDTO("Test Customer", "customer@example.com", "9800000000",
+                        "Nepal", "Baneshwor", "Kathmandu"))
+                .paymentMethod(PaymentMethod.COD)
+                .subtotal(new BigDecimal("450.00"))
+                .deliveryFee(BigDecimal.ZERO)
+                .total(new BigDecimal("450.00"))
+                .build();
+    }
+}
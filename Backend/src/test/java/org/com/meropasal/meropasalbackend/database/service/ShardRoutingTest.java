@@ -0,0 +1,192 @@
+package org.com.meropasal.meropasalbackend.database.service;
+
+import org.com.meropasal.meropasalbackend.customer.dto.CartItemDTO;
+import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.customer.service.CustomerService;
+import org.com.meropasal.meropasalbackend.database.config.ShardContext;
+import org.com.meropasal.meropasalbackend.database.config.ShardKey;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.com.meropasal.meropasalbackend.product.dto.ProductDTO;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchCriteria;
+import org.com.meropasal.meropasalbackend.product.service.ProductSearchService;
+import org.com.meropasal.meropasalbackend.product.service.ProductService;
+import org.com.meropasal.meropasalbackend.shop.dto.ShopDTO;
+import org.com.meropasal.meropasalbackend.shop.dto.ShopThemeDTO;
+import org.com.meropasal.meropasalbackend.shop.entity.Shop;
+import org.com.meropasal.meropasalbackend.shop.enums.District;
+import org.com.meropasal.meropasalbackend.shop.enums.Province;
+import org.com.meropasal.meropasalbackend.shop.service.ShopService;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 7:00 AM
+ * Author : Monu Siddiki
+ * Description : Shop sharding over three local databases: the test database as home plus two created next
+ * to it. Shops are created through ShopService until every shard holds one, and a product is added to each.
+ * Each product row must exist on its shop's shard alone and be found by id, while the customer's cart, the
+ * shop list, the gallery and search gather from every shard. Within one request, a home-table write after
+ * a sharded call still lands on home, while reads outside a transaction follow the shard the request used.
+ **/
+class ShardRoutingTest extends PostgresIntegrationTest {
+
+    private static final int SHARDS = 3;
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.shards.urls",
+                () -> database("meropasal_shard_test1") + "," + database("meropasal_shard_test2"));
+    }
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private WorkloadPools workloadPools;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void routesEachShopToOneShardAndGathersAcrossAll() {
+        assertThat(shardDirectory.shardCount()).isEqualTo(SHARDS);
+        TestData testData = new TestData(dataSource);
+        String token = "shardroute" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+
+        Map<Integer, UUID> shopByShard = placeAShopOnEveryShard(testData, token);
+
+        Map<Integer, UUID> productByShard = new TreeMap<>();
+        shopByShard.forEach((shard, shopId) -> {
+            ProductDTO product = new ProductDTO();
+            product.setShopId(shopId);
+            product.setName("Dhaka topi " + token + " " + shard);
+            product.setPrice(new BigDecimal("450.00"));
+            product.setStock(10);
+            product.setActive(true);
+            productByShard.put(shard, productService.createProduct(product).getId());
+        });
+
+        productByShard.forEach((shard, productId) -> {
+            for (int other = 0; other < SHARDS; other++) {
+                Integer rows = shardJdbc(other).queryForObject(
+                        "SELECT count(*) FROM products WHERE id = ?", Integer.class, productId);
+                assertThat(rows).as("product of shard %d on shard %d", shard, other).isEqualTo(other == shard ? 1 : 0);
+            }
+            assertThat(shardDirectory.resolve(ShardKey.PRODUCT, productId)).isEqualTo(shard);
+            assertThat(productService.getProductById(productId).getShopId()).isEqualTo(shopByShard.get(shard));
+        });
+
+        UUID customerId = testData.customer();
+        productByShard.values().forEach(productId -> cartService.addToCart(customerId, productId, 1, null, null));
+        assertThat(cartService.getCartItems(customerId))
+                .extracting(CartItemDTO::getProductId)
+                .containsExactlyInAnyOrderElementsOf(productByShard.values());
+
+        assertThat(shopService.getAllShops()).extracting(Shop::getId).containsAll(shopByShard.values());
+        assertThat(shopService.getAllActiveShopsForGallery())
+                .extracting(ShopThemeDTO::getShopId)
+                .containsAll(shopByShard.values());
+        assertThat(searchService.search(new ProductSearchCriteria(token, null, null, null, null, false), 0, 10).products())
+                .extracting(ProductDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(productByShard.values());
+    }
+
+    @Test
+    void homeWriteAfterAShardedCallInTheSameRequestStaysOnHome() {
+        TestData testData = new TestData(dataSource);
+        String token = "shardhome" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        int shard = SHARDS - 1;
+        ProductDTO product = new ProductDTO();
+        product.setShopId(placeAShopOnEveryShard(testData, token).get(shard));
+        product.setName("Pinned product " + token);
+        product.setPrice(new BigDecimal("450.00"));
+        product.setStock(10);
+        product.setActive(true);
+        UUID productId = productService.createProduct(product).getId();
+        UUID customerId = testData.customer();
+        // Leaves a copy of the customer on the shard, which a misrouted write would update instead of home's row
+        cartService.addToCart(customerId, productId, 1, null, null);
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertThat(productService.getProductById(productId).getId()).isEqualTo(productId);
+        customerService.logout(customerId);
+
+        String verified = "SELECT verified FROM customer_details WHERE id = ?";
+        assertThat(shardJdbc(ShardContext.HOME).queryForObject(verified, Boolean.class, customerId))
+                .as("home customer row").isFalse();
+        assertThat(shardJdbc(shard).queryForObject(verified, Boolean.class, customerId))
+                .as("customer copy on shard %d", shard).isTrue();
+        // A connection taken outside any transaction, as an open-in-view lazy load is, follows the request's shard
+        String database = "SELECT current_database()";
+        assertThat(new JdbcTemplate(dataSource).queryForObject(database, String.class))
+                .isEqualTo(shardJdbc(shard).queryForObject(database, String.class));
+    }
+
+    // New shops go to the least used shard, so one round past the fullest shard's lead reaches every shard
+    private Map<Integer, UUID> placeAShopOnEveryShard(TestData testData, String token) {
+        Integer lead = shardJdbc(0).queryForObject("""
+                SELECT max(c) - min(c) FROM (
+                    SELECT count(d.shop_id) AS c FROM generate_series(0, ? - 1) AS s(shard)
+                    LEFT JOIN shop_shards d ON d.shard = s.shard GROUP BY s.shard) counts
+                """, Integer.class, SHARDS);
+        int attempts = (lead != null ? lead : 0) * SHARDS + SHARDS;
+
+        Map<Integer, UUID> shopByShard = new TreeMap<>();
+        for (int n = 0; n < attempts && shopByShard.size() < SHARDS; n++) {
+            String url = token + "-" + n;
+            Shop shop = shopService.createShop(
+                    new ShopDTO(url, "Shard shop " + n, null, null, District.KATHMANDU, Province.BAGMATI_PROVINCE, null),
+                    testData.owner());
+            int shard = shardDirectory.resolve(ShardKey.SHOP, shop.getId());
+            assertThat(shardJdbc(shard).queryForObject("SELECT count(*) FROM shop WHERE id = ?", Integer.class, shop.getId()))
+                    .as("shop %s on its shard %d", url, shard).isEqualTo(1);
+            shopByShard.putIfAbsent(shard, shop.getId());
+        }
+        assertThat(shopByShard).as("shards holding a new shop").hasSize(SHARDS);
+        return shopByShard;
+    }
+
+    private JdbcTemplate shardJdbc(int shard) {
+        return new JdbcTemplate(workloadPools.primary(WorkloadClass.OLTP, shard));
+    }
+}
@@ -0,0 +1,75 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Created On : 2026 20 Oct 2:30 AM
+ * Author : Monu Siddiki
+ * Description : One follower's bad address must not cost the rest of the batch their notification
+ **/
+class EmailFollowerNotificationSinkTest {
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final EmailFollowerNotificationSink sink = new EmailFollowerNotificationSink(mailSender);
+
+    @Test
+    void skipsMissingAndMalformedAddresses() {
+        List<FollowerNotificationTarget> batch = List.of(target("a@example.com"), target(null), target(" "),
+                target("not an address"), target("b@example.com"));
+
+        assertThat(sink.deliver(batch, "subject", "body")).isEqualTo(2);
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertThat(Arrays.stream(sent.getValue()).map(message -> message.getTo()[0]))
+                .containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void batchWithoutValidAddressesSendsNothing() {
+        assertThat(sink.deliver(List.of(target(null), target("@")), "subject", "body")).isZero();
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void rejectedRecipientOnlyLosesTheirOwnMessage() {
+        doThrow(new MailSendException(Map.of(new Object(), new IllegalStateException("550 mailbox unavailable"))))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        int delivered = sink.deliver(List.of(target("a@example.com"), target("b@example.com"), target("c@example.com")),
+                "subject", "body");
+
+        assertThat(delivered).isEqualTo(2);
+    }
+
+    @Test
+    void batchThatReachedNobodyFails() {
+        doThrow(new MailSendException(Map.of(new Object(), new IllegalStateException("connection refused"))))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        assertThatThrownBy(() -> sink.deliver(List.of(target("a@example.com")), "subject", "body"))
+                .isInstanceOf(MailSendException.class);
+    }
+
+    private static FollowerNotificationTarget target(String email) {
+        return new FollowerNotificationTarget(UUID.randomUUID(), email);
+    }
+}
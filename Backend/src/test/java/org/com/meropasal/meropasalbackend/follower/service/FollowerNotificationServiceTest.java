@@ -0,0 +1,212 @@
+package org.com.meropasal.meropasalbackend.follower.service;
+
+import org.com.meropasal.meropasalbackend.follower.dto.FollowerNotificationTarget;
+import org.com.meropasal.meropasalbackend.follower.repo.FollowerRepository;
+import org.com.meropasal.meropasalbackend.shop.repo.ShopRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created On : 2026 19 Oct 10:40 PM
+ * Author : Monu Siddiki
+ * Description : Fan-out against an in-memory follower table and a fake sink: every follower is delivered
+ * exactly once across keyset pages, batches respect the configured size, and a blocked sink holds the
+ * batches in flight at the cap while the publisher waits. A pool that rejects batches ends the fan-out
+ * instead of leaving it waiting for permits that were never handed back.
+ **/
+class FollowerNotificationServiceTest {
+
+    private static final UUID SHOP_ID = UUID.randomUUID();
+    private static final int PAGE_SIZE = 250;
+    private static final int BATCH_SIZE = 40;
+    private static final int PARALLELISM = 3;
+    private static final int MAX_IN_FLIGHT = 2 * PARALLELISM;
+
+    private final List<UUID> afterIds = Collections.synchronizedList(new ArrayList<>());
+    private FollowerRepository followerRepository;
+    private RecordingSink sink;
+    private FollowerNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        followerRepository = mock(FollowerRepository.class);
+        sink = new RecordingSink();
+        service = new FollowerNotificationService(followerRepository, mock(ShopRepository.class), sink,
+                PAGE_SIZE, BATCH_SIZE, PARALLELISM);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void deliversEveryFollowerOnceAcrossPages() {
+        List<FollowerNotificationTarget> followers = followers(1_003);
+        stubFollowers(followers);
+
+        int delivered = service.fanOut(SHOP_ID, "subject", "body");
+
+        assertThat(delivered).isEqualTo(followers.size());
+        assertThat(sink.received).hasSize(followers.size());
+        assertThat(sink.received.keySet()).containsExactlyInAnyOrderElementsOf(
+                followers.stream().map(FollowerNotificationTarget::followerId).toList());
+        assertThat(sink.received.values()).allMatch(count -> count.get() == 1);
+        assertThat(sink.batchSizes).allMatch(size -> size <= BATCH_SIZE);
+        // Five pages: four full ones and a short one that ends the loop without another query
+        assertThat(afterIds).hasSize(5);
+        assertThat(afterIds.get(0)).isEqualTo(new UUID(0L, 0L));
+        assertThat(afterIds.get(1)).isEqualTo(followers.get(PAGE_SIZE - 1).followerId());
+    }
+
+    @Test
+    void capsBatchesInFlightAndBlocksThePublisher() throws Exception {
+        stubFollowers(followers(2_000));
+        sink.gate = new CountDownLatch(1);
+        // An unbounded executor, so nothing but the semaphore keeps further batches from starting
+        ExecutorService unbounded = Executors.newCachedThreadPool();
+        FollowerNotificationService capped = new FollowerNotificationService(followerRepository, mock(ShopRepository.class),
+                sink, unbounded, PAGE_SIZE, BATCH_SIZE, MAX_IN_FLIGHT);
+        ExecutorService publisher = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> fanOut = publisher.submit(() -> capped.fanOut(SHOP_ID, "subject", "body"));
+
+            awaitConcurrent(MAX_IN_FLIGHT);
+            // Give the publisher time to overrun the cap if it could
+            Thread.sleep(200);
+            assertThat(sink.concurrent.get()).isEqualTo(MAX_IN_FLIGHT);
+            assertThat(sink.batchSizes).hasSize(MAX_IN_FLIGHT);
+            assertThat(fanOut).isNotDone();
+            // The first page holds seven batches; the publisher is parked on the seventh and has not paged on
+            assertThat(afterIds).hasSize(1);
+
+            sink.gate.countDown();
+            assertThat(fanOut.get(10, TimeUnit.SECONDS)).isEqualTo(2_000);
+            assertThat(sink.maxConcurrent.get()).isEqualTo(MAX_IN_FLIGHT);
+            assertThat(sink.received).hasSize(2_000);
+        } finally {
+            sink.gate.countDown();
+            publisher.shutdownNow();
+            capped.shutdown();
+        }
+    }
+
+    @Test
+    void failedBatchIsNotCountedAndOthersStillDeliver() {
+        List<FollowerNotificationTarget> followers = followers(200);
+        stubFollowers(followers);
+        sink.failBatchContaining = followers.get(50).followerId();
+
+        int delivered = service.fanOut(SHOP_ID, "subject", "body");
+
+        assertThat(delivered).isEqualTo(200 - BATCH_SIZE);
+        assertThat(sink.received).hasSize(200 - BATCH_SIZE);
+    }
+
+    @Test
+    void rejectedBatchesDoNotHangTheFanOut() {
+        stubFollowers(followers(200));
+        ExecutorService shutDown = Executors.newSingleThreadExecutor();
+        shutDown.shutdown();
+        FollowerNotificationService rejecting = new FollowerNotificationService(followerRepository, mock(ShopRepository.class),
+                sink, shutDown, PAGE_SIZE, BATCH_SIZE, MAX_IN_FLIGHT);
+
+        int delivered = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> rejecting.fanOut(SHOP_ID, "subject", "body"));
+
+        assertThat(delivered).isZero();
+        assertThat(sink.batchSizes).isEmpty();
+    }
+
+    @Test
+    void shopWithoutFollowersSendsNothing() {
+        stubFollowers(List.of());
+
+        assertThat(service.fanOut(SHOP_ID, "subject", "body")).isZero();
+        assertThat(sink.batchSizes).isEmpty();
+    }
+
+    private void awaitConcurrent(int batches) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.concurrent.get() < batches) {
+            assertThat(System.nanoTime()).as("%d batches in flight", batches).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // Answers the keyset query like Postgres would: id > afterId, ordered by id, at most limit rows
+    private void stubFollowers(List<FollowerNotificationTarget> followers) {
+        when(followerRepository.findNotificationTargets(eq(SHOP_ID), any(UUID.class), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    UUID afterId = invocation.getArgument(1);
+                    Limit limit = invocation.getArgument(2);
+                    afterIds.add(afterId);
+                    return followers.stream()
+                            .filter(target -> target.followerId().compareTo(afterId) > 0)
+                            .limit(limit.max())
+                            .toList();
+                });
+    }
+
+    // Positive, increasing ids so UUID.compareTo agrees with Postgres' unsigned uuid order
+    private static List<FollowerNotificationTarget> followers(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new FollowerNotificationTarget(new UUID(0L, i), "follower" + i + "@example.com"))
+                .sorted(Comparator.comparing(FollowerNotificationTarget::followerId))
+                .toList();
+    }
+
+    private static final class RecordingSink implements FollowerNotificationSink {
+
+        private final ConcurrentHashMap<UUID, AtomicInteger> received = new ConcurrentHashMap<>();
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile CountDownLatch gate;
+        private volatile UUID failBatchContaining;
+
+        @Override
+        public int deliver(List<FollowerNotificationTarget> batch, String subject, String body) {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                batchSizes.add(batch.size());
+                if (batch.stream().anyMatch(target -> target.followerId().equals(failBatchContaining))) {
+                    throw new IllegalStateException("SMTP unavailable");
+                }
+                if (gate != null) {
+                    gate.await();
+                }
+                batch.forEach(target -> received.computeIfAbsent(target.followerId(), id -> new AtomicInteger()).incrementAndGet());
+                return batch.size();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while delivering", e);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.com.meropasal.meropasalbackend.idempotency.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.com.meropasal.meropasalbackend.address.dto.ShippingAddressDTO;
+import org.com.meropasal.meropasalbackend.authSystem.config.CustomerJwtService;
+import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.order.controller.OrderController;
+import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
+import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 8:00 AM
+ * Author : Monu Siddiki
+ * Description : Idempotency-Key on order creation, through the controller as a request reaches it. Two
+ * concurrent checkouts sent with one key place one order: the second waits and replays the first's response,
+ * marked Idempotent-Replayed. A checkout that fails leaves its key free, so a retry with it places the order.
+ **/
+class IdempotencyAspectTest extends PostgresIntegrationTest {
+
+    private static final String COUNT_ORDERS = "SELECT count(*) FROM orders WHERE customer_id = ?";
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CustomerJwtService customerJwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+    private UUID productId;
+    private UUID customerId;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        shopId = testData.shop();
+        productId = testData.product(shopId, new BigDecimal("450.00"), 10);
+        customerId = testData.customer();
+        authorization = "Bearer " + customerJwtService.generateToken(customerId.toString(), "customer@example.com");
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void concurrentDuplicatesPlaceOneOrderAndReplayItsResponse() throws Exception {
+        cartService.addToCart(customerId, productId, 1, null, null);
+        String key = UUID.randomUUID().toString();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> calls = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 2; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    return createOrder(key);
+                }));
+            }
+            start.countDown();
+        }
+        List<ResponseEntity<?>> responses = new ArrayList<>();
+        for (Future<ResponseEntity<?>> call : calls) {
+            responses.add(call.get());
+        }
+
+        assertThat(testData.jdbc().queryForObject(COUNT_ORDERS, Integer.class, customerId)).isEqualTo(1);
+        assertThat(responses).allMatch(response -> response.getStatusCode().is2xxSuccessful());
+        assertThat(responses)
+                .extracting(response -> response.getHeaders().getFirst(IdempotencyAspect.REPLAYED_HEADER))
+                .containsExactlyInAnyOrder("true", null);
+        assertThat(responses)
+                .extracting(response -> objectMapper.valueToTree(response.getBody()).at("/order/id").asText())
+                .doesNotContain("")
+                .containsOnly(objectMapper.valueToTree(responses.get(0).getBody()).at("/order/id").asText());
+    }
+
+    @Test
+    void failedRequestReleasesItsKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        // An empty cart: the checkout fails and answers 400
+        assertThat(createOrder(key).getStatusCode().is4xxClientError()).isTrue();
+        assertThat(testData.jdbc().queryForObject("SELECT count(*) FROM idempotency_keys WHERE key_hash = ?",
+                Integer.class, keyHash(key))).as("claims left after the failure").isZero();
+
+        cartService.addToCart(customerId, productId, 1, null, null);
+        ResponseEntity<?> retry = createOrder(key);
+        assertThat(retry.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(retry.getHeaders().containsKey(IdempotencyAspect.REPLAYED_HEADER)).isFalse();
+        assertThat(testData.jdbc().queryForObject(COUNT_ORDERS, Integer.class, customerId)).isEqualTo(1);
+    }
+
+    private ResponseEntity<?> createOrder(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders/create");
+        request.addHeader(IdempotencyAspect.HEADER, key);
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+        try {
+            return orderController.createOrder(orderRequest(), authorization);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    // The aspect's key: operation, caller and key, each NUL-terminated; no one is signed in, so the caller is the token
+    private byte[] keyHash(String key) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String part : new String[]{"orders.create", "token:" + authorization, key}) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private OrderRequestDTO orderRequest() {
+        return OrderRequestDTO.builder()
+                .shopId(shopId.toString())
+                .shippingAddress(new ShippingAddressDTO("Test Customer", "customer@example.com", "9800000000",
+                        "Nepal", "Baneshwor", "Kathmandu"))
+                .paymentMethod(PaymentMethod.COD)
+                .subtotal(new BigDecimal("450.00"))
+                .deliveryFee(BigDecimal.ZERO)
+                .total(new BigDecimal("450.00"))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package org.com.meropasal.meropasalbackend.order.repo;
+
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created On : 2026 20 Oct 3:50 AM
+ * Author : Monu Siddiki
+ * Description : The migrated, partitioned orders table keeps its customer and shop foreign keys in every
+ * partition: the legacy one (months before partitioning), a monthly one and the default one alike.
+ **/
+class OrderPartitionForeignKeyTest extends PostgresIntegrationTest {
+
+    // Lands in orders_legacy, a monthly partition and the default partition respectively. A freshly migrated
+    // database's legacy partition runs to the end of this month; the partitions ahead are made on startup.
+    private static final int YEARS_AGO = -25 * 12;
+    private static final int IN_TWO_MONTHS = 2;
+    private static final int BEYOND_THE_CREATED_MONTHS = 5 * 12;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        shopId = testData.shop();
+        customerId = testData.customer();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {YEARS_AGO, IN_TWO_MONTHS, BEYOND_THE_CREATED_MONTHS})
+    void orderForAnUnknownShopIsRejected(int monthsFromNow) {
+        assertThatThrownBy(() -> insertOrder(customerId, UUID.randomUUID(), monthsFromNow))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("fk_order_shop");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {YEARS_AGO, IN_TWO_MONTHS, BEYOND_THE_CREATED_MONTHS})
+    void orderForAnUnknownCustomerIsRejected(int monthsFromNow) {
+        assertThatThrownBy(() -> insertOrder(UUID.randomUUID(), shopId, monthsFromNow))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("fk_order_customer");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {YEARS_AGO, IN_TWO_MONTHS, BEYOND_THE_CREATED_MONTHS})
+    void orderForAKnownShopAndCustomerIsStored(int monthsFromNow) {
+        UUID orderId = insertOrder(customerId, shopId, monthsFromNow);
+
+        assertThat(testData.jdbc().queryForObject("SELECT count(*) FROM orders WHERE id = ?", Integer.class, orderId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void everyPartitionCarriesBothKeys() {
+        List<String> partitionsMissingAKey = testData.jdbc().queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'orders'::regclass
+                  AND (SELECT count(DISTINCT k.confrelid) FROM pg_constraint k
+                       WHERE k.conrelid = c.oid AND k.contype = 'f'
+                         AND k.confrelid IN ('shop'::regclass, 'customer_details'::regclass)) < 2
+                """, String.class);
+
+        assertThat(partitionsMissingAKey).isEmpty();
+    }
+
+    private UUID insertOrder(UUID customer, UUID shop, int monthsFromNow) {
+        UUID orderId = UuidV7Generator.next();
+        testData.jdbc().update("""
+                INSERT INTO orders (id, created_at, deleted, payment_method, status, subtotal, total, customer_id, shop_id)
+                VALUES (?, ?, false, 'COD', 'PENDING', 100.00, 100.00, ?, ?)
+                """, orderId, LocalDateTime.now().plusMonths(monthsFromNow), customer, shop);
+        return orderId;
+    }
+}
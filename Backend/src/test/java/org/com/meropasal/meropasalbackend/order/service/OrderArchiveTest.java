@@ -0,0 +1,154 @@
+package org.com.meropasal.meropasalbackend.order.service;
+
+import org.com.meropasal.meropasalbackend.address.dto.ShippingAddressDTO;
+import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.order.dto.OrderItemResponseDTO;
+import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
+import org.com.meropasal.meropasalbackend.order.dto.OrderResponseDTO;
+import org.com.meropasal.meropasalbackend.order.enums.OrderStatus;
+import org.com.meropasal.meropasalbackend.order.repo.OrderRepository;
+import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created On : 2026 20 Oct 8:30 AM
+ * Author : Monu Siddiki
+ * Description : Archiving one month of orders into order_history. Every month before the migration sits in
+ * the legacy partition, which other tests share, so each run gives a month of its own a partition and moves
+ * two checked-out orders into it. drop_order_partition refuses while either order is missing from
+ * order_history; once archived, the month's partitions are gone and both customer read paths still return
+ * the order with its items. Status updates and deletes find live orders through the id-bounded lookup.
+ **/
+class OrderArchiveTest extends PostgresIntegrationTest {
+
+    private static final String PARTITION_OF = "CREATE TABLE %s PARTITION OF %s (PRIMARY KEY (id)) FOR VALUES FROM ('%s') TO ('%s')";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderPartitionService partitionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+    private UUID productId;
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        shopId = testData.shop();
+        productId = testData.product(shopId, new BigDecimal("450.00"), 10);
+        customerId = testData.customer();
+    }
+
+    @Test
+    void archivedMonthIsDroppedOnlyOnceInHistoryAndStillServedToTheCustomer() {
+        // A month no other run has used, so its rows are not already waiting in the default partition
+        LocalDateTime from = LocalDateTime.of(ThreadLocalRandom.current().nextInt(2200, 2900),
+                ThreadLocalRandom.current().nextInt(1, 13), 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+        String suffix = String.format("_p%04d_%02d", from.getYear(), from.getMonthValue());
+        testData.jdbc().execute(String.format(PARTITION_OF, "orders" + suffix, "orders", from, to));
+        testData.jdbc().execute(String.format(PARTITION_OF, "order_items" + suffix, "order_items", from, to));
+
+        UUID first = checkOutInto(from.plusDays(3));
+        UUID second = checkOutInto(from.plusDays(20));
+
+        assertThatThrownBy(() -> dropPartition("orders" + suffix))
+                .hasStackTraceContaining("still has 2 orders missing from order_history");
+        testData.jdbc().update("""
+                INSERT INTO order_history (order_id, customer_id, shop_id, order_number, created_at, document)
+                VALUES (?, ?, ?, 'PARTIAL', ?, '{"items": []}')
+                """, first, customerId, shopId, from.plusDays(3));
+        assertThatThrownBy(() -> dropPartition("orders" + suffix))
+                .hasStackTraceContaining("still has 1 orders missing from order_history");
+
+        partitionService.archivePartition("orders" + suffix, from, to);
+
+        assertThat(testData.jdbc().queryForObject("SELECT to_regclass(?) IS NULL AND to_regclass(?) IS NULL",
+                Boolean.class, "orders" + suffix, "order_items" + suffix)).as("partitions dropped").isTrue();
+        assertThat(testData.jdbc().queryForObject("SELECT count(*) FROM orders WHERE id IN (?, ?)",
+                Integer.class, first, second)).isZero();
+
+        assertThat(orderService.getOrdersByCustomer(customerId))
+                .extracting(OrderResponseDTO::getId)
+                .containsExactlyInAnyOrder(first, second);
+        assertThat(orderService.getOrdersByCustomer(customerId))
+                .allSatisfy(order -> assertThat(order.getItems()).extracting(OrderItemResponseDTO::getProductId)
+                        .containsExactly(productId));
+        for (UUID orderId : new UUID[]{first, second}) {
+            OrderResponseDTO archived = orderService.getOrderByIdAndCustomer(orderId, customerId);
+            assertThat(archived.getShopId()).isEqualTo(shopId.toString());
+            assertThat(archived.getItems()).extracting(OrderItemResponseDTO::getQuantity).containsExactly(1);
+        }
+        assertThatThrownBy(() -> orderService.updateOrderStatus(first, OrderStatus.DELIVERED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void statusUpdatesAndDeletesFindLiveOrders() {
+        cartService.addToCart(customerId, productId, 1, null, null);
+        UUID orderId = orderService.createOrderFromCart(orderRequest(), customerId).getId();
+
+        assertThat(orderService.updateOrderStatus(orderId, OrderStatus.DELIVERED).getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        orderService.deleteOrder(orderId);
+
+        assertThat(orderRepository.findByIdBounded(orderId)).isEmpty();
+        assertThatThrownBy(() -> orderService.deleteOrder(orderId)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Checks out through the service, then moves the order and its items into the test's month
+    private UUID checkOutInto(LocalDateTime createdAt) {
+        cartService.addToCart(customerId, productId, 1, null, null);
+        UUID orderId = orderService.createOrderFromCart(orderRequest(), customerId).getId();
+        // Depending on the server version the row move fires the insert trigger that registers the number again
+        testData.jdbc().update("DELETE FROM order_numbers WHERE order_id = ?", orderId);
+        testData.jdbc().update("UPDATE orders SET created_at = ? WHERE id = ?", createdAt, orderId);
+        testData.jdbc().update("UPDATE order_items SET created_at = ? WHERE order_id = ?", createdAt, orderId);
+        return orderId;
+    }
+
+    private Long dropPartition(String partition) {
+        return new TransactionTemplate(transactionManager).execute(status -> orderRepository.dropPartition(partition));
+    }
+
+    private OrderRequestDTO orderRequest() {
+        return OrderRequestDTO.builder()
+                .shopId(shopId.toString())
+                .shippingAddress(new ShippingAddressDTO("Test Customer", "customer@example.com", "9800000000",
+                        "Nepal", "Baneshwor", "Kathmandu"))
+                .paymentMethod(PaymentMethod.COD)
+                .subtotal(new BigDecimal("450.00"))
+                .deliveryFee(BigDecimal.ZERO)
+                .total(new BigDecimal("450.00"))
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package org.com.meropasal.meropasalbackend.order.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.address.dto.ShippingAddressDTO;
+import org.com.meropasal.meropasalbackend.customer.service.CartService;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadClass;
+import org.com.meropasal.meropasalbackend.database.config.WorkloadPools;
+import org.com.meropasal.meropasalbackend.order.dto.OrderRequestDTO;
+import org.com.meropasal.meropasalbackend.payment.enums.PaymentMethod;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 4:20 AM
+ * Author : Monu Siddiki
+ * Description : Checkout latency while every REPORTING connection is held by a long query and more reporting
+ * work is queued behind them. Checkouts run on the OLTP pool, so their p99 must stay within
+ * -Dtest.isolation.p99-factor times the unsaturated baseline (plus a small allowance for timer noise).
+ **/
+@Slf4j
+class OrderCheckoutIsolationTest extends PostgresIntegrationTest {
+
+    // Below the OLTP pool size, so checkouts only ever wait on each other's rows, never on a connection
+    private static final int CHECKOUT_THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 20;
+    private static final double P99_FACTOR = Double.parseDouble(System.getProperty("test.isolation.p99-factor", "2"));
+    private static final long NOISE_ALLOWANCE_MS = 100;
+    // Far longer than a measurement round; the sleeps are cancelled once the round is over
+    private static final int HOLD_SECONDS = 300;
+    private static final String HOLD_MARKER = "/* checkout-isolation-hold */";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private WorkloadPools workloadPools;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+    private UUID productId;
+    private List<UUID> customers;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        shopId = testData.shop();
+        productId = testData.product(shopId, new BigDecimal("450.00"), 1_000_000);
+        customers = new ArrayList<>();
+        for (int i = 0; i < CHECKOUT_THREADS; i++) {
+            customers.add(testData.customer());
+        }
+    }
+
+    @Test
+    void saturatedReportingPoolLeavesCheckoutLatencyAlone() throws Exception {
+        checkoutConcurrently(new Latencies("warm-up"));
+        Latencies baseline = new Latencies("checkout, reporting idle");
+        checkoutConcurrently(baseline);
+
+        HikariDataSource reporting = (HikariDataSource) workloadPools.primary(WorkloadClass.REPORTING);
+        Latencies saturated = new Latencies("checkout, reporting saturated");
+        AtomicBoolean holding = new AtomicBoolean(true);
+        try (ExecutorService holders = Executors.newCachedThreadPool()) {
+            int poolSize = reporting.getMaximumPoolSize();
+            CountDownLatch held = new CountDownLatch(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                holders.submit(() -> holdConnection(reporting, held));
+            }
+            assertThat(held.await(30, TimeUnit.SECONDS)).isTrue();
+            // A second wave of reporting work queues behind the held connections for the whole round
+            for (int i = 0; i < poolSize; i++) {
+                holders.submit(() -> queueForConnection(reporting, holding));
+            }
+            try {
+                assertThat(reporting.getHikariPoolMXBean().getActiveConnections()).isEqualTo(poolSize);
+                checkoutConcurrently(saturated);
+                assertThat(reporting.getHikariPoolMXBean().getActiveConnections()).isEqualTo(poolSize);
+            } finally {
+                holding.set(false);
+                testData.jdbc().queryForList("SELECT pg_cancel_backend(pid) FROM pg_stat_activity WHERE query LIKE ?",
+                        HOLD_MARKER + "%");
+            }
+        }
+
+        log.info("{}", baseline);
+        log.info("{}", saturated);
+        assertThat(saturated.count()).isEqualTo(CHECKOUT_THREADS * ORDERS_PER_THREAD);
+        assertThat(saturated.percentileMillis(99))
+                .isLessThanOrEqualTo(baseline.percentileMillis(99) * P99_FACTOR + NOISE_ALLOWANCE_MS);
+    }
+
+    // Each thread checks out its own customer's cart, so the orders only share the shop and the product
+    private void checkoutConcurrently(Latencies latencies) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> checkouts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CHECKOUT_THREADS)) {
+            for (UUID customerId : customers) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        cartService.addToCart(customerId, productId, 1, null, null);
+                        latencies.time(() -> orderService.createOrderFromCart(orderRequest(), customerId));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<?> checkout : checkouts) {
+            checkout.get();
+        }
+    }
+
+    private OrderRequestDTO orderRequest() {
+        return OrderRequestDTO.builder()
+                .shopId(shopId.toString())
+                .shippingAddress(new ShippingAddressDTO("Test Customer", "customer@example.com", "9800000000",
+                        "Nepal", "Baneshwor", "Kathmandu"))
+                .paymentMethod(PaymentMethod.COD)
+                .subtotal(new BigDecimal("450.00"))
+                .deliveryFee(BigDecimal.ZERO)
+                .total(new BigDecimal("450.00"))
+                .build();
+    }
+
+    private Void holdConnection(DataSource reporting, CountDownLatch held) throws SQLException {
+        try (Connection connection = reporting.getConnection(); Statement statement = connection.createStatement()) {
+            held.countDown();
+            statement.execute(HOLD_MARKER + " SELECT pg_sleep(" + HOLD_SECONDS + ")");
+        } catch (SQLException e) {
+            // Cancelled at the end of the round
+        }
+        return null;
+    }
+
+    // Keeps asking for a reporting connection until the round ends, as a burst of report requests would
+    private Void queueForConnection(DataSource reporting, AtomicBoolean holding) {
+        while (holding.get()) {
+            try (Connection connection = reporting.getConnection()) {
+                return null;
+            } catch (SQLException e) {
+                // Timed out waiting in the queue; queue again
+            }
+        }
+        return null;
+    }
+}
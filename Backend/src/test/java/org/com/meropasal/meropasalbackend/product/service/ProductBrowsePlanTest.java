@@ -0,0 +1,141 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseResult;
+import org.com.meropasal.meropasalbackend.product.enums.ProductSort;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.QueryPlan;
+import org.com.meropasal.meropasalbackend.support.SyntheticCatalog;
+import org.com.meropasal.meropasalbackend.support.StatementRecorder;
+import org.com.meropasal.meropasalbackend.support.StatementRecorder.Recorded;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 1:55 AM
+ * Author : Monu Siddiki
+ * Description : EXPLAIN checks for the listing queries over the synthetic catalogue (200k products unless
+ * -Dplan-check.products says otherwise). The statements and parameters are the ones Hibernate actually sent
+ * for each browse call: shop listings must page off their (shop_id, active, ...) index without sorting the shop, and
+ * no filtered or facet query may fall back to scanning the whole products table.
+ **/
+@Import(ProductBrowsePlanTest.RecordStatements.class)
+class ProductBrowsePlanTest extends PostgresIntegrationTest {
+
+    private static final int PRODUCTS = Integer.getInteger("plan-check.products", 200_000);
+
+    @TestConfiguration
+    static class RecordStatements {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @Autowired
+    private ProductBrowseService browseService;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        List<UUID> shops = new SyntheticCatalog(testData).ensure(PRODUCTS);
+        shopId = shops.get(shops.size() / 2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    void shopListingPagesOffItsCompositeIndex(ProductSort sort) {
+        String expectedIndex = switch (sort) {
+            case NEWEST -> "idx_product_shop_active_created_live";
+            case PRICE_ASC, PRICE_DESC -> "idx_product_shop_active_price_live";
+            case DISCOUNT_DESC -> "idx_product_shop_active_discount_desc_live";
+        };
+
+        List<Recorded> statements = browse(criteria(shopId, null, null, null, false), sort);
+
+        QueryPlan page = QueryPlan.explain(testData.jdbc(), pageQuery(statements));
+        assertThat(page.usesIndex(expectedIndex)).as("%s", page).isTrue();
+        assertThat(page.sortsFully()).as("%s", page).isFalse();
+        assertThat(page.scansSequentially("products")).as("%s", page).isFalse();
+    }
+
+    @Test
+    void filteredShopListingAndFacetsStayOnTheShopsRows() {
+        List<Recorded> statements = browse(criteria(shopId, null, new BigDecimal("500"), new BigDecimal("2500"), true),
+                ProductSort.PRICE_ASC);
+
+        // Page, count and the four facet queries
+        assertThat(statements).hasSizeGreaterThanOrEqualTo(6);
+        for (Recorded statement : statements) {
+            QueryPlan plan = QueryPlan.explain(testData.jdbc(), statement);
+            assertThat(plan.scansSequentially("products")).as("%s", plan).isFalse();
+        }
+    }
+
+    @Test
+    void categoryListingUsesTheCategoryIndex() {
+        UUID categoryId = testData.jdbc().queryForObject(
+                "SELECT id FROM category WHERE shop_id = ? ORDER BY name LIMIT 1", UUID.class, shopId);
+
+        List<Recorded> statements = browse(criteria(null, categoryId, null, null, false), ProductSort.NEWEST);
+
+        QueryPlan page = QueryPlan.explain(testData.jdbc(), pageQuery(statements));
+        assertThat(page.scansSequentially("products")).as("%s", page).isFalse();
+        assertThat(page.usesIndex("idx_product_category_live")).as("%s", page).isTrue();
+    }
+
+    @Test
+    void newestAcrossTheCatalogueWalksTheCreatedAtIndex() {
+        List<Recorded> statements = browse(criteria(null, null, null, null, false), ProductSort.NEWEST);
+
+        QueryPlan page = QueryPlan.explain(testData.jdbc(), pageQuery(statements));
+        assertThat(page.usesIndex("idx_product_created_at")).as("%s", page).isTrue();
+        assertThat(page.sortsFully()).as("%s", page).isFalse();
+    }
+
+    private List<Recorded> browse(ProductBrowseCriteria criteria, ProductSort sort) {
+        statementRecorder.clear();
+        ProductBrowseResult result = browseService.browse(criteria, Map.of(), sort, 0, 24, criteria.shopId() != null);
+        assertThat(result.products()).isNotEmpty();
+        return statementRecorder.statements().stream()
+                .filter(statement -> statement.sql().contains("from products"))
+                .toList();
+    }
+
+    private static Recorded pageQuery(List<Recorded> statements) {
+        return statements.stream()
+                .filter(statement -> statement.sql().contains(" order by "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No listing query among " + statements));
+    }
+
+    private static ProductBrowseCriteria criteria(UUID shopId, UUID categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                                  boolean inStockOnly) {
+        return new ProductBrowseCriteria(shopId, categoryId, minPrice, maxPrice, null, null, inStockOnly, Map.of());
+    }
+}
@@ -0,0 +1,138 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateRequest;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBulkUpdateResult;
+import org.com.meropasal.meropasalbackend.product.entity.Product;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 5:40 AM
+ * Author : Monu Siddiki
+ * Description : Bulk price, discount and status changes on a shop of -Dbenchmark.bulk-update.products products
+ * (50k unless set, one in a hundred deleted), against the one-product-at-a-time updateProductStatus path timed
+ * on a sample and scaled up. Each bulk call must stay under -Dbenchmark.bulk-update.budget-ms, beat the
+ * per-product estimate by -Dbenchmark.bulk-update.min-speedup, leave deleted rows alone and compute the same
+ * discount prices Product.calculateAndSetDiscountPrice does.
+ **/
+@Slf4j
+@Tag("benchmark")
+class ProductBulkUpdateBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.bulk-update.products", 50_000);
+    private static final int DELETED_EVERY = 100;
+    private static final int PER_PRODUCT_SAMPLE = 500;
+    private static final long BUDGET_MS = Long.getLong("benchmark.bulk-update.budget-ms", 5_000);
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("benchmark.bulk-update.min-speedup", "10"));
+
+    private static final String INSERT_PRODUCTS = """
+        INSERT INTO products (id, shop_id, name, price, discount_percentage, discount_price, stock, active, has_variants,
+                              deleted, created_at, updated_at)
+        SELECT uuid_generate_v7(), ?, 'Bulk product ' || n, 100 + (n * 37) % 9900, NULL, 100 + (n * 37) % 9900,
+               n % 50, true, false, n % ? = 0, now(), now()
+        FROM generate_series(1, ?) n
+        """;
+
+    @Autowired
+    private ProductBulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+    private int live;
+
+    @BeforeEach
+    void seed() {
+        testData = new TestData(dataSource);
+        // A fresh shop each run: the updates would otherwise skew the shared catalogue other benchmarks read
+        shopId = testData.shop();
+        testData.jdbc().update(INSERT_PRODUCTS, shopId, DELETED_EVERY, PRODUCTS);
+        testData.jdbc().execute("ANALYZE products");
+        live = PRODUCTS - PRODUCTS / DELETED_EVERY;
+    }
+
+    @Test
+    void bulkUpdatesBeatUpdatingProductsOneByOne() {
+        Latencies perProduct = new Latencies("updateProductStatus, one product");
+        List<UUID> sample = testData.jdbc().queryForList(
+                "SELECT id FROM products WHERE shop_id = ? AND deleted = false LIMIT ?", UUID.class, shopId, PER_PRODUCT_SAMPLE);
+        for (UUID productId : sample) {
+            long start = System.nanoTime();
+            productService.updateProductStatus(productId, false);
+            perProduct.record(System.nanoTime() - start);
+        }
+        double perProductEstimateMs = perProduct.percentileMillis(50) * live;
+        log.info("{}; about {} ms for the whole shop", perProduct, String.format("%.0f", perProductEstimateMs));
+
+        Latencies bulk = new Latencies("bulk update, whole shop");
+        ProductBulkUpdateResult reactivated = timed(bulk, status(true));
+        ProductBulkUpdateResult repriced = timed(bulk, price(new BigDecimal("10"), new BigDecimal("15")));
+        assertDiscountPricesMatchTheEntity();
+        ProductBulkUpdateResult discountDropped = timed(bulk, price(new BigDecimal("-5"), BigDecimal.ZERO));
+        assertDiscountPricesMatchTheEntity();
+        log.info("{} over {} products", bulk, PRODUCTS);
+
+        for (ProductBulkUpdateResult result : List.of(reactivated, repriced, discountDropped)) {
+            assertThat(result.matched()).isEqualTo(live);
+            assertThat(result.updated()).isEqualTo(live);
+            assertThat(result.errors()).isEmpty();
+        }
+        assertThat(testData.jdbc().queryForObject(
+                "SELECT count(*) FROM products WHERE shop_id = ? AND deleted AND (price <> discount_price OR updated_at > created_at)",
+                Integer.class, shopId)).as("deleted products touched").isZero();
+
+        assertThat(bulk.percentileMillis(100)).as("slowest bulk update in ms").isLessThan(BUDGET_MS);
+        assertThat(bulk.percentileMillis(100) * MIN_SPEEDUP)
+                .as("slowest bulk update times %s against the per-product estimate, in ms", MIN_SPEEDUP)
+                .isLessThanOrEqualTo(perProductEstimateMs);
+    }
+
+    private ProductBulkUpdateResult timed(Latencies latencies, ProductBulkUpdateRequest request) {
+        long start = System.nanoTime();
+        ProductBulkUpdateResult result = bulkUpdateService.bulkUpdate(shopId, request);
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private static ProductBulkUpdateRequest status(boolean active) {
+        return new ProductBulkUpdateRequest(null, null, true, false, null, null, null, null, null, active);
+    }
+
+    private static ProductBulkUpdateRequest price(BigDecimal adjustPercent, BigDecimal discountPercentage) {
+        return new ProductBulkUpdateRequest(null, null, true, false, null, adjustPercent, discountPercentage,
+                null, null, null);
+    }
+
+    private void assertDiscountPricesMatchTheEntity() {
+        List<Map<String, Object>> rows = testData.jdbc().queryForList("""
+                SELECT price, discount_percentage, discount_price FROM products
+                WHERE shop_id = ? AND deleted = false ORDER BY id LIMIT 1000
+                """, shopId);
+        assertThat(rows).isNotEmpty().allSatisfy(row -> {
+            Product product = new Product();
+            product.setPrice((BigDecimal) row.get("price"));
+            product.setDiscountPercentage((BigDecimal) row.get("discount_percentage"));
+            product.calculateAndSetDiscountPrice();
+            assertThat((BigDecimal) row.get("discount_price")).isEqualByComparingTo(product.getDiscountPrice());
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.product.dto.ProductImportResult;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 5:20 AM
+ * Author : Monu Siddiki
+ * Description : Imports -Dbenchmark.import.rows products (100k unless set) into an empty shop, as CSV and as
+ * NDJSON, through ProductImportService. Every thousandth row has a bad or missing price and must come back as
+ * a row error while the rest land; the import must keep up -Dbenchmark.import.min-rows-per-second.
+ **/
+@Slf4j
+@Tag("benchmark")
+class ProductImportBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.import.rows", 100_000);
+    private static final long MIN_ROWS_PER_SECOND = Long.getLong("benchmark.import.min-rows-per-second", 5_000);
+    private static final int BAD_ROW_EVERY = 1_000;
+    private static final String[] CATEGORIES = {"Kurta", "Shawl", "Scarf", "Bag", "Kettle", "Bowl", "Lamp"};
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TestData testData;
+    private UUID shopId;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(dataSource);
+        shopId = testData.shop();
+        for (String category : CATEGORIES) {
+            testData.jdbc().update("""
+                    INSERT INTO category (id, shop_id, name, active, deleted, created_at, updated_at)
+                    VALUES (uuid_generate_v7(), ?, ?, true, false, now(), now())
+                    """, shopId, category);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductImportService.Format.class)
+    void importsAHundredThousandProducts(ProductImportService.Format format) throws Exception {
+        byte[] input = (format == ProductImportService.Format.CSV ? csv() : ndjson()).getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        ProductImportResult result = importService.importProducts(shopId, new ByteArrayInputStream(input), format);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rowsPerSecond = ROWS / seconds;
+        log.info("{} import of {} rows ({} KB): {} s, {} rows/s", format, ROWS, input.length / 1024,
+                String.format("%.1f", seconds), String.format("%.0f", rowsPerSecond));
+
+        int bad = ROWS / BAD_ROW_EVERY;
+        assertThat(result.totalRows()).isEqualTo(ROWS);
+        assertThat(result.failed()).isEqualTo(bad);
+        assertThat(result.imported()).isEqualTo(ROWS - bad);
+        assertThat(result.errors()).hasSize(bad)
+                .allSatisfy(error -> assertThat(error.message()).contains("price"));
+        assertThat(testData.jdbc().queryForObject("SELECT count(*) FROM products WHERE shop_id = ? AND category_id IS NOT NULL",
+                Integer.class, shopId)).isEqualTo(ROWS - bad);
+        assertThat(rowsPerSecond).as("%s rows per second", format).isGreaterThanOrEqualTo(MIN_ROWS_PER_SECOND);
+    }
+
+    private static String csv() {
+        StringBuilder csv = new StringBuilder("Name,Description,Price,Discount Percentage,Stock,Category,Image URL\n");
+        for (int n = 1; n <= ROWS; n++) {
+            csv.append("Imported product ").append(n).append(",\"Handmade, item ").append(n).append("\",")
+                    .append(price(n)).append(',').append(n % 4 == 0 ? "10" : "").append(',')
+                    .append(n % 50).append(',').append(CATEGORIES[n % CATEGORIES.length]).append(',')
+                    .append("/images/files/import/").append(n).append(".jpg\n");
+        }
+        return csv.toString();
+    }
+
+    private static String ndjson() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int n = 1; n <= ROWS; n++) {
+            // A bad NDJSON row leaves the price out
+            String price = n % BAD_ROW_EVERY == 0 ? "" : ",\"price\":" + price(n);
+            ndjson.append("{\"name\":\"Imported product ").append(n).append("\",\"description\":\"Handmade item ").append(n)
+                    .append('"').append(price).append(",\"discountPercentage\":").append(n % 4 == 0 ? "10" : "null")
+                    .append(",\"stock\":").append(n % 50).append(",\"category\":\"").append(CATEGORIES[n % CATEGORIES.length])
+                    .append("\",\"imageUrl\":\"/images/files/import/").append(n).append(".jpg\"}\n");
+        }
+        return ndjson.toString();
+    }
+
+    private static String price(int n) {
+        return n % BAD_ROW_EVERY == 0 ? "n/a" : String.valueOf(100 + (n * 37) % 9900);
+    }
+}
@@ -0,0 +1,132 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.product.config.ProductSearchIndexProbe;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductSearchResult;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.SyntheticCatalog;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 1:05 AM
+ * Author : Monu Siddiki
+ * Description : Search and autocomplete latency over the synthetic catalogue (1M products unless
+ * -Dbenchmark.products says otherwise), through ProductSearchService so hydration is included. Each query
+ * shape must keep its p95 under -Dbenchmark.search.p95-budget-ms; the trigram fallback gets three times that.
+ **/
+@Slf4j
+@Tag("benchmark")
+class ProductSearchBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 30);
+    private static final int WARMUP = 5;
+    private static final long P95_BUDGET_MS = Long.getLong("benchmark.search.p95-budget-ms", 500);
+    // Similarity has no selective index condition, so the fallback compares many more names per query
+    private static final long FUZZY_P95_BUDGET_MS = 3 * P95_BUDGET_MS;
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductSearchIndexProbe searchIndex;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private List<UUID> shops;
+
+    @BeforeEach
+    void seed() {
+        shops = new SyntheticCatalog(new TestData(dataSource)).ensure(PRODUCTS);
+    }
+
+    @Test
+    void broadTermMatchingATenthOfTheCatalogue() throws Exception {
+        ProductSearchResult result = benchmark("search 'red' (1/11 of catalogue)", () -> search(criteria("red", null)));
+        assertThat(result.total()).isGreaterThan(PRODUCTS / 20);
+    }
+
+    @Test
+    void narrowPhrase() throws Exception {
+        ProductSearchResult result = benchmark("search 'red cotton kettle' (1/1001)", () -> search(criteria("red cotton kettle", null)));
+        assertThat(result.products()).allMatch(product -> product.getName().startsWith("red cotton kettle"));
+    }
+
+    @Test
+    void deepPage() throws Exception {
+        benchmark("search 'blue silk' page 20", () -> searchService.search(criteria("blue silk", null), 20, 24));
+    }
+
+    @Test
+    void oneShop() throws Exception {
+        UUID shopId = shops.get(shops.size() / 2);
+        ProductSearchResult result = benchmark("search 'green' in one shop", () -> search(criteria("green", shopId)));
+        assertThat(result.products()).allMatch(product -> shopId.equals(product.getShopId()));
+    }
+
+    @Test
+    void priceRangeAndInStock() throws Exception {
+        ProductSearchCriteria criteria = new ProductSearchCriteria("wool shawl", null, null,
+                new BigDecimal("500"), new BigDecimal("1500"), true);
+        ProductSearchResult result = benchmark("search 'wool shawl' 500-1500 in stock", () -> search(criteria));
+        assertThat(result.products()).allMatch(product -> product.getStock() > 0);
+    }
+
+    @Test
+    void prefixAutocomplete() throws Exception {
+        List<String> names = benchmark("suggest 'black lea'", () -> searchService.suggest("black lea", null, 10));
+        assertThat(names).isNotEmpty().allMatch(name -> name.startsWith("black leather"));
+    }
+
+    @Test
+    void typoFallback() throws Exception {
+        Assumptions.assumeTrue(searchIndex.isTrigramAvailable(), "pg_trgm is not installed");
+        // Similarity is over the whole name, so the misspelling has to come with most of it
+        ProductSearchResult result = benchmark("search 'red coton basket' (trigram fallback)",
+                FUZZY_P95_BUDGET_MS, () -> search(criteria("red coton basket", null)));
+        assertThat(result.fuzzy()).isTrue();
+        assertThat(result.products()).isNotEmpty();
+    }
+
+    private ProductSearchResult search(ProductSearchCriteria criteria) {
+        return searchService.search(criteria, 0, 24);
+    }
+
+    private static ProductSearchCriteria criteria(String query, UUID shopId) {
+        return new ProductSearchCriteria(query, shopId, null, null, null, false);
+    }
+
+    private <T> T benchmark(String name, Callable<T> query) throws Exception {
+        return benchmark(name, P95_BUDGET_MS, query);
+    }
+
+    private <T> T benchmark(String name, long p95BudgetMs, Callable<T> query) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            query.call();
+        }
+        Latencies latencies = new Latencies(name);
+        T result = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = latencies.time(query);
+        }
+        log.info("{} over {} products", latencies, PRODUCTS);
+        assertThat(latencies.percentileMillis(95)).as("%s p95 in ms", name).isLessThan(p95BudgetMs);
+        return result;
+    }
+}
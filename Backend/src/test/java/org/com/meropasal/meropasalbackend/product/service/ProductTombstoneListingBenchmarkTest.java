@@ -0,0 +1,104 @@
+package org.com.meropasal.meropasalbackend.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseCriteria;
+import org.com.meropasal.meropasalbackend.product.dto.ProductBrowseResult;
+import org.com.meropasal.meropasalbackend.product.enums.ProductSort;
+import org.com.meropasal.meropasalbackend.support.Latencies;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 6:15 AM
+ * Author : Monu Siddiki
+ * Description : Shop listings over two shops with the same -Dbenchmark.tombstones.live-products live products
+ * (100k unless set): one with no tombstones and one where every other product is soft-deleted, interleaved
+ * with the live ones in every sort order. With the live-row partial indexes the half-deleted shop's p95,
+ * first page and deep page alike, must stay within -Dbenchmark.tombstones.max-slowdown of the clean one.
+ **/
+@Slf4j
+@Tag("benchmark")
+class ProductTombstoneListingBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int LIVE_PRODUCTS = Integer.getInteger("benchmark.tombstones.live-products", 100_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 30);
+    private static final int WARMUP = 5;
+    private static final double MAX_SLOWDOWN = Double.parseDouble(System.getProperty("benchmark.tombstones.max-slowdown", "1.5"));
+    // Absorbs timer noise when both sides take a millisecond or two
+    private static final double NOISE_ALLOWANCE_MS = 5;
+    private static final int PAGE_SIZE = 24;
+    private static final int DEEP_PAGE = 100;
+
+    // Product n of a shop; with every other one deleted, each live row sits between two tombstones
+    private static final String INSERT_PRODUCTS = """
+        INSERT INTO products (id, shop_id, name, price, discount_percentage, discount_price, stock, active, has_variants,
+                              deleted, deleted_at, created_at, updated_at)
+        SELECT uuid_generate_v7(), ?, 'Listed product ' || n, 100 + (n * 37) % 9900, d.discount,
+               round((100 + (n * 37) % 9900) * (100 - coalesce(d.discount, 0)) / 100, 2),
+               n % 5, true, false, d.deleted, CASE WHEN d.deleted THEN now() - interval '1 day' END,
+               now() - n * interval '1 second', now()
+        FROM generate_series(1, ?) n,
+        LATERAL (SELECT ? AND n % 2 = 0 AS deleted,
+                        CASE WHEN n % 4 < 2 THEN (ARRAY[10, 25, 40])[1 + n % 3] END AS discount) d
+        """;
+
+    @Autowired
+    private ProductBrowseService browseService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID cleanShop;
+    private UUID halfDeletedShop;
+
+    @BeforeEach
+    void seed() {
+        TestData testData = new TestData(dataSource);
+        cleanShop = testData.shop();
+        testData.jdbc().update(INSERT_PRODUCTS, cleanShop, LIVE_PRODUCTS, false);
+        halfDeletedShop = testData.shop();
+        testData.jdbc().update(INSERT_PRODUCTS, halfDeletedShop, 2 * LIVE_PRODUCTS, true);
+        testData.jdbc().execute("ANALYZE products");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    void tombstonesDoNotSlowTheShopListing(ProductSort sort) {
+        for (int page : new int[]{0, DEEP_PAGE}) {
+            Latencies clean = measure("%s page %d, no tombstones".formatted(sort, page), cleanShop, sort, page);
+            Latencies halfDeleted = measure("%s page %d, half deleted".formatted(sort, page), halfDeletedShop, sort, page);
+            log.info("{}", clean);
+            log.info("{}", halfDeleted);
+            assertThat(halfDeleted.percentileMillis(95))
+                    .as("%s page %d p95 in ms with half the shop deleted", sort, page)
+                    .isLessThanOrEqualTo(clean.percentileMillis(95) * MAX_SLOWDOWN + NOISE_ALLOWANCE_MS);
+        }
+    }
+
+    private Latencies measure(String name, UUID shopId, ProductSort sort, int page) {
+        ProductBrowseCriteria criteria = new ProductBrowseCriteria(shopId, null, null, null, null, null, false, Map.of());
+        for (int i = 0; i < WARMUP; i++) {
+            browseService.browse(criteria, Map.of(), sort, page, PAGE_SIZE, false);
+        }
+        Latencies latencies = new Latencies(name);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ProductBrowseResult result = browseService.browse(criteria, Map.of(), sort, page, PAGE_SIZE, false);
+            latencies.record(System.nanoTime() - start);
+            assertThat(result.total()).isEqualTo(LIVE_PRODUCTS);
+            assertThat(result.products()).hasSize(PAGE_SIZE);
+        }
+        return latencies;
+    }
+}
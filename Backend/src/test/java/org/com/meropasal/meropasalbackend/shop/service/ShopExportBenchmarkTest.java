@@ -0,0 +1,140 @@
+package org.com.meropasal.meropasalbackend.shop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.com.meropasal.meropasalbackend.support.PostgresIntegrationTest;
+import org.com.meropasal.meropasalbackend.support.SyntheticCatalog;
+import org.com.meropasal.meropasalbackend.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created On : 2026 20 Oct 4:40 AM
+ * Author : Monu Siddiki
+ * Description : Streams ShopExportService.exportOrders for a shop with a tenth of -Dbenchmark.export.orders
+ * (1M unless set) and for one with all of them into a sink that only counts bytes. The heap still live during
+ * the stream, sampled after a GC every few MB of output, must not grow with the order count beyond
+ * -Dbenchmark.export.retained-slack-mb, and the bytes allocated per order must stay within 1.5x.
+ **/
+@Slf4j
+@Tag("benchmark")
+class ShopExportBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.export.orders", 1_000_000);
+    private static final int SMALL_ORDERS = ORDERS / 10;
+    // The catalogue is only here for its shops; the orders don't reference its products
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final long RETAINED_SLACK_BYTES = Long.getLong("benchmark.export.retained-slack-mb", 32) * 1024 * 1024;
+    private static final double ALLOCATION_PER_ORDER_GROWTH = 1.5;
+    // Compressed output, so a few samples even for the small shop
+    private static final long SAMPLE_EVERY_BYTES = 1024 * 1024;
+
+    @Autowired
+    private ShopExportService exportService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID smallShop;
+    private UUID largeShop;
+
+    @BeforeEach
+    void seed() {
+        SyntheticCatalog catalog = new SyntheticCatalog(new TestData(dataSource));
+        List<UUID> shops = catalog.ensure(PRODUCTS);
+        smallShop = shops.get(0);
+        largeShop = shops.get(1);
+        catalog.ensureOrders(smallShop, SMALL_ORDERS);
+        catalog.ensureOrders(largeShop, ORDERS);
+    }
+
+    @Test
+    void heapStaysFlatAsTheExportGrows() throws Exception {
+        // Warm-up so class loading and JIT don't land in the first measurement
+        export(smallShop);
+
+        HeapProfile small = export(smallShop);
+        HeapProfile large = export(largeShop);
+        log.info("export {} orders: {}", SMALL_ORDERS, small);
+        log.info("export {} orders: {}", ORDERS, large);
+
+        assertThat(small.orders()).isGreaterThanOrEqualTo(SMALL_ORDERS);
+        assertThat(large.orders()).isGreaterThanOrEqualTo(ORDERS);
+        assertThat(large.peakRetainedBytes())
+                .as("heap live during the export of %d orders", ORDERS)
+                .isLessThanOrEqualTo(small.peakRetainedBytes() + RETAINED_SLACK_BYTES);
+        assertThat(large.allocatedPerOrder())
+                .as("bytes allocated per exported order")
+                .isLessThanOrEqualTo(small.allocatedPerOrder() * ALLOCATION_PER_ORDER_GROWTH);
+    }
+
+    private HeapProfile export(UUID shopId) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        CountingSink sink = new CountingSink();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        exportService.exportOrders(shopId, sink);
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long orders = new TestData(dataSource).jdbc().queryForObject(
+                "SELECT count(*) FROM orders WHERE shop_id = ?", Long.class, shopId);
+        return new HeapProfile(orders, sink.bytes, allocated, sink.peakRetained - sink.baseline);
+    }
+
+    private record HeapProfile(long orders, long outputBytes, long allocatedBytes, long peakRetainedBytes) {
+
+        double allocatedPerOrder() {
+            return (double) allocatedBytes / orders;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d KB gzipped, %.0f B allocated per order, peak retained %+d KB",
+                    outputBytes / 1024, allocatedPerOrder(), peakRetainedBytes / 1024);
+        }
+    }
+
+    // Drops the bytes; on creation and every SAMPLE_EVERY_BYTES it collects garbage and notes what is still live
+    private static class CountingSink extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline = retainedAfterGc();
+        private long peakRetained = baseline;
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count(length);
+        }
+
+        private void count(int length) {
+            bytes += length;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                peakRetained = Math.max(peakRetained, retainedAfterGc());
+            }
+        }
+
+        long retainedAfterGc() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
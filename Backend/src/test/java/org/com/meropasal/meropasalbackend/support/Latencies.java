@@ -0,0 +1,60 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Created On : 2026 20 Oct 12:40 AM
+ * Author : Monu Siddiki
+ * Description : Wall-clock samples of one benchmarked operation, with percentiles for the report and the
+ * budget assertions. Thread-safe so load tests can record from many threads.
+ **/
+public class Latencies {
+
+    private final String name;
+    private long[] samplesNanos = new long[64];
+    private int count;
+
+    public Latencies(String name) {
+        this.name = name;
+    }
+
+    public <T> T time(Callable<T> operation) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return operation.call();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public synchronized void record(long nanos) {
+        if (count == samplesNanos.length) {
+            samplesNanos = Arrays.copyOf(samplesNanos, count * 2);
+        }
+        samplesNanos[count++] = nanos;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, e.g. percentileMillis(95).
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samplesNanos, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-40s n=%-6d p50=%8.2f ms  p95=%8.2f ms  p99=%8.2f ms  max=%8.2f ms",
+                name, count(), percentileMillis(50), percentileMillis(95), percentileMillis(99), percentileMillis(100));
+    }
+}
@@ -0,0 +1,88 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Created On : 2026 19 Oct 11:40 PM
+ * Author : Monu Siddiki
+ * Description : Base for tests that need the real schema. One Postgres 16 container is shared by every test
+ * class in the run and migrated by Flyway when the first context starts. -Dtest.datasource.url (with
+ * test.datasource.username/password) points the tests at an existing database instead; with neither Docker
+ * nor that property the tests are skipped rather than failed.
+ **/
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    private static final String EXTERNAL_URL = System.getProperty("test.datasource.url");
+
+    // Every cached context opens its own workload pools, so the default 100 connections runs out quickly
+    private static final PostgreSQLContainer<?> POSTGRES = startContainer();
+
+    private static PostgreSQLContainer<?> startContainer() {
+        if (EXTERNAL_URL != null || !DockerClientFactory.instance().isDockerAvailable()) {
+            return null;
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withCommand("postgres", "-c", "max_connections=300");
+        container.start();
+        return container;
+    }
+
+    @BeforeAll
+    static void requirePostgres() {
+        Assumptions.assumeTrue(EXTERNAL_URL != null || POSTGRES != null,
+                "Needs Docker or -Dtest.datasource.url pointing at a Postgres 16 database");
+    }
+
+    /**
+     * Creates a database next to the test database unless it already exists, and returns its JDBC URL; for
+     * tests that need several databases, e.g. shards listed from their own @DynamicPropertySource.
+     */
+    protected static String database(String name) {
+        String url = POSTGRES != null ? POSTGRES.getJdbcUrl() : EXTERNAL_URL;
+        try (Connection connection = DriverManager.getConnection(url, username(), password());
+             Statement statement = connection.createStatement()) {
+            try (ResultSet existing = statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + name + "'")) {
+                if (!existing.next()) {
+                    statement.execute("CREATE DATABASE " + name);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+        return url.replaceFirst("(jdbc:postgresql://[^/]+/)[^?]*", "$1" + name);
+    }
+
+    private static String username() {
+        return POSTGRES != null ? POSTGRES.getUsername() : System.getProperty("test.datasource.username", "postgres");
+    }
+
+    private static String password() {
+        return POSTGRES != null ? POSTGRES.getPassword() : System.getProperty("test.datasource.password", "");
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (POSTGRES != null) {
+            registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+            registry.add("spring.datasource.username", POSTGRES::getUsername);
+            registry.add("spring.datasource.password", POSTGRES::getPassword);
+        } else if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", PostgresIntegrationTest::username);
+            registry.add("spring.datasource.password", PostgresIntegrationTest::password);
+        }
+    }
+}
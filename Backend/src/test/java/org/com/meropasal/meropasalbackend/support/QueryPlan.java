@@ -0,0 +1,106 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created On : 2026 20 Oct 1:45 AM
+ * Author : Monu Siddiki
+ * Description : The plan Postgres picks for a recorded statement, explained with the same parameter values and
+ * types the application bound, so the plan is the one the call itself ran with.
+ **/
+public final class QueryPlan {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public record Node(String type, String relation, String index) {}
+
+    private final String sql;
+    private final JsonNode plan;
+    private final List<Node> nodes = new ArrayList<>();
+
+    private QueryPlan(String sql, JsonNode plan) {
+        this.sql = sql;
+        this.plan = plan;
+        collect(plan);
+    }
+
+    public static QueryPlan explain(JdbcTemplate jdbcTemplate, StatementRecorder.Recorded statement) {
+        return explain(jdbcTemplate, statement, true);
+    }
+
+    /**
+     * The plan with sequential scans priced out. A Seq Scan left in it means that table has no index the
+     * statement can use at all, whatever its size, e.g. because a filter is applied above a union.
+     */
+    public static QueryPlan explainWithoutSeqScans(JdbcTemplate jdbcTemplate, StatementRecorder.Recorded statement) {
+        return explain(jdbcTemplate, statement, false);
+    }
+
+    private static QueryPlan explain(JdbcTemplate jdbcTemplate, StatementRecorder.Recorded statement, boolean seqScans) {
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET enable_seqscan = " + seqScans);
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                for (StatementRecorder.Binding binding : statement.bindings()) {
+                    binding.applyTo(explain);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot explain " + statement.sql(), e);
+            } finally {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("RESET enable_seqscan");
+                }
+            }
+        });
+        try {
+            return new QueryPlan(statement.sql(), JSON.readTree(json).get(0).get("Plan"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan for " + statement.sql(), e);
+        }
+    }
+
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    public boolean scansSequentially(String relation) {
+        return nodes.stream().anyMatch(node -> node.type().equals("Seq Scan") && relation.equals(node.relation()));
+    }
+
+    public boolean usesIndex(String index) {
+        return nodes.stream().anyMatch(node -> index.equals(node.index()));
+    }
+
+    // A full sort of its input; Incremental Sort only orders rows within groups the index already ordered
+    public boolean sortsFully() {
+        return nodes.stream().anyMatch(node -> node.type().equals("Sort"));
+    }
+
+    @Override
+    public String toString() {
+        return sql + "\n" + plan.toPrettyString();
+    }
+
+    private void collect(JsonNode node) {
+        nodes.add(new Node(node.path("Node Type").asText(), node.path("Relation Name").asText(null),
+                node.path("Index Name").asText(null)));
+        for (JsonNode child : node.path("Plans")) {
+            collect(child);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created On : 2026 20 Oct 1:40 AM
+ * Author : Monu Siddiki
+ * Description : Records every prepared statement run through the application's DataSource together with the
+ * parameter setters it was bound with, so tests can check what an ORM call really sent and replay it, e.g.
+ * under EXPLAIN. Registered as a bean, it wraps the "dataSource" bean; everything else passes through.
+ **/
+public class StatementRecorder implements BeanPostProcessor {
+
+    // One setXxx(index, ...) call on the statement, replayable on another PreparedStatement
+    public record Binding(Method setter, Object[] arguments) {
+
+        public void applyTo(PreparedStatement statement) throws Exception {
+            setter.invoke(statement, arguments);
+        }
+    }
+
+    public record Recorded(String sql, List<Binding> bindings) {}
+
+    private final List<Recorded> statements = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (beanName.equals("dataSource") && bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, this::wrapConnections);
+        }
+        return bean;
+    }
+
+    public synchronized void clear() {
+        statements.clear();
+    }
+
+    public synchronized List<Recorded> statements() {
+        return List.copyOf(statements);
+    }
+
+    private synchronized void record(Recorded statement) {
+        statements.add(statement);
+    }
+
+    private Object wrapConnections(Object result, Method method, Object[] args) {
+        return result instanceof Connection connection ? proxy(Connection.class, connection, this::wrapStatements) : result;
+    }
+
+    private Object wrapStatements(Object result, Method method, Object[] args) {
+        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+            return recordingStatement(statement, (String) args[0]);
+        }
+        return result;
+    }
+
+    private PreparedStatement recordingStatement(PreparedStatement target, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            // Only PreparedStatement itself declares parameter setters; setFetchSize and friends come from Statement
+            if (method.getDeclaringClass() == PreparedStatement.class && method.getName().startsWith("set")) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (method.getName().startsWith("execute") && (args == null || args.length == 0)) {
+                record(new Recorded(sql, List.copyOf(bindings)));
+            }
+            return invoke(target, method, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Object result, Method method, Object[] args);
+    }
+
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> wrapper.wrap(invoke(target, method, args), method, args);
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
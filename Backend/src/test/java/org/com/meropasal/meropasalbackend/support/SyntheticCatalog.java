@@ -0,0 +1,151 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 20 Oct 12:50 AM
+ * Author : Monu Siddiki
+ * Description : A large generated product catalogue spread over a fixed set of shops, for benchmarks and plan
+ * checks. Product n is named "<colour> <material> <item> n", so a colour matches 1/11 of the catalogue, a
+ * colour and material 1/77 and all three 1/1001. Each shop has one category per item; category names are
+ * unique, so they carry the shop number. Seeded once per database and found again by shop name.
+ * Orders are seeded per shop on demand, one a second going back from now, all by one customer, each with a
+ * single line for one of the shop's products; every fifth one is cancelled.
+ **/
+@Slf4j
+public class SyntheticCatalog {
+
+    public static final int SHOPS = 100;
+    private static final String SHOP_PREFIX = "Synthetic catalogue shop ";
+
+    private static final String[] ITEMS = {"kurta", "shawl", "scarf", "bag", "kettle", "bowl", "lamp", "mat", "jacket",
+            "cap", "sari", "basket", "mug"};
+
+    private static final String INSERT_CATEGORIES = """
+        INSERT INTO category (id, shop_id, name, active, deleted, created_at, updated_at)
+        SELECT uuid_generate_v7(), ?, item || ' ' || ?, true, false, now(), now()
+        FROM unnest(CAST(? AS text[])) item
+        """;
+
+    // Every fourth product is discounted; discount_price is what the customer pays, as Product keeps it.
+    // Product n shows imageUrl(n) and also lists galleryUrl(n) in images_json.
+    private static final String INSERT_PRODUCTS = """
+        WITH categories AS (SELECT id, name FROM category WHERE shop_id = ?)
+        INSERT INTO products (id, shop_id, category_id, name, description, price, discount_percentage, discount_price,
+                              stock, active, has_variants, image_url, images_json, deleted, created_at, updated_at)
+        SELECT uuid_generate_v7(), ?, categories.id,
+               c.colour || ' ' || c.material || ' ' || c.item || ' ' || n,
+               'Handmade ' || c.item || ' from ' || (ARRAY['Kathmandu','Pokhara','Bhaktapur','Lalitpur','Janakpur'])[1 + n % 5],
+               c.price, c.discount, round(c.price * (100 - coalesce(c.discount, 0)) / 100, 2),
+               n % 5, n % 50 <> 0, false,
+               '/images/files/synthetic/' || n || '.jpg',
+               jsonb_build_array('/images/files/synthetic/' || n || '.jpg', '/images/files/synthetic/' || n || '-gallery.jpg'),
+               false, now() - n * interval '1 minute', now()
+        FROM generate_series(?, ?) n,
+        LATERAL (SELECT (ARRAY['red','blue','green','black','white','yellow','maroon','grey','pink','orange','purple'])[1 + n % 11] AS colour,
+                        (ARRAY['cotton','wool','silk','leather','bamboo','copper','clay'])[1 + (n / 11) % 7] AS material,
+                        (CAST(? AS text[]))[1 + (n / 77) % 13] AS item,
+                        100 + (n * 37) % 9900 AS price,
+                        CASE WHEN n % 4 = 0 THEN (ARRAY[10, 25, 40])[1 + n % 3] END AS discount) c
+        JOIN categories ON categories.name = c.item || ' ' || ?
+        """;
+
+    // Order numbers carry the shop id, so every shop's synthetic orders stay unique across runs. Each order has
+    // one line of 1-3 units of one of the shop's products, and its subtotal is that line.
+    private static final String INSERT_ORDERS = """
+        WITH shop_products AS (SELECT array_agg(id ORDER BY id) AS ids FROM products WHERE shop_id = ?),
+        lines AS (SELECT n, uuid_generate_v7() AS order_id, now() - n * interval '1 second' AS created_at,
+                         1 + n % 3 AS quantity, 100 + (n * 37) % 9900 AS unit_price
+                  FROM generate_series(?, ?) n),
+        placed AS (
+            INSERT INTO orders (id, order_number, created_at, deleted, channel, payment_method, status, subtotal,
+                                delivery_fee, total, name, email, mobile, address, city, country, customer_id, shop_id)
+            SELECT l.order_id, 'SYN-' || ? || '-' || l.n, l.created_at, false, 'Online',
+                   (ARRAY['COD','ESEWA','KHALTI'])[1 + l.n % 3],
+                   (ARRAY['PENDING','ACCEPTED','SHIPPED','DELIVERED','CANCELLED'])[1 + l.n % 5],
+                   l.unit_price * l.quantity, 100, l.unit_price * l.quantity + 100,
+                   'Customer ' || l.n, 'customer-' || l.n || '@example.com', '98' || lpad((l.n % 100000000)::text, 8, '0'),
+                   'Ward ' || (1 + l.n % 32), (ARRAY['Kathmandu','Pokhara','Bhaktapur','Lalitpur','Janakpur'])[1 + l.n % 5],
+                   'Nepal', ?, ?
+            FROM lines l)
+        INSERT INTO order_items (id, created_at, deleted, quantity, unit_price, discount_price, order_id, product_id)
+        SELECT uuid_generate_v7(), l.created_at, false, l.quantity, l.unit_price, l.unit_price, l.order_id,
+               p.ids[1 + l.n % cardinality(p.ids)]
+        FROM lines l, shop_products p
+        """;
+    private static final int ORDER_BATCH = 100_000;
+
+    private final TestData testData;
+
+    public static String imageUrl(int product) {
+        return "/images/files/synthetic/" + product + ".jpg";
+    }
+
+    public static String galleryUrl(int product) {
+        return "/images/files/synthetic/" + product + "-gallery.jpg";
+    }
+
+    public SyntheticCatalog(TestData testData) {
+        this.testData = testData;
+    }
+
+    /**
+     * Seeds the catalogue unless an earlier run left one of at least this size, then refreshes the planner
+     * statistics. Returns the shop ids.
+     */
+    public List<UUID> ensure(int products) {
+        List<UUID> shops = testData.jdbc().queryForList(
+                "SELECT id FROM shop WHERE business_name LIKE ? ORDER BY business_name", UUID.class, SHOP_PREFIX + "%");
+        Long existing = shops.isEmpty() ? 0L : testData.jdbc().queryForObject(
+                "SELECT count(*) FROM products p JOIN shop s ON s.id = p.shop_id WHERE s.business_name LIKE ?",
+                Long.class, SHOP_PREFIX + "%");
+        if (existing != null && existing >= products) {
+            log.info("Reusing synthetic catalogue of {} products", existing);
+            return shops;
+        }
+        if (!shops.isEmpty()) {
+            throw new IllegalStateException("Synthetic catalogue has " + existing + " products, fewer than the "
+                    + products + " asked for; drop the database or lower the size");
+        }
+
+        long start = System.nanoTime();
+        shops = new ArrayList<>(SHOPS);
+        int perShop = Math.ceilDiv(products, SHOPS);
+        for (int i = 0; i < SHOPS; i++) {
+            String shopNumber = String.format("%03d", i);
+            UUID shopId = testData.shop(SHOP_PREFIX + shopNumber);
+            shops.add(shopId);
+            testData.jdbc().update(INSERT_CATEGORIES, shopId, shopNumber, ITEMS);
+            int first = i * perShop + 1;
+            testData.jdbc().update(INSERT_PRODUCTS, shopId, shopId, first, Math.min(first + perShop - 1, products), ITEMS,
+                    shopNumber);
+        }
+        testData.jdbc().execute("ANALYZE products");
+        log.info("Seeded {} products over {} shops in {} s", products, SHOPS, (System.nanoTime() - start) / 1_000_000_000);
+        return shops;
+    }
+
+    /**
+     * Tops one of the catalogue's shops up to at least this many orders, then refreshes the planner statistics
+     * if any were added. The shop needs products, which its lines point at.
+     */
+    public void ensureOrders(UUID shopId, int orders) {
+        Integer existing = testData.jdbc().queryForObject("SELECT count(*) FROM orders WHERE shop_id = ?", Integer.class, shopId);
+        if (existing == null || existing >= orders) {
+            return;
+        }
+        long start = System.nanoTime();
+        UUID customerId = testData.customer();
+        for (int first = existing + 1; first <= orders; first += ORDER_BATCH) {
+            testData.jdbc().update(INSERT_ORDERS, shopId, first, Math.min(first + ORDER_BATCH - 1, orders),
+                    shopId.toString(), customerId, shopId);
+        }
+        testData.jdbc().execute("ANALYZE orders");
+        testData.jdbc().execute("ANALYZE order_items");
+        log.info("Seeded {} orders for shop {} in {} s", orders - existing, shopId, (System.nanoTime() - start) / 1_000_000_000);
+    }
+}
@@ -0,0 +1,83 @@
+package org.com.meropasal.meropasalbackend.support;
+
+import org.com.meropasal.meropasalbackend.database.id.UuidV7Generator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Created On : 2026 19 Oct 11:45 PM
+ * Author : Monu Siddiki
+ * Description : Inserts the minimal rows a test needs straight into the tables, bypassing the services under
+ * test. Every call creates fresh rows, so tests sharing one database never see each other's fixtures.
+ **/
+public class TestData {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public UUID shop() {
+        return shop(null);
+    }
+
+    /**
+     * @param businessName lets a benchmark find the shops it seeded on an earlier run; null for a unique name
+     */
+    public UUID shop(String businessName) {
+        UUID ownerId = owner();
+        UUID shopId = UuidV7Generator.next();
+        jdbcTemplate.update("""
+                INSERT INTO shop (id, owner_id, business_name, shop_url, district, province, city, is_active,
+                                  deleted, created_at, updated_at)
+                VALUES (?, ?, ?, ?, 'KATHMANDU', 'BAGMATI_PROVINCE', 'Kathmandu', true, false, now(), now())
+                """, shopId, ownerId, businessName != null ? businessName : "Shop " + shopId, "shop-" + shopId);
+        return shopId;
+    }
+
+    public UUID owner() {
+        UUID ownerId = UuidV7Generator.next();
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, role, email_verified, deleted, created_at, updated_at)
+                VALUES (?, ?, 'not-a-hash', 'SHOP_OWNER', true, false, now(), now())
+                """, ownerId, "owner-" + ownerId + "@example.com");
+        return ownerId;
+    }
+
+    public UUID customer() {
+        UUID customerId = UuidV7Generator.next();
+        jdbcTemplate.update("""
+                INSERT INTO customer_details (id, email, role, verified, deleted, created_at, updated_at)
+                VALUES (?, ?, 'USER', true, false, now(), now())
+                """, customerId, "customer-" + customerId + "@example.com");
+        return customerId;
+    }
+
+    public UUID product(UUID shopId, BigDecimal price, int stock) {
+        UUID productId = UuidV7Generator.next();
+        jdbcTemplate.update("""
+                INSERT INTO products (id, shop_id, name, price, discount_price, stock, active, has_variants, deleted,
+                                      created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, true, false, false, now(), now())
+                """, productId, shopId, "Product " + productId, price, price, stock);
+        return productId;
+    }
+
+    public UUID sku(UUID productId, String size, int stock) {
+        UUID skuId = UuidV7Generator.next();
+        jdbcTemplate.update("""
+                INSERT INTO product_skus (id, product_id, sku_code, attributes, stock, active, deleted, created_at, updated_at)
+                VALUES (?, ?, ?, jsonb_build_object('size', ?::text), ?, true, false, now(), now())
+                """, skuId, productId, "SKU-" + skuId, size, stock);
+        jdbcTemplate.update("UPDATE products SET has_variants = true WHERE id = ?", productId);
+        return skuId;
+    }
+}